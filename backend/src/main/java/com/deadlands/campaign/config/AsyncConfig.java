@@ -0,0 +1,15 @@
+package com.deadlands.campaign.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables @Async listeners (character deltas are pushed off the request thread).
+ *
+ * Uses Spring Boot's applicationTaskExecutor.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+    // Configuration class for async event listeners
+}
@@ -0,0 +1,25 @@
+package com.deadlands.campaign.config;
+
+import com.deadlands.campaign.service.CharacterReadModel;
+import com.deadlands.campaign.service.CharacterViewCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Character view cache and its weight budget.
+ *
+ * characters.cache.max-weight is the estimated heap (bytes) the cache may
+ * hold before it evicts; the default is ~16 MB.
+ */
+@Configuration
+public class CharacterCacheConfig {
+
+    private static final long DEFAULT_MAX_WEIGHT = 16L * 1024 * 1024;
+
+    @Bean
+    public CharacterViewCache characterViewCache(CharacterReadModel characterReadModel,
+            @Value("${characters.cache.max-weight:" + DEFAULT_MAX_WEIGHT + "}") long maxWeight) {
+        return new CharacterViewCache(characterReadModel, maxWeight);
+    }
+}
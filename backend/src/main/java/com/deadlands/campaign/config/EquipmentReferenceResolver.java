@@ -0,0 +1,34 @@
+package com.deadlands.campaign.config;
+
+import com.deadlands.campaign.model.Equipment;
+import com.deadlands.campaign.service.ReferenceCatalog;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that attaches reference data to Equipment rows.
+ *
+ * Equipment stores only equipment_reference_id; the EquipmentReference itself
+ * comes from the in-memory ReferenceCatalog, so loading a character's gear
+ * never joins or selects equipment_references. Hibernate obtains this
+ * listener from the Spring context.
+ *
+ * Kept in config so the model package does not depend on services.
+ */
+@Component
+public class EquipmentReferenceResolver {
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    public void resolve(Equipment item) {
+        item.setEquipmentReference(item.getEquipmentReferenceId() == null ? null
+                : referenceCatalog.get().equipment(item.getEquipmentReferenceId()).orElse(null));
+    }
+}
@@ -1,13 +1,25 @@
 package com.deadlands.campaign.config;
 
+import com.deadlands.campaign.service.ReferenceCatalog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @Profile("production") // Now enabled - memory issues resolved by character endpoint optimization
@@ -16,9 +28,19 @@ public class ReferenceDataInitializer implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(ReferenceDataInitializer.class);
 
+    private static final String SCRIPT = "reference-data.sql";
+
+    private static final int BATCH_SIZE = 50;
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
     @Override
     public void run(String... args) throws Exception {
         logger.info("Checking if reference data initialization is needed...");
@@ -35,30 +57,50 @@ public class ReferenceDataInitializer implements CommandLineRunner {
         }
     }
 
+    /**
+     * Stream reference-data.sql statement by statement and run it in JDBC
+     * batches of {@value #BATCH_SIZE} inside one transaction, so a failure
+     * leaves the tables empty for the next start to retry.
+     */
     private void loadReferenceData() {
-        try {
-            // Load reference-data.sql from classpath
-            org.springframework.core.io.Resource resource =
-                new org.springframework.core.io.ClassPathResource("reference-data.sql");
+        long start = System.currentTimeMillis();
+        Resource resource = new ClassPathResource(SCRIPT);
+        int[] counts = new int[2]; // statements, batches
 
-            String sql = new String(resource.getInputStream().readAllBytes());
-
-            // Split by semicolons and execute each statement separately for better memory management
-            String[] statements = sql.split(";");
-            int executedCount = 0;
-
-            for (String statement : statements) {
-                String trimmedStatement = statement.trim();
-                if (!trimmedStatement.isEmpty() && !trimmedStatement.startsWith("--")) {
-                    jdbcTemplate.execute(trimmedStatement);
-                    executedCount++;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<String> batch = new ArrayList<>(BATCH_SIZE);
+                try (SqlStatementReader reader = new SqlStatementReader(new BufferedReader(
+                        new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)))) {
+                    String statement;
+                    while ((statement = reader.next()) != null) {
+                        batch.add(statement);
+                        counts[0]++;
+                        if (batch.size() == BATCH_SIZE) {
+                            executeBatch(batch);
+                            counts[1]++;
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-            }
-
-            logger.info("Reference data loaded successfully! Executed {} statements.", executedCount);
+                if (!batch.isEmpty()) {
+                    executeBatch(batch);
+                    counts[1]++;
+                }
+            });
         } catch (Exception e) {
             logger.error("Failed to load reference data", e);
             throw new RuntimeException("Failed to load reference data", e);
         }
+
+        referenceCatalog.reload();
+        logger.info("Reference data loaded successfully! Executed {} statements in {} batches in {} ms.",
+                counts[0], counts[1], System.currentTimeMillis() - start);
+    }
+
+    private void executeBatch(List<String> batch) {
+        jdbcTemplate.batchUpdate(batch.toArray(new String[0]));
+        batch.clear();
     }
 }
@@ -0,0 +1,132 @@
+package com.deadlands.campaign.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies versioned SQL scripts from db/migration (V{n}__{description}.sql).
+ *
+ * Hibernate (ddl-auto: update) owns tables and columns; these scripts carry what
+ * it cannot express, such as partial indexes. Runs after Hibernate has built the
+ * schema, applies each pending script in its own transaction, and records it in
+ * schema_migrations so it never runs twice.
+ *
+ * On first run, scripts up to the baseline version are recorded without being
+ * executed: they were applied by hand before this runner existed (V4 resets the
+ * gamemaster password and must not run again).
+ *
+ * Runs under every profile that talks to PostgreSQL (production, development and
+ * the default), so local databases get the same indexes. The test profile uses
+ * H2, which cannot run these scripts.
+ */
+@Component
+@Profile("!test")
+@Order(0) // Before data initializers
+public class SchemaMigrationRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrationRunner.class);
+
+    private static final String LOCATION = "classpath:db/migration/V*__*.sql";
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${db.migrations.baseline-version:4}")
+    private int baselineVersion;
+
+    @Override
+    public void run(String... args) throws Exception {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                "version INTEGER PRIMARY KEY, " +
+                "description VARCHAR(255) NOT NULL, " +
+                "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+
+        TreeMap<Integer, Resource> scripts = findScripts();
+        Set<Integer> applied = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT version FROM schema_migrations", Integer.class));
+
+        if (applied.isEmpty()) {
+            for (var script : scripts.headMap(baselineVersion, true).entrySet()) {
+                record(script.getKey(), description(script.getValue()));
+                applied.add(script.getKey());
+            }
+            logger.info("Baselined schema migrations at version {}", baselineVersion);
+        }
+
+        int count = 0;
+        for (var script : scripts.entrySet()) {
+            if (applied.contains(script.getKey())) {
+                continue;
+            }
+            apply(script.getKey(), script.getValue());
+            count++;
+        }
+
+        if (count == 0) {
+            logger.info("Schema is up to date ({} migrations known).", scripts.size());
+        } else {
+            logger.info("Applied {} schema migration(s).", count);
+        }
+    }
+
+    private void apply(int version, Resource script) {
+        String description = description(script);
+        logger.info("Applying migration V{} - {}", version, description);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                ScriptUtils.executeSqlScript(connection, new EncodedResource(script, StandardCharsets.UTF_8));
+                return null;
+            });
+            record(version, description);
+        });
+    }
+
+    private void record(int version, String description) {
+        jdbcTemplate.update("INSERT INTO schema_migrations (version, description) VALUES (?, ?)", version, description);
+    }
+
+    private TreeMap<Integer, Resource> findScripts() throws Exception {
+        TreeMap<Integer, Resource> scripts = new TreeMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+            if (!matcher.matches()) {
+                continue;
+            }
+            Resource previous = scripts.put(Integer.parseInt(matcher.group(1)), resource);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate migration version V" + matcher.group(1));
+            }
+        }
+        return scripts;
+    }
+
+    private static String description(Resource script) {
+        Matcher matcher = FILE_NAME.matcher(script.getFilename());
+        return matcher.matches() ? matcher.group(2).replace('_', ' ') : script.getFilename();
+    }
+}
@@ -2,6 +2,7 @@ package com.deadlands.campaign.config;
 
 import com.deadlands.campaign.security.JwtAuthenticationFilter;
 import com.deadlands.campaign.security.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -64,12 +65,16 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed responses (SSE) finish on an async dispatch of an already authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Allow OPTIONS requests for CORS preflight
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // Public endpoints
                         .requestMatchers("/auth/login", "/auth/register").permitAll()
                         .requestMatchers("/reference/**").permitAll()
                         .requestMatchers("/portraits/**").permitAll()
+                        // Content-addressed wiki images; the hash is only known to readers of the page
+                        .requestMatchers(HttpMethod.GET, "/wiki/assets/**").permitAll()
                         .requestMatchers("/ai-gm/health").permitAll()
                         // WebSocket endpoints (for future single-world sync)
                         .requestMatchers("/ws/**").permitAll()
@@ -78,6 +83,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/characters", "/characters/**").hasAnyRole("PLAYER", "GAME_MASTER")
                         .requestMatchers(HttpMethod.POST, "/characters").hasAnyRole("PLAYER", "GAME_MASTER")
                         .requestMatchers(HttpMethod.PUT, "/characters/**").hasAnyRole("PLAYER", "GAME_MASTER")
+                        .requestMatchers(HttpMethod.PATCH, "/characters/**").hasAnyRole("PLAYER", "GAME_MASTER")
                         .requestMatchers(HttpMethod.DELETE, "/characters/**").hasAnyRole("PLAYER", "GAME_MASTER")
                         .requestMatchers("/wiki/**").hasAnyRole("PLAYER", "GAME_MASTER")
                         // Admin endpoints
@@ -98,7 +104,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList(allowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "ETag")); // ETag: conditional character reads
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,117 @@
+package com.deadlands.campaign.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads SQL statements one at a time from a script without loading it whole.
+ *
+ * Statements end at a semicolon outside quotes and comments. Single-quoted
+ * strings (with '' escapes) and double-quoted identifiers are copied verbatim,
+ * so a ';' inside a description does not split the statement. "--" line
+ * comments and block comments are dropped.
+ */
+public class SqlStatementReader implements Closeable {
+
+    private final Reader reader;
+    private int peeked = -2;
+
+    public SqlStatementReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Next statement without its terminating semicolon, or null at end of input.
+     */
+    public String next() throws IOException {
+        StringBuilder statement = new StringBuilder();
+        int c;
+        while ((c = read()) != -1) {
+            switch (c) {
+                case ';' -> {
+                    String text = statement.toString().trim();
+                    if (!text.isEmpty()) {
+                        return text;
+                    }
+                    statement.setLength(0);
+                }
+                case '\'', '"' -> copyQuoted(c, statement);
+                case '-' -> {
+                    if (peek() == '-') {
+                        skipLine();
+                        statement.append('\n');
+                    } else {
+                        statement.append('-');
+                    }
+                }
+                case '/' -> {
+                    if (peek() == '*') {
+                        read();
+                        skipBlockComment();
+                        statement.append(' ');
+                    } else {
+                        statement.append('/');
+                    }
+                }
+                default -> statement.append((char) c);
+            }
+        }
+        String text = statement.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private void copyQuoted(int quote, StringBuilder statement) throws IOException {
+        statement.append((char) quote);
+        int c;
+        while ((c = read()) != -1) {
+            statement.append((char) c);
+            if (c == quote) {
+                if (peek() != quote) {
+                    return;
+                }
+                statement.append((char) read()); // doubled quote is an escaped quote
+            }
+        }
+        throw new IOException("Unterminated " + (quote == '\'' ? "string literal" : "quoted identifier") + " in SQL script");
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            // skip
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '*' && peek() == '/') {
+                read();
+                return;
+            }
+        }
+        throw new IOException("Unterminated block comment in SQL script");
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
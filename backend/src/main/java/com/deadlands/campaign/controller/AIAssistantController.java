@@ -5,24 +5,33 @@ import com.deadlands.campaign.model.*;
 import com.deadlands.campaign.repository.BattleMapRepository;
 import com.deadlands.campaign.repository.UserRepository;
 import com.deadlands.campaign.service.AIGameMasterService;
-import com.deadlands.campaign.service.ImageGenerationService;
+import com.deadlands.campaign.service.MapGenerationJobService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.security.Principal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
  * REST Controller for AI-powered Game Master Assistant
  * Provides endpoints for NPC dialogue, encounters, rule lookups, and location generation
+ * The /stream/* variants send the response as Server-Sent Events while it is generated
  */
 @RestController
 @RequestMapping("/ai-gm")
@@ -30,19 +39,22 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AIAssistantController {
 
+    // Long generations (locations, encounters) can take a minute or more
+    private static final long STREAM_TIMEOUT_MS = 180_000;
+
     private final AIGameMasterService aiGameMasterService;
-    private final ImageGenerationService imageGenerationService;
+    private final MapGenerationJobService mapGenerationJobService;
     private final ObjectMapper objectMapper;
     private final BattleMapRepository battleMapRepository;
     private final UserRepository userRepository;
 
     public AIAssistantController(AIGameMasterService aiGameMasterService,
-                                ImageGenerationService imageGenerationService,
+                                MapGenerationJobService mapGenerationJobService,
                                 ObjectMapper objectMapper,
                                 BattleMapRepository battleMapRepository,
                                 UserRepository userRepository) {
         this.aiGameMasterService = aiGameMasterService;
-        this.imageGenerationService = imageGenerationService;
+        this.mapGenerationJobService = mapGenerationJobService;
         this.objectMapper = objectMapper;
         this.battleMapRepository = battleMapRepository;
         this.userRepository = userRepository;
@@ -61,7 +73,8 @@ public class AIAssistantController {
                 request.getNpcName(),
                 request.getNpcPersonality() != null ? request.getNpcPersonality() : "A typical resident of the Weird West",
                 request.getContext() != null ? request.getContext() : "A casual conversation",
-                request.getPlayerQuestion()
+                request.getPlayerQuestion(),
+                request.getCache()
         );
 
         return ResponseEntity.ok(new AIResponse(response));
@@ -79,7 +92,8 @@ public class AIAssistantController {
         String response = aiGameMasterService.generateEncounter(
                 request.getLocation(),
                 request.getPartySize(),
-                request.getAverageLevel()
+                request.getAverageLevel(),
+                request.getCache()
         );
 
         return ResponseEntity.ok(new AIResponse(response));
@@ -94,7 +108,7 @@ public class AIAssistantController {
     public ResponseEntity<AIResponse> lookupRule(@Valid @RequestBody RuleLookupRequest request) {
         log.info("Rule lookup request: {}", request.getRuleQuestion());
 
-        String response = aiGameMasterService.lookupRule(request.getRuleQuestion());
+        String response = aiGameMasterService.lookupRule(request.getRuleQuestion(), request.getCache());
 
         return ResponseEntity.ok(new AIResponse(response));
     }
@@ -110,7 +124,8 @@ public class AIAssistantController {
 
         String response = aiGameMasterService.generateLocation(
                 request.getLocationType(),
-                request.getSize()
+                request.getSize(),
+                request.getCache()
         );
 
         return ResponseEntity.ok(new AIResponse(response));
@@ -118,21 +133,89 @@ public class AIAssistantController {
 
     /**
      * Get GM suggestions
-     * GM only feature
+     * GM only feature; ?cache=true reuses suggestions for the same situation
      */
     @PostMapping("/gm-suggestion")
     @PreAuthorize("hasRole('GAME_MASTER')")
-    public ResponseEntity<AIResponse> getGMSuggestion(@RequestBody String situation) {
+    public ResponseEntity<AIResponse> getGMSuggestion(@RequestBody String situation,
+                                                      @RequestParam(required = false) Boolean cache) {
         log.info("GM suggestion request");
 
-        String response = aiGameMasterService.generateGMSuggestion(situation);
+        String response = aiGameMasterService.generateGMSuggestion(situation, cache);
 
         return ResponseEntity.ok(new AIResponse(response));
     }
 
+    /**
+     * Stream NPC dialogue as Server-Sent Events
+     * GM ONLY - "token" events carry {"text": ...} chunks, then "done" (or "error")
+     */
+    @PostMapping(value = "/stream/npc-dialogue", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public SseEmitter streamNPCDialogue(@Valid @RequestBody NPCDialogueRequest request) {
+        return stream(aiGameMasterService.streamNPCDialogue(
+                request.getNpcName(),
+                request.getNpcPersonality() != null ? request.getNpcPersonality() : "A typical resident of the Weird West",
+                request.getContext() != null ? request.getContext() : "A casual conversation",
+                request.getPlayerQuestion(),
+                request.getCache()
+        ));
+    }
+
+    /**
+     * Stream random encounter as Server-Sent Events
+     * GM only feature
+     */
+    @PostMapping(value = "/stream/generate-encounter", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public SseEmitter streamEncounter(@Valid @RequestBody EncounterRequest request) {
+        return stream(aiGameMasterService.streamEncounter(
+                request.getLocation(),
+                request.getPartySize(),
+                request.getAverageLevel(),
+                request.getCache()
+        ));
+    }
+
+    /**
+     * Stream rule lookup as Server-Sent Events
+     * GM ONLY - cached answers arrive as a single token event
+     */
+    @PostMapping(value = "/stream/rule-lookup", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public SseEmitter streamRuleLookup(@Valid @RequestBody RuleLookupRequest request) {
+        return stream(aiGameMasterService.streamRuleLookup(request.getRuleQuestion(), request.getCache()));
+    }
+
+    /**
+     * Stream location as Server-Sent Events
+     * GM only feature
+     */
+    @PostMapping(value = "/stream/generate-location", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public SseEmitter streamLocation(@Valid @RequestBody LocationRequest request) {
+        return stream(aiGameMasterService.streamLocation(
+                request.getLocationType(),
+                request.getSize(),
+                request.getCache()
+        ));
+    }
+
+    /**
+     * Stream GM suggestions as Server-Sent Events
+     * GM only feature
+     */
+    @PostMapping(value = "/stream/gm-suggestion", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public SseEmitter streamGMSuggestion(@RequestBody String situation,
+                                         @RequestParam(required = false) Boolean cache) {
+        return stream(aiGameMasterService.streamGMSuggestion(situation, cache));
+    }
+
     /**
      * Generate tactical battle map with terrain, buildings, and optional background image
      * GM ONLY - Players cannot access map generation
+     * Blocks for up to a minute; prefer POST /map-jobs
      */
     @PostMapping("/generate-map")
     @PreAuthorize("hasRole('GAME_MASTER')")
@@ -140,69 +223,8 @@ public class AIAssistantController {
         log.info("Map generation request: {} {} map", request.getSize(), request.getLocationType());
 
         try {
-            // Step 1: Generate map data using Claude
-            String mapJson = aiGameMasterService.generateBattleMap(
-                request.getLocationType(),
-                request.getSize(),
-                request.getTheme() != null ? request.getTheme() : "combat",
-                request.getFeatures(),
-                request.getDescription()
-            );
-
-            // Clean up potential markdown formatting from Claude
-            mapJson = mapJson.trim();
-            if (mapJson.startsWith("```json")) {
-                mapJson = mapJson.substring(7);
-            }
-            if (mapJson.startsWith("```")) {
-                mapJson = mapJson.substring(3);
-            }
-            if (mapJson.endsWith("```")) {
-                mapJson = mapJson.substring(0, mapJson.length() - 3);
-            }
-            mapJson = mapJson.trim();
-
-            // Parse the JSON to validate it
-            MapGenerationResponse mapData = objectMapper.readValue(mapJson, MapGenerationResponse.class);
-
-            // Step 2: Skip AI image generation (using procedural rendering instead)
-            // HYBRID APPROACH: Frontend draws map programmatically from tactical data
-            log.info("⚙️ Using procedural rendering - AI image generation skipped");
-            log.info("   Map will be drawn programmatically from terrain/building/cover data");
-
-            // Optional: Generate AI images if explicitly requested (future feature)
-            if (request.isGenerateImage() && imageGenerationService.isAvailable()) {
-                log.info("🎨 AI image generation requested (experimental)");
-
-                // Create image prompt from map data
-                String imagePrompt = aiGameMasterService.generateImagePrompt(
-                    mapData.getName(),
-                    request.getLocationType(),
-                    mapData.getDescription()
-                );
-
-                log.info("📝 Image prompt: {}", imagePrompt);
-
-                // Generate image (may take 10-30 seconds)
-                String imageData = imageGenerationService.generateMapImage(
-                    imagePrompt,
-                    1024,
-                    1024
-                );
-
-                if (imageData != null) {
-                    mapData.setImageUrl(imageData);
-                    mapData.setImagePrompt(imagePrompt);
-                    log.info("✅ AI texture generated successfully");
-                } else {
-                    log.warn("⚠️ AI image generation failed - proceeding with procedural rendering only");
-                }
-            }
-
-            // Convert back to JSON string for response
-            String finalJson = objectMapper.writeValueAsString(mapData);
-
-            return ResponseEntity.ok(new AIResponse(finalJson));
+            MapGenerationResponse mapData = mapGenerationJobService.generate(request, (progress, stage) -> { });
+            return ResponseEntity.ok(new AIResponse(objectMapper.writeValueAsString(mapData)));
 
         } catch (Exception e) {
             log.error("Error generating map: {}", e.getMessage(), e);
@@ -213,6 +235,77 @@ public class AIAssistantController {
         }
     }
 
+    /**
+     * Queue a battle map generation job
+     * GM ONLY - returns 202 with the job id at once; progress is pushed to /user/queue/map-jobs
+     */
+    @PostMapping("/map-jobs")
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public ResponseEntity<MapGenerationJobDTO> submitMapJob(@Valid @RequestBody MapGenerationRequest request,
+                                                            Principal principal) {
+        log.info("Map generation job request: {} {} map", request.getSize(), request.getLocationType());
+
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(mapGenerationJobService.submit(principal.getName(), request));
+        } catch (RejectedExecutionException e) {
+            log.warn("Map generation job rejected for {}: {}", principal.getName(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    /**
+     * List the current user's map generation jobs
+     * GM ONLY
+     */
+    @GetMapping("/map-jobs")
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public ResponseEntity<List<MapGenerationJobDTO>> getMapJobs(Principal principal) {
+        return ResponseEntity.ok(mapGenerationJobService.getJobs(principal.getName()));
+    }
+
+    /**
+     * Get map generation job status
+     * GM ONLY - Only the GM who submitted the job can see it
+     */
+    @GetMapping("/map-jobs/{jobId}")
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public ResponseEntity<MapGenerationJobDTO> getMapJob(@PathVariable String jobId, Principal principal) {
+        return mapGenerationJobService.getJob(principal.getName(), jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the map produced by a finished job
+     * GM ONLY - 409 while the job is still queued or running, or if it failed
+     */
+    @GetMapping("/map-jobs/{jobId}/result")
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public ResponseEntity<MapGenerationResponse> getMapJobResult(@PathVariable String jobId, Principal principal) {
+        if (mapGenerationJobService.getJob(principal.getName(), jobId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return mapGenerationJobService.getResult(principal.getName(), jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    /**
+     * Cancel a queued or running map generation job
+     * GM ONLY
+     */
+    @DeleteMapping("/map-jobs/{jobId}")
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public ResponseEntity<Void> cancelMapJob(@PathVariable String jobId, Principal principal) {
+        if (mapGenerationJobService.cancel(principal.getName(), jobId)) {
+            return ResponseEntity.noContent().build();
+        }
+        return mapGenerationJobService.getJob(principal.getName(), jobId).isPresent()
+            ? ResponseEntity.status(HttpStatus.CONFLICT).build()
+            : ResponseEntity.notFound().build();
+    }
+
     /**
      * Save generated map to database
      * GM ONLY - Players cannot save maps
@@ -389,6 +482,48 @@ public class AIAssistantController {
         }
     }
 
+    /**
+     * Helper: Forward text chunks to an SSE emitter
+     * The upstream Claude call is cancelled when the client disconnects or the stream times out
+     */
+    private SseEmitter stream(Flux<String> chunks) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        Disposable subscription = chunks.subscribe(
+                chunk -> {
+                    try {
+                        // JSON keeps newlines inside a chunk from breaking SSE framing
+                        emitter.send(SseEmitter.event().name("token")
+                                .data(Map.of("text", chunk), MediaType.APPLICATION_JSON));
+                    } catch (IOException e) {
+                        // Client went away; throwing cancels the subscription
+                        throw new UncheckedIOException(e);
+                    }
+                },
+                error -> {
+                    if (!(error instanceof UncheckedIOException)) {
+                        try {
+                            emitter.send(SseEmitter.event().name("error")
+                                    .data(Map.of("message", "Unable to generate AI response"), MediaType.APPLICATION_JSON));
+                        } catch (IOException e) {
+                            log.debug("Could not send stream error to client: {}", e.getMessage());
+                        }
+                    }
+                    emitter.complete();
+                },
+                () -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("done").data(Map.of()));
+                        emitter.complete();
+                    } catch (IOException e) {
+                        emitter.completeWithError(e);
+                    }
+                });
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        emitter.onCompletion(subscription::dispose);
+        return emitter;
+    }
+
     /**
      * Helper: Convert BattleMap to lightweight DTO
      */
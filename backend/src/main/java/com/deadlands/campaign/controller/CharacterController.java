@@ -1,308 +1,294 @@
 package com.deadlands.campaign.controller;
 
+import com.deadlands.campaign.dto.CharacterDTO;
+import com.deadlands.campaign.dto.CharacterImportReportDTO;
+import com.deadlands.campaign.dto.CharacterPageDTO;
+import com.deadlands.campaign.event.CharacterChangedEvent;
 import com.deadlands.campaign.model.Character;
-import com.deadlands.campaign.model.Equipment;
-import com.deadlands.campaign.model.Skill;
-import com.deadlands.campaign.model.Edge;
 import com.deadlands.campaign.model.User;
 import com.deadlands.campaign.repository.CharacterRepository;
 import com.deadlands.campaign.repository.UserRepository;
+import com.deadlands.campaign.service.CharacterChangeNotifier;
+import com.deadlands.campaign.service.CharacterImportService;
+import com.deadlands.campaign.service.CharacterReadModel;
+import com.deadlands.campaign.service.CharacterSheetUpdater;
+import com.deadlands.campaign.service.CharacterViewCache;
+import com.deadlands.campaign.service.DerivedStatBatchService;
+import com.deadlands.campaign.service.DerivedStatEngine;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/characters")
 public class CharacterController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int STREAM_BATCH_SIZE = 100;
+
+    // Sheets may be kept by the browser but must be revalidated (If-None-Match) on every use.
+    // Without it Spring Security's default "no-store" stops clients from ever sending an ETag back.
+    private static final CacheControl SHEET_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private CharacterRepository characterRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CharacterViewCache characterViewCache;
+
+    @Autowired
+    private CharacterReadModel characterReadModel;
+
+    @Autowired
+    private CharacterSheetUpdater characterSheetUpdater;
+
+    @Autowired
+    private DerivedStatEngine derivedStatEngine;
+
+    @Autowired
+    private DerivedStatBatchService derivedStatBatchService;
+
+    @Autowired
+    private CharacterImportService characterImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${characters.import.directory:Character Sheets}")
+    private String importDirectory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CharacterChangeNotifier characterChangeNotifier;
+
     @GetMapping
     public ResponseEntity<List<CharacterDTO>> getAllCharacters(Authentication authentication) {
         User user = userRepository.findByUsername(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Character> characters;
+        // Served from the view cache; misses batch-load through CharacterReadModel (no N+1)
+        List<CharacterDTO> characterDTOs;
         if (user.getRole() == User.Role.GAME_MASTER) {
-            characters = characterRepository.findAll();
+            characterDTOs = characterViewCache.getAll();
         } else {
-            characters = characterRepository.findByPlayerId(user.getId());
+            characterDTOs = characterViewCache.getByPlayerId(user.getId());
         }
 
-        List<CharacterDTO> characterDTOs = characters.stream()
-                .map(this::toDTO)
-                .toList();
-
         return ResponseEntity.ok(characterDTOs);
     }
 
-    private CharacterDTO toDTO(Character character) {
-        CharacterDTO dto = new CharacterDTO();
-        dto.setId(character.getId());
-        dto.setName(character.getName());
-        dto.setOccupation(character.getOccupation());
-        dto.setPace(character.getPace());
-        dto.setSize(character.getSize());
-        dto.setWind(character.getWind());
-        dto.setGrit(character.getGrit());
-        dto.setParry(character.getParry());
-        dto.setToughness(character.getToughness());
-        // Savage Worlds attributes
-        dto.setAgilityDie(character.getAgilityDie());
-        dto.setSmartsDie(character.getSmartsDie());
-        dto.setSpiritDie(character.getSpiritDie());
-        dto.setStrengthDie(character.getStrengthDie());
-        dto.setVigorDie(character.getVigorDie());
-        // Legacy attributes (deprecated)
-        dto.setCognitionDie(character.getCognitionDie());
-        dto.setDeftnessDie(character.getDeftnessDie());
-        dto.setNimblenessDie(character.getNimblenessDie());
-        dto.setQuicknessDie(character.getQuicknessDie());
-        dto.setNotes(character.getNotes());
-        dto.setCharacterImageUrl(character.getCharacterImageUrl());
-        dto.setIsNpc(character.getIsNpc());
-        // XP tracking
-        dto.setTotalXp(character.getTotalXp());
-        dto.setSpentXp(character.getSpentXp());
-
-        // Add player information
-        if (character.getPlayer() != null) {
-            dto.setPlayerId(character.getPlayer().getId());
-            dto.setPlayerName(character.getPlayer().getUsername());
-        }
-
-        // Add equipment (for game arena)
-        dto.setEquipment(character.getEquipment().stream()
-                .map(this::toEquipmentDTO)
-                .toList());
-
-        // Add skills (for combat rolls)
-        dto.setSkills(character.getSkills().stream()
-                .map(this::toSkillDTO)
-                .toList());
-
-        // Add edges (for special abilities)
-        dto.setEdges(character.getEdges().stream()
-                .map(this::toEdgeDTO)
-                .toList());
+    /**
+     * Keyset-paginated roster for large campaigns.
+     * Players only ever see their own characters; the GM may filter by player.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CharacterPageDTO> getCharacterPage(@RequestParam(defaultValue = "0") long afterId,
+                                                             @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                             @RequestParam(required = false) Boolean isNpc,
+                                                             @RequestParam(required = false) Long playerId,
+                                                             Authentication authentication) {
+        User user = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
 
-        return dto;
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        CharacterPageDTO page = characterReadModel.findPage(resolvePlayerScope(user, playerId), isNpc, afterId, pageSize);
+        return ResponseEntity.ok(page);
     }
 
-    private EquipmentDTO toEquipmentDTO(Equipment equipment) {
-        EquipmentDTO dto = new EquipmentDTO();
-        dto.setId(equipment.getId());
-        dto.setName(equipment.getName());
-        dto.setDescription(equipment.getDescription());
-        dto.setType(equipment.getType() != null ? equipment.getType().toString() : null);
-        dto.setQuantity(equipment.getQuantity());
-        dto.setDamage(equipment.getDamage());
-        dto.setRange(equipment.getRange());
-        dto.setRof(equipment.getRof());
-        dto.setShots(equipment.getShots());
-        dto.setIsEquipped(equipment.getIsEquipped());
-        return dto;
+    /**
+     * Stream the whole (filtered) roster as a JSON array.
+     * Characters are read in keyset batches and written as each batch arrives,
+     * so heap use stays flat no matter how many NPCs the GM has made.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCharacters(@RequestParam(required = false) Boolean isNpc,
+                                                                  @RequestParam(required = false) Long playerId,
+                                                                  Authentication authentication) {
+        User user = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Long scope = resolvePlayerScope(user, playerId);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+                generator.writeStartArray();
+                long afterId = 0;
+                CharacterPageDTO page;
+                do {
+                    // Each batch runs in its own read-only transaction, so loaded entities are released
+                    page = characterReadModel.findPage(scope, isNpc, afterId, STREAM_BATCH_SIZE);
+                    for (CharacterDTO dto : page.getItems()) {
+                        generator.writeObject(dto);
+                    }
+                    generator.flush();
+                    if (page.getNextAfterId() != null) {
+                        afterId = page.getNextAfterId();
+                    }
+                } while (page.isHasMore());
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
-    private SkillDTO toSkillDTO(Skill skill) {
-        SkillDTO dto = new SkillDTO();
-        dto.setId(skill.getId());
-        dto.setName(skill.getName());
-        dto.setDieValue(skill.getDieValue());
-        return dto;
+    /**
+     * Players are always scoped to their own characters; the GM sees everyone unless filtering.
+     */
+    private Long resolvePlayerScope(User user, Long requestedPlayerId) {
+        if (user.getRole() == User.Role.GAME_MASTER) {
+            return requestedPlayerId;
+        }
+        return user.getId();
     }
 
-    private EdgeDTO toEdgeDTO(Edge edge) {
-        EdgeDTO dto = new EdgeDTO();
-        dto.setId(edge.getId());
-        dto.setName(edge.getName());
-        dto.setDescription(edge.getDescription());
-        return dto;
+    /**
+     * Recompute stored derived stats for every character (GM only).
+     */
+    @PostMapping("/derived-stats/recompute")
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public ResponseEntity<DerivedStatBatchService.Result> recomputeDerivedStats() {
+        return ResponseEntity.ok(derivedStatBatchService.recomputeAll());
     }
 
-    static class CharacterDTO {
-        private Long id;
-        private String name;
-        private String occupation;
-        private Integer pace;
-        private Integer size;
-        private Integer wind;
-        private Integer grit;
-        private Integer parry;
-        private Integer toughness;
-        // Savage Worlds attributes
-        private String agilityDie;
-        private String smartsDie;
-        private String spiritDie;
-        private String strengthDie;
-        private String vigorDie;
-        // Legacy attributes (deprecated)
-        private String cognitionDie;
-        private String deftnessDie;
-        private String nimblenessDie;
-        private String quicknessDie;
-        private String notes;
-        private String characterImageUrl;
-        private Boolean isNpc;
-        private Integer totalXp;
-        private Integer spentXp;
-        private Long playerId;
-        private String playerName;
-        private java.util.List<EquipmentDTO> equipment;
-        private java.util.List<SkillDTO> skills;
-        private java.util.List<EdgeDTO> edges;
-
-        // Getters and setters
-        public Long getId() { return id; }
-        public void setId(Long id) { this.id = id; }
-        public String getName() { return name; }
-        public void setName(String name) { this.name = name; }
-        public String getOccupation() { return occupation; }
-        public void setOccupation(String occupation) { this.occupation = occupation; }
-        public Integer getPace() { return pace; }
-        public void setPace(Integer pace) { this.pace = pace; }
-        public Integer getSize() { return size; }
-        public void setSize(Integer size) { this.size = size; }
-        public Integer getWind() { return wind; }
-        public void setWind(Integer wind) { this.wind = wind; }
-        public Integer getGrit() { return grit; }
-        public void setGrit(Integer grit) { this.grit = grit; }
-        public Integer getParry() { return parry; }
-        public void setParry(Integer parry) { this.parry = parry; }
-        public Integer getToughness() { return toughness; }
-        public void setToughness(Integer toughness) { this.toughness = toughness; }
-        public String getAgilityDie() { return agilityDie; }
-        public void setAgilityDie(String agilityDie) { this.agilityDie = agilityDie; }
-        public String getCognitionDie() { return cognitionDie; }
-        public void setCognitionDie(String cognitionDie) { this.cognitionDie = cognitionDie; }
-        public String getDeftnessDie() { return deftnessDie; }
-        public void setDeftnessDie(String deftnessDie) { this.deftnessDie = deftnessDie; }
-        public String getNimblenessDie() { return nimblenessDie; }
-        public void setNimblenessDie(String nimblenessDie) { this.nimblenessDie = nimblenessDie; }
-        public String getQuicknessDie() { return quicknessDie; }
-        public void setQuicknessDie(String quicknessDie) { this.quicknessDie = quicknessDie; }
-        public String getSmartsDie() { return smartsDie; }
-        public void setSmartsDie(String smartsDie) { this.smartsDie = smartsDie; }
-        public String getSpiritDie() { return spiritDie; }
-        public void setSpiritDie(String spiritDie) { this.spiritDie = spiritDie; }
-        public String getStrengthDie() { return strengthDie; }
-        public void setStrengthDie(String strengthDie) { this.strengthDie = strengthDie; }
-        public String getVigorDie() { return vigorDie; }
-        public void setVigorDie(String vigorDie) { this.vigorDie = vigorDie; }
-        public String getNotes() { return notes; }
-        public void setNotes(String notes) { this.notes = notes; }
-        public String getCharacterImageUrl() { return characterImageUrl; }
-        public void setCharacterImageUrl(String characterImageUrl) { this.characterImageUrl = characterImageUrl; }
-        public Boolean getIsNpc() { return isNpc; }
-        public void setIsNpc(Boolean isNpc) { this.isNpc = isNpc; }
-        public Integer getTotalXp() { return totalXp; }
-        public void setTotalXp(Integer totalXp) { this.totalXp = totalXp; }
-        public Integer getSpentXp() { return spentXp; }
-        public void setSpentXp(Integer spentXp) { this.spentXp = spentXp; }
-        public Long getPlayerId() { return playerId; }
-        public void setPlayerId(Long playerId) { this.playerId = playerId; }
-        public String getPlayerName() { return playerName; }
-        public void setPlayerName(String playerName) { this.playerName = playerName; }
-        public java.util.List<EquipmentDTO> getEquipment() { return equipment; }
-        public void setEquipment(java.util.List<EquipmentDTO> equipment) { this.equipment = equipment; }
-        public java.util.List<SkillDTO> getSkills() { return skills; }
-        public void setSkills(java.util.List<SkillDTO> skills) { this.skills = skills; }
-        public java.util.List<EdgeDTO> getEdges() { return edges; }
-        public void setEdges(java.util.List<EdgeDTO> edges) { this.edges = edges; }
+    /**
+     * Bulk import character sheets from a JSON body (one character or an array), streamed (GM only).
+     * Characters are assigned to playerId, or to the GM if none is given.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public ResponseEntity<CharacterImportReportDTO> importCharacters(@RequestParam(required = false) Long playerId,
+                                                                     HttpServletRequest request,
+                                                                     Authentication authentication) throws IOException {
+        User owner = resolveImportOwner(playerId, authentication);
+        try (InputStream in = request.getInputStream()) {
+            return ResponseEntity.ok(characterImportService.importStream(in, "request", owner));
+        }
     }
 
-    static class EquipmentDTO {
-        private Long id;
-        private String name;
-        private String description;
-        private String type;
-        private Integer quantity;
-        private String damage;
-        private String range;
-        private Integer rof;
-        private Integer shots;
-        private Boolean isEquipped;
-
-        public Long getId() { return id; }
-        public void setId(Long id) { this.id = id; }
-        public String getName() { return name; }
-        public void setName(String name) { this.name = name; }
-        public String getDescription() { return description; }
-        public void setDescription(String description) { this.description = description; }
-        public String getType() { return type; }
-        public void setType(String type) { this.type = type; }
-        public Integer getQuantity() { return quantity; }
-        public void setQuantity(Integer quantity) { this.quantity = quantity; }
-        public String getDamage() { return damage; }
-        public void setDamage(String damage) { this.damage = damage; }
-        public String getRange() { return range; }
-        public void setRange(String range) { this.range = range; }
-        public Integer getRof() { return rof; }
-        public void setRof(Integer rof) { this.rof = rof; }
-        public Integer getShots() { return shots; }
-        public void setShots(Integer shots) { this.shots = shots; }
-        public Boolean getIsEquipped() { return isEquipped; }
-        public void setIsEquipped(Boolean isEquipped) { this.isEquipped = isEquipped; }
+    /**
+     * Import every *.json sheet under the configured character sheet directory (GM only).
+     */
+    @PostMapping("/import/sheets")
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public ResponseEntity<CharacterImportReportDTO> importCharacterSheets(@RequestParam(required = false) Long playerId,
+                                                                          Authentication authentication) {
+        User owner = resolveImportOwner(playerId, authentication);
+        return ResponseEntity.ok(characterImportService.importDirectory(Path.of(importDirectory), owner));
     }
 
-    static class SkillDTO {
-        private Long id;
-        private String name;
-        private String dieValue;
-
-        public Long getId() { return id; }
-        public void setId(Long id) { this.id = id; }
-        public String getName() { return name; }
-        public void setName(String name) { this.name = name; }
-        public String getDieValue() { return dieValue; }
-        public void setDieValue(String dieValue) { this.dieValue = dieValue; }
+    private User resolveImportOwner(Long playerId, Authentication authentication) {
+        if (playerId != null) {
+            return userRepository.findById(playerId)
+                    .orElseThrow(() -> new IllegalArgumentException("Player not found: " + playerId));
+        }
+        return userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    static class EdgeDTO {
-        private Long id;
-        private String name;
-        private String description;
-
-        public Long getId() { return id; }
-        public void setId(Long id) { this.id = id; }
-        public String getName() { return name; }
-        public void setName(String name) { this.name = name; }
-        public String getDescription() { return description; }
-        public void setDescription(String description) { this.description = description; }
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public ResponseEntity<CharacterViewCache.Stats> getCacheStats() {
+        return ResponseEntity.ok(characterViewCache.getStats());
     }
 
+    /**
+     * Full character sheet. Served from CharacterViewCache as pre-serialized JSON;
+     * a miss loads the entity graph once and caches it until the next CharacterChangedEvent.
+     */
     @GetMapping("/{id}")
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
-    public ResponseEntity<Character> getCharacterById(@PathVariable Long id, Authentication authentication) {
-        Character character = characterRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Character not found"));
+    @Transactional(readOnly = true)
+    public ResponseEntity<byte[]> getCharacterById(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                   Authentication authentication) {
+        long generation = characterViewCache.generation();
+        CharacterViewCache.Sheet sheet = characterViewCache.getSheet(id);
+
+        Character character = null;
+        Long ownerId;
+        Long version;
+        if (sheet != null) {
+            ownerId = sheet.getPlayerId();
+            version = sheet.getVersion();
+        } else {
+            character = characterRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Character not found"));
+            ownerId = character.getPlayer() != null ? character.getPlayer().getId() : null;
+            version = character.getVersion();
+        }
 
         User user = userRepository.findByUsername(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Check if user has permission to view this character
-        if (user.getRole() != User.Role.GAME_MASTER &&
-            !character.getPlayer().getId().equals(user.getId())) {
+        if (user.getRole() != User.Role.GAME_MASTER && !user.getId().equals(ownerId)) {
             return ResponseEntity.status(403).build();
         }
 
-        // Trigger lazy loading within transaction before returning
-        character.getSkills().size();
-        character.getEdges().size();
-        character.getHindrances().size();
-        character.getEquipment().size();
-        character.getArcanePowers().size();
-        character.getWounds().size();
+        // Unchanged since the client's last fetch - answer before touching any collection
+        if (etagMatches(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etagOf(version))
+                    .cacheControl(SHEET_CACHE_CONTROL)
+                    .build();
+        }
 
-        return ResponseEntity.ok(character);
+        if (sheet == null) {
+            sheet = serializeSheet(character);
+            characterViewCache.putSheet(sheet, generation);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(SHEET_CACHE_CONTROL);
+        if (version != null) {
+            response.eTag(etagOf(version));
+        }
+        return response.body(sheet.getJson());
+    }
+
+    /**
+     * Serialize a character with all of its collections (within the request's transaction).
+     */
+    private CharacterViewCache.Sheet serializeSheet(Character character) {
+        try {
+            Long ownerId = character.getPlayer() != null ? character.getPlayer().getId() : null;
+            return new CharacterViewCache.Sheet(character.getId(), ownerId, character.getVersion(),
+                    objectMapper.writeValueAsBytes(character));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize character " + character.getId(), e);
+        }
     }
 
     @PostMapping
@@ -311,6 +297,7 @@ public class CharacterController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         character.setPlayer(user);
+        character.setVersion(null); // New aggregate - Hibernate starts the version at 0
 
         // Set bidirectional relationships for all child entities
         if (character.getSkills() != null) {
@@ -329,13 +316,19 @@ public class CharacterController {
             character.getArcanePowers().forEach(power -> power.setCharacter(character));
         }
 
+        // Derived stats are computed server-side; client-sent values are ignored
+        derivedStatEngine.apply(character);
+
         Character savedCharacter = characterRepository.save(character);
+        publishChange(savedCharacter, CharacterChangedEvent.ChangeType.CREATED,
+                characterChangeNotifier.snapshot(savedCharacter));
         return ResponseEntity.ok(savedCharacter);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Character> updateCharacter(@PathVariable Long id,
                                                       @RequestBody Character characterDetails,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                       Authentication authentication) {
         Character character = characterRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Character not found"));
@@ -349,85 +342,51 @@ public class CharacterController {
             return ResponseEntity.status(403).build();
         }
 
-        // Update basic character fields
-        character.setName(characterDetails.getName());
-        character.setOccupation(characterDetails.getOccupation());
-        character.setIsNpc(characterDetails.getIsNpc());
-        character.setNotes(characterDetails.getNotes());
-        character.setCharacterImageUrl(characterDetails.getCharacterImageUrl());
-
-        // Update legacy attribute dies (deprecated, but still supported)
-        character.setCognitionDie(characterDetails.getCognitionDie());
-        character.setDeftnessDie(characterDetails.getDeftnessDie());
-        character.setNimblenessDie(characterDetails.getNimblenessDie());
-        character.setQuicknessDie(characterDetails.getQuicknessDie());
-
-        // Update Savage Worlds attribute dies
-        character.setAgilityDie(characterDetails.getAgilityDie());
-        character.setSmartsDie(characterDetails.getSmartsDie());
-        character.setSpiritDie(characterDetails.getSpiritDie());
-        character.setStrengthDie(characterDetails.getStrengthDie());
-        character.setVigorDie(characterDetails.getVigorDie());
-
-        // Update derived stats
-        character.setPace(characterDetails.getPace());
-        character.setSize(characterDetails.getSize());
-        character.setGrit(characterDetails.getGrit());
-        character.setParry(characterDetails.getParry());
-        character.setToughness(characterDetails.getToughness());
-        character.setCharisma(characterDetails.getCharisma());
-
-        // Update XP tracking
-        character.setTotalXp(characterDetails.getTotalXp());
-        character.setSpentXp(characterDetails.getSpentXp());
-
-        // Update skills collection
-        character.getSkills().clear();
-        if (characterDetails.getSkills() != null) {
-            characterDetails.getSkills().forEach(skill -> {
-                skill.setCharacter(character);
-                character.getSkills().add(skill);
-            });
+        if (ifMatch != null && !etagMatches(ifMatch, character.getVersion())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         }
+        checkVersion(character, characterDetails.getVersion());
 
-        // Update edges collection
-        character.getEdges().clear();
-        if (characterDetails.getEdges() != null) {
-            characterDetails.getEdges().forEach(edge -> {
-                edge.setCharacter(character);
-                character.getEdges().add(edge);
-            });
-        }
+        // Reconcile by id so unchanged child rows aren't deleted and re-inserted
+        CharacterSheetUpdater.Changes changes = characterSheetUpdater.applyAll(character, characterDetails);
 
-        // Update hindrances collection
-        character.getHindrances().clear();
-        if (characterDetails.getHindrances() != null) {
-            characterDetails.getHindrances().forEach(hindrance -> {
-                hindrance.setCharacter(character);
-                character.getHindrances().add(hindrance);
-            });
+        return saveUpdate(character, changes);
+    }
+
+    /**
+     * Partial update for character sheet autosave.
+     * Only the fields present in the body are changed; a collection that is
+     * present replaces that collection, reconciled by id.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Character> patchCharacter(@PathVariable Long id,
+                                                    @RequestBody JsonNode patch,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    Authentication authentication) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Character patch must be a JSON object");
         }
 
-        // Update equipment collection
-        character.getEquipment().clear();
-        if (characterDetails.getEquipment() != null) {
-            characterDetails.getEquipment().forEach(equipment -> {
-                equipment.setCharacter(character);
-                character.getEquipment().add(equipment);
-            });
+        Character character = characterRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Character not found"));
+
+        User user = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        // Check if user has permission to edit this character
+        if (user.getRole() != User.Role.GAME_MASTER &&
+            !character.getPlayer().getId().equals(user.getId())) {
+            return ResponseEntity.status(403).build();
         }
 
-        // Update arcane powers collection
-        character.getArcanePowers().clear();
-        if (characterDetails.getArcanePowers() != null) {
-            characterDetails.getArcanePowers().forEach(power -> {
-                power.setCharacter(character);
-                character.getArcanePowers().add(power);
-            });
+        if (ifMatch != null && !etagMatches(ifMatch, character.getVersion())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         }
+        checkVersion(character, patch.hasNonNull("version") ? patch.get("version").asLong() : null);
 
-        Character updatedCharacter = characterRepository.save(character);
-        return ResponseEntity.ok(updatedCharacter);
+        CharacterSheetUpdater.Changes changes = characterSheetUpdater.applyPatch(character, patch);
+
+        return saveUpdate(character, changes);
     }
 
     @DeleteMapping("/{id}")
@@ -454,7 +413,78 @@ public class CharacterController {
         character.setDeletedAt(java.time.LocalDateTime.now());
         character.setDeletedBy(user);
         characterRepository.save(character);
+        publishChange(character, CharacterChangedEvent.ChangeType.DELETED);
 
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Save an edited character: recompute derived stats and bump its version.
+     * Touching the root keeps the version moving even when only child rows changed,
+     * so the ETag covers the whole aggregate.
+     */
+    private ResponseEntity<Character> saveUpdate(Character character, CharacterSheetUpdater.Changes changes) {
+        character.setUpdatedAt(LocalDateTime.now());
+        if (derivedStatEngine.apply(character)) {
+            changes.derivedStatsChanged(character);
+        }
+        Character updatedCharacter = characterRepository.save(character);
+        publishChange(updatedCharacter, CharacterChangedEvent.ChangeType.UPDATED,
+                characterChangeNotifier.changes(changes, updatedCharacter));
+        return withETag(updatedCharacter);
+    }
+
+    /**
+     * Reject a save based on a stale copy of the character (409 via GlobalExceptionHandler).
+     * Saves that race past this check are still caught by Hibernate's version check on flush.
+     */
+    private void checkVersion(Character character, Long clientVersion) {
+        if (clientVersion != null && !clientVersion.equals(character.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Character.class, character.getId());
+        }
+    }
+
+    private static ResponseEntity<Character> withETag(Character character) {
+        if (character.getVersion() == null) {
+            return ResponseEntity.ok(character);
+        }
+        return ResponseEntity.ok().eTag(etagOf(character.getVersion())).body(character);
+    }
+
+    private static String etagOf(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Check an If-None-Match / If-Match header (possibly a list, possibly weak) against a version.
+     */
+    private static boolean etagMatches(String header, Long version) {
+        if (header == null || version == null) {
+            return false;
+        }
+        String etag = etagOf(version);
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Notify listeners (view cache etc.) that a character changed.
+     */
+    private void publishChange(Character character, CharacterChangedEvent.ChangeType changeType) {
+        publishChange(character, changeType, null);
+    }
+
+    private void publishChange(Character character, CharacterChangedEvent.ChangeType changeType, ObjectNode changes) {
+        Long playerId = character.getPlayer() != null ? character.getPlayer().getId() : null;
+        eventPublisher.publishEvent(new CharacterChangedEvent(character.getId(), playerId, changeType,
+                character.getVersion(), changes));
+    }
 }
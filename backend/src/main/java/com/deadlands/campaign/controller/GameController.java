@@ -1,15 +1,20 @@
 package com.deadlands.campaign.controller;
 
+import com.deadlands.campaign.dto.TokenMoveRejectedEvent;
 import com.deadlands.campaign.dto.TokenMoveRequest;
 import com.deadlands.campaign.dto.TokenMovedEvent;
+import com.deadlands.campaign.exception.StaleTokenMoveException;
 import com.deadlands.campaign.model.Character;
 import com.deadlands.campaign.model.User;
 import com.deadlands.campaign.repository.CharacterRepository;
 import com.deadlands.campaign.repository.UserRepository;
 import com.deadlands.campaign.service.GameStateService;
+import com.deadlands.campaign.service.TokenPositionRegistry;
+import com.deadlands.campaign.service.TokenPositionRegistry.GridPosition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.annotation.SendToUser;
@@ -30,6 +35,11 @@ import java.security.Principal;
  * 1. Client sends token move to /app/game/move
  * 2. Server validates and broadcasts to /topic/game/moves
  * 3. All connected clients receive the update
+ *
+ * Concurrent moves:
+ * - Moves are compare-and-set against the in-memory TokenPositionRegistry
+ * - A move whose fromX/fromY no longer matches is rejected (no broadcast)
+ * - The mover receives the authoritative position on /user/queue/game/move-rejected
  */
 @Controller
 public class GameController {
@@ -45,6 +55,9 @@ public class GameController {
     @Autowired
     private GameStateService gameStateService;
 
+    @Autowired
+    private TokenPositionRegistry tokenPositionRegistry;
+
     /**
      * Handle token movement in the shared game world.
      *
@@ -82,14 +95,37 @@ public class GameController {
         // - Check for obstacles/walls
         // - Validate turn order
 
+        // Compare-and-set against the current position (rejects stale drags)
+        GridPosition expected = request.getFromX() != null && request.getFromY() != null
+                ? new GridPosition(request.getFromX(), request.getFromY())
+                : null;
+        GridPosition target = new GridPosition(request.getToX(), request.getToY());
+        GridPosition witness = tokenPositionRegistry.compareAndExchange(request.getTokenId(), expected, target);
+
+        if (!TokenPositionRegistry.isApplied(witness, expected)) {
+            logger.info("[GameController] Rejected stale move of token {} by {}: token is at ({},{})",
+                    request.getTokenId(), username, witness.getX(), witness.getY());
+            throw new StaleTokenMoveException(request.getTokenId(), witness);
+        }
+
         // Persist to database (so position survives server restart)
-        gameStateService.updateTokenPosition(
-                request.getTokenId(),
-                request.getTokenType(),
-                request.getToX(),
-                request.getToY(),
-                username
-        );
+        try {
+            gameStateService.updateTokenPosition(
+                    request.getTokenId(),
+                    request.getTokenType(),
+                    request.getToX(),
+                    request.getToY(),
+                    username
+            );
+        } catch (RuntimeException e) {
+            // Undo the in-memory move so memory never runs ahead of the database
+            if (witness != null) {
+                tokenPositionRegistry.compareAndExchange(request.getTokenId(), target, witness);
+            } else {
+                tokenPositionRegistry.remove(request.getTokenId());
+            }
+            throw e;
+        }
 
         // Create broadcast event
         TokenMovedEvent event = new TokenMovedEvent(
@@ -106,6 +142,27 @@ public class GameController {
         return event;
     }
 
+    /**
+     * Reply privately to a player whose move lost the race for a token.
+     *
+     * Server responds: /user/queue/game/move-rejected
+     *
+     * @param ex The stale move carrying the authoritative position
+     * @return Rejection event with the token's current position
+     */
+    @MessageExceptionHandler(StaleTokenMoveException.class)
+    @SendToUser(destinations = "/queue/game/move-rejected", broadcast = false)
+    public TokenMoveRejectedEvent handleStaleMove(StaleTokenMoveException ex) {
+        GridPosition current = ex.getCurrentPosition();
+        return new TokenMoveRejectedEvent(
+                ex.getTokenId(),
+                current.getX(),
+                current.getY(),
+                "STALE_POSITION",
+                System.currentTimeMillis()
+        );
+    }
+
     /**
      * Handle player joining the shared world.
      *
@@ -1,119 +1,183 @@
 package com.deadlands.campaign.controller;
 
+import com.deadlands.campaign.dto.ReferenceSuggestionDTO;
 import com.deadlands.campaign.model.*;
-import com.deadlands.campaign.repository.*;
+import com.deadlands.campaign.service.ReferenceAutocompleteIndex;
+import com.deadlands.campaign.service.ReferenceCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
+/**
+ * Rulebook reference data, served from the in-memory ReferenceCatalog.
+ *
+ * List endpoints return pre-encoded JSON (gzipped when the client accepts it)
+ * with an ETag, and answer If-None-Match with 304.
+ */
 @RestController
 @RequestMapping("/reference")
 @CrossOrigin(origins = "*")
 public class ReferenceDataController {
 
-    @Autowired
-    private SkillReferenceRepository skillReferenceRepository;
-
-    @Autowired
-    private EdgeReferenceRepository edgeReferenceRepository;
-
-    @Autowired
-    private HindranceReferenceRepository hindranceReferenceRepository;
+    private static final int MAX_SUGGESTIONS = 50;
 
     @Autowired
-    private EquipmentReferenceRepository equipmentReferenceRepository;
+    private ReferenceCatalog referenceCatalog;
 
     @Autowired
-    private ArcanePowerReferenceRepository arcanePowerReferenceRepository;
+    private ReferenceAutocompleteIndex referenceAutocompleteIndex;
+
+    // Autocomplete across all reference names (typo-tolerant)
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<ReferenceSuggestionDTO>> autocomplete(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) ReferenceSuggestionDTO.Kind kind,
+            @RequestParam(defaultValue = "10") int limit) {
+        int clampedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return ResponseEntity.ok(referenceAutocompleteIndex.suggest(query, kind, clampedLimit));
+    }
 
     // Skills
     @GetMapping("/skills")
-    public ResponseEntity<List<SkillReference>> getAllSkills() {
-        return ResponseEntity.ok(skillReferenceRepository.findAll());
+    public ResponseEntity<byte[]> getAllSkills(WebRequest request) {
+        return encodedList("skills", request);
     }
 
     @GetMapping("/skills/{id}")
     public ResponseEntity<SkillReference> getSkillById(@PathVariable Long id) {
-        return skillReferenceRepository.findById(id)
+        return referenceCatalog.get().skill(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/skills/by-attribute/{attribute}")
-    public ResponseEntity<List<SkillReference>> getSkillsByAttribute(
-            @PathVariable SkillReference.SkillAttribute attribute) {
-        return ResponseEntity.ok(skillReferenceRepository.findByAttribute(attribute));
+    public ResponseEntity<byte[]> getSkillsByAttribute(
+            @PathVariable SkillReference.SkillAttribute attribute, WebRequest request) {
+        return encodedList("skills/by-attribute/" + attribute, request);
     }
 
     // Edges
     @GetMapping("/edges")
-    public ResponseEntity<List<EdgeReference>> getAllEdges() {
-        return ResponseEntity.ok(edgeReferenceRepository.findAll());
+    public ResponseEntity<byte[]> getAllEdges(WebRequest request) {
+        return encodedList("edges", request);
     }
 
     @GetMapping("/edges/{id}")
     public ResponseEntity<EdgeReference> getEdgeById(@PathVariable Long id) {
-        return edgeReferenceRepository.findById(id)
+        return referenceCatalog.get().edge(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/edges/by-type/{type}")
-    public ResponseEntity<List<EdgeReference>> getEdgesByType(
-            @PathVariable EdgeReference.EdgeType type) {
-        return ResponseEntity.ok(edgeReferenceRepository.findByType(type));
+    public ResponseEntity<byte[]> getEdgesByType(
+            @PathVariable EdgeReference.EdgeType type, WebRequest request) {
+        return encodedList("edges/by-type/" + type, request);
     }
 
     // Hindrances
     @GetMapping("/hindrances")
-    public ResponseEntity<List<HindranceReference>> getAllHindrances() {
-        return ResponseEntity.ok(hindranceReferenceRepository.findAll());
+    public ResponseEntity<byte[]> getAllHindrances(WebRequest request) {
+        return encodedList("hindrances", request);
     }
 
     @GetMapping("/hindrances/{id}")
     public ResponseEntity<HindranceReference> getHindranceById(@PathVariable Long id) {
-        return hindranceReferenceRepository.findById(id)
+        return referenceCatalog.get().hindrance(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/hindrances/by-severity/{severity}")
-    public ResponseEntity<List<HindranceReference>> getHindrancesBySeverity(
-            @PathVariable HindranceReference.Severity severity) {
-        return ResponseEntity.ok(hindranceReferenceRepository.findBySeverity(severity));
+    public ResponseEntity<byte[]> getHindrancesBySeverity(
+            @PathVariable HindranceReference.Severity severity, WebRequest request) {
+        return encodedList("hindrances/by-severity/" + severity, request);
     }
 
     // Equipment
     @GetMapping("/equipment")
-    public ResponseEntity<List<EquipmentReference>> getAllEquipment() {
-        return ResponseEntity.ok(equipmentReferenceRepository.findAll());
+    public ResponseEntity<byte[]> getAllEquipment(WebRequest request) {
+        return encodedList("equipment", request);
     }
 
     @GetMapping("/equipment/{id}")
     public ResponseEntity<EquipmentReference> getEquipmentById(@PathVariable Long id) {
-        return equipmentReferenceRepository.findById(id)
+        return referenceCatalog.get().equipment(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/equipment/by-type/{type}")
-    public ResponseEntity<List<EquipmentReference>> getEquipmentByType(
-            @PathVariable EquipmentReference.EquipmentType type) {
-        return ResponseEntity.ok(equipmentReferenceRepository.findByType(type));
+    public ResponseEntity<byte[]> getEquipmentByType(
+            @PathVariable EquipmentReference.EquipmentType type, WebRequest request) {
+        return encodedList("equipment/by-type/" + type, request);
     }
 
     // Arcane Powers
     @GetMapping("/powers")
-    public ResponseEntity<List<ArcanePowerReference>> getAllPowers() {
-        return ResponseEntity.ok(arcanePowerReferenceRepository.findAll());
+    public ResponseEntity<byte[]> getAllPowers(WebRequest request) {
+        return encodedList("powers", request);
     }
 
     @GetMapping("/powers/{id}")
     public ResponseEntity<ArcanePowerReference> getPowerById(@PathVariable Long id) {
-        return arcanePowerReferenceRepository.findById(id)
+        return referenceCatalog.get().power(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    /**
+     * Powers open to an arcane background ("Huckster", "MAD_SCIENCE", ...),
+     * including COMMON powers. Without filters this is the pre-encoded list;
+     * maxPowerPoints and rank narrow it to what a character can take now.
+     */
+    @GetMapping("/powers/by-background/{background}")
+    public ResponseEntity<?> getPowersByBackground(
+            @PathVariable String background,
+            @RequestParam(required = false) Integer maxPowerPoints,
+            @RequestParam(required = false) String rank,
+            WebRequest request) {
+        ArcanePowerReference.PowerType type = ArcanePowerReference.PowerType.fromLabel(background);
+        if (type == null) {
+            return ResponseEntity.badRequest().body("Unknown arcane background: " + background);
+        }
+        if (rank != null && ReferenceCatalog.RANKS.stream().noneMatch(rank.trim()::equalsIgnoreCase)) {
+            return ResponseEntity.badRequest().body("Unknown rank: " + rank);
+        }
+        if (maxPowerPoints == null && rank == null) {
+            return encodedList("powers/by-background/" + type, request);
+        }
+        return ResponseEntity.ok(referenceCatalog.get().powersFor(type, maxPowerPoints, rank));
+    }
+
+    /**
+     * Write a pre-encoded list, picking gzip or plain JSON by Accept-Encoding.
+     * Returns null once checkNotModified has set up a 304.
+     */
+    private ResponseEntity<byte[]> encodedList(String path, WebRequest request) {
+        ReferenceCatalog.EncodedJson body = referenceCatalog.get().encoded(path);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? body.getGzipEtag() : body.getEtag();
+
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.getGzip());
+        }
+        return response.body(body.getJson());
+    }
 }
@@ -1,27 +1,50 @@
 package com.deadlands.campaign.controller;
 
-import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.dto.WikiDiffDTO;
+import com.deadlands.campaign.dto.WikiEntrySummaryDTO;
+import com.deadlands.campaign.dto.WikiImportReportDTO;
+import com.deadlands.campaign.dto.WikiRevisionDTO;
+import com.deadlands.campaign.dto.WikiSearchHitDTO;
 import com.deadlands.campaign.model.User;
 import com.deadlands.campaign.model.WikiAccess;
+import com.deadlands.campaign.model.WikiAssetBlob;
 import com.deadlands.campaign.model.WikiEntry;
 import com.deadlands.campaign.repository.CharacterRepository;
 import com.deadlands.campaign.repository.UserRepository;
 import com.deadlands.campaign.repository.WikiAccessRepository;
+import com.deadlands.campaign.repository.WikiAssetBlobRepository;
 import com.deadlands.campaign.repository.WikiEntryRepository;
+import com.deadlands.campaign.service.WikiHtmlRenderer;
+import com.deadlands.campaign.service.WikiImportService;
+import com.deadlands.campaign.service.WikiRevisionService;
+import com.deadlands.campaign.service.WikiSearchIndex;
+import com.deadlands.campaign.service.WikiText;
+import com.deadlands.campaign.service.WikiVisibilityIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.file.Path;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/wiki")
 public class WikiController {
 
+    private static final int EXCERPT_LENGTH = 200;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     @Autowired
     private WikiEntryRepository wikiEntryRepository;
 
@@ -34,23 +57,38 @@ public class WikiController {
     @Autowired
     private CharacterRepository characterRepository;
 
+    @Autowired
+    private WikiVisibilityIndex wikiVisibilityIndex;
+
+    @Autowired
+    private WikiSearchIndex wikiSearchIndex;
+
+    @Autowired
+    private WikiHtmlRenderer wikiHtmlRenderer;
+
+    @Autowired
+    private WikiImportService wikiImportService;
+
+    @Autowired
+    private WikiAssetBlobRepository wikiAssetBlobRepository;
+
+    @Autowired
+    private WikiRevisionService wikiRevisionService;
+
+    @Value("${wiki.import.directory:Wiki}")
+    private String wikiImportDirectory;
+
     /**
-     * Get all wiki entries visible to the current user
+     * Get all wiki entries visible to the current user (summaries; content via /slug/{slug})
      */
     @GetMapping
     @Transactional(readOnly = true)
-    public ResponseEntity<List<WikiEntryDTO>> getAllVisibleEntries(Authentication authentication) {
+    public ResponseEntity<List<WikiEntrySummaryDTO>> getAllVisibleEntries(Authentication authentication) {
         User user = userRepository.findByUsername(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<WikiEntry> allEntries = wikiEntryRepository.findAllOrdered();
-        List<WikiEntry> visibleEntries = filterVisibleEntries(allEntries, user);
-
-        List<WikiEntryDTO> dtos = visibleEntries.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(dtos);
+        List<WikiEntrySummaryDTO> summaries = wikiEntryRepository.findAllSummaries();
+        return ResponseEntity.ok(filterVisibleSummaries(summaries, user));
     }
 
     /**
@@ -73,24 +111,94 @@ public class WikiController {
     }
 
     /**
-     * Get wiki entries by category
+     * Get a wiki entry's content as sanitized HTML, rendered once per content version.
+     * The ETag is the content hash, so unchanged pages answer If-None-Match with 304.
+     */
+    @GetMapping(value = "/slug/{slug}/html", produces = MediaType.TEXT_HTML_VALUE)
+    @Transactional(readOnly = true)
+    public ResponseEntity<String> getHtmlBySlug(
+            @PathVariable String slug,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication) {
+        User user = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        WikiEntry entry = wikiEntryRepository.findBySlug(slug)
+                .orElseThrow(() -> new RuntimeException("Wiki entry not found"));
+
+        if (!canUserAccess(entry, user)) {
+            return ResponseEntity.status(403).build();
+        }
+
+        WikiHtmlRenderer.RenderedPage page = wikiHtmlRenderer.render(entry);
+        String etag = "\"" + page.getContentHash() + "\"";
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(page.getHtml());
+    }
+
+    /**
+     * Get wiki entries by category (summaries; content via /slug/{slug})
      */
     @GetMapping("/category/{category}")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<WikiEntryDTO>> getByCategory(
+    public ResponseEntity<List<WikiEntrySummaryDTO>> getByCategory(
             @PathVariable WikiEntry.Category category,
             Authentication authentication) {
         User user = userRepository.findByUsername(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<WikiEntry> entries = wikiEntryRepository.findByCategory(category);
-        List<WikiEntry> visibleEntries = filterVisibleEntries(entries, user);
+        List<WikiEntrySummaryDTO> summaries = wikiEntryRepository.findSummariesByCategory(category);
+        return ResponseEntity.ok(filterVisibleSummaries(summaries, user));
+    }
 
-        List<WikiEntryDTO> dtos = visibleEntries.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    /**
+     * Full-text search over titles and content, ranked, limited to entries the user can see
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<WikiSearchHitDTO>> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        User user = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        // GM can see everything
+        BitSet visible = user.getRole() == User.Role.GAME_MASTER ? null : wikiVisibilityIndex.visibleTo(user);
+        int clampedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+
+        return ResponseEntity.ok(wikiSearchIndex.search(query, visible, clampedLimit));
+    }
 
-        return ResponseEntity.ok(dtos);
+    /**
+     * Get a wiki asset (image, handout) by content hash. Content never changes for
+     * a hash, so clients may cache it indefinitely.
+     */
+    @GetMapping("/assets/{hash}")
+    @Transactional(readOnly = true)
+    public ResponseEntity<byte[]> getAsset(@PathVariable String hash) {
+        WikiAssetBlob blob = wikiAssetBlobRepository.findById(hash)
+                .orElseThrow(() -> new RuntimeException("Wiki asset not found"));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(blob.getContentType()))
+                .eTag("\"" + blob.getContentHash() + "\"")
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                .body(blob.getData());
+    }
+
+    /**
+     * GM: Sync the wiki from the markdown directory; only new or changed files are written
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('GAME_MASTER')")
+    public ResponseEntity<WikiImportReportDTO> importWiki() {
+        return ResponseEntity.ok(wikiImportService.importDirectory(Path.of(wikiImportDirectory)));
     }
 
     /**
@@ -126,6 +234,7 @@ public class WikiController {
                 .build();
 
         WikiAccess savedAccess = wikiAccessRepository.save(access);
+        wikiVisibilityIndex.onGranted(userId, entryId);
         return ResponseEntity.ok(savedAccess);
     }
 
@@ -139,6 +248,7 @@ public class WikiController {
                 .orElseThrow(() -> new RuntimeException("Access grant not found"));
 
         wikiAccessRepository.delete(access);
+        wikiVisibilityIndex.onRevoked(userId, entryId);
         return ResponseEntity.ok().build();
     }
 
@@ -153,42 +263,120 @@ public class WikiController {
     }
 
     /**
-     * Filter wiki entries to only those visible to the user
+     * Revision history of a wiki entry, newest first (no content)
      */
-    private List<WikiEntry> filterVisibleEntries(List<WikiEntry> entries, User user) {
-        return entries.stream()
-                .filter(entry -> canUserAccess(entry, user))
-                .collect(Collectors.toList());
+    @GetMapping("/{entryId}/revisions")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<WikiRevisionDTO>> getRevisions(@PathVariable Long entryId, Authentication authentication) {
+        if (!canUserAccess(entryId, authentication)) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(wikiRevisionService.listRevisions(entryId));
     }
 
     /**
-     * Check if a user can access a wiki entry
+     * Markdown content of one revision of a wiki entry
      */
-    private boolean canUserAccess(WikiEntry entry, User user) {
+    @GetMapping(value = "/{entryId}/revisions/{revision}", produces = "text/plain;charset=UTF-8")
+    @Transactional(readOnly = true)
+    public ResponseEntity<String> getRevisionContent(
+            @PathVariable Long entryId,
+            @PathVariable int revision,
+            Authentication authentication) {
+        if (!canUserAccess(entryId, authentication)) {
+            return ResponseEntity.status(403).build();
+        }
+        return wikiRevisionService.getContent(entryId, revision)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Line diff between two revisions of a wiki entry
+     */
+    @GetMapping("/{entryId}/diff")
+    @Transactional(readOnly = true)
+    public ResponseEntity<WikiDiffDTO> getDiff(
+            @PathVariable Long entryId,
+            @RequestParam int from,
+            @RequestParam int to,
+            Authentication authentication) {
+        if (!canUserAccess(entryId, authentication)) {
+            return ResponseEntity.status(403).build();
+        }
+        return wikiRevisionService.diff(entryId, from, to)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Filter wiki summaries to only those visible to the user, and turn their
+     * raw markdown excerpts into plain text
+     */
+    private List<WikiEntrySummaryDTO> filterVisibleSummaries(List<WikiEntrySummaryDTO> summaries, User user) {
+        List<WikiEntrySummaryDTO> visibleSummaries = summaries;
+
         // GM can see everything
-        if (user.getRole() == User.Role.GAME_MASTER) {
-            return true;
+        if (user.getRole() != User.Role.GAME_MASTER) {
+            BitSet visible = wikiVisibilityIndex.visibleTo(user);
+            visibleSummaries = summaries.stream()
+                    .filter(summary -> visible.get(Math.toIntExact(summary.getId())))
+                    .collect(Collectors.toList());
         }
 
-        // Public entries visible to all
-        if (entry.getVisibility() == WikiEntry.Visibility.PUBLIC) {
-            return true;
+        visibleSummaries.forEach(summary -> summary.setExcerpt(toExcerpt(summary.getExcerpt())));
+        return visibleSummaries;
+    }
+
+    /**
+     * Plain-text excerpt: markdown markers removed, cut at a word boundary
+     */
+    static String toExcerpt(String markdown) {
+        String text = WikiText.toPlainText(markdown);
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
         }
+        int cut = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        return text.substring(0, cut > 0 ? cut : EXCERPT_LENGTH) + "...";
+    }
 
-        // Character-specific entries visible to character owner
-        if (entry.getVisibility() == WikiEntry.Visibility.CHARACTER_SPECIFIC) {
-            if (entry.getRelatedCharacter() != null) {
-                Character relatedChar = entry.getRelatedCharacter();
-                if (relatedChar.getPlayer() != null &&
-                    relatedChar.getPlayer().getId().equals(user.getId())) {
-                    return true;
-                }
+    /**
+     * Check an If-None-Match header (possibly a list, possibly weak) against an ETag
+     */
+    private static boolean etagMatches(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    /**
+     * Check if a user can access a wiki entry
+     */
+    private boolean canUserAccess(WikiEntry entry, User user) {
+        return wikiVisibilityIndex.canAccess(user, entry);
+    }
+
+    /**
+     * Check if the current user can access a wiki entry by id
+     */
+    private boolean canUserAccess(Long entryId, Authentication authentication) {
+        User user = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        WikiEntry entry = wikiEntryRepository.findById(entryId)
+                .orElseThrow(() -> new RuntimeException("Wiki entry not found"));
 
-        // Check if user has been granted access
-        List<Long> grantedEntryIds = wikiAccessRepository.findWikiEntryIdsByUserId(user.getId());
-        return grantedEntryIds.contains(entry.getId());
+        return canUserAccess(entry, user);
     }
 
     /**
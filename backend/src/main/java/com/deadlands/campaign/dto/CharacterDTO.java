@@ -0,0 +1,96 @@
+package com.deadlands.campaign.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Roster view of a character returned by GET /characters.
+ *
+ * Contains the fields the arena and character list need (attributes,
+ * derived stats, equipment, skills, edges) without the full entity graph.
+ */
+@Data
+@NoArgsConstructor
+public class CharacterDTO {
+    private Long id;
+    private String name;
+    private String occupation;
+    private Integer pace;
+    private Integer size;
+    private Integer wind;
+    private Integer grit;
+    private Integer parry;
+    private Integer toughness;
+    // Savage Worlds attributes
+    private String agilityDie;
+    private String smartsDie;
+    private String spiritDie;
+    private String strengthDie;
+    private String vigorDie;
+    // Legacy attributes (deprecated)
+    private String cognitionDie;
+    private String deftnessDie;
+    private String nimblenessDie;
+    private String quicknessDie;
+    private String notes;
+    private String characterImageUrl;
+    private Boolean isNpc;
+    private Integer totalXp;
+    private Integer spentXp;
+    private Long playerId;
+    private String playerName;
+    private List<CharacterEquipmentDTO> equipment;
+    private List<CharacterSkillDTO> skills;
+    private List<CharacterEdgeDTO> edges;
+
+    /**
+     * Deep copy, so a view handed out by CharacterViewCache can't change the cached one.
+     */
+    public CharacterDTO copy() {
+        CharacterDTO copy = new CharacterDTO();
+        copy.id = id;
+        copy.name = name;
+        copy.occupation = occupation;
+        copy.pace = pace;
+        copy.size = size;
+        copy.wind = wind;
+        copy.grit = grit;
+        copy.parry = parry;
+        copy.toughness = toughness;
+        copy.agilityDie = agilityDie;
+        copy.smartsDie = smartsDie;
+        copy.spiritDie = spiritDie;
+        copy.strengthDie = strengthDie;
+        copy.vigorDie = vigorDie;
+        copy.cognitionDie = cognitionDie;
+        copy.deftnessDie = deftnessDie;
+        copy.nimblenessDie = nimblenessDie;
+        copy.quicknessDie = quicknessDie;
+        copy.notes = notes;
+        copy.characterImageUrl = characterImageUrl;
+        copy.isNpc = isNpc;
+        copy.totalXp = totalXp;
+        copy.spentXp = spentXp;
+        copy.playerId = playerId;
+        copy.playerName = playerName;
+        copy.equipment = copyAll(equipment, CharacterEquipmentDTO::copy);
+        copy.skills = copyAll(skills, CharacterSkillDTO::copy);
+        copy.edges = copyAll(edges, CharacterEdgeDTO::copy);
+        return copy;
+    }
+
+    private static <T> List<T> copyAll(List<T> rows, UnaryOperator<T> copy) {
+        if (rows == null) {
+            return null;
+        }
+        List<T> copies = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            copies.add(copy.apply(row));
+        }
+        return copies;
+    }
+}
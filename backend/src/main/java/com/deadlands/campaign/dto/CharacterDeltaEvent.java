@@ -0,0 +1,48 @@
+package com.deadlands.campaign.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event pushed to /user/queue/characters when a character changes.
+ * Sent to the owning player and to every GM, so clients can patch their
+ * local copy instead of re-fetching /characters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CharacterDeltaEvent {
+    /**
+     * ID of the character that changed
+     */
+    private Long characterId;
+
+    /**
+     * Owning player's user ID
+     */
+    private Long playerId;
+
+    /**
+     * CREATED, UPDATED or DELETED
+     */
+    private String changeType;
+
+    /**
+     * Character version after the change (matches the ETag of GET /characters/{id})
+     */
+    private Long version;
+
+    /**
+     * Changed properties and their new values, in the GET /characters/{id} shape.
+     * A changed collection is sent as {"upserted": [added or edited rows], "removed": [row ids]}.
+     * Full sheet for CREATED, null for DELETED.
+     */
+    private JsonNode changes;
+
+    /**
+     * Timestamp of the change
+     */
+    private Long timestamp;
+}
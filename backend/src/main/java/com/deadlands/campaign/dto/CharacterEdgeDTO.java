@@ -0,0 +1,29 @@
+package com.deadlands.campaign.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Edge row of a character roster entry (for special abilities).
+ * Built directly by a JPQL constructor expression in EdgeRepository.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CharacterEdgeDTO {
+    /**
+     * Owning character, used to group rows; not serialized
+     */
+    @JsonIgnore
+    private Long characterId;
+
+    private Long id;
+    private String name;
+    private String description;
+
+    public CharacterEdgeDTO copy() {
+        return new CharacterEdgeDTO(characterId, id, name, description);
+    }
+}
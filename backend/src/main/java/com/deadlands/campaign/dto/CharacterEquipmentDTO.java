@@ -0,0 +1,102 @@
+package com.deadlands.campaign.dto;
+
+import com.deadlands.campaign.model.Equipment;
+import com.deadlands.campaign.model.EquipmentReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Equipment row of a character roster entry (for the game arena).
+ * Built directly by a JPQL constructor expression in EquipmentRepository;
+ * reference data is merged in from ReferenceCatalog by {@link #applyReference}.
+ */
+@Data
+@NoArgsConstructor
+public class CharacterEquipmentDTO {
+    /**
+     * Owning character, used to group rows; not serialized
+     */
+    @JsonIgnore
+    private Long characterId;
+
+    private Long id;
+    private Long equipmentReferenceId;
+    private String name;
+    private String description;
+    private String type;
+    private Integer quantity;
+    private String damage;
+    private String range;
+    private Integer rof;
+    private Integer shots;
+    private Boolean isEquipped;
+    private Integer armorValue;
+
+    public CharacterEquipmentDTO(Long characterId, Long id, Long equipmentReferenceId, String name, String description,
+                                 Equipment.EquipmentType type, Integer quantity, String damage,
+                                 String range, Integer rof, Integer shots, Boolean isEquipped) {
+        this.characterId = characterId;
+        this.id = id;
+        this.equipmentReferenceId = equipmentReferenceId;
+        this.name = name;
+        this.description = description;
+        this.type = type != null ? type.toString() : null;
+        this.quantity = quantity;
+        this.damage = damage;
+        this.range = range;
+        this.rof = rof;
+        this.shots = shots;
+        this.isEquipped = isEquipped;
+    }
+
+    public CharacterEquipmentDTO copy() {
+        CharacterEquipmentDTO copy = new CharacterEquipmentDTO();
+        copy.characterId = characterId;
+        copy.id = id;
+        copy.equipmentReferenceId = equipmentReferenceId;
+        copy.name = name;
+        copy.description = description;
+        copy.type = type;
+        copy.quantity = quantity;
+        copy.damage = damage;
+        copy.range = range;
+        copy.rof = rof;
+        copy.shots = shots;
+        copy.isEquipped = isEquipped;
+        copy.armorValue = armorValue;
+        return copy;
+    }
+
+    /**
+     * Fill fields the character's row leaves empty from its reference item.
+     * Values set on the row (custom names, overridden damage) win.
+     */
+    public void applyReference(EquipmentReference reference) {
+        if (reference == null) {
+            return;
+        }
+        if (name == null) {
+            name = reference.getName();
+        }
+        if (description == null) {
+            description = reference.getDescription();
+        }
+        if (type == null && reference.getType() != null) {
+            type = reference.getType().toString();
+        }
+        if (damage == null) {
+            damage = reference.getDamage();
+        }
+        if (range == null) {
+            range = reference.getRange();
+        }
+        if (rof == null) {
+            rof = reference.getRateOfFire();
+        }
+        if (shots == null) {
+            shots = reference.getShots();
+        }
+        armorValue = reference.getArmorValue();
+    }
+}
@@ -0,0 +1,18 @@
+package com.deadlands.campaign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reference id of an equipped item, as read by the derived-stat batch job.
+ * Built directly by a JPQL constructor expression in EquipmentRepository;
+ * armor values are looked up in ReferenceCatalog.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CharacterEquippedReferenceDTO {
+    private Long characterId;
+    private Long equipmentReferenceId;
+}
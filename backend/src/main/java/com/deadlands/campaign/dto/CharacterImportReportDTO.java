@@ -0,0 +1,35 @@
+package com.deadlands.campaign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk character import.
+ * Records that fail validation are listed individually; the rest of the import continues.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CharacterImportReportDTO {
+    private int imported;
+    private int skipped; // Already imported (same content hash)
+    private int failed;
+    private List<RecordError> errors = new ArrayList<>();
+
+    /**
+     * Why one document was rejected.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordError {
+        private String source; // File name or "request"
+        private int index; // Position in the source (0 for a single-object document, -1 for the whole source)
+        private String name; // Character name, if it could be read
+        private List<String> messages;
+    }
+}
@@ -0,0 +1,32 @@
+package com.deadlands.campaign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of the character roster.
+ *
+ * To fetch the next page, pass nextAfterId as afterId.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CharacterPageDTO {
+    /**
+     * Characters on this page, ordered by id
+     */
+    private List<CharacterDTO> items;
+
+    /**
+     * Id of the last character on this page (cursor for the next page)
+     */
+    private Long nextAfterId;
+
+    /**
+     * Whether more characters exist after this page
+     */
+    private boolean hasMore;
+}
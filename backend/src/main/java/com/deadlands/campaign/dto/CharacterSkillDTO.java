@@ -0,0 +1,29 @@
+package com.deadlands.campaign.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Skill row of a character roster entry (for combat rolls).
+ * Built directly by a JPQL constructor expression in SkillRepository.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CharacterSkillDTO {
+    /**
+     * Owning character, used to group rows; not serialized
+     */
+    @JsonIgnore
+    private Long characterId;
+
+    private Long id;
+    private String name;
+    private String dieValue;
+
+    public CharacterSkillDTO copy() {
+        return new CharacterSkillDTO(characterId, id, name, dieValue);
+    }
+}
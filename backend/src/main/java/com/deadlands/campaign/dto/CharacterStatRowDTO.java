@@ -0,0 +1,23 @@
+package com.deadlands.campaign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A character's Vigor die, Size, NPC flag and currently stored derived stats.
+ * Built directly by a JPQL constructor expression in CharacterRepository.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CharacterStatRowDTO {
+    private Long id;
+    private String vigorDie;
+    private Integer size;
+    private Boolean isNpc;
+    private Integer pace;
+    private Integer parry;
+    private Integer toughness;
+    private Integer charisma;
+}
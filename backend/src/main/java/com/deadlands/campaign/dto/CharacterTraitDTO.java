@@ -0,0 +1,17 @@
+package com.deadlands.campaign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Edge or hindrance name of a character, as read by the derived-stat batch job.
+ * Built directly by JPQL constructor expressions in EdgeRepository / HindranceRepository.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CharacterTraitDTO {
+    private Long characterId;
+    private String name;
+}
@@ -15,4 +15,7 @@ public class EncounterRequest {
 
     @Pattern(regexp = "Novice|Seasoned|Veteran|Heroic|Legendary", message = "Invalid rank")
     private String averageLevel = "Seasoned";
+
+    // true = reuse a cached response (opt-in); null/false = always generate a fresh one
+    private Boolean cache;
 }
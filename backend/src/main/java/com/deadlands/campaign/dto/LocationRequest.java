@@ -11,4 +11,7 @@ public class LocationRequest {
 
     @Pattern(regexp = "Small|Medium|Large", message = "Size must be Small, Medium, or Large")
     private String size = "Medium";
+
+    // true = reuse a cached response (opt-in); null/false = always generate a fresh one
+    private Boolean cache;
 }
@@ -0,0 +1,35 @@
+package com.deadlands.campaign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status of an asynchronous battle map generation job
+ * Pushed to /user/queue/map-jobs on every change; the map itself is fetched
+ * from /ai-gm/map-jobs/{jobId}/result once the job has SUCCEEDED
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MapGenerationJobDTO {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+
+    private String jobId;
+    private Status status;
+    private int progress; // 0-100
+    private String stage; // Human-readable step, e.g. "Painting background image"
+    private String error; // Set when FAILED
+    private String mapName; // Set when SUCCEEDED
+    private long createdAt;
+    private long updatedAt;
+}
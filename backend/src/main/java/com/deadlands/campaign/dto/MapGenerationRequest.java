@@ -24,4 +24,6 @@ public class MapGenerationRequest {
     private String description; // Optional: Additional details from GM
 
     private boolean generateImage; // Whether to generate background artwork (default: true)
+
+    private Boolean cache; // true = reuse a cached map for identical settings (opt-in)
 }
@@ -14,4 +14,7 @@ public class NPCDialogueRequest {
 
     @NotBlank(message = "Player question is required")
     private String playerQuestion;
+
+    // true = reuse a cached response (opt-in); null/false = always generate a fresh one
+    private Boolean cache;
 }
@@ -0,0 +1,30 @@
+package com.deadlands.campaign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One result of GET /reference/autocomplete.
+ *
+ * detail is the item's grouping (skill attribute, edge type, hindrance
+ * severity or equipment type); the full item is fetched by kind and id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceSuggestionDTO {
+    private Kind kind;
+    private Long id;
+    private String name;
+    private String detail;
+    private double score;
+
+    public enum Kind {
+        SKILL,
+        EDGE,
+        HINDRANCE,
+        EQUIPMENT,
+        POWER
+    }
+}
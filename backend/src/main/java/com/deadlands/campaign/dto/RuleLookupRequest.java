@@ -7,4 +7,7 @@ import lombok.Data;
 public class RuleLookupRequest {
     @NotBlank(message = "Rule question is required")
     private String ruleQuestion;
+
+    // Rule answers are cached by default; false forces a fresh answer (which replaces the cached one)
+    private Boolean cache;
 }
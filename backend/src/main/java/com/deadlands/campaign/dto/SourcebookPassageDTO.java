@@ -0,0 +1,22 @@
+package com.deadlands.campaign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One ranked passage from the rulebooks in Sourcebooks/.
+ *
+ * page is the page of the source PDF (pages are separated by form feeds in
+ * the text dumps). text is plain text with whitespace collapsed; when a
+ * heading line matched the query it starts at that heading.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SourcebookPassageDTO {
+    private String book;
+    private int page;
+    private double score;
+    private String text;
+}
@@ -0,0 +1,39 @@
+package com.deadlands.campaign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event sent privately to a player whose token move was rejected.
+ * Carries the authoritative position so the client can snap the token back.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenMoveRejectedEvent {
+    /**
+     * ID of the token whose move was rejected
+     */
+    private String tokenId;
+
+    /**
+     * Authoritative grid X coordinate
+     */
+    private Integer gridX;
+
+    /**
+     * Authoritative grid Y coordinate
+     */
+    private Integer gridY;
+
+    /**
+     * Why the move was rejected (e.g. STALE_POSITION)
+     */
+    private String reason;
+
+    /**
+     * Timestamp of the rejection
+     */
+    private Long timestamp;
+}
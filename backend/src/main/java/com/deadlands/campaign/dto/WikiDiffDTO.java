@@ -0,0 +1,26 @@
+package com.deadlands.campaign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line diff between two revisions of a wiki entry, in unified-diff form.
+ *
+ * lines holds the changed hunks with a few lines of context: each line is
+ * prefixed with "+ " (added), "- " (removed) or "  " (unchanged), and hunks
+ * start with an "@@ -from,count +to,count @@" header.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WikiDiffDTO {
+    private Integer fromRevision;
+    private Integer toRevision;
+    private int linesAdded;
+    private int linesRemoved;
+    private List<String> lines = new ArrayList<>();
+}
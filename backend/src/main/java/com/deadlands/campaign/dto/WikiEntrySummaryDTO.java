@@ -0,0 +1,29 @@
+package com.deadlands.campaign.dto;
+
+import com.deadlands.campaign.model.WikiEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Wiki list item: everything the sidebar and cards need, without the article body.
+ * Built directly by JPQL constructor expressions in WikiEntryRepository; the
+ * full content is only served by GET /wiki/slug/{slug}.
+ *
+ * The query fills excerpt with the raw start of the markdown;
+ * WikiController turns it into plain text before returning it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WikiEntrySummaryDTO {
+    private Long id;
+    private String title;
+    private String slug;
+    private WikiEntry.Category category;
+    private WikiEntry.Visibility visibility;
+    private Integer sortOrder;
+    private Long relatedCharacterId;
+    private String relatedCharacterName;
+    private String excerpt;
+}
@@ -0,0 +1,25 @@
+package com.deadlands.campaign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a wiki directory sync.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WikiImportReportDTO {
+    private int scanned;
+    private int created;
+    private int updated;
+    private int unchanged;
+    private int assetsStored;
+    private int assetsUnchanged;
+    private long durationMs;
+    private List<String> errors = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package com.deadlands.campaign.dto;
+
+import com.deadlands.campaign.model.WikiRevision;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revision list item for GET /wiki/{entryId}/revisions (no content).
+ *
+ * storedBytes is the size of the stored snapshot or delta, contentLength the
+ * size of the full text it represents.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WikiRevisionDTO {
+    private Integer revisionNumber;
+    private WikiRevision.Kind kind;
+    private Integer contentLength;
+    private Integer storedBytes;
+    private String contentHash;
+    private LocalDateTime createdAt;
+}
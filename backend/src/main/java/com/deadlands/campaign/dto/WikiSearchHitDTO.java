@@ -0,0 +1,24 @@
+package com.deadlands.campaign.dto;
+
+import com.deadlands.campaign.model.WikiEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One ranked result of GET /wiki/search.
+ *
+ * snippet is HTML-escaped plain text around the best match, with matched
+ * words wrapped in &lt;mark&gt; tags.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WikiSearchHitDTO {
+    private Long id;
+    private String title;
+    private String slug;
+    private WikiEntry.Category category;
+    private double score;
+    private String snippet;
+}
@@ -0,0 +1,52 @@
+package com.deadlands.campaign.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Application event published after a character has been created, updated or deleted.
+ *
+ * Listeners (e.g. CharacterViewCache) use it to invalidate exactly the
+ * views that depend on this character; CharacterChangeNotifier pushes the
+ * changes to connected clients.
+ */
+@Data
+@AllArgsConstructor
+public class CharacterChangedEvent {
+
+    /**
+     * ID of the character that changed
+     */
+    private Long characterId;
+
+    /**
+     * Owning player's user ID (null for characters without a player)
+     */
+    private Long playerId;
+
+    /**
+     * What happened to the character
+     */
+    private ChangeType changeType;
+
+    /**
+     * Character version after the change (null if unknown)
+     */
+    private Long version;
+
+    /**
+     * Changed properties and their new values (null if not computed)
+     */
+    private JsonNode changes;
+
+    public CharacterChangedEvent(Long characterId, Long playerId, ChangeType changeType) {
+        this(characterId, playerId, changeType, null, null);
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,32 @@
+package com.deadlands.campaign.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Application event published after a wiki entry has been created, updated or deleted.
+ *
+ * Listeners (WikiVisibilityIndex, WikiSearchIndex) use it to keep their
+ * in-memory views in step with the wiki_entries table. Anything that writes
+ * wiki entries must publish it once the write has committed.
+ */
+@Data
+@AllArgsConstructor
+public class WikiEntryChangedEvent {
+
+    /**
+     * ID of the wiki entry that changed
+     */
+    private Long entryId;
+
+    /**
+     * What happened to the entry
+     */
+    private ChangeType changeType;
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
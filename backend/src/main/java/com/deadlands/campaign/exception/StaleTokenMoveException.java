@@ -0,0 +1,28 @@
+package com.deadlands.campaign.exception;
+
+import com.deadlands.campaign.service.TokenPositionRegistry.GridPosition;
+
+/**
+ * Thrown when a token move's "from" position no longer matches the
+ * token's current position, i.e. someone else moved it first.
+ */
+public class StaleTokenMoveException extends RuntimeException {
+
+    private final String tokenId;
+    private final GridPosition currentPosition;
+
+    public StaleTokenMoveException(String tokenId, GridPosition currentPosition) {
+        super(String.format("Stale move for token %s: token is now at (%d, %d)",
+                tokenId, currentPosition.getX(), currentPosition.getY()));
+        this.tokenId = tokenId;
+        this.currentPosition = currentPosition;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public GridPosition getCurrentPosition() {
+        return currentPosition;
+    }
+}
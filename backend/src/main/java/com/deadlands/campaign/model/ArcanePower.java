@@ -8,7 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "arcane_powers")
+@Table(name = "arcane_powers", indexes = @Index(name = "idx_arcane_powers_character_id", columnList = "character_id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Locale;
+
 @Entity
 @Table(name = "arcane_power_references")
 @Data
@@ -42,12 +44,59 @@ public class ArcanePowerReference {
     @Column(name = "is_trapping")
     private Boolean isTrapping = false; // Whether this is a variant/trapping of another power
 
+    @Column(name = "rank_required")
+    private String rankRequired; // Novice, Seasoned, Veteran, Heroic, Legendary (null = Novice)
+
+    /**
+     * Parse arcaneBackgrounds into a bitmask of PowerType ordinals. Unknown
+     * names are ignored.
+     */
+    public static int parseBackgrounds(String arcaneBackgrounds) {
+        int mask = 0;
+        if (arcaneBackgrounds == null) {
+            return mask;
+        }
+        for (String label : arcaneBackgrounds.split(",")) {
+            PowerType type = PowerType.fromLabel(label);
+            if (type != null) {
+                mask |= type.bit();
+            }
+        }
+        return mask;
+    }
+
     public enum PowerType {
         BLESSED,
         HUCKSTER,
         SHAMAN,
         MAD_SCIENCE,
         CHI_MASTERY,
-        COMMON // Available to multiple arcane backgrounds
+        COMMON; // Available to every arcane background
+
+        public int bit() {
+            return 1 << ordinal();
+        }
+
+        /**
+         * Parse a background as written in the rules or the API
+         * ("Huckster", "Mad Scientist", "MAD_SCIENCE", "chi-mastery").
+         *
+         * @return The type, or null if the name is not an arcane background
+         */
+        public static PowerType fromLabel(String label) {
+            if (label == null) {
+                return null;
+            }
+            String key = label.trim().toUpperCase(Locale.ROOT).replaceAll("[^A-Z]+", "_");
+            return switch (key) {
+                case "BLESSED" -> BLESSED;
+                case "HUCKSTER" -> HUCKSTER;
+                case "SHAMAN" -> SHAMAN;
+                case "MAD_SCIENCE", "MAD_SCIENTIST" -> MAD_SCIENCE;
+                case "CHI_MASTERY", "CHI", "MARTIAL_ARTIST" -> CHI_MASTERY;
+                case "COMMON" -> COMMON;
+                default -> null;
+            };
+        }
     }
 }
\ No newline at end of file
@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
  * Maps can be saved, reused across sessions, and shared between users
  */
 @Entity
-@Table(name = "battle_maps")
+@Table(name = "battle_maps", indexes = @Index(name = "idx_battle_maps_created_by", columnList = "created_by_user_id, created_at"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.deadlands.campaign.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -15,7 +16,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "characters")
+@Table(name = "characters", indexes = @Index(name = "idx_characters_import_hash", columnList = "import_hash"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -29,6 +30,12 @@ public class Character {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Optimistic lock / ETag. Bumped on every save of the aggregate, including
+    // saves that only touch child rows (see CharacterController).
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(nullable = false)
     private String name;
 
@@ -148,4 +155,10 @@ public class Character {
     @JoinColumn(name = "deleted_by")
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "characters", "password"})
     private User deletedBy;
+
+    // SHA-256 of the source document for characters created by the bulk importer
+    // (CharacterImportService); re-importing the same document is a no-op
+    @JsonIgnore
+    @Column(name = "import_hash", length = 64)
+    private String importHash;
 }
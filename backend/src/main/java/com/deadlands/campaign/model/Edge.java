@@ -8,7 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "edges")
+@Table(name = "edges", indexes = @Index(name = "idx_edges_character_id", columnList = "character_id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,6 +1,8 @@
 package com.deadlands.campaign.model;
 
+import com.deadlands.campaign.config.EquipmentReferenceResolver;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,11 +12,12 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "equipment")
+@Table(name = "equipment", indexes = @Index(name = "idx_equipment_character_id", columnList = "character_id"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(EquipmentReferenceResolver.class)
 @lombok.EqualsAndHashCode(exclude = {"character", "equipmentReference"})
 @lombok.ToString(exclude = {"character", "equipmentReference"})
 public class Equipment {
@@ -28,8 +31,16 @@ public class Equipment {
     @JsonIgnoreProperties({"skills", "edges", "hindrances", "equipment", "arcanePowers", "wounds"})
     private Character character;
 
-    @ManyToOne(fetch = FetchType.EAGER)
-    @JoinColumn(name = "equipment_reference_id")
+    @Column(name = "equipment_reference_id")
+    private Long equipmentReferenceId;
+
+    /**
+     * Reference data for equipmentReferenceId, filled in from the in-memory
+     * ReferenceCatalog when the row is loaded or saved (never joined).
+     * Output only: a nested reference in a request body is ignored.
+     */
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     @JsonIgnoreProperties("id")
     private EquipmentReference equipmentReference;
 
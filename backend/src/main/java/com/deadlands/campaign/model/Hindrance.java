@@ -8,7 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "hindrances")
+@Table(name = "hindrances", indexes = @Index(name = "idx_hindrances_character_id", columnList = "character_id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -8,7 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "skills")
+@Table(name = "skills", indexes = @Index(name = "idx_skills_character_id", columnList = "character_id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,6 +18,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "wiki_access", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"wiki_entry_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_wiki_access_user_entry", columnList = "user_id, wiki_entry_id") // Player's grant list, index-only
 })
 @Data
 @Builder
@@ -0,0 +1,37 @@
+package com.deadlands.campaign.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A named wiki asset (e.g. "Train.png") pointing at its current content blob.
+ * Re-importing a changed file repoints the name; the old blob stays addressable.
+ */
+@Entity
+@Table(name = "wiki_assets", uniqueConstraints = {
+    @UniqueConstraint(columnNames = "file_name")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WikiAsset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,41 @@
+package com.deadlands.campaign.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Content-addressed binary stored for the wiki (images, maps, handouts).
+ * Keyed by the SHA-256 of its bytes, so identical files are stored once and
+ * a blob never changes after it is written.
+ */
+@Entity
+@Table(name = "wiki_asset_blobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WikiAssetBlob {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @ToString.Exclude
+    @Column(nullable = false, length = 64 * 1024 * 1024)
+    private byte[] data;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
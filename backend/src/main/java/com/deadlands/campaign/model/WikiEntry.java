@@ -1,5 +1,6 @@
 package com.deadlands.campaign.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -66,6 +67,11 @@ public class WikiEntry {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    // SHA-256 of the source file and its manifest metadata (set by WikiImportService)
+    @JsonIgnore
+    @Column(name = "source_hash", length = 64)
+    private String sourceHash;
+
     public enum Category {
         CHARACTER_BIO("Character Bios"),
         CAMPAIGN_LORE("Campaign Lore"),
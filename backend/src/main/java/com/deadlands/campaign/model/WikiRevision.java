@@ -0,0 +1,73 @@
+package com.deadlands.campaign.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored revision of a wiki entry's content.
+ *
+ * SNAPSHOT revisions hold the full (deflated) text; DELTA revisions hold a
+ * deflated line edit script against the previous revision (see WikiDelta).
+ * A snapshot is written every few revisions so any revision is at most a
+ * short chain of deltas away from full text.
+ */
+@Entity
+@Table(name = "wiki_revisions", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"wiki_entry_id", "revision_number"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WikiRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "wiki_entry_id", nullable = false)
+    private Long wikiEntryId;
+
+    @Column(name = "revision_number", nullable = false)
+    private Integer revisionNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Kind kind;
+
+    @ToString.Exclude
+    @Column(nullable = false, length = 1024 * 1024)
+    private byte[] data;
+
+    /**
+     * SHA-256 of the full text of this revision
+     */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    /**
+     * Length of the full text in characters
+     */
+    @Column(name = "content_length", nullable = false)
+    private Integer contentLength;
+
+    /**
+     * Size of data in bytes
+     */
+    @Column(name = "stored_size", nullable = false)
+    private Integer storedSize;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Kind {
+        SNAPSHOT,
+        DELTA
+    }
+}
@@ -8,7 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "wounds")
+@Table(name = "wounds", indexes = @Index(name = "idx_wounds_character_id", columnList = "character_id"))
 @Data
 @Builder
 @NoArgsConstructor
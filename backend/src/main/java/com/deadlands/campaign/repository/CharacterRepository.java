@@ -1,14 +1,19 @@
 package com.deadlands.campaign.repository;
 
+import com.deadlands.campaign.dto.CharacterStatRowDTO;
 import com.deadlands.campaign.model.Character;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface CharacterRepository extends JpaRepository<Character, Long> {
@@ -34,6 +39,48 @@ public interface CharacterRepository extends JpaRepository<Character, Long> {
     @Query("SELECT c FROM Character c WHERE c.player.id = :playerId AND c.deletedAt IS NULL")
     List<Character> findByPlayerIdWithRelationships(@Param("playerId") Long playerId);
 
+    // Roster queries: player is fetched in the same statement, child collections are
+    // loaded separately by CharacterReadModel with set-based projections
+    @Query("SELECT c FROM Character c LEFT JOIN FETCH c.player WHERE c.deletedAt IS NULL ORDER BY c.id")
+    List<Character> findAllWithPlayer();
+
+    @Query("SELECT c FROM Character c LEFT JOIN FETCH c.player WHERE c.player.id = :playerId AND c.deletedAt IS NULL ORDER BY c.id")
+    List<Character> findByPlayerIdWithPlayer(@Param("playerId") Long playerId);
+
+    // Keyset pagination (seek by id) - pass PageRequest.of(0, size); no count query is issued.
+    // Filters mirror findByIsNpc / findByPlayerId / findByPlayerIdAndIsNpc.
+    @Query("SELECT c FROM Character c LEFT JOIN FETCH c.player WHERE c.id > :afterId AND c.deletedAt IS NULL ORDER BY c.id")
+    List<Character> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT c FROM Character c LEFT JOIN FETCH c.player WHERE c.isNpc = :isNpc AND c.id > :afterId AND c.deletedAt IS NULL ORDER BY c.id")
+    List<Character> findPageByIsNpcAfter(@Param("isNpc") Boolean isNpc, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT c FROM Character c LEFT JOIN FETCH c.player WHERE c.player.id = :playerId AND c.id > :afterId AND c.deletedAt IS NULL ORDER BY c.id")
+    List<Character> findPageByPlayerIdAfter(@Param("playerId") Long playerId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT c FROM Character c LEFT JOIN FETCH c.player WHERE c.player.id = :playerId AND c.isNpc = :isNpc AND c.id > :afterId AND c.deletedAt IS NULL ORDER BY c.id")
+    List<Character> findPageByPlayerIdAndIsNpcAfter(@Param("playerId") Long playerId, @Param("isNpc") Boolean isNpc,
+                                                    @Param("afterId") Long afterId, Pageable pageable);
+
+    // Derived-stat batch job: ids to process, current values, and a targeted write.
+    // The write bumps the version so ETags and optimistic locks see the change.
+    @Query("SELECT c.id FROM Character c WHERE c.deletedAt IS NULL ORDER BY c.id")
+    List<Long> findActiveIds();
+
+    @Query("SELECT new com.deadlands.campaign.dto.CharacterStatRowDTO(c.id, c.vigorDie, c.size, c.isNpc, c.pace, c.parry, c.toughness, c.charisma) " +
+           "FROM Character c WHERE c.id IN :ids")
+    List<CharacterStatRowDTO> findStatRowsByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Character c SET c.pace = :pace, c.parry = :parry, c.toughness = :toughness, " +
+           "c.charisma = :charisma, c.version = COALESCE(c.version, 0) + 1 WHERE c.id = :id")
+    int updateDerivedStats(@Param("id") Long id, @Param("pace") Integer pace, @Param("parry") Integer parry,
+                           @Param("toughness") Integer toughness, @Param("charisma") Integer charisma);
+
+    // Bulk import idempotency: which of these document hashes are already imported
+    @Query("SELECT c.importHash FROM Character c WHERE c.importHash IN :hashes AND c.deletedAt IS NULL")
+    Set<String> findExistingImportHashes(@Param("hashes") Collection<String> hashes);
+
     // Override default findAll to exclude soft-deleted
     @Override
     @Query("SELECT c FROM Character c WHERE c.deletedAt IS NULL")
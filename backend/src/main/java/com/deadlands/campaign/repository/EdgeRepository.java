@@ -0,0 +1,26 @@
+package com.deadlands.campaign.repository;
+
+import com.deadlands.campaign.dto.CharacterEdgeDTO;
+import com.deadlands.campaign.dto.CharacterTraitDTO;
+import com.deadlands.campaign.model.Edge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EdgeRepository extends JpaRepository<Edge, Long> {
+
+    // Set-based projection for the character roster (one query for many characters)
+    @Query("SELECT new com.deadlands.campaign.dto.CharacterEdgeDTO(e.character.id, e.id, e.name, e.description) " +
+           "FROM Edge e WHERE e.character.id IN :characterIds ORDER BY e.id")
+    List<CharacterEdgeDTO> findRosterRowsByCharacterIds(@Param("characterIds") Collection<Long> characterIds);
+
+    // Edge names for many characters at once (derived-stat batch job)
+    @Query("SELECT new com.deadlands.campaign.dto.CharacterTraitDTO(e.character.id, COALESCE(e.name, r.name)) " +
+           "FROM Edge e LEFT JOIN e.edgeReference r WHERE e.character.id IN :characterIds")
+    List<CharacterTraitDTO> findTraitRowsByCharacterIds(@Param("characterIds") Collection<Long> characterIds);
+}
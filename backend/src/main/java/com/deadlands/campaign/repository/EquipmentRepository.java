@@ -0,0 +1,30 @@
+package com.deadlands.campaign.repository;
+
+import com.deadlands.campaign.dto.CharacterEquipmentDTO;
+import com.deadlands.campaign.dto.CharacterEquippedReferenceDTO;
+import com.deadlands.campaign.model.Equipment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
+
+    // Set-based projection for the character roster - selects columns only;
+    // reference data is merged from ReferenceCatalog by the caller
+    @Query("SELECT new com.deadlands.campaign.dto.CharacterEquipmentDTO(" +
+           "e.character.id, e.id, e.equipmentReferenceId, e.name, e.description, e.type, e.quantity, " +
+           "e.damage, e.range, e.rof, e.shots, e.isEquipped) " +
+           "FROM Equipment e WHERE e.character.id IN :characterIds ORDER BY e.id")
+    List<CharacterEquipmentDTO> findRosterRowsByCharacterIds(@Param("characterIds") Collection<Long> characterIds);
+
+    // Equipped items linked to reference data, for many characters at once (derived-stat batch job)
+    @Query("SELECT new com.deadlands.campaign.dto.CharacterEquippedReferenceDTO(e.character.id, e.equipmentReferenceId) " +
+           "FROM Equipment e " +
+           "WHERE e.character.id IN :characterIds AND e.isEquipped = true AND e.equipmentReferenceId IS NOT NULL")
+    List<CharacterEquippedReferenceDTO> findEquippedReferencesByCharacterIds(@Param("characterIds") Collection<Long> characterIds);
+}
@@ -0,0 +1,20 @@
+package com.deadlands.campaign.repository;
+
+import com.deadlands.campaign.dto.CharacterTraitDTO;
+import com.deadlands.campaign.model.Hindrance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HindranceRepository extends JpaRepository<Hindrance, Long> {
+
+    // Hindrance names for many characters at once (derived-stat batch job)
+    @Query("SELECT new com.deadlands.campaign.dto.CharacterTraitDTO(h.character.id, COALESCE(h.name, r.name)) " +
+           "FROM Hindrance h LEFT JOIN h.hindranceReference r WHERE h.character.id IN :characterIds")
+    List<CharacterTraitDTO> findTraitRowsByCharacterIds(@Param("characterIds") Collection<Long> characterIds);
+}
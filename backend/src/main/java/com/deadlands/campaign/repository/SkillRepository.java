@@ -0,0 +1,26 @@
+package com.deadlands.campaign.repository;
+
+import com.deadlands.campaign.dto.CharacterSkillDTO;
+import com.deadlands.campaign.model.Skill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SkillRepository extends JpaRepository<Skill, Long> {
+
+    // Set-based projection for the character roster (one query for many characters)
+    @Query("SELECT new com.deadlands.campaign.dto.CharacterSkillDTO(s.character.id, s.id, s.name, s.dieValue) " +
+           "FROM Skill s WHERE s.character.id IN :characterIds ORDER BY s.id")
+    List<CharacterSkillDTO> findRosterRowsByCharacterIds(@Param("characterIds") Collection<Long> characterIds);
+
+    // Named skills (e.g. Fighting) for many characters at once (derived-stat batch job)
+    @Query("SELECT new com.deadlands.campaign.dto.CharacterSkillDTO(s.character.id, s.id, s.name, s.dieValue) " +
+           "FROM Skill s WHERE s.character.id IN :characterIds AND s.name IN :names")
+    List<CharacterSkillDTO> findRowsByCharacterIdsAndNames(@Param("characterIds") Collection<Long> characterIds,
+                                                           @Param("names") Collection<String> names);
+}
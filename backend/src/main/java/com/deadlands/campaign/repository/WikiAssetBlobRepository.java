@@ -0,0 +1,9 @@
+package com.deadlands.campaign.repository;
+
+import com.deadlands.campaign.model.WikiAssetBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WikiAssetBlobRepository extends JpaRepository<WikiAssetBlob, String> {
+}
@@ -0,0 +1,13 @@
+package com.deadlands.campaign.repository;
+
+import com.deadlands.campaign.model.WikiAsset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface WikiAssetRepository extends JpaRepository<WikiAsset, Long> {
+
+    Optional<WikiAsset> findByFileName(String fileName);
+}
@@ -1,5 +1,6 @@
 package com.deadlands.campaign.repository;
 
+import com.deadlands.campaign.dto.WikiEntrySummaryDTO;
 import com.deadlands.campaign.model.WikiEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -35,4 +36,32 @@ public interface WikiEntryRepository extends JpaRepository<WikiEntry, Long> {
            "LEFT JOIN FETCH c.player " +
            "ORDER BY w.category, w.sortOrder, w.title")
     List<WikiEntry> findAllOrdered();
+
+    // List views: summaries only. The body column is read just far enough for an
+    // excerpt (first 300 characters), never sent whole.
+    @Query("SELECT new com.deadlands.campaign.dto.WikiEntrySummaryDTO(w.id, w.title, w.slug, w.category, " +
+           "w.visibility, w.sortOrder, c.id, c.name, SUBSTRING(w.content, 1, 300)) " +
+           "FROM WikiEntry w LEFT JOIN w.relatedCharacter c " +
+           "ORDER BY w.category, w.sortOrder, w.title")
+    List<WikiEntrySummaryDTO> findAllSummaries();
+
+    @Query("SELECT new com.deadlands.campaign.dto.WikiEntrySummaryDTO(w.id, w.title, w.slug, w.category, " +
+           "w.visibility, w.sortOrder, c.id, c.name, SUBSTRING(w.content, 1, 300)) " +
+           "FROM WikiEntry w LEFT JOIN w.relatedCharacter c " +
+           "WHERE w.category = :category " +
+           "ORDER BY w.sortOrder, w.title")
+    List<WikiEntrySummaryDTO> findSummariesByCategory(@Param("category") WikiEntry.Category category);
+
+    // Visibility index inputs: ids only, no content
+    @Query("SELECT w.id FROM WikiEntry w WHERE w.visibility = :visibility")
+    List<Long> findIdsByVisibility(@Param("visibility") WikiEntry.Visibility visibility);
+
+    // Soft-deleted characters no longer make their entries visible to the former owner
+    @Query("SELECT w.id FROM WikiEntry w WHERE w.visibility = :visibility AND w.relatedCharacter.player.id = :playerId " +
+           "AND w.relatedCharacter.deletedAt IS NULL")
+    List<Long> findIdsByVisibilityAndPlayerId(@Param("visibility") WikiEntry.Visibility visibility,
+                                              @Param("playerId") Long playerId);
+
+    @Query("SELECT w.id FROM WikiEntry w WHERE w.relatedCharacter.id = :characterId")
+    List<Long> findIdsByRelatedCharacterId(@Param("characterId") Long characterId);
 }
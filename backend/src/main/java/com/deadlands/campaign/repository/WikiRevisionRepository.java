@@ -0,0 +1,35 @@
+package com.deadlands.campaign.repository;
+
+import com.deadlands.campaign.dto.WikiRevisionDTO;
+import com.deadlands.campaign.model.WikiRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WikiRevisionRepository extends JpaRepository<WikiRevision, Long> {
+
+    Optional<WikiRevision> findFirstByWikiEntryIdOrderByRevisionNumberDesc(Long wikiEntryId);
+
+    /**
+     * Nearest snapshot at or before a revision: the start of its delta chain
+     */
+    Optional<WikiRevision> findFirstByWikiEntryIdAndKindAndRevisionNumberLessThanEqualOrderByRevisionNumberDesc(
+            Long wikiEntryId, WikiRevision.Kind kind, Integer revisionNumber);
+
+    List<WikiRevision> findByWikiEntryIdAndRevisionNumberBetweenOrderByRevisionNumber(
+            Long wikiEntryId, Integer from, Integer to);
+
+    @Query("SELECT new com.deadlands.campaign.dto.WikiRevisionDTO(r.revisionNumber, r.kind, r.contentLength, " +
+           "r.storedSize, r.contentHash, r.createdAt) " +
+           "FROM WikiRevision r WHERE r.wikiEntryId = :entryId ORDER BY r.revisionNumber DESC")
+    List<WikiRevisionDTO> findSummariesByWikiEntryId(@Param("entryId") Long entryId);
+
+    @Query("SELECT DISTINCT r.wikiEntryId FROM WikiRevision r WHERE r.wikiEntryId IN :entryIds")
+    List<Long> findWikiEntryIdsWithRevisions(@Param("entryIds") Collection<Long> entryIds);
+}
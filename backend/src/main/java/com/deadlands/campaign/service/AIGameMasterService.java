@@ -1,24 +1,45 @@
 package com.deadlands.campaign.service;
 
+import com.deadlands.campaign.dto.SourcebookPassageDTO;
 import org.springframework.ai.anthropic.AnthropicChatModel;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
 
 /**
  * Service for AI-powered Game Master assistance using Claude AI
  * Provides NPC dialogue, encounter generation, rule lookups, and location generation
+ *
+ * Responses go through AIResponseCache: rule lookups are cached by default,
+ * the creative generators only when the caller passes cache = true.
+ *
+ * Rule lookups search SourcebookIndex first: a confident match is answered
+ * with the rulebook passage and its page, without calling Claude; otherwise
+ * the top passages are added to the prompt so the answer cites them.
  */
 @Service
 @Slf4j
 public class AIGameMasterService {
 
+    private static final String ERROR_RESPONSE =
+            "Error: Unable to generate AI response. Please check your API key and try again.";
+
+    static final int RULE_EXCERPTS = 3;
+
     private final AnthropicChatModel chatModel;
+    private final AIResponseCache responseCache;
+    private final SourcebookIndex sourcebookIndex;
 
-    public AIGameMasterService(AnthropicChatModel chatModel) {
+    public AIGameMasterService(AnthropicChatModel chatModel, AIResponseCache responseCache,
+                               SourcebookIndex sourcebookIndex) {
         this.chatModel = chatModel;
+        this.responseCache = responseCache;
+        this.sourcebookIndex = sourcebookIndex;
     }
 
     /**
@@ -28,25 +49,15 @@ public class AIGameMasterService {
      * @param npcPersonality Personality traits or role description
      * @param context Current situation or scene context
      * @param playerQuestion What the player asked or said
+     * @param cache true to reuse a cached reply (opt-in), null or false for a fresh one
      * @return AI-generated NPC response in character
      */
-    public String generateNPCDialogue(String npcName, String npcPersonality, String context, String playerQuestion) {
+    public String generateNPCDialogue(String npcName, String npcPersonality, String context, String playerQuestion,
+                                      Boolean cache) {
         log.info("Generating NPC dialogue for '{}' in response to: {}", npcName, playerQuestion);
 
-        String systemPrompt = """
-            You are a Game Master for a Deadlands Reloaded campaign, roleplaying as %s.
-
-            NPC Profile: %s
-
-            Current Context: %s
-
-            The player says or asks: "%s"
-
-            Respond in character as %s. Keep your response concise (2-4 sentences), authentic to the Weird West setting,
-            and appropriate to the NPC's personality. Use Western dialect where appropriate.
-            """.formatted(npcName, npcPersonality, context, playerQuestion, npcName);
-
-        return callClaude(systemPrompt);
+        return callClaude(AIResponseCache.CallType.NPC_DIALOGUE,
+                npcDialoguePrompt(npcName, npcPersonality, context, playerQuestion), cache);
     }
 
     /**
@@ -55,52 +66,33 @@ public class AIGameMasterService {
      * @param location Where the encounter takes place
      * @param partySize Number of player characters
      * @param averageLevel Average party level (Novice, Seasoned, Veteran, Heroic, Legendary)
+     * @param cache true to reuse a cached encounter (opt-in), null or false for a fresh one
      * @return JSON-formatted encounter with enemies, description, and tactics
      */
-    public String generateEncounter(String location, int partySize, String averageLevel) {
+    public String generateEncounter(String location, int partySize, String averageLevel, Boolean cache) {
         log.info("Generating {} encounter for party of {} at location: {}", averageLevel, partySize, location);
 
-        String prompt = """
-            Generate a Deadlands Reloaded encounter for a %s rank party of %d characters at this location: %s.
-
-            Include:
-            1. Encounter description (2-3 sentences setting the scene)
-            2. Enemy types and numbers (balanced for the party)
-            3. Enemy tactics (how they fight)
-            4. Potential rewards or loot
-            5. Any environmental hazards or special rules
-
-            Format the response as JSON with keys: description, enemies (array), tactics, rewards, hazards.
-            Make it authentic to the Weird West Deadlands setting.
-            """.formatted(averageLevel, partySize, location);
-
-        return callClaude(prompt);
+        return callClaude(AIResponseCache.CallType.ENCOUNTER, encounterPrompt(location, partySize, averageLevel), cache);
     }
 
     /**
      * Look up Savage Worlds or Deadlands rules
      *
+     * Answered straight from the sourcebooks when SourcebookIndex is
+     * confident; otherwise Claude answers with the best passages in the prompt.
+     *
      * @param ruleQuestion The rule question from the player or GM
-     * @return Explanation of the rule with examples
+     * @param cache null or true to use the cache (the default), false to bypass it
+     * @return Explanation of the rule with examples, or the rulebook passage with its page
      */
-    public String lookupRule(String ruleQuestion) {
+    public String lookupRule(String ruleQuestion, Boolean cache) {
         log.info("Looking up rule: {}", ruleQuestion);
 
-        String prompt = """
-            You are an expert on Savage Worlds Adventure Edition and Deadlands Reloaded rules.
-
-            Question: %s
-
-            Provide a clear, concise explanation of the rule. Include:
-            1. The core mechanic (how it works)
-            2. Any modifiers or special cases
-            3. A practical example
-            4. Page reference if you know it (format: "SWADE p.XX" or "Deadlands p.XX")
-
-            Keep it under 150 words.
-            """.formatted(ruleQuestion);
-
-        return callClaude(prompt);
+        SourcebookIndex.Lookup lookup = sourcebookIndex.lookup(ruleQuestion, RULE_EXCERPTS);
+        if (lookup.confident()) {
+            return sourcebookAnswer(lookup.passages());
+        }
+        return callClaude(AIResponseCache.CallType.RULE_LOOKUP, rulePrompt(ruleQuestion, lookup.passages()), cache);
     }
 
     /**
@@ -108,47 +100,76 @@ public class AIGameMasterService {
      *
      * @param locationType Type of location (town, mine, ranch, fort, etc.)
      * @param size Small, Medium, or Large
+     * @param cache true to reuse a cached location (opt-in), null or false for a fresh one
      * @return Detailed location description with NPCs and hooks
      */
-    public String generateLocation(String locationType, String size) {
+    public String generateLocation(String locationType, String size, Boolean cache) {
         log.info("Generating {} {} location", size, locationType);
 
-        String prompt = """
-            Generate a %s-sized %s for a Deadlands Reloaded campaign in the Weird West (1876-1879).
-
-            Include:
-            1. Location name and 2-3 sentence description
-            2. 3-5 notable NPCs with names, roles, and brief personality notes
-            3. 2-3 plot hooks or adventure seeds
-            4. Any supernatural or unusual elements (this is Deadlands!)
-            5. Local threats or challenges
-
-            Make it vivid, gameable, and true to the Deadlands weird west horror setting.
-            """.formatted(size, locationType);
-
-        return callClaude(prompt);
+        return callClaude(AIResponseCache.CallType.LOCATION, locationPrompt(locationType, size), cache);
     }
 
     /**
      * Generate suggestions for the GM based on current game state
      *
      * @param situation Description of the current situation
+     * @param cache true to reuse cached suggestions (opt-in), null or false for fresh ones
      * @return GM suggestions for interesting developments
      */
-    public String generateGMSuggestion(String situation) {
+    public String generateGMSuggestion(String situation, Boolean cache) {
         log.info("Generating GM suggestion for situation");
 
-        String prompt = """
-            You are an experienced Deadlands Game Master. The party is in this situation:
+        return callClaude(AIResponseCache.CallType.GM_SUGGESTION, gmSuggestionPrompt(situation), cache);
+    }
 
-            %s
+    /**
+     * Stream NPC dialogue as it is generated (see generateNPCDialogue)
+     */
+    public Flux<String> streamNPCDialogue(String npcName, String npcPersonality, String context, String playerQuestion,
+                                          Boolean cache) {
+        log.info("Streaming NPC dialogue for '{}' in response to: {}", npcName, playerQuestion);
+        return streamClaude(AIResponseCache.CallType.NPC_DIALOGUE,
+                npcDialoguePrompt(npcName, npcPersonality, context, playerQuestion), cache);
+    }
 
-            Provide 3-4 interesting developments, complications, or twists the GM could introduce.
-            Make them specific to Deadlands (horror, weird science, supernatural elements).
-            Keep it concise (bullet points).
-            """.formatted(situation);
+    /**
+     * Stream a random encounter as it is generated (see generateEncounter)
+     */
+    public Flux<String> streamEncounter(String location, int partySize, String averageLevel, Boolean cache) {
+        log.info("Streaming {} encounter for party of {} at location: {}", averageLevel, partySize, location);
+        return streamClaude(AIResponseCache.CallType.ENCOUNTER,
+                encounterPrompt(location, partySize, averageLevel), cache);
+    }
 
-        return callClaude(prompt);
+    /**
+     * Stream a rule explanation as it is generated (see lookupRule)
+     */
+    public Flux<String> streamRuleLookup(String ruleQuestion, Boolean cache) {
+        log.info("Streaming rule lookup: {}", ruleQuestion);
+        return Flux.defer(() -> {
+            SourcebookIndex.Lookup lookup = sourcebookIndex.lookup(ruleQuestion, RULE_EXCERPTS);
+            if (lookup.confident()) {
+                return Flux.just(sourcebookAnswer(lookup.passages()));
+            }
+            return streamClaude(AIResponseCache.CallType.RULE_LOOKUP,
+                    rulePrompt(ruleQuestion, lookup.passages()), cache);
+        });
+    }
+
+    /**
+     * Stream a location as it is generated (see generateLocation)
+     */
+    public Flux<String> streamLocation(String locationType, String size, Boolean cache) {
+        log.info("Streaming {} {} location", size, locationType);
+        return streamClaude(AIResponseCache.CallType.LOCATION, locationPrompt(locationType, size), cache);
+    }
+
+    /**
+     * Stream GM suggestions as they are generated (see generateGMSuggestion)
+     */
+    public Flux<String> streamGMSuggestion(String situation, Boolean cache) {
+        log.info("Streaming GM suggestion for situation");
+        return streamClaude(AIResponseCache.CallType.GM_SUGGESTION, gmSuggestionPrompt(situation), cache);
     }
 
     /**
@@ -159,10 +180,11 @@ public class AIGameMasterService {
      * @param theme Battle theme (combat, chase, ambush, siege)
      * @param features List of features to include (water, buildings, cover, elevation)
      * @param description Optional additional details
+     * @param cache true to reuse a cached map (opt-in), null or false for a fresh one
      * @return JSON string with map data
      */
     public String generateBattleMap(String locationType, String size, String theme,
-                                   java.util.List<String> features, String description) {
+                                   java.util.List<String> features, String description, Boolean cache) {
         log.info("Generating {} {} battle map with theme: {}", size, locationType, theme);
 
         // Determine grid size based on size parameter
@@ -282,7 +304,7 @@ public class AIGameMasterService {
             gridHeight
         );
 
-        return callClaude(prompt);
+        return callClaude(AIResponseCache.CallType.BATTLE_MAP, prompt, cache);
     }
 
     /**
@@ -304,11 +326,169 @@ public class AIGameMasterService {
         );
     }
 
+    // Prompt templates shared by the blocking and streaming calls
+
+    private static String npcDialoguePrompt(String npcName, String npcPersonality, String context,
+                                            String playerQuestion) {
+        return """
+            You are a Game Master for a Deadlands Reloaded campaign, roleplaying as %s.
+
+            NPC Profile: %s
+
+            Current Context: %s
+
+            The player says or asks: "%s"
+
+            Respond in character as %s. Keep your response concise (2-4 sentences), authentic to the Weird West setting,
+            and appropriate to the NPC's personality. Use Western dialect where appropriate.
+            """.formatted(npcName, npcPersonality, context, playerQuestion, npcName);
+    }
+
+    private static String encounterPrompt(String location, int partySize, String averageLevel) {
+        return """
+            Generate a Deadlands Reloaded encounter for a %s rank party of %d characters at this location: %s.
+
+            Include:
+            1. Encounter description (2-3 sentences setting the scene)
+            2. Enemy types and numbers (balanced for the party)
+            3. Enemy tactics (how they fight)
+            4. Potential rewards or loot
+            5. Any environmental hazards or special rules
+
+            Format the response as JSON with keys: description, enemies (array), tactics, rewards, hazards.
+            Make it authentic to the Weird West Deadlands setting.
+            """.formatted(averageLevel, partySize, location);
+    }
+
+    private static String rulePrompt(String ruleQuestion, List<SourcebookPassageDTO> excerpts) {
+        StringBuilder sources = new StringBuilder();
+        if (!excerpts.isEmpty()) {
+            sources.append("\nExcerpts from the rulebooks (base your answer on these and cite their pages):\n");
+            for (SourcebookPassageDTO excerpt : excerpts) {
+                sources.append("\n[").append(excerpt.getBook()).append(", p. ").append(excerpt.getPage()).append("]\n")
+                        .append(excerpt.getText()).append('\n');
+            }
+        }
+        return """
+            You are an expert on Savage Worlds Adventure Edition and Deadlands Reloaded rules.
+
+            Question: %s
+            %s
+
+            Provide a clear, concise explanation of the rule. Include:
+            1. The core mechanic (how it works)
+            2. Any modifiers or special cases
+            3. A practical example
+            4. Page reference if you know it (format: "SWADE p.XX" or "Deadlands p.XX")
+
+            Keep it under 150 words.
+            """.formatted(ruleQuestion, sources);
+    }
+
+    /**
+     * A rule answer taken from the sourcebooks: the best passage with its
+     * page, then where else to look.
+     */
+    private static String sourcebookAnswer(List<SourcebookPassageDTO> passages) {
+        SourcebookPassageDTO best = passages.get(0);
+        log.info("Answering rule lookup from {} p. {}", best.getBook(), best.getPage());
+
+        StringBuilder answer = new StringBuilder()
+                .append("From ").append(best.getBook()).append(", p. ").append(best.getPage()).append(":\n\n")
+                .append(best.getText());
+        List<String> seeAlso = passages.stream()
+                .skip(1)
+                .filter(passage -> !(passage.getBook().equals(best.getBook()) && passage.getPage() == best.getPage()))
+                .map(passage -> passage.getBook() + " p. " + passage.getPage())
+                .distinct()
+                .toList();
+        if (!seeAlso.isEmpty()) {
+            answer.append("\n\nSee also: ").append(String.join("; ", seeAlso));
+        }
+        return answer.toString();
+    }
+
+    private static String locationPrompt(String locationType, String size) {
+        return """
+            Generate a %s-sized %s for a Deadlands Reloaded campaign in the Weird West (1876-1879).
+
+            Include:
+            1. Location name and 2-3 sentence description
+            2. 3-5 notable NPCs with names, roles, and brief personality notes
+            3. 2-3 plot hooks or adventure seeds
+            4. Any supernatural or unusual elements (this is Deadlands!)
+            5. Local threats or challenges
+
+            Make it vivid, gameable, and true to the Deadlands weird west horror setting.
+            """.formatted(size, locationType);
+    }
+
+    private static String gmSuggestionPrompt(String situation) {
+        return """
+            You are an experienced Deadlands Game Master. The party is in this situation:
+
+            %s
+
+            Provide 3-4 interesting developments, complications, or twists the GM could introduce.
+            Make them specific to Deadlands (horror, weird science, supernatural elements).
+            Keep it concise (bullet points).
+            """.formatted(situation);
+    }
+
+    /**
+     * Call Claude AI through the response cache
+     *
+     * @param type Kind of call, which sets the cache TTL and default
+     * @param promptText The full prompt to send to Claude
+     * @param cache Caller's cache choice (see AIResponseCache#getOrCall)
+     * @return Claude's response, or an error message
+     */
+    private String callClaude(AIResponseCache.CallType type, String promptText, Boolean cache) {
+        String response = responseCache.getOrCall(type, promptText, cache, () -> callClaude(promptText));
+        return response != null ? response : ERROR_RESPONSE;
+    }
+
+    /**
+     * Stream Claude AI's response through the response cache
+     *
+     * A cached answer is emitted as one chunk. Otherwise text chunks are
+     * forwarded as they arrive and the full text is cached on completion.
+     * Cancelling the subscription (the client went away) stops the API call
+     * and caches nothing.
+     *
+     * @param type Kind of call, which sets the cache TTL and default
+     * @param promptText The full prompt to send to Claude
+     * @param cache Caller's cache choice (see AIResponseCache#getOrCall)
+     * @return Text chunks in order
+     */
+    private Flux<String> streamClaude(AIResponseCache.CallType type, String promptText, Boolean cache) {
+        return Flux.defer(() -> {
+            String cached = responseCache.find(type, promptText, cache);
+            if (cached != null) {
+                return Flux.just(cached);
+            }
+            StringBuilder full = new StringBuilder();
+            return chatModel.stream(new Prompt(new UserMessage(promptText)))
+                    .mapNotNull(AIGameMasterService::chunkText)
+                    .filter(chunk -> !chunk.isEmpty())
+                    .doOnNext(full::append)
+                    .doOnComplete(() -> responseCache.put(type, promptText, cache, full.toString()))
+                    .doOnError(e -> log.error("Error streaming from Claude AI: {}", e.getMessage(), e));
+        });
+    }
+
+    private static String chunkText(ChatResponse response) {
+        if (response.getResult() == null || response.getResult().getOutput() == null) {
+            return null;
+        }
+        return response.getResult().getOutput().getContent();
+    }
+
     /**
      * Call Claude AI with a prompt and return the response
      *
      * @param promptText The full prompt to send to Claude
-     * @return Claude's text response
+     * @return Claude's text response, or null if the call failed
      */
     private String callClaude(String promptText) {
         try {
@@ -322,7 +502,7 @@ public class AIGameMasterService {
 
         } catch (Exception e) {
             log.error("Error calling Claude AI: {}", e.getMessage(), e);
-            return "Error: Unable to generate AI response. Please check your API key and try again.";
+            return null;
         }
     }
 }
@@ -0,0 +1,262 @@
+package com.deadlands.campaign.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache for Claude responses.
+ *
+ * Entries are keyed by call type, model and the normalized prompt (lowercase,
+ * punctuation and whitespace collapsed), so "How does the Wild Die work?" and
+ * "how does the wild die work" share an answer. The first tier is an LRU map
+ * in memory; the second is one file per entry under ai.cache.directory, so
+ * answers survive restarts. A disk hit is promoted to memory.
+ *
+ * Each call type has its own TTL and decides whether it is cached by default:
+ * rule lookups are, creative generators (NPC dialogue, encounters, ...) are
+ * only cached when the caller opts in. Only successful responses are stored.
+ * The disk tier is best-effort; I/O errors are logged and treated as a miss.
+ */
+@Service
+@Slf4j
+public class AIResponseCache {
+
+    /**
+     * Kinds of Claude call, with how long an answer stays valid and whether
+     * it is cached without the caller asking.
+     */
+    public enum CallType {
+        RULE_LOOKUP(Duration.ofDays(30), true),
+        GM_SUGGESTION(Duration.ofHours(12), false),
+        NPC_DIALOGUE(Duration.ofHours(1), false),
+        ENCOUNTER(Duration.ofDays(1), false),
+        LOCATION(Duration.ofDays(7), false),
+        BATTLE_MAP(Duration.ofDays(7), false);
+
+        private final Duration ttl;
+        private final boolean cachedByDefault;
+
+        CallType(Duration ttl, boolean cachedByDefault) {
+            this.ttl = ttl;
+            this.cachedByDefault = cachedByDefault;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public boolean isCachedByDefault() {
+            return cachedByDefault;
+        }
+    }
+
+    private final Path directory;
+    private final String model;
+    private final Clock clock;
+    private final Map<String, Entry> memory;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public AIResponseCache(@Value("${ai.cache.directory:ai-cache}") String directory,
+                           @Value("${ai.cache.memory-entries:500}") int memoryEntries,
+                           @Value("${spring.ai.anthropic.chat.options.model:}") String model) {
+        this(Path.of(directory), memoryEntries, model, Clock.systemUTC());
+    }
+
+    AIResponseCache(Path directory, int memoryEntries, String model, Clock clock) {
+        this.directory = directory;
+        this.model = model;
+        this.clock = clock;
+        this.memory = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > memoryEntries;
+            }
+        };
+    }
+
+    /**
+     * Return the cached answer for a prompt, or call Claude and cache the result.
+     *
+     * @param cache null for the call type's default, true to use the cache,
+     *              false to bypass it (the fresh answer still replaces the
+     *              cached one if this call type is cached by default)
+     * @param call Calls Claude; returns null on failure, which is not cached
+     */
+    public String getOrCall(CallType type, String prompt, Boolean cache, Supplier<String> call) {
+        String cached = find(type, prompt, cache);
+        if (cached != null) {
+            return cached;
+        }
+        String response = call.get();
+        put(type, prompt, cache, response);
+        return response;
+    }
+
+    /**
+     * The cached answer for a prompt, or null on a miss or when the caller's
+     * cache choice (see {@link #getOrCall}) means the cache is not read.
+     */
+    public String find(CallType type, String prompt, Boolean cache) {
+        boolean read = cache != null ? cache : type.isCachedByDefault();
+        if (!read) {
+            return null;
+        }
+        String cached = lookup(key(type, prompt));
+        if (cached != null) {
+            log.debug("AI cache hit for {} (memory {}, disk {}, misses {})",
+                    type, memoryHits.get(), diskHits.get(), misses.get());
+        } else {
+            misses.incrementAndGet();
+        }
+        return cached;
+    }
+
+    /**
+     * Store a fresh answer if the call type or the caller's cache choice allows it.
+     * Null responses (failed calls) are ignored.
+     */
+    public void put(CallType type, String prompt, Boolean cache, String response) {
+        boolean write = type.isCachedByDefault() || Boolean.TRUE.equals(cache);
+        if (write && response != null) {
+            store(key(type, prompt), new Entry(response, clock.millis() + type.getTtl().toMillis()));
+        }
+    }
+
+    /**
+     * Drop every entry from both tiers.
+     */
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+        }
+        try (var files = Files.list(directory)) {
+            files.forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete AI cache file {}: {}", file, e.getMessage());
+                }
+            });
+        } catch (NoSuchFileException e) {
+            // Nothing on disk yet
+        } catch (IOException e) {
+            log.warn("Could not clear AI cache directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Lowercase words of the prompt joined by single spaces.
+     */
+    static String normalize(String prompt) {
+        return prompt.toLowerCase(Locale.ROOT).replace("'", "").replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private String key(CallType type, String prompt) {
+        String text = type + "\n" + model + "\n" + normalize(prompt);
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String lookup(String key) {
+        long now = clock.millis();
+        synchronized (memory) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > now) {
+                    memoryHits.incrementAndGet();
+                    return entry.value();
+                }
+                memory.remove(key);
+            }
+        }
+
+        Entry entry = readFile(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= now) {
+            deleteFile(key);
+            return null;
+        }
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        diskHits.incrementAndGet();
+        return entry.value();
+    }
+
+    private void store(String key, Entry entry) {
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.writeString(temp, entry.expiresAt() + "\n" + entry.value(), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file(key), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Could not write AI cache entry to {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private Entry readFile(String key) {
+        try {
+            String content = Files.readString(file(key), StandardCharsets.UTF_8);
+            int newline = content.indexOf('\n');
+            return new Entry(content.substring(newline + 1), Long.parseLong(content.substring(0, newline)));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable AI cache entry {}: {}", key, e.getMessage());
+            deleteFile(key);
+            return null;
+        }
+    }
+
+    private void deleteFile(String key) {
+        try {
+            Files.deleteIfExists(file(key));
+        } catch (IOException e) {
+            log.warn("Could not delete AI cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key + ".txt");
+    }
+
+    private record Entry(String value, long expiresAt) {
+    }
+}
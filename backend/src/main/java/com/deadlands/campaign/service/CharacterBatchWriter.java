@@ -0,0 +1,270 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.model.ArcanePower;
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.Edge;
+import com.deadlands.campaign.model.Equipment;
+import com.deadlands.campaign.model.Hindrance;
+import com.deadlands.campaign.model.Skill;
+import com.deadlands.campaign.model.Wound;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes imported characters and their child rows with JDBC batches.
+ *
+ * One batch of characters costs one round trip per table (characters, skills,
+ * edges, hindrances, equipment, arcane powers, wounds) instead of one INSERT per row
+ * through Hibernate. Character ids come back from the batch's generated keys
+ * and are used to link the child rows.
+ *
+ * Callers pass fully validated characters whose reference associations hold
+ * only the resolved reference id.
+ */
+@Component
+public class CharacterBatchWriter {
+
+    static final String INSERT_CHARACTER =
+            "INSERT INTO characters (name, occupation, player_id, pace, size, wind, grit, parry, toughness, charisma, " +
+            "total_xp, spent_xp, agility_die, smarts_die, spirit_die, strength_die, vigor_die, " +
+            "cognition_die, deftness_die, nimbleness_die, quickness_die, notes, character_image_url, is_npc, " +
+            "created_at, updated_at, version, import_hash) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    static final String INSERT_SKILL =
+            "INSERT INTO skills (character_id, skill_reference_id, name, die_value, notes, category) VALUES (?, ?, ?, ?, ?, ?)";
+
+    static final String INSERT_EDGE =
+            "INSERT INTO edges (character_id, edge_reference_id, name, description, type, notes) VALUES (?, ?, ?, ?, ?, ?)";
+
+    static final String INSERT_HINDRANCE =
+            "INSERT INTO hindrances (character_id, hindrance_reference_id, name, description, severity, notes) VALUES (?, ?, ?, ?, ?, ?)";
+
+    static final String INSERT_EQUIPMENT =
+            "INSERT INTO equipment (character_id, equipment_reference_id, name, description, type, quantity, weight, cost, " +
+            "damage, range, rof, shots, speed, defense, is_equipped, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String INSERT_ARCANE_POWER =
+            "INSERT INTO arcane_powers (character_id, power_reference_id, name, type, speed, duration, range, trait, " +
+            "target_number, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String INSERT_WOUND =
+            "INSERT INTO wounds (character_id, location, severity, description, is_healed) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert a batch of characters and all of their child rows in one transaction.
+     *
+     * @param characters Validated characters (player and importHash already set)
+     * @return Generated character ids, in input order
+     */
+    @Transactional
+    public List<Long> write(List<Character> characters) {
+        if (characters.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = insertCharacters(characters);
+
+        List<Row<Skill>> skills = new ArrayList<>();
+        List<Row<Edge>> edges = new ArrayList<>();
+        List<Row<Hindrance>> hindrances = new ArrayList<>();
+        List<Row<Equipment>> equipment = new ArrayList<>();
+        List<Row<ArcanePower>> powers = new ArrayList<>();
+        List<Row<Wound>> wounds = new ArrayList<>();
+        for (int i = 0; i < characters.size(); i++) {
+            Character character = characters.get(i);
+            Long id = ids.get(i);
+            character.getSkills().forEach(row -> skills.add(new Row<>(id, row)));
+            character.getEdges().forEach(row -> edges.add(new Row<>(id, row)));
+            character.getHindrances().forEach(row -> hindrances.add(new Row<>(id, row)));
+            character.getEquipment().forEach(row -> equipment.add(new Row<>(id, row)));
+            character.getArcanePowers().forEach(row -> powers.add(new Row<>(id, row)));
+            character.getWounds().forEach(row -> wounds.add(new Row<>(id, row)));
+        }
+
+        batch(INSERT_SKILL, skills, (ps, row) -> {
+            Skill skill = row.value();
+            ps.setLong(1, row.characterId());
+            setLong(ps, 2, skill.getSkillReference() != null ? skill.getSkillReference().getId() : null);
+            ps.setString(3, skill.getName());
+            ps.setString(4, skill.getDieValue());
+            ps.setString(5, skill.getNotes());
+            ps.setString(6, skill.getCategory() != null ? skill.getCategory().name() : null);
+        });
+
+        batch(INSERT_EDGE, edges, (ps, row) -> {
+            Edge edge = row.value();
+            ps.setLong(1, row.characterId());
+            setLong(ps, 2, edge.getEdgeReference() != null ? edge.getEdgeReference().getId() : null);
+            ps.setString(3, edge.getName());
+            ps.setString(4, edge.getDescription());
+            ps.setString(5, edge.getType() != null ? edge.getType().name() : null);
+            ps.setString(6, edge.getNotes());
+        });
+
+        batch(INSERT_HINDRANCE, hindrances, (ps, row) -> {
+            Hindrance hindrance = row.value();
+            ps.setLong(1, row.characterId());
+            setLong(ps, 2, hindrance.getHindranceReference() != null ? hindrance.getHindranceReference().getId() : null);
+            ps.setString(3, hindrance.getName());
+            ps.setString(4, hindrance.getDescription());
+            ps.setString(5, hindrance.getSeverity() != null ? hindrance.getSeverity().name() : null);
+            ps.setString(6, hindrance.getNotes());
+        });
+
+        batch(INSERT_EQUIPMENT, equipment, (ps, row) -> {
+            Equipment item = row.value();
+            ps.setLong(1, row.characterId());
+            setLong(ps, 2, item.getEquipmentReferenceId());
+            ps.setString(3, item.getName());
+            ps.setString(4, item.getDescription());
+            ps.setString(5, item.getType() != null ? item.getType().name() : null);
+            ps.setInt(6, item.getQuantity() != null ? item.getQuantity() : 1);
+            ps.setBigDecimal(7, item.getWeight());
+            ps.setBigDecimal(8, item.getCost());
+            ps.setString(9, item.getDamage());
+            ps.setString(10, item.getRange());
+            setInt(ps, 11, item.getRof());
+            setInt(ps, 12, item.getShots());
+            setInt(ps, 13, item.getSpeed());
+            setInt(ps, 14, item.getDefense());
+            ps.setBoolean(15, Boolean.TRUE.equals(item.getIsEquipped()));
+            ps.setString(16, item.getNotes());
+        });
+
+        batch(INSERT_ARCANE_POWER, powers, (ps, row) -> {
+            ArcanePower power = row.value();
+            ps.setLong(1, row.characterId());
+            setLong(ps, 2, power.getPowerReference() != null ? power.getPowerReference().getId() : null);
+            ps.setString(3, power.getName());
+            ps.setString(4, power.getType() != null ? power.getType().name() : null);
+            ps.setString(5, power.getSpeed());
+            ps.setString(6, power.getDuration());
+            ps.setString(7, power.getRange());
+            ps.setString(8, power.getTrait());
+            setInt(ps, 9, power.getTargetNumber());
+            ps.setString(10, power.getNotes());
+        });
+
+        batch(INSERT_WOUND, wounds, (ps, row) -> {
+            Wound wound = row.value();
+            ps.setLong(1, row.characterId());
+            ps.setString(2, wound.getLocation().name());
+            ps.setString(3, wound.getSeverity().name());
+            ps.setString(4, wound.getDescription());
+            ps.setBoolean(5, Boolean.TRUE.equals(wound.getIsHealed()));
+        });
+
+        return ids;
+    }
+
+    private List<Long> insertCharacters(List<Character> characters) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_CHARACTER, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Character c = characters.get(i);
+                        ps.setString(1, c.getName());
+                        ps.setString(2, c.getOccupation());
+                        setLong(ps, 3, c.getPlayer() != null ? c.getPlayer().getId() : null);
+                        ps.setInt(4, c.getPace());
+                        ps.setInt(5, c.getSize());
+                        ps.setInt(6, c.getWind());
+                        ps.setInt(7, c.getGrit());
+                        ps.setInt(8, c.getParry());
+                        ps.setInt(9, c.getToughness());
+                        ps.setInt(10, c.getCharisma());
+                        ps.setInt(11, c.getTotalXp());
+                        ps.setInt(12, c.getSpentXp());
+                        ps.setString(13, c.getAgilityDie());
+                        ps.setString(14, c.getSmartsDie());
+                        ps.setString(15, c.getSpiritDie());
+                        ps.setString(16, c.getStrengthDie());
+                        ps.setString(17, c.getVigorDie());
+                        ps.setString(18, c.getCognitionDie());
+                        ps.setString(19, c.getDeftnessDie());
+                        ps.setString(20, c.getNimblenessDie());
+                        ps.setString(21, c.getQuicknessDie());
+                        ps.setString(22, c.getNotes());
+                        ps.setString(23, c.getCharacterImageUrl());
+                        ps.setBoolean(24, Boolean.TRUE.equals(c.getIsNpc()));
+                        ps.setTimestamp(25, now);
+                        ps.setTimestamp(26, now);
+                        ps.setString(27, c.getImportHash());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return characters.size();
+                    }
+                }, keys);
+
+        List<Long> ids = new ArrayList<>(characters.size());
+        for (Map<String, Object> row : keys.getKeyList()) {
+            Object id = row.containsKey("id") ? row.get("id") : row.get("ID");
+            ids.add(((Number) id).longValue());
+        }
+        return ids;
+    }
+
+    private <T> void batch(String sql, List<Row<T>> rows, RowBinder<T> binder) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                binder.bind(ps, rows.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private record Row<T>(Long characterId, T value) {
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement ps, Row<T> row) throws SQLException;
+    }
+}
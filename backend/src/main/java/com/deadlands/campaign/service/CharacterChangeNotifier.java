@@ -0,0 +1,129 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.CharacterDeltaEvent;
+import com.deadlands.campaign.event.CharacterChangedEvent;
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.User;
+import com.deadlands.campaign.repository.UserRepository;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pushes character changes to connected clients over STOMP.
+ *
+ * Each change goes to /user/queue/characters of the owning player and of
+ * every GM, carrying only the properties that changed. Players see GM edits
+ * (wounds, XP, gear) without reloading, and the arena can patch its roster
+ * instead of re-fetching /characters.
+ *
+ * Deltas are sent once the change has committed, off the request thread; a
+ * save that rolls back never reaches clients.
+ *
+ * The destination is per-user, so players never receive other players' sheets.
+ */
+@Component
+public class CharacterChangeNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(CharacterChangeNotifier.class);
+
+    public static final String DESTINATION = "/queue/characters";
+
+    /**
+     * Properties that change on every save or are never useful to clients.
+     */
+    private static final Set<String> IGNORED_PROPERTIES = Set.of("updatedAt", "version", "player", "deletedBy");
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * A character's full state (same shape as GET /characters/{id}), sent for CREATED.
+     */
+    public ObjectNode snapshot(Character character) {
+        ObjectNode node = objectMapper.valueToTree(character);
+        node.remove(IGNORED_PROPERTIES);
+        return node;
+    }
+
+    /**
+     * The changes recorded while applying an edit, in the GET /characters/{id} shape.
+     *
+     * A changed scalar carries its new value. A changed collection carries
+     * {"upserted": [rows added or edited], "removed": [ids of deleted rows]}.
+     *
+     * @param changes What CharacterSheetUpdater (and DerivedStatEngine) changed
+     * @param character The saved character, so new rows carry their ids
+     */
+    public ObjectNode changes(CharacterSheetUpdater.Changes changes, Character character) {
+        ObjectNode node = objectMapper.createObjectNode();
+        changes.getValues().forEach((property, value) -> node.set(property, objectMapper.valueToTree(value)));
+        changes.getCollections().forEach((property, rows) -> {
+            if (rows.isEmpty()) {
+                return;
+            }
+            ObjectNode collection = node.putObject(property);
+            collection.set("upserted", objectMapper.valueToTree(new Rows(rows.upserted(character))).get("rows"));
+            ArrayNode removed = collection.putArray("removed");
+            rows.getRemovedIds().forEach(removed::add);
+        });
+        return node;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCharacterChanged(CharacterChangedEvent event) {
+        if (event.getChangeType() == CharacterChangedEvent.ChangeType.UPDATED
+                && event.getChanges() != null && event.getChanges().isEmpty()) {
+            return; // Saved without changes
+        }
+
+        CharacterDeltaEvent delta = new CharacterDeltaEvent(
+                event.getCharacterId(),
+                event.getPlayerId(),
+                event.getChangeType().name(),
+                event.getVersion(),
+                event.getChanges(),
+                System.currentTimeMillis());
+
+        Set<String> recipients = new LinkedHashSet<>();
+        if (event.getPlayerId() != null) {
+            userRepository.findById(event.getPlayerId()).ifPresent(owner -> recipients.add(owner.getUsername()));
+        }
+        for (User gm : userRepository.findByRole(User.Role.GAME_MASTER)) {
+            recipients.add(gm.getUsername());
+        }
+
+        for (String username : recipients) {
+            messagingTemplate.convertAndSendToUser(username, DESTINATION, delta);
+        }
+
+        logger.debug("[CharacterChangeNotifier] Sent {} of character {} to {} user(s)",
+                event.getChangeType(), event.getCharacterId(), recipients.size());
+    }
+
+    /**
+     * Child rows serialized as they appear on the sheet, without their owning character.
+     */
+    private record Rows(@JsonIgnoreProperties("character") List<?> rows) {
+    }
+}
@@ -0,0 +1,435 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.CharacterImportReportDTO;
+import com.deadlands.campaign.model.ArcanePower;
+import com.deadlands.campaign.model.ArcanePowerReference;
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.Edge;
+import com.deadlands.campaign.model.EdgeReference;
+import com.deadlands.campaign.model.Equipment;
+import com.deadlands.campaign.model.EquipmentReference;
+import com.deadlands.campaign.model.Hindrance;
+import com.deadlands.campaign.model.HindranceReference;
+import com.deadlands.campaign.model.Skill;
+import com.deadlands.campaign.model.SkillReference;
+import com.deadlands.campaign.model.User;
+import com.deadlands.campaign.model.Wound;
+import com.deadlands.campaign.repository.CharacterRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Bulk import of character sheets from JSON documents.
+ *
+ * Replaces the ad-hoc SQL files and Node scripts. Each source (a request
+ * body, or a *.json file under the character sheet directory) holds one
+ * character object or an array of them, in the same shape the API returns.
+ *
+ * Pipeline:
+ * - Documents are read one at a time with a streaming parser, so a large
+ *   export never has to fit in memory.
+ * - Skills, edges and hindrances are validated against the reference tables.
+ *   Name lookups are built once per run from the ReferenceCatalog snapshot, and
+ *   also link equipment and arcane powers to their reference rows when the names match.
+ * - Wounds must name a location and a severity.
+ * - Missing core stats and XP (absent or null) take the character sheet defaults.
+ * - Valid characters are written in JDBC batches by CharacterBatchWriter.
+ * - Every document is hashed (SHA-256 of its canonical JSON plus the owner),
+ *   and a hash that was already imported is skipped, so re-running an import
+ *   is a no-op.
+ *
+ * A bad document is reported with its source and position; the rest of the import continues.
+ */
+@Service
+public class CharacterImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CharacterImportService.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final Pattern DIE_NOTATION = Pattern.compile("^\\d*d(4|6|8|10|12)([+-]\\d+)?$", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CharacterBatchWriter characterBatchWriter;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private DerivedStatEngine derivedStatEngine;
+
+    @Autowired
+    private CharacterViewCache characterViewCache;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    /**
+     * Import characters from a single JSON stream (object or array of objects).
+     *
+     * @param in The JSON source; read incrementally
+     * @param source Label used in error reports
+     * @param owner The player the characters are assigned to
+     * @return Per-run counts and per-record errors
+     */
+    public CharacterImportReportDTO importStream(InputStream in, String source, User owner) {
+        ImportRun run = new ImportRun(owner);
+        readSource(in, source, run);
+        return run.finish();
+    }
+
+    /**
+     * Import every *.json file under a directory (e.g. "Character Sheets/<name>/sheet.json").
+     *
+     * @param root Directory to walk
+     * @param owner The player the characters are assigned to
+     * @return Per-run counts and per-record errors
+     */
+    public CharacterImportReportDTO importDirectory(Path root, User owner) {
+        ImportRun run = new ImportRun(owner);
+        if (!Files.isDirectory(root)) {
+            run.fail(root.toString(), -1, null, List.of("Import directory not found"));
+            return run.finish();
+        }
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json"))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            run.fail(root.toString(), -1, null, List.of("Could not list directory: " + e.getMessage()));
+            return run.finish();
+        }
+
+        for (Path file : files) {
+            String source = root.relativize(file).toString();
+            try (InputStream in = Files.newInputStream(file)) {
+                readSource(in, source, run);
+            } catch (IOException e) {
+                run.fail(source, -1, null, List.of("Could not read file: " + e.getMessage()));
+            }
+        }
+        return run.finish();
+    }
+
+    private void readSource(InputStream in, String source, ImportRun run) {
+        int index = 0;
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_OBJECT) {
+                run.accept(source, 0, parser.readValueAsTree());
+            } else if (first == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    run.accept(source, index++, parser.readValueAsTree());
+                }
+            } else {
+                run.fail(source, -1, null, List.of("Expected a character object or an array of characters"));
+            }
+        } catch (IOException e) {
+            // Malformed JSON: documents before the error are kept, the rest of this source is skipped
+            run.fail(source, index, null, List.of("Invalid JSON: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * State of one import run: reference name lookups, pending batch and report.
+     */
+    private class ImportRun {
+
+        private final User owner;
+        private final ReferenceNames names = referenceNames(referenceCatalog.get());
+        private final ObjectMapper canonicalMapper =
+                objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        private final Set<String> seenHashes = new HashSet<>();
+        private final List<Pending> pending = new ArrayList<>();
+        private final CharacterImportReportDTO report = new CharacterImportReportDTO();
+
+        ImportRun(User owner) {
+            this.owner = owner;
+        }
+
+        void accept(String source, int index, JsonNode document) {
+            String name = document.path("name").isTextual() ? document.path("name").asText() : null;
+
+            String hash = contentHash(document);
+            if (!seenHashes.add(hash)) {
+                report.setSkipped(report.getSkipped() + 1);
+                return;
+            }
+
+            Character character;
+            try {
+                character = objectMapper.treeToValue(document, Character.class);
+            } catch (JsonProcessingException e) {
+                fail(source, index, name, List.of("Unreadable character: " + e.getOriginalMessage()));
+                return;
+            }
+
+            List<String> errors = validateAndResolve(character);
+            if (!errors.isEmpty()) {
+                fail(source, index, name, errors);
+                return;
+            }
+
+            character.setId(null);
+            character.setPlayer(owner);
+            character.setImportHash(hash);
+            derivedStatEngine.apply(character);
+
+            pending.add(new Pending(source, index, character));
+            if (pending.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void fail(String source, int index, String name, List<String> messages) {
+            report.setFailed(report.getFailed() + 1);
+            report.getErrors().add(new CharacterImportReportDTO.RecordError(source, index, name, messages));
+        }
+
+        CharacterImportReportDTO finish() {
+            flush();
+            if (report.getImported() > 0) {
+                characterViewCache.clear();
+            }
+            logger.info("[CharacterImportService] Import finished: {} imported, {} skipped, {} failed",
+                    report.getImported(), report.getSkipped(), report.getFailed());
+            return report;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            // Idempotency: drop documents imported by an earlier run
+            Set<String> existing = characterRepository.findExistingImportHashes(
+                    pending.stream().map(p -> p.character.getImportHash()).toList());
+            List<Pending> toWrite = new ArrayList<>(pending.size());
+            for (Pending p : pending) {
+                if (existing.contains(p.character.getImportHash())) {
+                    report.setSkipped(report.getSkipped() + 1);
+                } else {
+                    toWrite.add(p);
+                }
+            }
+            pending.clear();
+
+            try {
+                characterBatchWriter.write(toWrite.stream().map(p -> p.character).toList());
+                report.setImported(report.getImported() + toWrite.size());
+            } catch (RuntimeException e) {
+                if (toWrite.size() == 1) {
+                    writeFailed(toWrite.get(0), e);
+                    return;
+                }
+                // The batch rolled back as a whole; retry one by one so only the bad records are reported
+                logger.warn("[CharacterImportService] Batch write failed, retrying {} records individually: {}",
+                        toWrite.size(), e.getMessage());
+                for (Pending p : toWrite) {
+                    try {
+                        characterBatchWriter.write(List.of(p.character));
+                        report.setImported(report.getImported() + 1);
+                    } catch (RuntimeException recordError) {
+                        writeFailed(p, recordError);
+                    }
+                }
+            }
+        }
+
+        private void writeFailed(Pending p, RuntimeException e) {
+            logger.error("[CharacterImportService] Write failed for {} #{}", p.source, p.index, e);
+            fail(p.source, p.index, p.character.getName(), List.of("Database write failed: " + e.getMessage()));
+        }
+
+        private String contentHash(JsonNode document) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                digest.update(String.valueOf(owner.getId()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(canonicalMapper.writeValueAsBytes(canonicalMapper.treeToValue(document, Object.class)));
+                return HexFormat.of().formatHex(digest.digest());
+            } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+                throw new IllegalStateException("Could not hash character document", e);
+            }
+        }
+
+        private List<String> validateAndResolve(Character character) {
+            List<String> errors = new ArrayList<>();
+
+            if (character.getName() == null || character.getName().isBlank()) {
+                errors.add("Character name is required");
+            }
+            checkDie(errors, "agilityDie", character.getAgilityDie());
+            checkDie(errors, "smartsDie", character.getSmartsDie());
+            checkDie(errors, "spiritDie", character.getSpiritDie());
+            checkDie(errors, "strengthDie", character.getStrengthDie());
+            checkDie(errors, "vigorDie", character.getVigorDie());
+
+            // An explicit null would otherwise reach NOT NULL columns; pace, parry,
+            // toughness and charisma are recomputed by the derived stat engine
+            character.setSize(valueOrDefault(character.getSize(), 0));
+            character.setWind(valueOrDefault(character.getWind(), 0));
+            character.setGrit(valueOrDefault(character.getGrit(), 1));
+            character.setTotalXp(valueOrDefault(character.getTotalXp(), 0));
+            character.setSpentXp(valueOrDefault(character.getSpentXp(), 0));
+
+            for (Skill skill : nullSafe(character.getSkills())) {
+                Long refId = names.skills.resolve(skill.getName());
+                if (refId == null) {
+                    errors.add("Unknown skill: " + skill.getName());
+                } else {
+                    skill.setSkillReference(SkillReference.builder().id(refId).build());
+                }
+                if (skill.getDieValue() == null) {
+                    errors.add("Skill " + skill.getName() + " has no die value");
+                } else {
+                    checkDie(errors, "skill " + skill.getName(), skill.getDieValue());
+                }
+            }
+            for (Edge edge : nullSafe(character.getEdges())) {
+                Long refId = names.edges.resolve(edge.getName());
+                if (refId == null) {
+                    errors.add("Unknown edge: " + edge.getName());
+                } else {
+                    edge.setEdgeReference(EdgeReference.builder().id(refId).build());
+                }
+            }
+            for (Hindrance hindrance : nullSafe(character.getHindrances())) {
+                Long refId = names.hindrances.resolve(hindrance.getName());
+                if (refId == null) {
+                    errors.add("Unknown hindrance: " + hindrance.getName());
+                } else {
+                    hindrance.setHindranceReference(HindranceReference.builder().id(refId).build());
+                }
+            }
+
+            // Custom gear and trappings are allowed; link them when the catalog knows the name
+            for (Equipment item : nullSafe(character.getEquipment())) {
+                Long refId = names.equipment.resolve(item.getName());
+                item.setEquipmentReferenceId(refId);
+            }
+            for (ArcanePower power : nullSafe(character.getArcanePowers())) {
+                Long refId = names.powers.resolve(power.getName());
+                power.setPowerReference(refId != null ? ArcanePowerReference.builder().id(refId).build() : null);
+            }
+            for (Wound wound : nullSafe(character.getWounds())) {
+                if (wound.getLocation() == null || wound.getSeverity() == null) {
+                    errors.add("Wound needs a location and a severity");
+                }
+            }
+
+            character.setSkills(nullSafe(character.getSkills()));
+            character.setEdges(nullSafe(character.getEdges()));
+            character.setHindrances(nullSafe(character.getHindrances()));
+            character.setEquipment(nullSafe(character.getEquipment()));
+            character.setArcanePowers(nullSafe(character.getArcanePowers()));
+            character.setWounds(nullSafe(character.getWounds()));
+            return errors;
+        }
+    }
+
+    private static ReferenceNames referenceNames(ReferenceCatalog.Snapshot references) {
+        return new ReferenceNames(
+                NameIndex.of(references.getSkills(), SkillReference::getName, SkillReference::getId),
+                NameIndex.of(references.getEdges(), EdgeReference::getName, EdgeReference::getId),
+                NameIndex.of(references.getHindrances(), HindranceReference::getName, HindranceReference::getId),
+                NameIndex.of(references.getEquipment(), EquipmentReference::getName, EquipmentReference::getId),
+                NameIndex.of(references.getPowers(), ArcanePowerReference::getName, ArcanePowerReference::getId));
+    }
+
+    private static void checkDie(List<String> errors, String field, String die) {
+        if (die != null && !DIE_NOTATION.matcher(die.trim()).matches()) {
+            errors.add("Invalid die for " + field + ": " + die);
+        }
+    }
+
+    private static Integer valueOrDefault(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private static <T> Set<T> nullSafe(Set<T> set) {
+        return set != null ? set : new HashSet<>();
+    }
+
+    private record Pending(String source, int index, Character character) {
+    }
+
+    private record ReferenceNames(NameIndex skills, NameIndex edges, NameIndex hindrances,
+                                  NameIndex equipment, NameIndex powers) {
+    }
+
+    /**
+     * Case-insensitive name -> reference id lookup.
+     * Also accepts a specialisation ("Knowledge (Occult)" -> "Knowledge")
+     * and Deadlands spelling ("Fightin'" -> "Fighting").
+     */
+    private static final class NameIndex {
+        private final Map<String, Long> ids;
+
+        private NameIndex(Map<String, Long> ids) {
+            this.ids = ids;
+        }
+
+        static <R> NameIndex of(List<R> references, Function<R, String> name, Function<R, Long> id) {
+            Map<String, Long> ids = new HashMap<>();
+            for (R reference : references) {
+                if (name.apply(reference) != null) {
+                    ids.putIfAbsent(normalize(name.apply(reference)), id.apply(reference));
+                }
+            }
+            return new NameIndex(ids);
+        }
+
+        Long resolve(String name) {
+            if (name == null) {
+                return null;
+            }
+            String key = normalize(name);
+            Long id = ids.get(key);
+            if (id == null && key.contains(" (")) {
+                id = ids.get(key.substring(0, key.indexOf(" (")));
+            }
+            if (id == null && key.endsWith("in'")) {
+                id = ids.get(key.substring(0, key.length() - 1) + "g");
+            }
+            return id;
+        }
+
+        private static String normalize(String name) {
+            return name.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.CharacterDTO;
+import com.deadlands.campaign.dto.CharacterEdgeDTO;
+import com.deadlands.campaign.dto.CharacterEquipmentDTO;
+import com.deadlands.campaign.dto.CharacterPageDTO;
+import com.deadlands.campaign.dto.CharacterSkillDTO;
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.repository.CharacterRepository;
+import com.deadlands.campaign.repository.EdgeRepository;
+import com.deadlands.campaign.repository.EquipmentRepository;
+import com.deadlands.campaign.repository.SkillRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Read model for the character roster (GET /characters).
+ *
+ * Loading Character entities and walking their collections costs one query
+ * per collection per character. This read model instead issues a fixed number of set-based queries:
+ * - characters (with player) in one query
+ * - skills, edges and equipment for all of those characters, one query each
+ *
+ * Child rows are projected straight into DTOs, so no child entities are
+ * loaded into the persistence context; equipment reference data is merged
+ * in from ReferenceCatalog.
+ */
+@Service
+public class CharacterReadModel {
+
+    /**
+     * Upper bound on ids per IN clause (PostgreSQL caps bind parameters at 32767).
+     */
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private EdgeRepository edgeRepository;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    /**
+     * Get the full roster (GM view).
+     *
+     * @return All active characters as roster DTOs
+     */
+    @Transactional(readOnly = true)
+    public List<CharacterDTO> findAll() {
+        return assemble(characterRepository.findAllWithPlayer());
+    }
+
+    /**
+     * Get one player's characters.
+     *
+     * @param playerId The owning player's user ID
+     * @return The player's active characters as roster DTOs
+     */
+    @Transactional(readOnly = true)
+    public List<CharacterDTO> findByPlayerId(Long playerId) {
+        return assemble(characterRepository.findByPlayerIdWithPlayer(playerId));
+    }
+
+    /**
+     * Get one keyset page of the roster, optionally filtered by player and/or NPC flag.
+     *
+     * Seeks by id (WHERE id > afterId ORDER BY id) so every page costs the same
+     * regardless of depth; one extra row is fetched to detect the last page.
+     *
+     * @param playerId Only characters owned by this player (null = any)
+     * @param isNpc Only NPCs / only PCs (null = both)
+     * @param afterId Cursor: return characters with id greater than this (0 = first page)
+     * @param limit Page size
+     * @return The page and the cursor for the next one
+     */
+    @Transactional(readOnly = true)
+    public CharacterPageDTO findPage(Long playerId, Boolean isNpc, long afterId, int limit) {
+        Pageable pageable = PageRequest.of(0, limit + 1);
+
+        List<Character> characters;
+        if (playerId != null && isNpc != null) {
+            characters = characterRepository.findPageByPlayerIdAndIsNpcAfter(playerId, isNpc, afterId, pageable);
+        } else if (playerId != null) {
+            characters = characterRepository.findPageByPlayerIdAfter(playerId, afterId, pageable);
+        } else if (isNpc != null) {
+            characters = characterRepository.findPageByIsNpcAfter(isNpc, afterId, pageable);
+        } else {
+            characters = characterRepository.findPageAfter(afterId, pageable);
+        }
+
+        boolean hasMore = characters.size() > limit;
+        if (hasMore) {
+            characters = characters.subList(0, limit);
+        }
+
+        List<CharacterDTO> items = assemble(characters);
+        Long nextAfterId = items.isEmpty() ? null : items.get(items.size() - 1).getId();
+        return new CharacterPageDTO(items, nextAfterId, hasMore);
+    }
+
+    /**
+     * Build roster DTOs for already-loaded characters, batch-loading their children.
+     *
+     * @param characters Characters with their player already fetched
+     * @return DTOs in the same order as the input
+     */
+    @Transactional(readOnly = true)
+    public List<CharacterDTO> assemble(List<Character> characters) {
+        if (characters.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = characters.stream().map(Character::getId).toList();
+
+        Map<Long, List<CharacterSkillDTO>> skills =
+                groupByCharacter(ids, skillRepository::findRosterRowsByCharacterIds, CharacterSkillDTO::getCharacterId);
+        Map<Long, List<CharacterEdgeDTO>> edges =
+                groupByCharacter(ids, edgeRepository::findRosterRowsByCharacterIds, CharacterEdgeDTO::getCharacterId);
+        Map<Long, List<CharacterEquipmentDTO>> equipment =
+                groupByCharacter(ids, equipmentRepository::findRosterRowsByCharacterIds, CharacterEquipmentDTO::getCharacterId);
+
+        ReferenceCatalog.Snapshot references = referenceCatalog.get();
+        equipment.values().forEach(items -> items.forEach(item -> {
+            if (item.getEquipmentReferenceId() != null) {
+                item.applyReference(references.equipment(item.getEquipmentReferenceId()).orElse(null));
+            }
+        }));
+
+        List<CharacterDTO> dtos = new ArrayList<>(characters.size());
+        for (Character character : characters) {
+            CharacterDTO dto = toDTO(character);
+            dto.setSkills(skills.getOrDefault(character.getId(), List.of()));
+            dto.setEdges(edges.getOrDefault(character.getId(), List.of()));
+            dto.setEquipment(equipment.getOrDefault(character.getId(), List.of()));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    /**
+     * Map the scalar fields of a character (children are filled in by the caller).
+     */
+    static CharacterDTO toDTO(Character character) {
+        CharacterDTO dto = new CharacterDTO();
+        dto.setId(character.getId());
+        dto.setName(character.getName());
+        dto.setOccupation(character.getOccupation());
+        dto.setPace(character.getPace());
+        dto.setSize(character.getSize());
+        dto.setWind(character.getWind());
+        dto.setGrit(character.getGrit());
+        dto.setParry(character.getParry());
+        dto.setToughness(character.getToughness());
+        // Savage Worlds attributes
+        dto.setAgilityDie(character.getAgilityDie());
+        dto.setSmartsDie(character.getSmartsDie());
+        dto.setSpiritDie(character.getSpiritDie());
+        dto.setStrengthDie(character.getStrengthDie());
+        dto.setVigorDie(character.getVigorDie());
+        // Legacy attributes (deprecated)
+        dto.setCognitionDie(character.getCognitionDie());
+        dto.setDeftnessDie(character.getDeftnessDie());
+        dto.setNimblenessDie(character.getNimblenessDie());
+        dto.setQuicknessDie(character.getQuicknessDie());
+        dto.setNotes(character.getNotes());
+        dto.setCharacterImageUrl(character.getCharacterImageUrl());
+        dto.setIsNpc(character.getIsNpc());
+        // XP tracking
+        dto.setTotalXp(character.getTotalXp());
+        dto.setSpentXp(character.getSpentXp());
+
+        // Add player information
+        if (character.getPlayer() != null) {
+            dto.setPlayerId(character.getPlayer().getId());
+            dto.setPlayerName(character.getPlayer().getUsername());
+        }
+
+        return dto;
+    }
+
+    /**
+     * Run a child projection query over the ids in chunks and group the rows by owning character.
+     */
+    private static <T> Map<Long, List<T>> groupByCharacter(List<Long> ids,
+                                                           Function<Collection<Long>, List<T>> query,
+                                                           Function<T, Long> characterId) {
+        Map<Long, List<T>> grouped = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            for (T row : query.apply(chunk)) {
+                grouped.computeIfAbsent(characterId.apply(row), k -> new ArrayList<>()).add(row);
+            }
+        }
+        return grouped;
+    }
+}
@@ -0,0 +1,382 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.model.ArcanePower;
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.Edge;
+import com.deadlands.campaign.model.Equipment;
+import com.deadlands.campaign.model.Hindrance;
+import com.deadlands.campaign.model.Skill;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies character sheet edits onto a managed Character.
+ *
+ * Child collections are reconciled by id instead of being cleared and
+ * re-added: rows the client kept are updated in place (Hibernate dirty
+ * checking only issues an UPDATE if something actually changed), rows
+ * without a known id are inserted, and rows the client dropped are
+ * deleted through orphanRemoval. Saving a sheet after editing one note
+ * therefore touches one row, not every skill and item on the character.
+ *
+ * Used by both PUT (replace every field) and PATCH (only the fields present
+ * in the request body).
+ */
+@Component
+public class CharacterSheetUpdater {
+
+    /**
+     * Editable scalar fields, keyed by their JSON property name.
+     * Each entry copies one field from the request onto the managed character.
+     */
+    private static final Map<String, ScalarField<?>> SCALAR_FIELDS = new LinkedHashMap<>();
+
+    static {
+        // Basic character fields
+        SCALAR_FIELDS.put("name", new ScalarField<>(Character::getName, Character::setName));
+        SCALAR_FIELDS.put("occupation", new ScalarField<>(Character::getOccupation, Character::setOccupation));
+        SCALAR_FIELDS.put("isNpc", new ScalarField<>(Character::getIsNpc, Character::setIsNpc));
+        SCALAR_FIELDS.put("notes", new ScalarField<>(Character::getNotes, Character::setNotes));
+        SCALAR_FIELDS.put("characterImageUrl", new ScalarField<>(Character::getCharacterImageUrl, Character::setCharacterImageUrl));
+
+        // Legacy attribute dies (deprecated, but still supported)
+        SCALAR_FIELDS.put("cognitionDie", new ScalarField<>(Character::getCognitionDie, Character::setCognitionDie));
+        SCALAR_FIELDS.put("deftnessDie", new ScalarField<>(Character::getDeftnessDie, Character::setDeftnessDie));
+        SCALAR_FIELDS.put("nimblenessDie", new ScalarField<>(Character::getNimblenessDie, Character::setNimblenessDie));
+        SCALAR_FIELDS.put("quicknessDie", new ScalarField<>(Character::getQuicknessDie, Character::setQuicknessDie));
+
+        // Savage Worlds attribute dies
+        SCALAR_FIELDS.put("agilityDie", new ScalarField<>(Character::getAgilityDie, Character::setAgilityDie));
+        SCALAR_FIELDS.put("smartsDie", new ScalarField<>(Character::getSmartsDie, Character::setSmartsDie));
+        SCALAR_FIELDS.put("spiritDie", new ScalarField<>(Character::getSpiritDie, Character::setSpiritDie));
+        SCALAR_FIELDS.put("strengthDie", new ScalarField<>(Character::getStrengthDie, Character::setStrengthDie));
+        SCALAR_FIELDS.put("vigorDie", new ScalarField<>(Character::getVigorDie, Character::setVigorDie));
+
+        // Derived stats
+        SCALAR_FIELDS.put("pace", new ScalarField<>(Character::getPace, Character::setPace));
+        SCALAR_FIELDS.put("size", new ScalarField<>(Character::getSize, Character::setSize));
+        SCALAR_FIELDS.put("grit", new ScalarField<>(Character::getGrit, Character::setGrit));
+        SCALAR_FIELDS.put("parry", new ScalarField<>(Character::getParry, Character::setParry));
+        SCALAR_FIELDS.put("toughness", new ScalarField<>(Character::getToughness, Character::setToughness));
+        SCALAR_FIELDS.put("charisma", new ScalarField<>(Character::getCharisma, Character::setCharisma));
+
+        // XP tracking
+        SCALAR_FIELDS.put("totalXp", new ScalarField<>(Character::getTotalXp, Character::setTotalXp));
+        SCALAR_FIELDS.put("spentXp", new ScalarField<>(Character::getSpentXp, Character::setSpentXp));
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Full update (PUT): every editable field and collection is replaced.
+     *
+     * @param character The managed character to update
+     * @param details The complete character sheet sent by the client
+     * @return What the edit changed
+     */
+    public Changes applyAll(Character character, Character details) {
+        Changes changes = new Changes();
+        SCALAR_FIELDS.forEach((property, field) -> field.copy(property, character, details, changes));
+
+        reconcileSkills(character, details.getSkills(), changes);
+        reconcileEdges(character, details.getEdges(), changes);
+        reconcileHindrances(character, details.getHindrances(), changes);
+        reconcileEquipment(character, details.getEquipment(), changes);
+        reconcileArcanePowers(character, details.getArcanePowers(), changes);
+        return changes;
+    }
+
+    /**
+     * Partial update (PATCH): only fields present in the body are applied.
+     *
+     * Absent fields are left untouched. A collection that is present replaces
+     * that collection (still reconciled by id); absent collections are unchanged.
+     *
+     * @param character The managed character to update
+     * @param patch The partial character sheet sent by the client
+     * @return What the edit changed
+     * @throws IllegalArgumentException if the body isn't a valid character sheet
+     */
+    public Changes applyPatch(Character character, JsonNode patch) {
+        Character details;
+        try {
+            details = objectMapper.treeToValue(patch, Character.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid character patch: " + e.getOriginalMessage(), e);
+        }
+
+        Changes changes = new Changes();
+        SCALAR_FIELDS.forEach((property, field) -> {
+            if (patch.has(property)) {
+                field.copy(property, character, details, changes);
+            }
+        });
+
+        if (patch.has("skills")) {
+            reconcileSkills(character, details.getSkills(), changes);
+        }
+        if (patch.has("edges")) {
+            reconcileEdges(character, details.getEdges(), changes);
+        }
+        if (patch.has("hindrances")) {
+            reconcileHindrances(character, details.getHindrances(), changes);
+        }
+        if (patch.has("equipment")) {
+            reconcileEquipment(character, details.getEquipment(), changes);
+        }
+        if (patch.has("arcanePowers")) {
+            reconcileArcanePowers(character, details.getArcanePowers(), changes);
+        }
+        return changes;
+    }
+
+    private void reconcileSkills(Character character, Collection<Skill> incoming, Changes changes) {
+        reconcile(character.getSkills(), incoming, changes.rows("skills", Character::getSkills, Skill::getId),
+                (target, source) -> set(target.getName(), source.getName(), target::setName)
+                        | set(target.getDieValue(), source.getDieValue(), target::setDieValue)
+                        | set(target.getNotes(), source.getNotes(), target::setNotes)
+                        | set(target.getCategory(), source.getCategory(), target::setCategory), skill -> {
+            skill.setId(null);
+            skill.setCharacter(character);
+        });
+    }
+
+    private void reconcileEdges(Character character, Collection<Edge> incoming, Changes changes) {
+        reconcile(character.getEdges(), incoming, changes.rows("edges", Character::getEdges, Edge::getId),
+                (target, source) -> set(target.getName(), source.getName(), target::setName)
+                        | set(target.getDescription(), source.getDescription(), target::setDescription)
+                        | set(target.getType(), source.getType(), target::setType)
+                        | set(target.getNotes(), source.getNotes(), target::setNotes), edge -> {
+            edge.setId(null);
+            edge.setCharacter(character);
+        });
+    }
+
+    private void reconcileHindrances(Character character, Collection<Hindrance> incoming, Changes changes) {
+        reconcile(character.getHindrances(), incoming,
+                changes.rows("hindrances", Character::getHindrances, Hindrance::getId),
+                (target, source) -> set(target.getName(), source.getName(), target::setName)
+                        | set(target.getDescription(), source.getDescription(), target::setDescription)
+                        | set(target.getSeverity(), source.getSeverity(), target::setSeverity)
+                        | set(target.getNotes(), source.getNotes(), target::setNotes), hindrance -> {
+            hindrance.setId(null);
+            hindrance.setCharacter(character);
+        });
+    }
+
+    private void reconcileEquipment(Character character, Collection<Equipment> incoming, Changes changes) {
+        reconcile(character.getEquipment(), incoming,
+                changes.rows("equipment", Character::getEquipment, Equipment::getId),
+                (target, source) -> set(target.getName(), source.getName(), target::setName)
+                        | set(target.getDescription(), source.getDescription(), target::setDescription)
+                        | set(target.getType(), source.getType(), target::setType)
+                        | set(target.getQuantity(), source.getQuantity(), target::setQuantity)
+                        | set(target.getWeight(), source.getWeight(), target::setWeight)
+                        | set(target.getCost(), source.getCost(), target::setCost)
+                        | set(target.getDamage(), source.getDamage(), target::setDamage)
+                        | set(target.getRange(), source.getRange(), target::setRange)
+                        | set(target.getRof(), source.getRof(), target::setRof)
+                        | set(target.getShots(), source.getShots(), target::setShots)
+                        | set(target.getSpeed(), source.getSpeed(), target::setSpeed)
+                        | set(target.getDefense(), source.getDefense(), target::setDefense)
+                        | set(target.getIsEquipped(), source.getIsEquipped(), target::setIsEquipped)
+                        | set(target.getNotes(), source.getNotes(), target::setNotes), item -> {
+            item.setId(null);
+            item.setCharacter(character);
+        });
+    }
+
+    private void reconcileArcanePowers(Character character, Collection<ArcanePower> incoming, Changes changes) {
+        reconcile(character.getArcanePowers(), incoming,
+                changes.rows("arcanePowers", Character::getArcanePowers, ArcanePower::getId),
+                (target, source) -> set(target.getName(), source.getName(), target::setName)
+                        | set(target.getType(), source.getType(), target::setType)
+                        | set(target.getSpeed(), source.getSpeed(), target::setSpeed)
+                        | set(target.getDuration(), source.getDuration(), target::setDuration)
+                        | set(target.getRange(), source.getRange(), target::setRange)
+                        | set(target.getTrait(), source.getTrait(), target::setTrait)
+                        | set(target.getTargetNumber(), source.getTargetNumber(), target::setTargetNumber)
+                        | set(target.getNotes(), source.getNotes(), target::setNotes), power -> {
+            power.setId(null);
+            power.setCharacter(character);
+        });
+    }
+
+    /**
+     * Reconcile a managed child collection against the client's copy by id.
+     *
+     * Reference links (skillReference etc.) are left as they are on kept rows:
+     * the client never sees reference ids, so it can't meaningfully change them.
+     *
+     * @param current The managed collection (mutated in place)
+     * @param incoming The client's collection (null = empty)
+     * @param changes Records the rows added, edited and removed
+     * @param copy Copies editable columns from the client's row onto the managed row; true if any changed
+     * @param attach Prepares a new row for insertion (clears its id, sets the owner)
+     */
+    static <T> void reconcile(Set<T> current,
+                              Collection<T> incoming,
+                              RowChanges<T> changes,
+                              BiPredicate<T, T> copy,
+                              Consumer<T> attach) {
+        Function<T, Long> idOf = changes.idOf;
+        Map<Long, T> incomingById = new HashMap<>();
+        List<T> added = new ArrayList<>();
+        if (incoming != null) {
+            for (T row : incoming) {
+                Long id = idOf.apply(row);
+                if (id == null || incomingById.putIfAbsent(id, row) != null) {
+                    added.add(row);
+                }
+            }
+        }
+
+        // Entities hash on their fields, so take kept rows out of the set before mutating them
+        List<T> kept = new ArrayList<>();
+        Iterator<T> it = current.iterator();
+        while (it.hasNext()) {
+            T existing = it.next();
+            Long id = idOf.apply(existing);
+            changes.existingIds.add(id);
+            T update = incomingById.remove(id);
+            it.remove();
+            if (update != null) {
+                if (copy.test(existing, update)) {
+                    changes.editedIds.add(id);
+                }
+                kept.add(existing);
+            } else {
+                changes.removedIds.add(id);
+            }
+        }
+        current.addAll(kept);
+
+        // Ids that don't belong to this character are treated as new rows, never re-parented
+        added.addAll(incomingById.values());
+        for (T row : added) {
+            attach.accept(row);
+            current.add(row);
+        }
+        changes.added = added.size();
+    }
+
+    /**
+     * Set a column if the client's value differs.
+     *
+     * @return true if the column changed
+     */
+    private static <V> boolean set(V current, V value, Consumer<V> setter) {
+        if (Objects.equals(current, value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    private record ScalarField<V>(Function<Character, V> getter, BiConsumer<Character, V> setter) {
+        void copy(String property, Character target, Character source, Changes changes) {
+            V value = getter.apply(source);
+            if (!Objects.equals(getter.apply(target), value)) {
+                setter.accept(target, value);
+                changes.values.put(property, value);
+            }
+        }
+    }
+
+    /**
+     * What an edit changed, collected while it is applied so the change
+     * notification never has to serialize and compare the whole sheet.
+     */
+    public static class Changes {
+
+        private final Map<String, Object> values = new LinkedHashMap<>();
+        private final Map<String, RowChanges<?>> collections = new LinkedHashMap<>();
+
+        /**
+         * Changed scalar properties and their new values
+         */
+        public Map<String, Object> getValues() {
+            return values;
+        }
+
+        /**
+         * Row changes per collection property (only collections the edit touched)
+         */
+        public Map<String, RowChanges<?>> getCollections() {
+            return collections;
+        }
+
+        /**
+         * Record the derived stats after DerivedStatEngine changed them.
+         */
+        public void derivedStatsChanged(Character character) {
+            values.put("pace", character.getPace());
+            values.put("parry", character.getParry());
+            values.put("toughness", character.getToughness());
+            values.put("charisma", character.getCharisma());
+        }
+
+        <T> RowChanges<T> rows(String property, Function<Character, Set<T>> rows, Function<T, Long> idOf) {
+            RowChanges<T> changes = new RowChanges<>(rows, idOf);
+            collections.put(property, changes);
+            return changes;
+        }
+    }
+
+    /**
+     * Rows of one child collection that an edit added, edited or removed.
+     */
+    public static class RowChanges<T> {
+
+        private final Function<Character, Set<T>> rows;
+        private final Function<T, Long> idOf;
+        private final Set<Long> existingIds = new HashSet<>();
+        private final Set<Long> editedIds = new HashSet<>();
+        private final List<Long> removedIds = new ArrayList<>();
+        private int added;
+
+        private RowChanges(Function<Character, Set<T>> rows, Function<T, Long> idOf) {
+            this.rows = rows;
+            this.idOf = idOf;
+        }
+
+        public boolean isEmpty() {
+            return added == 0 && editedIds.isEmpty() && removedIds.isEmpty();
+        }
+
+        /**
+         * Added and edited rows, read from the saved character so new rows carry their ids.
+         */
+        public List<T> upserted(Character character) {
+            return rows.apply(character).stream()
+                    .filter(row -> {
+                        Long id = idOf.apply(row);
+                        return id == null || editedIds.contains(id) || !existingIds.contains(id);
+                    })
+                    .toList();
+        }
+
+        public List<Long> getRemovedIds() {
+            return removedIds;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.CharacterDTO;
+import com.deadlands.campaign.event.CharacterChangedEvent;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory cache of assembled character views.
+ *
+ * Three kinds of entries share one LRU and one weight budget:
+ * - character id -> CharacterDTO (the assembled roster view)
+ * - roster (per player, or the GM's full roster) -> ordered list of character ids
+ * - sheet key -> the full character sheet served by GET /characters/{id}, as JSON
+ *
+ * Rosters only hold ids, so editing a character evicts just that character's
+ * view and sheet; creating or deleting one also evicts the rosters it belongs to.
+ * Invalidation is driven by CharacterChangedEvent.
+ *
+ * Entries are weighed by an estimate of their heap size, so a roster of
+ * NPCs with long notes evicts sooner than one of bare stat blocks.
+ *
+ * Views are copied on the way in and on the way out, so callers may modify
+ * the DTOs they get without corrupting the cache. The bean and its weight
+ * budget are defined in CharacterCacheConfig.
+ */
+public class CharacterViewCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CharacterViewCache.class);
+
+    private static final RosterKey ALL_CHARACTERS = new RosterKey(null);
+
+    private final CharacterReadModel characterReadModel;
+
+    private final LinkedHashMap<Object, WeightedEntry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final long maxWeight;
+    private long totalWeight;
+
+    /**
+     * Bumped on every invalidation so a load that raced an invalidation isn't cached.
+     */
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CharacterViewCache(CharacterReadModel characterReadModel, long maxWeight) {
+        this.characterReadModel = characterReadModel;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Get the GM's full roster.
+     */
+    public List<CharacterDTO> getAll() {
+        return getRoster(ALL_CHARACTERS);
+    }
+
+    /**
+     * Get one player's roster.
+     */
+    public List<CharacterDTO> getByPlayerId(Long playerId) {
+        return getRoster(new RosterKey(playerId));
+    }
+
+    private List<CharacterDTO> getRoster(RosterKey key) {
+        long observedGeneration;
+        synchronized (this) {
+            List<CharacterDTO> cached = lookupRoster(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            observedGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        List<CharacterDTO> loaded = key.getPlayerId() == null
+                ? characterReadModel.findAll()
+                : characterReadModel.findByPlayerId(key.getPlayerId());
+
+        synchronized (this) {
+            if (generation == observedGeneration) {
+                List<Long> ids = new ArrayList<>(loaded.size());
+                for (CharacterDTO dto : loaded) {
+                    ids.add(dto.getId());
+                    put(dto.getId(), dto.copy(), estimateWeight(dto));
+                }
+                put(key, List.copyOf(ids), 32L + 16L * ids.size());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Get a cached character sheet.
+     *
+     * @return The sheet, or null on a miss (load it, then call putSheet)
+     */
+    public Sheet getSheet(Long characterId) {
+        synchronized (this) {
+            WeightedEntry entry = entries.get(new SheetKey(characterId));
+            if (entry != null) {
+                hits.incrementAndGet();
+                return (Sheet) entry.value;
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Current invalidation generation; read it before loading a sheet and pass it to putSheet.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Cache a loaded sheet unless the character changed since observedGeneration.
+     */
+    public synchronized void putSheet(Sheet sheet, long observedGeneration) {
+        if (generation == observedGeneration) {
+            put(new SheetKey(sheet.getCharacterId()), sheet, 64L + sheet.getJson().length);
+        }
+    }
+
+    /**
+     * Resolve a roster from cached ids; null if the roster or any of its views is missing.
+     */
+    @SuppressWarnings("unchecked")
+    private List<CharacterDTO> lookupRoster(RosterKey key) {
+        WeightedEntry rosterEntry = entries.get(key);
+        if (rosterEntry == null) {
+            return null;
+        }
+        List<Long> ids = (List<Long>) rosterEntry.value;
+        List<CharacterDTO> roster = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            WeightedEntry view = entries.get(id);
+            if (view == null) {
+                return null;
+            }
+            roster.add(((CharacterDTO) view.value).copy());
+        }
+        return roster;
+    }
+
+    private void put(Object key, Object value, long weight) {
+        WeightedEntry previous = entries.put(key, new WeightedEntry(value, weight));
+        if (previous != null) {
+            totalWeight -= previous.weight;
+        }
+        totalWeight += weight;
+
+        Iterator<Map.Entry<Object, WeightedEntry>> eldest = entries.entrySet().iterator();
+        while (totalWeight > maxWeight && eldest.hasNext()) {
+            Map.Entry<Object, WeightedEntry> victim = eldest.next();
+            if (victim.getKey().equals(key)) {
+                continue;
+            }
+            totalWeight -= victim.getValue().weight;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void remove(Object key) {
+        WeightedEntry removed = entries.remove(key);
+        if (removed != null) {
+            totalWeight -= removed.weight;
+        }
+    }
+
+    /**
+     * Invalidate exactly the views affected by a character change.
+     */
+    @EventListener
+    public synchronized void onCharacterChanged(CharacterChangedEvent event) {
+        generation++;
+        invalidations.incrementAndGet();
+
+        remove(event.getCharacterId());
+        remove(new SheetKey(event.getCharacterId()));
+
+        // Membership of rosters only changes on create/delete
+        if (event.getChangeType() != CharacterChangedEvent.ChangeType.UPDATED) {
+            remove(ALL_CHARACTERS);
+            if (event.getPlayerId() != null) {
+                remove(new RosterKey(event.getPlayerId()));
+            }
+        }
+
+        logger.debug("[CharacterViewCache] Invalidated character {} ({})",
+                event.getCharacterId(), event.getChangeType());
+    }
+
+    /**
+     * Drop everything (used by tests and after bulk data changes).
+     */
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    /**
+     * Snapshot of cache metrics.
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), invalidations.get(),
+                entries.size(), totalWeight, maxWeight);
+    }
+
+    /**
+     * Rough heap size of a roster view: object headers plus UTF-16 string payloads.
+     */
+    static long estimateWeight(CharacterDTO dto) {
+        long weight = 256;
+        weight += chars(dto.getName()) + chars(dto.getOccupation()) + chars(dto.getNotes())
+                + chars(dto.getCharacterImageUrl()) + chars(dto.getPlayerName());
+        if (dto.getSkills() != null) {
+            for (var skill : dto.getSkills()) {
+                weight += 64 + chars(skill.getName()) + chars(skill.getDieValue());
+            }
+        }
+        if (dto.getEdges() != null) {
+            for (var edge : dto.getEdges()) {
+                weight += 64 + chars(edge.getName()) + chars(edge.getDescription());
+            }
+        }
+        if (dto.getEquipment() != null) {
+            for (var item : dto.getEquipment()) {
+                weight += 128 + chars(item.getName()) + chars(item.getDescription())
+                        + chars(item.getDamage()) + chars(item.getRange());
+            }
+        }
+        return weight;
+    }
+
+    private static long chars(String value) {
+        return value == null ? 0 : 40L + 2L * value.length();
+    }
+
+    /**
+     * Cache key for a roster; a null playerId is the GM's roster of every character.
+     */
+    @Value
+    static class RosterKey {
+        Long playerId;
+    }
+
+    /**
+     * Cache key for a full sheet (kept apart from the roster view keyed by the bare id).
+     */
+    @Value
+    static class SheetKey {
+        Long characterId;
+    }
+
+    /**
+     * A serialized character sheet, with the owner and version needed to
+     * authorize and revalidate a request without loading the character.
+     */
+    @Value
+    public static class Sheet {
+        Long characterId;
+        Long playerId;
+        Long version;
+        byte[] json;
+    }
+
+    private static final class WeightedEntry {
+        private final Object value;
+        private final long weight;
+
+        private WeightedEntry(Object value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Hit/miss metrics exposed to the GM.
+     */
+    @Value
+    public static class Stats {
+        long hits;
+        long misses;
+        long evictions;
+        long invalidations;
+        int entries;
+        long weight;
+        long maxWeight;
+    }
+}
@@ -0,0 +1,182 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.CharacterEquippedReferenceDTO;
+import com.deadlands.campaign.dto.CharacterSkillDTO;
+import com.deadlands.campaign.dto.CharacterStatRowDTO;
+import com.deadlands.campaign.dto.CharacterTraitDTO;
+import com.deadlands.campaign.model.EquipmentReference;
+import com.deadlands.campaign.repository.CharacterRepository;
+import com.deadlands.campaign.repository.EdgeRepository;
+import com.deadlands.campaign.repository.EquipmentRepository;
+import com.deadlands.campaign.repository.HindranceRepository;
+import com.deadlands.campaign.repository.SkillRepository;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Recomputes stored derived stats for every character.
+ *
+ * Characters are split into chunks that are processed in parallel, each in
+ * its own transaction. A chunk reads only the columns the rules need, with
+ * one set-based query per input (vigor and size, Fighting, edges, hindrances, armor).
+ * It never loads Character entities or their collections, and it only writes
+ * rows whose stored values are wrong. NPC stat blocks are left as authored;
+ * only their missing values are filled in.
+ *
+ * Run it once after deploying the engine, or after changing reference armor values.
+ */
+@Service
+public class DerivedStatBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DerivedStatBatchService.class);
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_THREADS = 4;
+
+    @Autowired
+    private DerivedStatEngine derivedStatEngine;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private EdgeRepository edgeRepository;
+
+    @Autowired
+    private HindranceRepository hindranceRepository;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private CharacterViewCache characterViewCache;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public DerivedStatBatchService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Recompute derived stats for all active characters.
+     *
+     * @return How many characters were scanned and how many were corrected
+     */
+    public Result recomputeAll() {
+        List<Long> ids = characterRepository.findActiveIds();
+        if (ids.isEmpty()) {
+            return new Result(0, 0);
+        }
+
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+        }
+
+        int threads = Math.min(MAX_THREADS, Math.min(chunks.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1));
+        int updated = 0;
+        try {
+            List<Future<Integer>> results = new ArrayList<>(chunks.size());
+            for (List<Long> chunk : chunks) {
+                results.add(executor.submit(() -> transactionTemplate.execute(status -> recomputeChunk(chunk))));
+            }
+            for (Future<Integer> result : results) {
+                updated += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Derived stat recompute interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Derived stat recompute failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        // Bulk updates bypass CharacterChangedEvent, so drop cached roster views wholesale
+        if (updated > 0) {
+            characterViewCache.clear();
+        }
+
+        logger.info("[DerivedStatBatchService] Recomputed derived stats: {} scanned, {} updated", ids.size(), updated);
+        return new Result(ids.size(), updated);
+    }
+
+    private int recomputeChunk(List<Long> ids) {
+        Map<Long, Integer> halfFighting = new HashMap<>();
+        for (CharacterSkillDTO skill : skillRepository.findRowsByCharacterIdsAndNames(ids, DerivedStatEngine.FIGHTING_SKILL_NAMES)) {
+            int half = DerivedStatEngine.half(DerivedStatEngine.parseDie(skill.getDieValue()));
+            halfFighting.merge(skill.getCharacterId(), half, Math::max);
+        }
+
+        Map<Long, Set<String>> traits = new HashMap<>();
+        for (CharacterTraitDTO edge : edgeRepository.findTraitRowsByCharacterIds(ids)) {
+            DerivedStatEngine.addTrait(traits.computeIfAbsent(edge.getCharacterId(), k -> new HashSet<>()), edge.getName());
+        }
+        for (CharacterTraitDTO hindrance : hindranceRepository.findTraitRowsByCharacterIds(ids)) {
+            DerivedStatEngine.addTrait(traits.computeIfAbsent(hindrance.getCharacterId(), k -> new HashSet<>()), hindrance.getName());
+        }
+
+        Map<Long, Integer> armor = new HashMap<>();
+        ReferenceCatalog.Snapshot references = referenceCatalog.get();
+        for (CharacterEquippedReferenceDTO item : equipmentRepository.findEquippedReferencesByCharacterIds(ids)) {
+            Integer armorValue = references.equipment(item.getEquipmentReferenceId())
+                    .map(EquipmentReference::getArmorValue)
+                    .orElse(null);
+            if (armorValue != null) {
+                armor.merge(item.getCharacterId(), armorValue, Math::max);
+            }
+        }
+
+        int updated = 0;
+        for (CharacterStatRowDTO row : characterRepository.findStatRowsByIds(ids)) {
+            DerivedStatEngine.DerivedStats stats = derivedStatEngine.compute(
+                    DerivedStatEngine.parseDie(row.getVigorDie()),
+                    halfFighting.getOrDefault(row.getId(), 0),
+                    armor.getOrDefault(row.getId(), 0),
+                    row.getSize() != null ? row.getSize() : 0,
+                    traits.getOrDefault(row.getId(), Set.of()));
+            if (Boolean.TRUE.equals(row.getIsNpc())) {
+                stats = stats.keeping(row.getPace(), row.getParry(), row.getToughness(), row.getCharisma());
+            }
+
+            if (!stats.matches(row.getPace(), row.getParry(), row.getToughness(), row.getCharisma())) {
+                characterRepository.updateDerivedStats(row.getId(), stats.getPace(), stats.getParry(),
+                        stats.getToughness(), stats.getCharisma());
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Outcome of a batch recompute.
+     */
+    @Value
+    public static class Result {
+        int scanned;
+        int updated;
+    }
+}
@@ -0,0 +1,256 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.Edge;
+import com.deadlands.campaign.model.Equipment;
+import com.deadlands.campaign.model.EquipmentReference;
+import com.deadlands.campaign.model.Hindrance;
+import com.deadlands.campaign.model.Skill;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes Savage Worlds derived stats (Pace, Parry, Toughness, Charisma).
+ *
+ * These used to be calculated by the client (frontend/src/utils/derivedStats.ts)
+ * and stored as sent, so they drifted from the dice. The server is now the
+ * source of truth: stats are recomputed on every save and by
+ * DerivedStatBatchService for existing characters.
+ *
+ * Rules:
+ * - Pace = 6 (+2 Fleet-Footed, -2 Lame, -1 Obese)
+ * - Parry = 2 + half Fighting (+1 Block, +2 Improved Block)
+ * - Toughness = 2 + half Vigor + Size + best equipped armor (+1 Brawny, +1 Obese)
+ * - Charisma = edges/hindrances (Attractive +2, or Very Attractive +4 instead; Purty +2, Ugly -2, Mean -2)
+ *
+ * "Half a die" is half the die type plus half any modifier (d12+2 counts as 7).
+ * A missing or unreadable die counts as d4, the lowest die a trait can have.
+ *
+ * NPC stat blocks are copied from the books and may differ from the formulas
+ * (monsters, special abilities), so for NPCs only missing values are filled in.
+ *
+ * Armor is looked up by equipmentReferenceId in the ReferenceCatalog, never
+ * read from Equipment.equipmentReference: that field is only resolved after
+ * load or save, and apply() runs before save on client-built characters.
+ */
+@Component
+public class DerivedStatEngine {
+
+    public static final Set<String> FIGHTING_SKILL_NAMES = Set.of("Fighting", "Fightin'");
+
+    private static final int BASE_PACE = 6;
+    private static final int BASE_PARRY = 2;
+    private static final int BASE_TOUGHNESS = 2;
+
+    /**
+     * Die codes are packed as (sides << 8) | (modifier & 0xFF).
+     */
+    private static final int D4 = pack(4, 0);
+
+    /**
+     * Die strings come from a tiny vocabulary ("1d6", "d8", "d12+1"...), so each is parsed once.
+     */
+    private static final Map<String, Integer> DIE_CODES = new ConcurrentHashMap<>();
+
+    private final ReferenceCatalog referenceCatalog;
+
+    public DerivedStatEngine(ReferenceCatalog referenceCatalog) {
+        this.referenceCatalog = referenceCatalog;
+    }
+
+    /**
+     * Compute derived stats from a loaded character (collections are read).
+     *
+     * @param character The character with skills, edges, hindrances and equipment available
+     * @return The derived stats
+     */
+    public DerivedStats compute(Character character) {
+        int fighting = 0;
+        for (Skill skill : nullSafe(character.getSkills())) {
+            if (FIGHTING_SKILL_NAMES.contains(skill.getName())) {
+                fighting = Math.max(fighting, half(parseDie(skill.getDieValue())));
+            }
+        }
+
+        Set<String> traits = new HashSet<>();
+        for (Edge edge : nullSafe(character.getEdges())) {
+            addTrait(traits, edge.getName() != null ? edge.getName()
+                    : edge.getEdgeReference() != null ? edge.getEdgeReference().getName() : null);
+        }
+        for (Hindrance hindrance : nullSafe(character.getHindrances())) {
+            addTrait(traits, hindrance.getName() != null ? hindrance.getName()
+                    : hindrance.getHindranceReference() != null ? hindrance.getHindranceReference().getName() : null);
+        }
+
+        int armor = 0;
+        ReferenceCatalog.Snapshot references = referenceCatalog.get();
+        for (Equipment item : nullSafe(character.getEquipment())) {
+            if (Boolean.TRUE.equals(item.getIsEquipped()) && item.getEquipmentReferenceId() != null) {
+                Integer armorValue = references.equipment(item.getEquipmentReferenceId())
+                        .map(EquipmentReference::getArmorValue)
+                        .orElse(null);
+                if (armorValue != null) {
+                    armor = Math.max(armor, armorValue);
+                }
+            }
+        }
+
+        int size = character.getSize() != null ? character.getSize() : 0;
+        return compute(parseDie(character.getVigorDie()), fighting, armor, size, traits);
+    }
+
+    /**
+     * Compute derived stats from pre-parsed inputs (used by the batch job).
+     *
+     * @param vigorDie Packed Vigor die code from {@link #parseDie}
+     * @param halfFighting Half the Fighting die (0 if untrained)
+     * @param armor Best equipped armor value
+     * @param size Size modifier (0 for human-sized)
+     * @param traits Lower-cased edge and hindrance names
+     * @return The derived stats
+     */
+    public DerivedStats compute(int vigorDie, int halfFighting, int armor, int size, Set<String> traits) {
+        int pace = BASE_PACE;
+        if (traits.contains("fleet-footed")) pace += 2;
+        if (traits.contains("lame")) pace -= 2;
+        if (traits.contains("obese")) pace -= 1;
+
+        int parry = BASE_PARRY + halfFighting;
+        if (traits.contains("improved block")) {
+            parry += 2;
+        } else if (traits.contains("block")) {
+            parry += 1;
+        }
+
+        int toughness = BASE_TOUGHNESS + half(vigorDie) + size + armor;
+        if (traits.contains("brawny")) toughness += 1;
+        if (traits.contains("obese")) toughness += 1;
+
+        int charisma = 0;
+        if (traits.contains("very attractive")) {
+            charisma += 4; // Improves Attractive, doesn't stack with it
+        } else if (traits.contains("attractive")) {
+            charisma += 2;
+        }
+        if (traits.contains("purty")) charisma += 2;
+        if (traits.contains("ugly")) charisma -= 2;
+        if (traits.contains("mean")) charisma -= 2;
+
+        return new DerivedStats(Math.max(pace, 1), parry, toughness, charisma);
+    }
+
+    /**
+     * Recompute and store a character's derived stats (incremental, on save).
+     * NPCs keep their stored values; only missing ones are computed.
+     *
+     * @param character The character about to be saved
+     * @return true if any stored value changed
+     */
+    public boolean apply(Character character) {
+        DerivedStats stats = compute(character);
+        if (Boolean.TRUE.equals(character.getIsNpc())) {
+            stats = stats.keeping(character.getPace(), character.getParry(), character.getToughness(), character.getCharisma());
+        }
+        if (stats.matches(character.getPace(), character.getParry(), character.getToughness(), character.getCharisma())) {
+            return false;
+        }
+        character.setPace(stats.getPace());
+        character.setParry(stats.getParry());
+        character.setToughness(stats.getToughness());
+        character.setCharisma(stats.getCharisma());
+        return true;
+    }
+
+    /**
+     * Parse die notation ("d8", "1d8", "d12+2") into a packed code. Missing or unreadable values count as d4.
+     */
+    public static int parseDie(String die) {
+        if (die == null) {
+            return D4;
+        }
+        return DIE_CODES.computeIfAbsent(die.trim().toLowerCase(Locale.ROOT), DerivedStatEngine::parseUncached);
+    }
+
+    /**
+     * Half of a packed die: half the die type plus half the modifier.
+     */
+    public static int half(int dieCode) {
+        return (dieCode >> 8) / 2 + ((byte) dieCode) / 2;
+    }
+
+    static void addTrait(Set<String> traits, String name) {
+        if (name != null) {
+            traits.add(name.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static int parseUncached(String die) {
+        int d = die.indexOf('d');
+        if (d < 0) {
+            return D4;
+        }
+        int i = d + 1;
+        int sides = 0;
+        while (i < die.length() && java.lang.Character.isDigit(die.charAt(i))) {
+            sides = sides * 10 + (die.charAt(i) - '0');
+            i++;
+        }
+        if (sides < 4 || sides > 12) {
+            return D4;
+        }
+        int modifier = 0;
+        if (i < die.length() && (die.charAt(i) == '+' || die.charAt(i) == '-')) {
+            try {
+                modifier = Integer.parseInt(die.substring(i).trim());
+            } catch (NumberFormatException e) {
+                modifier = 0;
+            }
+        }
+        return pack(sides, Math.max(-20, Math.min(20, modifier)));
+    }
+
+    private static int pack(int sides, int modifier) {
+        return (sides << 8) | (modifier & 0xFF);
+    }
+
+    private static <T> Collection<T> nullSafe(Collection<T> collection) {
+        return collection != null ? collection : Set.of();
+    }
+
+    /**
+     * Derived stats for one character.
+     */
+    @Value
+    public static class DerivedStats {
+        int pace;
+        int parry;
+        int toughness;
+        int charisma;
+
+        /**
+         * These stats with every stored (non-null) value kept, for NPC stat blocks.
+         */
+        public DerivedStats keeping(Integer pace, Integer parry, Integer toughness, Integer charisma) {
+            return new DerivedStats(
+                    pace != null ? pace : this.pace,
+                    parry != null ? parry : this.parry,
+                    toughness != null ? toughness : this.toughness,
+                    charisma != null ? charisma : this.charisma);
+        }
+
+        public boolean matches(Integer pace, Integer parry, Integer toughness, Integer charisma) {
+            return Objects.equals(this.pace, pace)
+                    && Objects.equals(this.parry, parry)
+                    && Objects.equals(this.toughness, toughness)
+                    && Objects.equals(this.charisma, charisma);
+        }
+    }
+}
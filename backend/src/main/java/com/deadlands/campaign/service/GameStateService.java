@@ -40,6 +40,9 @@ public class GameStateService {
     @Autowired
     private CharacterRepository characterRepository;
 
+    @Autowired
+    private TokenPositionRegistry tokenPositionRegistry;
+
     /**
      * Get the singleton game state, creating it if it doesn't exist.
      *
@@ -155,6 +158,7 @@ public class GameStateService {
     public void removeToken(String tokenId) {
         if (tokenPositionRepository.existsByTokenId(tokenId)) {
             tokenPositionRepository.deleteByTokenId(tokenId);
+            tokenPositionRegistry.remove(tokenId);
             logger.info("[GameStateService] Removed token: {}", tokenId);
 
             // Update game state last activity
@@ -182,6 +186,7 @@ public class GameStateService {
         // Clear all token positions (including offline players)
         gameState.clearAllTokenPositions();
         tokenPositionRepository.deleteAll();
+        tokenPositionRegistry.clear();
 
         // Update map
         gameState.setCurrentMap(newMapId);
@@ -234,6 +239,7 @@ public class GameStateService {
         // Clear all token positions
         gameState.clearAllTokenPositions();
         tokenPositionRepository.deleteAll();
+        tokenPositionRegistry.clear();
 
         // Reset turn to 1
         gameState.setTurnNumber(1);
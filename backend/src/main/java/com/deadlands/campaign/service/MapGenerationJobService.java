@@ -0,0 +1,348 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.MapGenerationJobDTO;
+import com.deadlands.campaign.dto.MapGenerationJobDTO.Status;
+import com.deadlands.campaign.dto.MapGenerationRequest;
+import com.deadlands.campaign.dto.MapGenerationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs battle map generation (Claude layout, JSON parsing, optional
+ * Stable Diffusion artwork) as background jobs.
+ *
+ * A generation can take over a minute, so instead of holding a servlet
+ * thread the GM submits a job and gets its id back at once. Jobs run on a
+ * fixed pool of ai.map-jobs.workers threads behind a bounded queue; when the
+ * queue is full, or a GM already has MAX_ACTIVE_JOBS_PER_USER jobs waiting
+ * or running, submit is rejected. Every status or progress change is pushed
+ * to the owner's /user/queue/map-jobs, and the finished map is kept for
+ * RETENTION so the client can fetch it.
+ *
+ * Jobs live in memory only; a restart drops them.
+ */
+@Service
+@Slf4j
+public class MapGenerationJobService {
+
+    public static final String DESTINATION = "/queue/map-jobs";
+
+    static final int MAX_ACTIVE_JOBS_PER_USER = 3;
+    static final Duration RETENTION = Duration.ofHours(1);
+
+    /**
+     * Receives progress from a running generation.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int progress, String stage);
+    }
+
+    private final AIGameMasterService aiGameMasterService;
+    private final ImageGenerationService imageGenerationService;
+    private final ObjectMapper objectMapper;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public MapGenerationJobService(AIGameMasterService aiGameMasterService,
+                                   ImageGenerationService imageGenerationService,
+                                   ObjectMapper objectMapper,
+                                   SimpMessagingTemplate messagingTemplate,
+                                   @Value("${ai.map-jobs.workers:2}") int workers,
+                                   @Value("${ai.map-jobs.queue-capacity:20}") int queueCapacity) {
+        this.aiGameMasterService = aiGameMasterService;
+        this.imageGenerationService = imageGenerationService;
+        this.objectMapper = objectMapper;
+        this.messagingTemplate = messagingTemplate;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "map-generation-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queue a map generation for a GM.
+     *
+     * @throws RejectedExecutionException if the GM has too many active jobs or the queue is full
+     */
+    public MapGenerationJobDTO submit(String username, MapGenerationRequest request) {
+        purgeExpired();
+        long active = jobs.values().stream()
+                .filter(job -> job.owner.equals(username) && !job.isFinished())
+                .count();
+        if (active >= MAX_ACTIVE_JOBS_PER_USER) {
+            throw new RejectedExecutionException("Too many map generations in progress");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), username);
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(() -> run(job, request));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new RejectedExecutionException("Map generation queue is full", e);
+        }
+        log.info("Queued map generation job {} for {} ({} waiting)", job.id, username, executor.getQueue().size());
+        publish(job);
+        return job.toDTO();
+    }
+
+    /**
+     * A job's status, if it exists and belongs to the user.
+     */
+    public Optional<MapGenerationJobDTO> getJob(String username, String jobId) {
+        return find(username, jobId).map(Job::toDTO);
+    }
+
+    /**
+     * The user's jobs, newest first.
+     */
+    public List<MapGenerationJobDTO> getJobs(String username) {
+        purgeExpired();
+        return jobs.values().stream()
+                .filter(job -> job.owner.equals(username))
+                .sorted(Comparator.comparingLong((Job job) -> job.createdAt).reversed())
+                .map(Job::toDTO)
+                .toList();
+    }
+
+    /**
+     * The generated map of a job, empty until the job has SUCCEEDED.
+     */
+    public Optional<MapGenerationResponse> getResult(String username, String jobId) {
+        return find(username, jobId).map(Job::result);
+    }
+
+    /**
+     * Cancel a queued or running job. Interrupting the worker also stops
+     * image polling.
+     *
+     * @return false if the job does not exist or has already finished
+     */
+    public boolean cancel(String username, String jobId) {
+        Optional<Job> found = find(username, jobId);
+        if (found.isEmpty() || !found.get().finish(Status.CANCELLED, null, null)) {
+            return false;
+        }
+        Job job = found.get();
+        if (job.future != null) {
+            job.future.cancel(true);
+        }
+        log.info("Cancelled map generation job {}", jobId);
+        publish(job);
+        return true;
+    }
+
+    /**
+     * Generate a battle map on the calling thread.
+     */
+    public MapGenerationResponse generate(MapGenerationRequest request, ProgressListener progress) throws IOException {
+        progress.onProgress(10, "Generating map layout");
+        String mapJson = aiGameMasterService.generateBattleMap(
+                request.getLocationType(),
+                request.getSize(),
+                request.getTheme() != null ? request.getTheme() : "combat",
+                request.getFeatures(),
+                request.getDescription(),
+                request.getCache()
+        );
+
+        progress.onProgress(60, "Reading map data");
+        MapGenerationResponse mapData = objectMapper.readValue(stripCodeFence(mapJson), MapGenerationResponse.class);
+
+        if (request.isGenerateImage() && imageGenerationService.isAvailable()) {
+            progress.onProgress(70, "Painting background image");
+            String imagePrompt = aiGameMasterService.generateImagePrompt(
+                    mapData.getName(),
+                    request.getLocationType(),
+                    mapData.getDescription()
+            );
+
+            // May take 10-60 seconds
+            String imageData = imageGenerationService.generateMapImage(imagePrompt, 1024, 1024);
+            if (imageData != null) {
+                mapData.setImageUrl(imageData);
+                mapData.setImagePrompt(imagePrompt);
+            } else {
+                log.warn("AI image generation failed - proceeding with procedural rendering only");
+            }
+        }
+        return mapData;
+    }
+
+    /**
+     * Remove markdown code fences Claude sometimes wraps JSON in.
+     */
+    static String stripCodeFence(String text) {
+        String json = text.trim();
+        if (json.startsWith("```json")) {
+            json = json.substring(7);
+        }
+        if (json.startsWith("```")) {
+            json = json.substring(3);
+        }
+        if (json.endsWith("```")) {
+            json = json.substring(0, json.length() - 3);
+        }
+        return json.trim();
+    }
+
+    private void run(Job job, MapGenerationRequest request) {
+        if (!job.start()) {
+            return; // Cancelled while queued
+        }
+        publish(job);
+        try {
+            MapGenerationResponse result = generate(request, (progress, stage) -> {
+                if (job.progress(progress, stage)) {
+                    publish(job);
+                }
+            });
+            if (Thread.currentThread().isInterrupted()) {
+                return; // Cancelled while running
+            }
+            if (job.finish(Status.SUCCEEDED, result, null)) {
+                log.info("Map generation job {} succeeded: {}", job.id, result.getName());
+                publish(job);
+            }
+        } catch (Exception e) {
+            log.error("Map generation job {} failed: {}", job.id, e.getMessage(), e);
+            if (job.finish(Status.FAILED, null, "Error generating map: " + e.getMessage())) {
+                publish(job);
+            }
+        }
+    }
+
+    private Optional<Job> find(String username, String jobId) {
+        purgeExpired();
+        Job job = jobs.get(jobId);
+        return job != null && job.owner.equals(username) ? Optional.of(job) : Optional.empty();
+    }
+
+    private void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - RETENTION.toMillis();
+        jobs.values().removeIf(job -> job.isFinished() && job.updatedAt < cutoff);
+    }
+
+    private void publish(Job job) {
+        try {
+            messagingTemplate.convertAndSendToUser(job.owner, DESTINATION, job.toDTO());
+        } catch (RuntimeException e) {
+            log.warn("Could not push map job {} update: {}", job.id, e.getMessage());
+        }
+    }
+
+    /**
+     * Mutable job state; transitions are synchronized so a cancel cannot be
+     * overwritten by a worker finishing at the same moment.
+     */
+    private static final class Job {
+
+        private final String id;
+        private final String owner;
+        private final long createdAt = System.currentTimeMillis();
+
+        private volatile Future<?> future;
+        private Status status = Status.QUEUED;
+        private int progress;
+        private String stage = "Waiting for a free worker";
+        private String error;
+        private MapGenerationResponse result;
+        private volatile long updatedAt = createdAt;
+
+        Job(String id, String owner) {
+            this.id = id;
+            this.owner = owner;
+        }
+
+        synchronized boolean start() {
+            if (status != Status.QUEUED) {
+                return false;
+            }
+            status = Status.RUNNING;
+            stage = "Starting";
+            updatedAt = System.currentTimeMillis();
+            return true;
+        }
+
+        synchronized boolean progress(int progress, String stage) {
+            if (status != Status.RUNNING) {
+                return false;
+            }
+            this.progress = progress;
+            this.stage = stage;
+            updatedAt = System.currentTimeMillis();
+            return true;
+        }
+
+        synchronized boolean finish(Status status, MapGenerationResponse result, String error) {
+            if (isFinished()) {
+                return false;
+            }
+            this.status = status;
+            this.result = result;
+            this.error = error;
+            this.progress = status == Status.SUCCEEDED ? 100 : progress;
+            this.stage = switch (status) {
+                case SUCCEEDED -> "Done";
+                case CANCELLED -> "Cancelled";
+                default -> "Failed";
+            };
+            updatedAt = System.currentTimeMillis();
+            return true;
+        }
+
+        synchronized MapGenerationResponse result() {
+            return result;
+        }
+
+        synchronized boolean isFinished() {
+            return status == Status.SUCCEEDED || status == Status.FAILED || status == Status.CANCELLED;
+        }
+
+        synchronized MapGenerationJobDTO toDTO() {
+            return MapGenerationJobDTO.builder()
+                    .jobId(id)
+                    .status(status)
+                    .progress(progress)
+                    .stage(stage)
+                    .error(error)
+                    .mapName(result != null ? result.getName() : null)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.ReferenceSuggestionDTO;
+import com.deadlands.campaign.dto.ReferenceSuggestionDTO.Kind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Typo-tolerant autocomplete over the names of all reference data (skills,
+ * edges, hindrances, equipment, arcane powers).
+ *
+ * Every word of every name goes into one character trie; each node knows
+ * which items have a word ending there and which items have a word below it.
+ * A query word is matched against the trie with a Levenshtein row per node,
+ * so "shoo", "shoting" and "shotting" all reach "Shooting": words up to 3
+ * letters must match exactly, 4-7 letters allow one edit, longer words two.
+ * Every query word has to match some word of the name. Items rank by how
+ * well their words match (whole word, prefix, fuzzy), then by whether the
+ * name starts with the query, then by shorter name.
+ *
+ * The trie is built from the ReferenceCatalog snapshot and rebuilt whenever
+ * the catalog reloads.
+ */
+@Service
+public class ReferenceAutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceAutocompleteIndex.class);
+
+    static final int MAX_QUERY_WORDS = 5;
+
+    private static final double WHOLE_WORD = 1.0;
+    private static final double PREFIX = 0.8;
+    private static final double PER_EDIT = 0.25;
+    private static final double NAME_PREFIX_BONUS = 0.3;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    private volatile Index index;
+
+    /**
+     * Best matching reference items for a partial query.
+     *
+     * @param kind Only this kind of item, or null for all
+     */
+    public List<ReferenceSuggestionDTO> suggest(String query, Kind kind, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (words.size() > MAX_QUERY_WORDS) {
+            words = words.subList(0, MAX_QUERY_WORDS);
+        }
+
+        Index current = index();
+        double[] total = new double[current.items.size()];
+        for (String word : words) {
+            double[] scores = current.match(word);
+            for (int item = 0; item < total.length; item++) {
+                // An item missing any query word drops out for good
+                total[item] = total[item] < 0 || scores[item] == 0 ? -1 : total[item] + scores[item];
+            }
+        }
+
+        String normalizedQuery = String.join(" ", words);
+        List<ReferenceSuggestionDTO> suggestions = new ArrayList<>();
+        for (int i = 0; i < total.length; i++) {
+            Item item = current.items.get(i);
+            if (total[i] <= 0 || (kind != null && item.kind() != kind)) {
+                continue;
+            }
+            double score = total[i] / words.size();
+            if (item.normalizedName().startsWith(normalizedQuery)) {
+                score += NAME_PREFIX_BONUS;
+            }
+            suggestions.add(new ReferenceSuggestionDTO(item.kind(), item.id(), item.name(), item.detail(), score));
+        }
+
+        suggestions.sort(Comparator.comparingDouble(ReferenceSuggestionDTO::getScore).reversed()
+                .thenComparingInt(suggestion -> suggestion.getName().length())
+                .thenComparing(ReferenceSuggestionDTO::getName));
+        return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+    }
+
+    private Index index() {
+        ReferenceCatalog.Snapshot snapshot = referenceCatalog.get();
+        Index current = index;
+        if (current == null || current.source != snapshot) {
+            synchronized (this) {
+                current = index;
+                if (current == null || current.source != snapshot) {
+                    current = build(snapshot);
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static Index build(ReferenceCatalog.Snapshot snapshot) {
+        long start = System.nanoTime();
+        List<Item> items = new ArrayList<>();
+        snapshot.getSkills().forEach(skill -> items.add(item(Kind.SKILL, skill.getId(), skill.getName(),
+                skill.getAttribute())));
+        snapshot.getEdges().forEach(edge -> items.add(item(Kind.EDGE, edge.getId(), edge.getName(),
+                edge.getType())));
+        snapshot.getHindrances().forEach(hindrance -> items.add(item(Kind.HINDRANCE, hindrance.getId(),
+                hindrance.getName(), hindrance.getSeverity())));
+        snapshot.getEquipment().forEach(equipment -> items.add(item(Kind.EQUIPMENT, equipment.getId(),
+                equipment.getName(), equipment.getType())));
+        snapshot.getPowers().forEach(power -> items.add(item(Kind.POWER, power.getId(), power.getName(),
+                power.getTraitRoll())));
+
+        NodeBuilder root = new NodeBuilder();
+        for (int i = 0; i < items.size(); i++) {
+            for (String word : words(items.get(i).name())) {
+                NodeBuilder node = root;
+                for (char c : word.toCharArray()) {
+                    node = node.children.computeIfAbsent(c, key -> new NodeBuilder());
+                    node.subtree.add(i);
+                }
+                node.items.add(i);
+            }
+        }
+
+        Index built = new Index(snapshot, List.copyOf(items), root.freeze());
+        logger.debug("[ReferenceAutocompleteIndex] Indexed {} names in {} ms",
+                items.size(), (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+
+    private static Item item(Kind kind, Long id, String name, Object detail) {
+        String safeName = name != null ? name : "";
+        return new Item(kind, id, safeName, detail != null ? detail.toString() : null,
+                String.join(" ", words(safeName)));
+    }
+
+    /**
+     * Lowercase words; apostrophes are dropped ("o'" is "o"), other punctuation splits.
+     */
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = text.toLowerCase(Locale.ROOT).replace("'", "").replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        return normalized.isEmpty() ? List.of() : Arrays.asList(normalized.split(" "));
+    }
+
+    /**
+     * Edits allowed for a query word of this length.
+     */
+    static int maxEdits(int length) {
+        return length <= 3 ? 0 : length <= 7 ? 1 : 2;
+    }
+
+    private record Item(Kind kind, Long id, String name, String detail, String normalizedName) {
+    }
+
+    private static final class Index {
+
+        private final ReferenceCatalog.Snapshot source;
+        private final List<Item> items;
+        private final Node root;
+
+        Index(ReferenceCatalog.Snapshot source, List<Item> items, Node root) {
+            this.source = source;
+            this.items = items;
+            this.root = root;
+        }
+
+        /**
+         * Best score per item for one query word; 0 means no word of the item matches.
+         */
+        double[] match(String word) {
+            char[] query = word.toCharArray();
+            int maxEdits = maxEdits(query.length);
+            double[] scores = new double[items.size()];
+            int[] firstRow = new int[query.length + 1];
+            for (int i = 0; i <= query.length; i++) {
+                firstRow[i] = i;
+            }
+            for (int c = 0; c < root.labels.length; c++) {
+                search(root.children[c], root.labels[c], query, firstRow, maxEdits, scores);
+            }
+            return scores;
+        }
+
+        private void search(Node node, char label, char[] query, int[] previous, int maxEdits, double[] scores) {
+            int[] row = new int[query.length + 1];
+            row[0] = previous[0] + 1;
+            int best = row[0];
+            for (int i = 1; i <= query.length; i++) {
+                int substitute = previous[i - 1] + (query[i - 1] == label ? 0 : 1);
+                row[i] = Math.min(substitute, Math.min(row[i - 1] + 1, previous[i] + 1));
+                best = Math.min(best, row[i]);
+            }
+
+            int edits = row[query.length];
+            if (edits <= maxEdits) {
+                // The query matches the path to this node, so it prefixes every word below it
+                double prefixScore = PREFIX - edits * PER_EDIT;
+                for (int item : node.subtree) {
+                    scores[item] = Math.max(scores[item], prefixScore);
+                }
+                double wholeWordScore = WHOLE_WORD - edits * PER_EDIT;
+                for (int item : node.items) {
+                    scores[item] = Math.max(scores[item], wholeWordScore);
+                }
+            }
+            if (best > maxEdits) {
+                return;
+            }
+            for (int c = 0; c < node.labels.length; c++) {
+                search(node.children[c], node.labels[c], query, row, maxEdits, scores);
+            }
+        }
+    }
+
+    /**
+     * Frozen trie node: children in label order, items whose word ends here,
+     * and items with a word passing through here.
+     */
+    private record Node(char[] labels, Node[] children, int[] items, int[] subtree) {
+    }
+
+    private static final class NodeBuilder {
+
+        private final TreeMap<Character, NodeBuilder> children = new TreeMap<>();
+        private final TreeSet<Integer> items = new TreeSet<>();
+        private final TreeSet<Integer> subtree = new TreeSet<>();
+
+        Node freeze() {
+            char[] labels = new char[children.size()];
+            Node[] frozen = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, NodeBuilder> child : children.entrySet()) {
+                labels[i] = child.getKey();
+                frozen[i++] = child.getValue().freeze();
+            }
+            return new Node(labels, frozen,
+                    items.stream().mapToInt(Integer::intValue).toArray(),
+                    subtree.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
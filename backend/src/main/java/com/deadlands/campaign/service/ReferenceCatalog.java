@@ -0,0 +1,376 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.model.ArcanePowerReference;
+import com.deadlands.campaign.model.EdgeReference;
+import com.deadlands.campaign.model.EquipmentReference;
+import com.deadlands.campaign.model.HindranceReference;
+import com.deadlands.campaign.model.SkillReference;
+import com.deadlands.campaign.repository.ArcanePowerReferenceRepository;
+import com.deadlands.campaign.repository.EdgeReferenceRepository;
+import com.deadlands.campaign.repository.EquipmentReferenceRepository;
+import com.deadlands.campaign.repository.HindranceReferenceRepository;
+import com.deadlands.campaign.repository.SkillReferenceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory catalog of the rulebook reference data (skills, edges,
+ * hindrances, equipment, arcane powers).
+ *
+ * Reference tables only change on deployment, so they are read once, after
+ * startup runners have loaded them, into an immutable {@link Snapshot}: lists
+ * ordered by id, maps by id, and lists grouped by SkillAttribute, EdgeType,
+ * Severity, EquipmentType and arcane background (each power's comma-separated
+ * arcaneBackgrounds is parsed once into a PowerType bitmask). Every list the
+ * /reference endpoints serve is also pre-encoded as JSON and gzipped JSON with an ETag, so those requests
+ * are a byte copy.
+ *
+ * The entities in a snapshot are shared; callers must not modify them. Code
+ * that changes reference tables must call {@link #reload()} afterwards.
+ */
+@Service
+public class ReferenceCatalog {
+
+    /**
+     * Character ranks in order; a power or edge without a rank counts as Novice.
+     */
+    public static final List<String> RANKS = List.of("Novice", "Seasoned", "Veteran", "Heroic", "Legendary");
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceCatalog.class);
+
+    @Autowired
+    private SkillReferenceRepository skillReferenceRepository;
+
+    @Autowired
+    private EdgeReferenceRepository edgeReferenceRepository;
+
+    @Autowired
+    private HindranceReferenceRepository hindranceReferenceRepository;
+
+    @Autowired
+    private EquipmentReferenceRepository equipmentReferenceRepository;
+
+    @Autowired
+    private ArcanePowerReferenceRepository arcanePowerReferenceRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * The current catalog, loading it on first use.
+     */
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Re-read every reference table and swap in a new snapshot.
+     */
+    public synchronized void reload() {
+        snapshot = load();
+    }
+
+    /**
+     * Runs after all CommandLineRunners, so data loaded by ReferenceDataInitializer is included.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        get();
+    }
+
+    private Snapshot load() {
+        long start = System.currentTimeMillis();
+        Snapshot loaded = new Snapshot(
+                sorted(skillReferenceRepository.findAll(), SkillReference::getId),
+                sorted(edgeReferenceRepository.findAll(), EdgeReference::getId),
+                sorted(hindranceReferenceRepository.findAll(), HindranceReference::getId),
+                sorted(equipmentReferenceRepository.findAll(), EquipmentReference::getId),
+                sorted(arcanePowerReferenceRepository.findAll(), ArcanePowerReference::getId),
+                this::encode);
+        logger.info("[ReferenceCatalog] Loaded {} skills, {} edges, {} hindrances, {} equipment, {} powers in {} ms",
+                loaded.getSkills().size(), loaded.getEdges().size(), loaded.getHindrances().size(),
+                loaded.getEquipment().size(), loaded.getPowers().size(), System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    private static <T> List<T> sorted(List<T> items, Function<T, Long> id) {
+        return items.stream().sorted(Comparator.comparing(id)).toList();
+    }
+
+    private EncodedJson encode(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+                out.write(json);
+            }
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json)).substring(0, 32);
+            return new EncodedJson(json, gzip.toByteArray(), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode reference data", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One immutable load of the reference tables.
+     */
+    public static final class Snapshot {
+
+        private final List<SkillReference> skills;
+        private final List<EdgeReference> edges;
+        private final List<HindranceReference> hindrances;
+        private final List<EquipmentReference> equipment;
+        private final List<ArcanePowerReference> powers;
+
+        private final Map<Long, SkillReference> skillsById;
+        private final Map<Long, EdgeReference> edgesById;
+        private final Map<Long, HindranceReference> hindrancesById;
+        private final Map<Long, EquipmentReference> equipmentById;
+        private final Map<Long, ArcanePowerReference> powersById;
+
+        private final Map<SkillReference.SkillAttribute, List<SkillReference>> skillsByAttribute;
+        private final Map<EdgeReference.EdgeType, List<EdgeReference>> edgesByType;
+        private final Map<HindranceReference.Severity, List<HindranceReference>> hindrancesBySeverity;
+        private final Map<EquipmentReference.EquipmentType, List<EquipmentReference>> equipmentByType;
+        private final Map<ArcanePowerReference.PowerType, List<ArcanePowerReference>> powersByBackground;
+
+        /**
+         * PowerType bitmask per power id
+         */
+        private final Map<Long, Integer> powerBackgroundMasks;
+
+        /**
+         * Pre-encoded responses keyed by path under /reference, e.g. "skills" or "edges/by-type/COMBAT"
+         */
+        private final Map<String, EncodedJson> encoded = new HashMap<>();
+
+        Snapshot(List<SkillReference> skills, List<EdgeReference> edges, List<HindranceReference> hindrances,
+                 List<EquipmentReference> equipment, List<ArcanePowerReference> powers,
+                 Function<Object, EncodedJson> encoder) {
+            this.skills = skills;
+            this.edges = edges;
+            this.hindrances = hindrances;
+            this.equipment = equipment;
+            this.powers = powers;
+
+            this.skillsById = byId(skills, SkillReference::getId);
+            this.edgesById = byId(edges, EdgeReference::getId);
+            this.hindrancesById = byId(hindrances, HindranceReference::getId);
+            this.equipmentById = byId(equipment, EquipmentReference::getId);
+            this.powersById = byId(powers, ArcanePowerReference::getId);
+
+            this.skillsByAttribute = group(skills, SkillReference.SkillAttribute.class, SkillReference::getAttribute);
+            this.edgesByType = group(edges, EdgeReference.EdgeType.class, EdgeReference::getType);
+            this.hindrancesBySeverity = group(hindrances, HindranceReference.Severity.class, HindranceReference::getSeverity);
+            this.equipmentByType = group(equipment, EquipmentReference.EquipmentType.class, EquipmentReference::getType);
+
+            Map<Long, Integer> masks = new HashMap<>();
+            powers.forEach(power -> masks.put(power.getId(),
+                    ArcanePowerReference.parseBackgrounds(power.getArcaneBackgrounds())));
+            this.powerBackgroundMasks = Collections.unmodifiableMap(masks);
+            Map<ArcanePowerReference.PowerType, List<ArcanePowerReference>> byBackground =
+                    new EnumMap<>(ArcanePowerReference.PowerType.class);
+            for (ArcanePowerReference.PowerType background : ArcanePowerReference.PowerType.values()) {
+                // COMMON powers are open to every background
+                int wanted = background.bit() | ArcanePowerReference.PowerType.COMMON.bit();
+                byBackground.put(background, powers.stream()
+                        .filter(power -> (masks.get(power.getId()) & wanted) != 0)
+                        .toList());
+            }
+            this.powersByBackground = Collections.unmodifiableMap(byBackground);
+
+            encoded.put("skills", encoder.apply(skills));
+            encoded.put("edges", encoder.apply(edges));
+            encoded.put("hindrances", encoder.apply(hindrances));
+            encoded.put("equipment", encoder.apply(equipment));
+            encoded.put("powers", encoder.apply(powers));
+            skillsByAttribute.forEach((key, list) -> encoded.put("skills/by-attribute/" + key, encoder.apply(list)));
+            edgesByType.forEach((key, list) -> encoded.put("edges/by-type/" + key, encoder.apply(list)));
+            hindrancesBySeverity.forEach((key, list) -> encoded.put("hindrances/by-severity/" + key, encoder.apply(list)));
+            equipmentByType.forEach((key, list) -> encoded.put("equipment/by-type/" + key, encoder.apply(list)));
+            powersByBackground.forEach((key, list) -> encoded.put("powers/by-background/" + key, encoder.apply(list)));
+        }
+
+        private static <T> Map<Long, T> byId(List<T> items, Function<T, Long> id) {
+            Map<Long, T> map = new LinkedHashMap<>();
+            items.forEach(item -> map.put(id.apply(item), item));
+            return Collections.unmodifiableMap(map);
+        }
+
+        /**
+         * Every constant gets a list (possibly empty), so by-type lookups never miss.
+         */
+        private static <T, K extends Enum<K>> Map<K, List<T>> group(List<T> items, Class<K> keyType, Function<T, K> key) {
+            Map<K, List<T>> grouped = new EnumMap<>(keyType);
+            for (K constant : keyType.getEnumConstants()) {
+                grouped.put(constant, items.stream()
+                        .filter(item -> key.apply(item) == constant)
+                        .collect(Collectors.toUnmodifiableList()));
+            }
+            return Collections.unmodifiableMap(grouped);
+        }
+
+        public List<SkillReference> getSkills() {
+            return skills;
+        }
+
+        public List<EdgeReference> getEdges() {
+            return edges;
+        }
+
+        public List<HindranceReference> getHindrances() {
+            return hindrances;
+        }
+
+        public List<EquipmentReference> getEquipment() {
+            return equipment;
+        }
+
+        public List<ArcanePowerReference> getPowers() {
+            return powers;
+        }
+
+        public Optional<SkillReference> skill(Long id) {
+            return Optional.ofNullable(skillsById.get(id));
+        }
+
+        public Optional<EdgeReference> edge(Long id) {
+            return Optional.ofNullable(edgesById.get(id));
+        }
+
+        public Optional<HindranceReference> hindrance(Long id) {
+            return Optional.ofNullable(hindrancesById.get(id));
+        }
+
+        public Optional<EquipmentReference> equipment(Long id) {
+            return Optional.ofNullable(equipmentById.get(id));
+        }
+
+        public Optional<ArcanePowerReference> power(Long id) {
+            return Optional.ofNullable(powersById.get(id));
+        }
+
+        public List<SkillReference> skillsByAttribute(SkillReference.SkillAttribute attribute) {
+            return skillsByAttribute.get(attribute);
+        }
+
+        public List<EdgeReference> edgesByType(EdgeReference.EdgeType type) {
+            return edgesByType.get(type);
+        }
+
+        public List<HindranceReference> hindrancesBySeverity(HindranceReference.Severity severity) {
+            return hindrancesBySeverity.get(severity);
+        }
+
+        public List<EquipmentReference> equipmentByType(EquipmentReference.EquipmentType type) {
+            return equipmentByType.get(type);
+        }
+
+        /**
+         * Powers open to an arcane background (including COMMON powers).
+         */
+        public List<ArcanePowerReference> powersByBackground(ArcanePowerReference.PowerType background) {
+            return powersByBackground.get(background);
+        }
+
+        /**
+         * Powers open to an arcane background, optionally limited to a power
+         * point cost and to what a character of the given rank may take.
+         *
+         * @param maxPowerPoints Highest cost to include, or null for any
+         * @param rank Character rank (see {@link #RANKS}), or null for any
+         */
+        public List<ArcanePowerReference> powersFor(ArcanePowerReference.PowerType background,
+                                                    Integer maxPowerPoints, String rank) {
+            int rankIndex = rank != null ? rankIndex(rank) : RANKS.size() - 1;
+            return powersByBackground.get(background).stream()
+                    .filter(power -> maxPowerPoints == null
+                            || (power.getPowerPoints() != null && power.getPowerPoints() <= maxPowerPoints))
+                    .filter(power -> power.getRankRequired() == null || rankIndex(power.getRankRequired()) <= rankIndex)
+                    .toList();
+        }
+
+        /**
+         * PowerType bitmask of a power's arcane backgrounds (0 if unknown).
+         */
+        public int backgroundMask(Long powerId) {
+            return powerBackgroundMasks.getOrDefault(powerId, 0);
+        }
+
+        /**
+         * Position of a rank in {@link #RANKS}, ignoring case; unknown ranks count as Novice.
+         */
+        static int rankIndex(String rank) {
+            for (int i = 0; i < RANKS.size(); i++) {
+                if (RANKS.get(i).equalsIgnoreCase(rank.trim())) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Pre-encoded list response for a path under /reference.
+         */
+        public EncodedJson encoded(String path) {
+            EncodedJson body = encoded.get(path);
+            if (body == null) {
+                throw new IllegalArgumentException("No encoded reference list for " + path);
+            }
+            return body;
+        }
+    }
+
+    /**
+     * A JSON response body in plain and gzip form. Each form has its own ETag,
+     * since the bytes on the wire differ.
+     */
+    @Value
+    public static class EncodedJson {
+        byte[] json;
+        byte[] gzip;
+        String etag;
+        String gzipEtag;
+    }
+}
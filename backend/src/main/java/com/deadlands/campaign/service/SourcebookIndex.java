@@ -0,0 +1,390 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.SourcebookPassageDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * BM25 index over the rulebook text dumps in Sourcebooks/, used to answer
+ * rule lookups locally.
+ *
+ * The files are Latin-1 text with one form feed per PDF page. Each file is
+ * memory-mapped and cut into passages of about {@value #PASSAGE_LENGTH}
+ * characters at line boundaries, never across a page. Only byte offsets are
+ * kept per passage; the text is read back from the mapping when a passage is
+ * returned. Terms are those of WikiSearchIndex, minus question words such as
+ * "how" or "work", so "How does the Wild Die work?" searches for "wild die".
+ *
+ * The top BM25 candidates are re-ranked: a passage with a short heading line
+ * holding every query term ("Soak Rolls", "The Wild Die") is boosted, and the
+ * returned text starts at that heading. A lookup is confident when the best
+ * passage contains every query term, scores at least {@value #CONFIDENT_SCORE}
+ * of the best score possible for the query, and either has such a heading or
+ * contains the query terms as a phrase.
+ *
+ * The index is built once at startup and is read-only afterwards. If the
+ * directory is missing the index is empty, every lookup is unconfident, and
+ * an error is logged. Docker Compose mounts ./Sourcebooks read-only and points
+ * SOURCEBOOKS_DIR at it.
+ */
+@Service
+public class SourcebookIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourcebookIndex.class);
+
+    static final int PASSAGE_LENGTH = 700;
+    static final double CONFIDENT_SCORE = 0.5;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int CANDIDATES = 20;
+    private static final double HEADING_BOOST = 1.5;
+    private static final int HEADING_LENGTH = 40;
+
+    private static final Set<String> QUESTION_WORDS = Stream.of(
+                    "about", "can", "could", "did", "do", "does", "explain", "get", "happen", "happens", "how",
+                    "i", "many", "me", "mean", "means", "much", "my", "rule", "rules", "should", "tell", "use",
+                    "used", "using", "we", "what", "when", "where", "which", "who", "why", "work", "works",
+                    "working", "would", "you", "your")
+            .map(WikiSearchIndex::stem)
+            .collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * Ranked passages for a question, and whether the first one answers it.
+     */
+    public record Lookup(List<SourcebookPassageDTO> passages, boolean confident) {
+    }
+
+    private final Path directory;
+    private final List<String> rulebooks;
+    private volatile Index index;
+
+    @Autowired
+    public SourcebookIndex(@Value("${sourcebooks.directory:Sourcebooks}") String directory,
+                           @Value("${sourcebooks.rulebooks:Savage_Worlds_Adventure_Edition.txt,"
+                                   + "Deadlands_Reloaded_Player_s_Guide_Explorer_s_Edition.txt,"
+                                   + "Deadlands_Reloaded_Marshal_s_Handbook_Explorer_s_Edition.txt}")
+                           List<String> rulebooks) {
+        this(Path.of(directory), rulebooks);
+    }
+
+    SourcebookIndex(Path directory, List<String> rulebooks) {
+        this.directory = directory;
+        this.rulebooks = List.copyOf(rulebooks);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        index();
+    }
+
+    /**
+     * Rank passages for a question.
+     *
+     * @param question Free text; question words are ignored
+     * @param limit    Maximum number of passages
+     */
+    public Lookup lookup(String question, int limit) {
+        Index current = index();
+        List<String> terms = queryTerms(question);
+        if (terms.isEmpty() || limit <= 0) {
+            return new Lookup(List.of(), false);
+        }
+
+        int passageCount = current.passages().size();
+        double[] scores = new double[passageCount];
+        int[] matched = new int[passageCount];
+        double bestPossible = 0;
+        for (String term : terms) {
+            int[] posting = current.postings().get(term);
+            if (posting == null) {
+                continue; // Still counts against confidence
+            }
+            int documentFrequency = posting.length / 2;
+            double idf = Math.log(1 + (passageCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            bestPossible += idf * (K1 + 1);
+            for (int i = 0; i < posting.length; i += 2) {
+                int passage = posting[i];
+                int tf = posting[i + 1];
+                double norm = K1 * (1 - B + B * current.passages().get(passage).length() / current.averageLength());
+                scores[passage] += idf * tf * (K1 + 1) / (tf + norm);
+                matched[passage]++;
+            }
+        }
+
+        // Keep the best CANDIDATES scores in a min-heap
+        PriorityQueue<Integer> top = new PriorityQueue<>(Comparator.comparingDouble(passage -> scores[passage]));
+        for (int passage = 0; passage < passageCount; passage++) {
+            if (matched[passage] == 0) {
+                continue;
+            }
+            top.offer(passage);
+            if (top.size() > CANDIDATES) {
+                top.poll();
+            }
+        }
+
+        Set<String> termSet = new HashSet<>(terms);
+        List<Candidate> candidates = new ArrayList<>(top.size());
+        for (int passage : top) {
+            String text = current.text(passage);
+            int heading = headingStart(text, termSet);
+            double score = scores[passage] * (heading >= 0 ? HEADING_BOOST : 1);
+            candidates.add(new Candidate(passage, text, heading, score));
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::score).reversed());
+        if (candidates.isEmpty()) {
+            return new Lookup(List.of(), false);
+        }
+
+        Candidate best = candidates.get(0);
+        boolean confident = matched[best.passage()] == terms.size()
+                && scores[best.passage()] / bestPossible >= CONFIDENT_SCORE
+                && (best.heading() >= 0 || (terms.size() >= 2 && containsPhrase(best.text(), terms)));
+
+        List<SourcebookPassageDTO> passages = candidates.stream()
+                .limit(limit)
+                .map(candidate -> {
+                    Passage passage = current.passages().get(candidate.passage());
+                    String text = candidate.text().substring(Math.max(candidate.heading(), 0));
+                    return new SourcebookPassageDTO(current.titles().get(passage.book()), passage.page(),
+                            candidate.score(), clean(text));
+                })
+                .toList();
+        return new Lookup(passages, confident);
+    }
+
+    /**
+     * Number of indexed passages.
+     */
+    public int size() {
+        return index().passages().size();
+    }
+
+    private Index index() {
+        Index current = index;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (index == null) {
+                index = build();
+            }
+            return index;
+        }
+    }
+
+    private Index build() {
+        long start = System.currentTimeMillis();
+        List<String> titles = new ArrayList<>();
+        List<ByteBuffer> buffers = new ArrayList<>();
+        List<Passage> passages = new ArrayList<>();
+        Map<String, PostingList> postings = new HashMap<>();
+        long totalLength = 0;
+
+        for (String rulebook : rulebooks) {
+            Path file = directory.resolve(rulebook);
+            if (!Files.isRegularFile(file)) {
+                logger.warn("[SourcebookIndex] {} not found; rule lookups will not use it", file.toAbsolutePath());
+                continue;
+            }
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                logger.warn("[SourcebookIndex] Could not map {}: {}", file, e.getMessage());
+                continue;
+            }
+
+            int book = titles.size();
+            titles.add(title(rulebook));
+            buffers.add(buffer);
+
+            // Latin-1 maps one byte to one char, so string offsets are buffer offsets
+            String text = StandardCharsets.ISO_8859_1.decode(buffer.duplicate()).toString();
+            for (int[] range : passageRanges(text)) {
+                List<String> terms = WikiSearchIndex.terms(text.substring(range[1], range[2]));
+                if (terms.isEmpty()) {
+                    continue;
+                }
+                int id = passages.size();
+                Map<String, Integer> frequencies = new HashMap<>();
+                for (String term : terms) {
+                    frequencies.merge(term, 1, Integer::sum);
+                }
+                for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                    postings.computeIfAbsent(frequency.getKey(), t -> new PostingList()).add(id, frequency.getValue());
+                }
+                passages.add(new Passage(book, range[0], range[1], range[2], terms.size()));
+                totalLength += terms.size();
+            }
+        }
+
+        Map<String, int[]> packed = new HashMap<>(postings.size() * 4 / 3 + 1);
+        postings.forEach((term, posting) -> packed.put(term, posting.toArray()));
+        double averageLength = passages.isEmpty() ? 0 : (double) totalLength / passages.size();
+        if (passages.isEmpty()) {
+            logger.error("[SourcebookIndex] No rulebook passages indexed from {}; every rule lookup will go to the model. " +
+                    "Mount the sourcebooks and set SOURCEBOOKS_DIR.", directory.toAbsolutePath());
+        } else {
+            logger.info("[SourcebookIndex] Indexed {} passages from {} books ({} terms) in {} ms",
+                    passages.size(), titles.size(), packed.size(), System.currentTimeMillis() - start);
+        }
+        return new Index(List.copyOf(titles), List.copyOf(buffers), List.copyOf(passages), packed, averageLength);
+    }
+
+    /**
+     * Passages of a book as {page, start, end}: pages split on form feeds,
+     * lines grouped until a passage reaches PASSAGE_LENGTH.
+     */
+    static List<int[]> passageRanges(String text) {
+        List<int[]> ranges = new ArrayList<>();
+        int page = 1;
+        int pageStart = 0;
+        while (pageStart <= text.length()) {
+            int pageEnd = text.indexOf('\f', pageStart);
+            if (pageEnd < 0) {
+                pageEnd = text.length();
+            }
+            int passageStart = pageStart;
+            int lineStart = pageStart;
+            while (lineStart < pageEnd) {
+                int lineEnd = text.indexOf('\n', lineStart);
+                lineEnd = lineEnd < 0 || lineEnd > pageEnd ? pageEnd : lineEnd + 1;
+                if (lineEnd - passageStart >= PASSAGE_LENGTH) {
+                    ranges.add(new int[] {page, passageStart, lineEnd});
+                    passageStart = lineEnd;
+                }
+                lineStart = lineEnd;
+            }
+            if (passageStart < pageEnd) {
+                ranges.add(new int[] {page, passageStart, pageEnd});
+            }
+            page++;
+            pageStart = pageEnd + 1;
+        }
+        return ranges;
+    }
+
+    /**
+     * Book title from a file name: "Deadlands_Reloaded_Player_s_Guide.txt"
+     * becomes "Deadlands Reloaded Player's Guide".
+     */
+    static String title(String fileName) {
+        String name = fileName.endsWith(".txt") ? fileName.substring(0, fileName.length() - 4) : fileName;
+        return name.replace("_s_", "'s_").replace('_', ' ').trim();
+    }
+
+    private static List<String> queryTerms(String question) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : WikiSearchIndex.terms(question)) {
+            if (!QUESTION_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Offset of the first short line (no full stop) that holds every query
+     * term, or -1.
+     */
+    private static int headingStart(String text, Set<String> terms) {
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            lineEnd = lineEnd < 0 ? text.length() : lineEnd;
+            String line = text.substring(lineStart, lineEnd).strip();
+            if (!line.isEmpty() && line.length() <= HEADING_LENGTH && !line.endsWith(".")
+                    && new HashSet<>(WikiSearchIndex.terms(line)).containsAll(terms)) {
+                return lineStart;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return -1;
+    }
+
+    private static boolean containsPhrase(String text, List<String> terms) {
+        return Collections.indexOfSubList(WikiSearchIndex.terms(text), terms) >= 0;
+    }
+
+    /**
+     * Collapse whitespace. The dumps use soft hyphens for dashes ("12-15
+     * points"), and the Marshal's Handbook has its bullets as UTF-8
+     * replacement characters, which read as three Latin-1 characters.
+     */
+    private static String clean(String text) {
+        return text.replace("\u00EF\u00BF\u00BD", "\u00B7")
+                .replace('\u00AD', '-')
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    private record Passage(int book, int page, int start, int end, int length) {
+    }
+
+    private record Candidate(int passage, String text, int heading, double score) {
+    }
+
+    private record Index(List<String> titles, List<ByteBuffer> buffers, List<Passage> passages,
+                         Map<String, int[]> postings, double averageLength) {
+
+        /**
+         * Passage text read back from the book's mapping.
+         */
+        String text(int id) {
+            Passage passage = passages.get(id);
+            byte[] bytes = new byte[passage.end() - passage.start()];
+            buffers.get(passage.book()).get(passage.start(), bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Growable (passage, term frequency) pairs for one term.
+     */
+    private static final class PostingList {
+
+        private int[] pairs = new int[8];
+        private int size;
+
+        void add(int passage, int frequency) {
+            if (size + 2 > pairs.length) {
+                pairs = Arrays.copyOf(pairs, pairs.length * 2);
+            }
+            pairs[size++] = passage;
+            pairs[size++] = frequency;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(pairs, size);
+        }
+    }
+}
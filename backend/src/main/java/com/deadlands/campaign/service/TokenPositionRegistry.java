@@ -0,0 +1,123 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.repository.TokenPositionRepository;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory authoritative positions for tokens on the shared map.
+ *
+ * Token moves are compare-and-set operations against this registry:
+ * a move only applies if the client's "from" position still matches the
+ * current position. Two players dragging the same NPC therefore can't
+ * silently overwrite each other, and no database lock is ever taken.
+ *
+ * Entries are seeded lazily from token_positions the first time a token
+ * is seen after startup. The database stays the durable copy; this
+ * registry is the arbiter for concurrent moves.
+ */
+@Component
+public class TokenPositionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenPositionRegistry.class);
+
+    private final ConcurrentHashMap<String, GridPosition> positions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TokenPositionRepository tokenPositionRepository;
+
+    /**
+     * Atomically move a token from {@code expected} to {@code update}.
+     *
+     * Follows compareAndExchange semantics: returns the position observed
+     * at the time of the exchange. The move succeeded if the witness equals
+     * {@code expected}, or if the token had no known position yet (null).
+     * A null {@code expected} means the client didn't send a "from"
+     * position and the move is applied unconditionally.
+     *
+     * @param tokenId The unique token identifier
+     * @param expected The position the client believes the token is at
+     * @param update The requested new position
+     * @return The position the token was at when the exchange was attempted
+     */
+    public GridPosition compareAndExchange(String tokenId, GridPosition expected, GridPosition update) {
+        while (true) {
+            GridPosition current = positions.get(tokenId);
+
+            if (current == null) {
+                current = loadPersisted(tokenId);
+                if (current == null) {
+                    // Token not on the map yet - first placement always wins
+                    GridPosition raced = positions.putIfAbsent(tokenId, update);
+                    if (raced == null) {
+                        return null;
+                    }
+                    continue;
+                }
+                positions.putIfAbsent(tokenId, current);
+                continue;
+            }
+
+            if (expected != null && !current.equals(expected)) {
+                logger.debug("[TokenPositionRegistry] Stale move for token {}: expected {} but was {}",
+                        tokenId, expected, current);
+                return current;
+            }
+
+            if (positions.replace(tokenId, current, update)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Check whether a witness returned by {@link #compareAndExchange} means the move was applied.
+     */
+    public static boolean isApplied(GridPosition witness, GridPosition expected) {
+        return witness == null || expected == null || witness.equals(expected);
+    }
+
+    /**
+     * Get the current in-memory position of a token, if known.
+     *
+     * @param tokenId The unique token identifier
+     * @return The current position or null if the token hasn't been seen
+     */
+    public GridPosition get(String tokenId) {
+        return positions.get(tokenId);
+    }
+
+    /**
+     * Forget a single token (token removed from the map).
+     */
+    public void remove(String tokenId) {
+        positions.remove(tokenId);
+    }
+
+    /**
+     * Forget all tokens (map change or game reset).
+     */
+    public void clear() {
+        positions.clear();
+    }
+
+    private GridPosition loadPersisted(String tokenId) {
+        return tokenPositionRepository.findByTokenId(tokenId)
+                .map(p -> new GridPosition(p.getGridX(), p.getGridY()))
+                .orElse(null);
+    }
+
+    /**
+     * Immutable grid coordinate used as the compare-and-set value.
+     */
+    @Value
+    public static class GridPosition {
+        int x;
+        int y;
+    }
+}
@@ -0,0 +1,270 @@
+package com.deadlands.campaign.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Line diffs and compact deltas for wiki revisions.
+ *
+ * A delta is a run-length edit script (copy n lines, delete n lines, insert
+ * these lines) against the previous text, deflated. Only inserted lines are
+ * stored, so a delta's size follows the size of the edit, not of the page.
+ *
+ * The diff trims the common prefix and suffix and runs an LCS over what is
+ * left; if that middle is too large for the LCS table it is treated as one
+ * replaced block, which is still a correct (just larger) delta.
+ */
+public final class WikiDelta {
+
+    /**
+     * Largest LCS table (lines x lines) computed for one diff
+     */
+    static final long MAX_LCS_CELLS = 1_000_000L;
+
+    private static final byte OP_COPY = 0;
+    private static final byte OP_DELETE = 1;
+    private static final byte OP_INSERT = 2;
+
+    private WikiDelta() {
+    }
+
+    public enum Op {
+        EQUAL,
+        DELETE,
+        INSERT
+    }
+
+    /**
+     * One line of a diff
+     */
+    public record Edit(Op op, String line) {
+    }
+
+    /**
+     * Split text into lines; joining them with "\n" gives the text back exactly.
+     */
+    public static List<String> lines(String text) {
+        return Arrays.asList((text != null ? text : "").split("\n", -1));
+    }
+
+    /**
+     * Line edits turning a into b.
+     */
+    public static List<Edit> diff(List<String> a, List<String> b) {
+        int prefix = 0;
+        while (prefix < a.size() && prefix < b.size() && a.get(prefix).equals(b.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.size() - prefix && suffix < b.size() - prefix
+                && a.get(a.size() - 1 - suffix).equals(b.get(b.size() - 1 - suffix))) {
+            suffix++;
+        }
+
+        List<Edit> edits = new ArrayList<>(Math.max(a.size(), b.size()));
+        for (int i = 0; i < prefix; i++) {
+            edits.add(new Edit(Op.EQUAL, a.get(i)));
+        }
+        diffMiddle(a.subList(prefix, a.size() - suffix), b.subList(prefix, b.size() - suffix), edits);
+        for (int i = a.size() - suffix; i < a.size(); i++) {
+            edits.add(new Edit(Op.EQUAL, a.get(i)));
+        }
+        return edits;
+    }
+
+    private static void diffMiddle(List<String> x, List<String> y, List<Edit> edits) {
+        int n = x.size();
+        int m = y.size();
+        if (n == 0 || m == 0 || (long) n * m > MAX_LCS_CELLS) {
+            x.forEach(line -> edits.add(new Edit(Op.DELETE, line)));
+            y.forEach(line -> edits.add(new Edit(Op.INSERT, line)));
+            return;
+        }
+
+        int[][] lcs = new int[n + 1][m + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                lcs[i][j] = x.get(i).equals(y.get(j))
+                        ? lcs[i + 1][j + 1] + 1
+                        : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < n && j < m) {
+            if (x.get(i).equals(y.get(j))) {
+                edits.add(new Edit(Op.EQUAL, x.get(i++)));
+                j++;
+            } else if (lcs[i + 1][j] >= lcs[i][j + 1]) {
+                edits.add(new Edit(Op.DELETE, x.get(i++)));
+            } else {
+                edits.add(new Edit(Op.INSERT, y.get(j++)));
+            }
+        }
+        while (i < n) {
+            edits.add(new Edit(Op.DELETE, x.get(i++)));
+        }
+        while (j < m) {
+            edits.add(new Edit(Op.INSERT, y.get(j++)));
+        }
+    }
+
+    /**
+     * Compressed delta turning oldText into newText.
+     */
+    public static byte[] encodeDelta(String oldText, String newText) {
+        List<Edit> edits = diff(lines(oldText), lines(newText));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(
+                new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_COMPRESSION)))) {
+            int k = 0;
+            while (k < edits.size()) {
+                Op op = edits.get(k).op();
+                int run = k;
+                while (run < edits.size() && edits.get(run).op() == op) {
+                    run++;
+                }
+                out.writeByte(op == Op.EQUAL ? OP_COPY : op == Op.DELETE ? OP_DELETE : OP_INSERT);
+                out.writeInt(run - k);
+                if (op == Op.INSERT) {
+                    for (int i = k; i < run; i++) {
+                        writeString(out, edits.get(i).line());
+                    }
+                }
+                k = run;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Apply a delta from {@link #encodeDelta} to the text it was computed against.
+     */
+    public static String applyDelta(String oldText, byte[] delta) {
+        List<String> old = lines(oldText);
+        List<String> result = new ArrayList<>(old.size());
+        int position = 0;
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(delta)))) {
+            int op;
+            while ((op = in.read()) != -1) {
+                int count = in.readInt();
+                switch (op) {
+                    case OP_COPY -> {
+                        result.addAll(old.subList(position, position + count));
+                        position += count;
+                    }
+                    case OP_DELETE -> position += count;
+                    case OP_INSERT -> {
+                        for (int i = 0; i < count; i++) {
+                            result.add(readString(in));
+                        }
+                    }
+                    default -> throw new IllegalStateException("Corrupt wiki delta: unknown op " + op);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (position != old.size()) {
+            throw new IllegalStateException("Wiki delta does not match its base text");
+        }
+        return String.join("\n", result);
+    }
+
+    /**
+     * Deflated UTF-8 text, for snapshots.
+     */
+    public static byte[] compress(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_COMPRESSION))) {
+            out.write((text != null ? text : "").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static String decompress(byte[] data) {
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Diff as unified hunks with the given number of context lines.
+     */
+    public static List<String> unified(List<Edit> edits, int context) {
+        List<String> out = new ArrayList<>();
+        int size = edits.size();
+        int[] oldLine = new int[size + 1];
+        int[] newLine = new int[size + 1];
+        for (int k = 0; k < size; k++) {
+            Op op = edits.get(k).op();
+            oldLine[k + 1] = oldLine[k] + (op == Op.INSERT ? 0 : 1);
+            newLine[k + 1] = newLine[k] + (op == Op.DELETE ? 0 : 1);
+        }
+
+        int k = nextChange(edits, 0);
+        while (k < size) {
+            int start = Math.max(0, k - context);
+            int end = k + 1;
+            int next = nextChange(edits, end);
+            while (next < size && next - end <= 2 * context) {
+                end = next + 1;
+                next = nextChange(edits, end);
+            }
+            end = Math.min(size, end + context);
+
+            out.add("@@ -" + (oldLine[start] + 1) + "," + (oldLine[end] - oldLine[start])
+                    + " +" + (newLine[start] + 1) + "," + (newLine[end] - newLine[start]) + " @@");
+            for (int i = start; i < end; i++) {
+                Edit edit = edits.get(i);
+                String marker = switch (edit.op()) {
+                    case EQUAL -> "  ";
+                    case DELETE -> "- ";
+                    case INSERT -> "+ ";
+                };
+                out.add(marker + edit.line());
+            }
+            k = next;
+        }
+        return out;
+    }
+
+    private static int nextChange(List<Edit> edits, int from) {
+        for (int k = from; k < edits.size(); k++) {
+            if (edits.get(k).op() != Op.EQUAL) {
+                return k;
+            }
+        }
+        return edits.size();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
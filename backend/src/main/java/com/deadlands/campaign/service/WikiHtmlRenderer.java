@@ -0,0 +1,125 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.event.WikiEntryChangedEvent;
+import com.deadlands.campaign.model.WikiEntry;
+import lombok.Value;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders wiki markdown to sanitized HTML once per content version.
+ *
+ * Rendering is CommonMark (same dialect as the client's react-markdown).
+ * Raw HTML in the markdown is escaped rather than passed through, and
+ * javascript:/data: link targets are dropped, so the output can be inserted
+ * into the page as-is.
+ *
+ * Rendered pages are cached per entry together with a hash of the markdown;
+ * the hash doubles as the page's ETag. A cached page is served while the
+ * entry's content still hashes the same, and WikiEntryChangedEvent evicts it
+ * immediately. The cache holds at most {@value #MAX_ENTRIES} pages (LRU).
+ */
+@Service
+public class WikiHtmlRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WikiHtmlRenderer.class);
+
+    static final int MAX_ENTRIES = 256;
+
+    /**
+     * Part of every content hash; bump when renderer options change so clients
+     * holding old ETags get the new HTML.
+     */
+    private static final String RENDERER_VERSION = "commonmark-1";
+
+    private final Parser parser = Parser.builder().build();
+    private final HtmlRenderer htmlRenderer = HtmlRenderer.builder()
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .build();
+
+    private final LinkedHashMap<Long, RenderedPage> pages = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, RenderedPage> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final AtomicLong renders = new AtomicLong();
+
+    /**
+     * Rendered HTML for the entry's current content.
+     */
+    public RenderedPage render(WikiEntry entry) {
+        String hash = contentHash(entry.getContent());
+        synchronized (this) {
+            RenderedPage cached = pages.get(entry.getId());
+            if (cached != null && cached.getContentHash().equals(hash)) {
+                return cached;
+            }
+        }
+
+        // Render outside the lock; a concurrent duplicate render is harmless
+        RenderedPage page = new RenderedPage(hash, htmlRenderer.render(parser.parse(
+                entry.getContent() != null ? entry.getContent() : "")));
+        renders.incrementAndGet();
+        synchronized (this) {
+            pages.put(entry.getId(), page);
+        }
+        logger.debug("[WikiHtmlRenderer] Rendered entry {} ({} chars)", entry.getId(), page.getHtml().length());
+        return page;
+    }
+
+    @EventListener
+    public synchronized void onWikiEntryChanged(WikiEntryChangedEvent event) {
+        pages.remove(event.getEntryId());
+    }
+
+    /**
+     * Drop all rendered pages.
+     */
+    public synchronized void clear() {
+        pages.clear();
+    }
+
+    /**
+     * Number of markdown renders since startup (cache misses).
+     */
+    public long getRenderCount() {
+        return renders.get();
+    }
+
+    static String contentHash(String markdown) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(RENDERER_VERSION.getBytes(StandardCharsets.UTF_8));
+            if (markdown != null) {
+                digest.update(markdown.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Sanitized HTML of one content version.
+     */
+    @Value
+    public static class RenderedPage {
+        String contentHash;
+        String html;
+    }
+}
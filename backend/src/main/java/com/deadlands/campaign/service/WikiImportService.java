@@ -0,0 +1,445 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.WikiImportReportDTO;
+import com.deadlands.campaign.event.WikiEntryChangedEvent;
+import com.deadlands.campaign.model.WikiEntry;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Incremental sync of the campaign wiki from a directory of markdown files.
+ *
+ * Replaces import-wiki.js, which deleted and re-inserted every entry.
+ * - Each *.md file becomes one wiki entry. Title, slug, category, visibility,
+ *   sort order and related character come from wiki-manifest.json in the same
+ *   directory. Files missing from the manifest are imported as private (GM-only)
+ *   OTHER entries titled by their first heading.
+ * - Every file is hashed together with its manifest metadata and compared to
+ *   the hash stored on the entry (matched by slug). Only new or changed entries
+ *   are written, in JDBC batches, in one transaction. A sync with no changes
+ *   costs one read of the directory and one query.
+ * - Any other file (images, handouts) is registered as a wiki asset in
+ *   content-addressed storage: the bytes are stored once per SHA-256, and the
+ *   file name points at its current hash.
+ *
+ * Entries whose file has been removed are left alone (they may carry access
+ * grants). Listeners are notified with WikiEntryChangedEvent after commit.
+ */
+@Service
+public class WikiImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WikiImportService.class);
+
+    static final String MANIFEST_FILE = "wiki-manifest.json";
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final Map<String, String> ASSET_CONTENT_TYPES = Map.of(
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "jpeg", "image/jpeg",
+            "gif", "image/gif",
+            "webp", "image/webp",
+            "pdf", "application/pdf");
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO wiki_entries (title, slug, content, category, visibility, is_public, related_character_id, " +
+            "sort_order, source_hash, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ENTRY =
+            "UPDATE wiki_entries SET title = ?, content = ?, category = ?, visibility = ?, is_public = ?, " +
+            "related_character_id = ?, sort_order = ?, source_hash = ?, updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WikiRevisionService wikiRevisionService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public WikiImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Sync every markdown file and asset in the directory (not recursive).
+     */
+    public WikiImportReportDTO importDirectory(Path root) {
+        long start = System.currentTimeMillis();
+        WikiImportReportDTO report = new WikiImportReportDTO();
+        if (!Files.isDirectory(root)) {
+            report.getErrors().add("Wiki directory not found: " + root);
+            return report;
+        }
+
+        Map<String, ManifestEntry> manifest;
+        List<Path> files;
+        try (Stream<Path> list = Files.list(root)) {
+            manifest = readManifest(root);
+            files = list.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().startsWith("."))
+                    .filter(path -> !path.getFileName().toString().equals(MANIFEST_FILE))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            report.getErrors().add("Could not read wiki directory: " + e.getMessage());
+            return report;
+        }
+
+        Map<String, ExistingEntry> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT id, slug, source_hash FROM wiki_entries", rs -> {
+            existing.put(rs.getString("slug"), new ExistingEntry(rs.getLong("id"), rs.getString("source_hash")));
+        });
+
+        List<PendingEntry> inserts = new ArrayList<>();
+        List<PendingEntry> updates = new ArrayList<>();
+        List<PendingAsset> assets = new ArrayList<>();
+        Set<String> slugs = new HashSet<>();
+
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            byte[] bytes;
+            try {
+                bytes = Files.readAllBytes(file);
+            } catch (IOException e) {
+                report.getErrors().add(fileName + ": could not read file: " + e.getMessage());
+                continue;
+            }
+
+            if (!fileName.toLowerCase(Locale.ROOT).endsWith(".md")) {
+                assets.add(new PendingAsset(fileName, sha256(bytes), contentType(fileName), bytes));
+                continue;
+            }
+
+            report.setScanned(report.getScanned() + 1);
+            String content = new String(bytes, StandardCharsets.UTF_8);
+            ManifestEntry meta = manifest.getOrDefault(fileName, defaults(fileName, content));
+            if (!slugs.add(meta.getSlug())) {
+                report.getErrors().add(fileName + ": duplicate slug '" + meta.getSlug() + "'");
+                continue;
+            }
+
+            String hash = sha256(metadataBytes(meta), bytes);
+            ExistingEntry current = existing.get(meta.getSlug());
+            if (current == null) {
+                inserts.add(new PendingEntry(null, fileName, meta, content, hash));
+            } else if (!hash.equals(current.sourceHash())) {
+                updates.add(new PendingEntry(current.id(), fileName, meta, content, hash));
+            } else {
+                report.setUnchanged(report.getUnchanged() + 1);
+            }
+        }
+
+        Map<String, Long> characterIds = resolveCharacters(inserts, updates, report);
+
+        List<Long> createdIds = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            createdIds.addAll(insertEntries(inserts, characterIds));
+            updateEntries(updates, characterIds);
+            storeAssets(assets, report);
+        });
+
+        report.setCreated(createdIds.size());
+        report.setUpdated(updates.size());
+
+        createdIds.forEach(id -> eventPublisher.publishEvent(
+                new WikiEntryChangedEvent(id, WikiEntryChangedEvent.ChangeType.CREATED)));
+        updates.forEach(entry -> eventPublisher.publishEvent(
+                new WikiEntryChangedEvent(entry.id(), WikiEntryChangedEvent.ChangeType.UPDATED)));
+
+        report.setDurationMs(System.currentTimeMillis() - start);
+        logger.info("[WikiImportService] {}: {} created, {} updated, {} unchanged, {} assets stored in {} ms",
+                root, report.getCreated(), report.getUpdated(), report.getUnchanged(),
+                report.getAssetsStored(), report.getDurationMs());
+        return report;
+    }
+
+    private Map<String, ManifestEntry> readManifest(Path root) throws IOException {
+        Map<String, ManifestEntry> manifest = new HashMap<>();
+        Path file = root.resolve(MANIFEST_FILE);
+        if (!Files.isRegularFile(file)) {
+            return manifest;
+        }
+        ManifestEntry[] entries = objectMapper.reader()
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(file.toFile(), ManifestEntry[].class);
+        for (ManifestEntry entry : entries) {
+            manifest.put(entry.getFile(), entry);
+        }
+        return manifest;
+    }
+
+    /**
+     * Metadata for a file that is not in the manifest: GM-only until the GM says otherwise.
+     */
+    static ManifestEntry defaults(String fileName, String content) {
+        String base = fileName.substring(0, fileName.length() - 3);
+        ManifestEntry entry = new ManifestEntry();
+        entry.setFile(fileName);
+        entry.setSlug(base.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", ""));
+        entry.setTitle(content.lines()
+                .filter(line -> line.startsWith("# "))
+                .map(line -> line.substring(2).trim())
+                .findFirst()
+                .orElse(base));
+        entry.setCategory(WikiEntry.Category.OTHER);
+        entry.setVisibility(WikiEntry.Visibility.PRIVATE);
+        entry.setSortOrder(100);
+        return entry;
+    }
+
+    private Map<String, Long> resolveCharacters(List<PendingEntry> inserts, List<PendingEntry> updates,
+                                                WikiImportReportDTO report) {
+        Set<String> names = new HashSet<>();
+        Stream.concat(inserts.stream(), updates.stream())
+                .map(entry -> entry.meta().getRelatedCharacter())
+                .filter(name -> name != null && !name.isBlank())
+                .forEach(names::add);
+        Map<String, Long> ids = new HashMap<>();
+        if (names.isEmpty()) {
+            return ids;
+        }
+
+        namedParameterJdbcTemplate.query(
+                "SELECT id, name FROM characters WHERE name IN (:names) AND deleted_at IS NULL ORDER BY id",
+                Map.of("names", names),
+                rs -> {
+                    ids.putIfAbsent(rs.getString("name"), rs.getLong("id"));
+                });
+
+        Stream.concat(inserts.stream(), updates.stream())
+                .filter(entry -> entry.meta().getRelatedCharacter() != null)
+                .filter(entry -> !ids.containsKey(entry.meta().getRelatedCharacter()))
+                .forEach(entry -> report.getErrors().add(entry.fileName() + ": unknown character '"
+                        + entry.meta().getRelatedCharacter() + "', imported without a link"));
+        return ids;
+    }
+
+    private List<Long> insertEntries(List<PendingEntry> entries, Map<String, Long> characterIds) {
+        List<Long> ids = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (List<PendingEntry> batch : batches(entries)) {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_ENTRY, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            PendingEntry entry = batch.get(i);
+                            ManifestEntry meta = entry.meta();
+                            ps.setString(1, meta.getTitle());
+                            ps.setString(2, meta.getSlug());
+                            ps.setString(3, entry.content());
+                            ps.setString(4, meta.getCategory().name());
+                            ps.setString(5, meta.getVisibility().name());
+                            ps.setBoolean(6, meta.getVisibility() == WikiEntry.Visibility.PUBLIC);
+                            setLong(ps, 7, characterIds.get(meta.getRelatedCharacter()));
+                            ps.setInt(8, meta.getSortOrder());
+                            ps.setString(9, entry.hash());
+                            ps.setTimestamp(10, now);
+                            ps.setTimestamp(11, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keys);
+            for (Map<String, Object> row : keys.getKeyList()) {
+                Object id = row.containsKey("id") ? row.get("id") : row.get("ID");
+                ids.add(((Number) id).longValue());
+            }
+        }
+        return ids;
+    }
+
+    private void updateEntries(List<PendingEntry> entries, Map<String, Long> characterIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (List<PendingEntry> batch : batches(entries)) {
+            recordBaselines(batch);
+            jdbcTemplate.batchUpdate(UPDATE_ENTRY, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PendingEntry entry = batch.get(i);
+                    ManifestEntry meta = entry.meta();
+                    ps.setString(1, meta.getTitle());
+                    ps.setString(2, entry.content());
+                    ps.setString(3, meta.getCategory().name());
+                    ps.setString(4, meta.getVisibility().name());
+                    ps.setBoolean(5, meta.getVisibility() == WikiEntry.Visibility.PUBLIC);
+                    setLong(ps, 6, characterIds.get(meta.getRelatedCharacter()));
+                    ps.setInt(7, meta.getSortOrder());
+                    ps.setString(8, entry.hash());
+                    ps.setTimestamp(9, now);
+                    ps.setLong(10, entry.id());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+        }
+    }
+
+    /**
+     * Entries created before revision history have no revision 1; store their
+     * current content as one before the update replaces it.
+     */
+    private void recordBaselines(List<PendingEntry> batch) {
+        Set<Long> missing = wikiRevisionService.findEntriesWithoutRevisions(
+                batch.stream().map(PendingEntry::id).toList());
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<Long, String> contents = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, content FROM wiki_entries WHERE id IN (:ids)",
+                Map.of("ids", missing), rs -> {
+                    contents.put(rs.getLong("id"), rs.getString("content"));
+                });
+        contents.forEach(wikiRevisionService::record);
+        logger.info("[WikiImportService] Recorded baseline revisions for {} existing entries", contents.size());
+    }
+
+    private void storeAssets(List<PendingAsset> assets, WikiImportReportDTO report) {
+        if (assets.isEmpty()) {
+            return;
+        }
+        Map<String, String> currentNames = new HashMap<>();
+        jdbcTemplate.query("SELECT file_name, content_hash FROM wiki_assets", rs -> {
+            currentNames.put(rs.getString("file_name"), rs.getString("content_hash"));
+        });
+        Set<String> storedHashes = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT content_hash FROM wiki_asset_blobs WHERE content_hash IN (:hashes)",
+                Map.of("hashes", assets.stream().map(PendingAsset::hash).toList()), String.class));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (PendingAsset asset : assets) {
+            if (asset.hash().equals(currentNames.get(asset.fileName()))) {
+                report.setAssetsUnchanged(report.getAssetsUnchanged() + 1);
+                continue;
+            }
+            if (storedHashes.add(asset.hash())) {
+                jdbcTemplate.update("INSERT INTO wiki_asset_blobs (content_hash, content_type, size_bytes, data, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?)", asset.hash(), asset.contentType(), (long) asset.data().length,
+                        asset.data(), now);
+            }
+            if (currentNames.containsKey(asset.fileName())) {
+                jdbcTemplate.update("UPDATE wiki_assets SET content_hash = ?, updated_at = ? WHERE file_name = ?",
+                        asset.hash(), now, asset.fileName());
+            } else {
+                jdbcTemplate.update("INSERT INTO wiki_assets (file_name, content_hash, updated_at) VALUES (?, ?, ?)",
+                        asset.fileName(), asset.hash(), now);
+            }
+            report.setAssetsStored(report.getAssetsStored() + 1);
+        }
+    }
+
+    private byte[] metadataBytes(ManifestEntry meta) {
+        try {
+            return objectMapper.writeValueAsBytes(meta);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize wiki metadata", e);
+        }
+    }
+
+    private static String contentType(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return ASSET_CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    private static String sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static <T> List<List<T>> batches(List<T> items) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += BATCH_SIZE) {
+            batches.add(items.subList(i, Math.min(items.size(), i + BATCH_SIZE)));
+        }
+        return batches;
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    /**
+     * One entry of wiki-manifest.json.
+     */
+    @Data
+    public static class ManifestEntry {
+        private String file;
+        private String title;
+        private String slug;
+        private WikiEntry.Category category = WikiEntry.Category.OTHER;
+        private WikiEntry.Visibility visibility = WikiEntry.Visibility.PRIVATE;
+        private Integer sortOrder = 0;
+        private String relatedCharacter; // Character name, resolved at import time
+    }
+
+    private record ExistingEntry(Long id, String sourceHash) {
+    }
+
+    private record PendingEntry(Long id, String fileName, ManifestEntry meta, String content, String hash) {
+    }
+
+    private record PendingAsset(String fileName, String hash, String contentType, byte[] data) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.WikiDiffDTO;
+import com.deadlands.campaign.dto.WikiRevisionDTO;
+import com.deadlands.campaign.event.WikiEntryChangedEvent;
+import com.deadlands.campaign.model.WikiEntry;
+import com.deadlands.campaign.model.WikiRevision;
+import com.deadlands.campaign.repository.WikiEntryRepository;
+import com.deadlands.campaign.repository.WikiRevisionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Revision history for wiki entries, stored as snapshots plus deltas.
+ *
+ * Every content change (WikiEntryChangedEvent CREATED/UPDATED) appends a
+ * revision. Most revisions are a WikiDelta against the previous one; a full
+ * snapshot is written for the first revision, once the delta chain reaches
+ * {@value #SNAPSHOT_INTERVAL} revisions, and whenever the delta would be no
+ * smaller than the compressed page. Reading any revision therefore costs one
+ * range query and at most {@value #SNAPSHOT_INTERVAL} - 1 delta applications.
+ */
+@Service
+public class WikiRevisionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WikiRevisionService.class);
+
+    static final int SNAPSHOT_INTERVAL = 10;
+
+    private static final int DIFF_CONTEXT = 3;
+
+    @Autowired
+    private WikiRevisionRepository wikiRevisionRepository;
+
+    @Autowired
+    private WikiEntryRepository wikiEntryRepository;
+
+    /**
+     * Append the entry's current content as a new revision, unless it matches the latest one.
+     *
+     * @return The new revision, or empty if the content is unchanged
+     */
+    @Transactional
+    public Optional<WikiRevision> record(WikiEntry entry) {
+        return record(entry.getId(), entry.getContent());
+    }
+
+    /**
+     * Append content for an entry as a new revision, unless it matches the latest one.
+     *
+     * @return The new revision, or empty if the content is unchanged
+     */
+    @Transactional
+    public Optional<WikiRevision> record(Long entryId, String entryContent) {
+        String content = entryContent != null ? entryContent : "";
+        String hash = sha256(content);
+        Optional<WikiRevision> latest = wikiRevisionRepository.findFirstByWikiEntryIdOrderByRevisionNumberDesc(entryId);
+        if (latest.isPresent() && latest.get().getContentHash().equals(hash)) {
+            return Optional.empty();
+        }
+
+        int number = latest.map(revision -> revision.getRevisionNumber() + 1).orElse(1);
+        WikiRevision.Kind kind = WikiRevision.Kind.SNAPSHOT;
+        byte[] data = WikiDelta.compress(content);
+        if (latest.isPresent()) {
+            List<WikiRevision> chain = chainTo(entryId, latest.get().getRevisionNumber());
+            if (chain.size() < SNAPSHOT_INTERVAL) {
+                byte[] delta = WikiDelta.encodeDelta(apply(chain), content);
+                if (delta.length < data.length) {
+                    kind = WikiRevision.Kind.DELTA;
+                    data = delta;
+                }
+            }
+        }
+
+        WikiRevision revision = wikiRevisionRepository.save(WikiRevision.builder()
+                .wikiEntryId(entryId)
+                .revisionNumber(number)
+                .kind(kind)
+                .data(data)
+                .storedSize(data.length)
+                .contentHash(hash)
+                .contentLength(content.length())
+                .createdAt(LocalDateTime.now())
+                .build());
+        logger.debug("[WikiRevisionService] Entry {} revision {}: {} ({} bytes for {} chars)",
+                entryId, number, kind, data.length, content.length());
+        return Optional.of(revision);
+    }
+
+    /**
+     * Entries among the given ids that have no revisions yet, i.e. that predate
+     * revision history. Their current content must be recorded before it is overwritten.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findEntriesWithoutRevisions(Collection<Long> entryIds) {
+        Set<Long> missing = new HashSet<>(entryIds);
+        if (!missing.isEmpty()) {
+            wikiRevisionRepository.findWikiEntryIdsWithRevisions(entryIds).forEach(missing::remove);
+        }
+        return missing;
+    }
+
+    @EventListener
+    @Transactional
+    public void onWikiEntryChanged(WikiEntryChangedEvent event) {
+        if (event.getChangeType() == WikiEntryChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        wikiEntryRepository.findById(event.getEntryId()).ifPresent(this::record);
+    }
+
+    /**
+     * Revisions of an entry, newest first, without content.
+     */
+    @Transactional(readOnly = true)
+    public List<WikiRevisionDTO> listRevisions(Long entryId) {
+        return wikiRevisionRepository.findSummariesByWikiEntryId(entryId);
+    }
+
+    /**
+     * Full text of one revision.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getContent(Long entryId, int revisionNumber) {
+        List<WikiRevision> chain = chainTo(entryId, revisionNumber);
+        if (chain.isEmpty() || chain.get(chain.size() - 1).getRevisionNumber() != revisionNumber) {
+            return Optional.empty();
+        }
+        return Optional.of(apply(chain));
+    }
+
+    /**
+     * Line diff between two revisions of an entry.
+     */
+    @Transactional(readOnly = true)
+    public Optional<WikiDiffDTO> diff(Long entryId, int fromRevision, int toRevision) {
+        Optional<String> from = getContent(entryId, fromRevision);
+        Optional<String> to = getContent(entryId, toRevision);
+        if (from.isEmpty() || to.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<WikiDelta.Edit> edits = WikiDelta.diff(WikiDelta.lines(from.get()), WikiDelta.lines(to.get()));
+        WikiDiffDTO dto = new WikiDiffDTO();
+        dto.setFromRevision(fromRevision);
+        dto.setToRevision(toRevision);
+        dto.setLinesAdded((int) edits.stream().filter(edit -> edit.op() == WikiDelta.Op.INSERT).count());
+        dto.setLinesRemoved((int) edits.stream().filter(edit -> edit.op() == WikiDelta.Op.DELETE).count());
+        dto.setLines(WikiDelta.unified(edits, DIFF_CONTEXT));
+        return Optional.of(dto);
+    }
+
+    /**
+     * The nearest snapshot at or before the revision followed by the deltas up to it.
+     */
+    private List<WikiRevision> chainTo(Long entryId, int revisionNumber) {
+        return wikiRevisionRepository
+                .findFirstByWikiEntryIdAndKindAndRevisionNumberLessThanEqualOrderByRevisionNumberDesc(
+                        entryId, WikiRevision.Kind.SNAPSHOT, revisionNumber)
+                .map(snapshot -> wikiRevisionRepository.findByWikiEntryIdAndRevisionNumberBetweenOrderByRevisionNumber(
+                        entryId, snapshot.getRevisionNumber(), revisionNumber))
+                .orElse(List.of());
+    }
+
+    private static String apply(List<WikiRevision> chain) {
+        String text = WikiDelta.decompress(chain.get(0).getData());
+        for (WikiRevision delta : chain.subList(1, chain.size())) {
+            text = WikiDelta.applyDelta(text, delta.getData());
+        }
+        WikiRevision last = chain.get(chain.size() - 1);
+        if (!sha256(text).equals(last.getContentHash())) {
+            throw new IllegalStateException("Wiki revision " + last.getRevisionNumber() + " of entry "
+                    + last.getWikiEntryId() + " failed its hash check");
+        }
+        return text;
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
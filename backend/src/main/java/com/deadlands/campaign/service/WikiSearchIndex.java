@@ -0,0 +1,339 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.WikiSearchHitDTO;
+import com.deadlands.campaign.event.WikiEntryChangedEvent;
+import com.deadlands.campaign.model.WikiEntry;
+import com.deadlands.campaign.repository.WikiEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory full-text index over wiki titles and content, ranked with BM25.
+ *
+ * Text is lower-cased, split on anything that is not a letter or digit,
+ * stripped of stop words and reduced with a light suffix stemmer
+ * ("gunslingers" matches "gunslinger", "ambushed" matches "ambush"). Title terms
+ * count {@value #TITLE_WEIGHT} times, so a hit in the title outranks one
+ * buried in a session log.
+ *
+ * The index is built from the database on first search and then kept current
+ * by WikiEntryChangedEvent. Results are filtered by the caller's visibility
+ * set before ranking, so hidden entries never influence what a player sees.
+ */
+@Service
+public class WikiSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(WikiSearchIndex.class);
+
+    static final int TITLE_WEIGHT = 3;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int SNIPPET_LEAD = 60;
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "he", "her", "his",
+            "in", "is", "it", "its", "of", "on", "or", "she", "that", "the", "their", "they", "this", "to",
+            "was", "were", "will", "with");
+
+    @Autowired
+    private WikiEntryRepository wikiEntryRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * term -> (entry id -> weighted term frequency)
+     */
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedEntry> entries = new HashMap<>();
+    private long totalLength;
+    private volatile boolean built;
+
+    /**
+     * Rank entries matching the query.
+     *
+     * @param query   Free text; every word is optional, more matches rank higher
+     * @param visible Entry ids the caller may see, or null for all (GM)
+     * @param limit   Maximum number of hits
+     */
+    public List<WikiSearchHitDTO> search(String query, BitSet visible, int limit) {
+        Set<String> terms = new LinkedHashSet<>(terms(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = entries.size();
+            double averageLength = documentCount == 0 ? 0 : (double) totalLength / documentCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (Map.Entry<Long, Integer> hit : posting.entrySet()) {
+                    Long id = hit.getKey();
+                    if (visible != null && !visible.get(Math.toIntExact(id))) {
+                        continue;
+                    }
+                    int tf = hit.getValue();
+                    double norm = K1 * (1 - B + B * entries.get(id).length() / averageLength);
+                    scores.merge(id, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            // Keep the best `limit` scores in a min-heap
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Double> score : scores.entrySet()) {
+                top.offer(score);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<WikiSearchHitDTO> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Map.Entry<Long, Double> score = top.poll();
+                IndexedEntry entry = entries.get(score.getKey());
+                hits.add(new WikiSearchHitDTO(entry.id(), entry.title(), entry.slug(), entry.category(),
+                        score.getValue(), snippet(entry.text(), terms)));
+            }
+            hits.sort(Comparator.comparingDouble(WikiSearchHitDTO::getScore).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace one entry.
+     */
+    public void index(WikiEntry entry) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(entry.getId());
+            addLocked(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove one entry.
+     */
+    public void remove(Long entryId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(entryId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the index; it is rebuilt from the database on next search.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            entries.clear();
+            totalLength = 0;
+            built = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onWikiEntryChanged(WikiEntryChangedEvent event) {
+        if (!built) {
+            return; // Not loaded yet; the first search reads current rows
+        }
+        if (event.getChangeType() == WikiEntryChangedEvent.ChangeType.DELETED) {
+            remove(event.getEntryId());
+        } else {
+            wikiEntryRepository.findById(event.getEntryId()).ifPresentOrElse(
+                    this::index, () -> remove(event.getEntryId()));
+        }
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (built) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            for (WikiEntry entry : wikiEntryRepository.findAll()) {
+                addLocked(entry);
+            }
+            built = true;
+            logger.info("[WikiSearchIndex] Indexed {} entries ({} terms) in {} ms",
+                    entries.size(), postings.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(WikiEntry entry) {
+        String text = WikiText.toPlainText(entry.getContent());
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms(entry.getTitle())) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : terms(text)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        int length = 0;
+        for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+            postings.computeIfAbsent(frequency.getKey(), t -> new HashMap<>()).put(entry.getId(), frequency.getValue());
+            length += frequency.getValue();
+        }
+        entries.put(entry.getId(), new IndexedEntry(entry.getId(), entry.getTitle(), entry.getSlug(),
+                entry.getCategory(), text, length, frequencies.keySet()));
+        totalLength += length;
+    }
+
+    private void removeLocked(Long entryId) {
+        IndexedEntry previous = entries.remove(entryId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(entryId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= previous.length();
+    }
+
+    /**
+     * Plain text around the first matched word, escaped, with matches in &lt;mark&gt;.
+     */
+    static String snippet(String text, Set<String> terms) {
+        int first = -1;
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            if (terms.contains(stem(matcher.group().toLowerCase()))) {
+                first = matcher.start();
+                break;
+            }
+        }
+
+        int start = first <= SNIPPET_LEAD ? 0 : text.lastIndexOf(' ', first - SNIPPET_LEAD) + 1;
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        if (end < text.length()) {
+            int space = text.lastIndexOf(' ', end);
+            end = space > start ? space : end;
+        }
+
+        StringBuilder snippet = new StringBuilder();
+        if (start > 0) {
+            snippet.append("...");
+        }
+        String window = text.substring(start, end);
+        int last = 0;
+        matcher = TOKEN.matcher(window);
+        while (matcher.find()) {
+            if (terms.contains(stem(matcher.group().toLowerCase()))) {
+                snippet.append(HtmlUtils.htmlEscape(window.substring(last, matcher.start())))
+                        .append("<mark>").append(HtmlUtils.htmlEscape(matcher.group())).append("</mark>");
+                last = matcher.end();
+            }
+        }
+        snippet.append(HtmlUtils.htmlEscape(window.substring(last)));
+        if (end < text.length()) {
+            snippet.append("...");
+        }
+        return snippet.toString();
+    }
+
+    /**
+     * Index terms of a text: tokens, lower-cased, stop words removed, stemmed.
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            String token = matcher.group().toLowerCase();
+            if (!STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Light English suffix stripping: plurals, -ing, -ed, then undouble
+     * the final consonant ("running" -> "run"). Short words are left alone.
+     */
+    static String stem(String word) {
+        if (word.length() <= 3) {
+            return word;
+        }
+        String stem = word;
+        if (stem.endsWith("ies") && stem.length() > 4) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if (stem.endsWith("sses")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+
+        if (stem.endsWith("ing") && stem.length() >= 6) {
+            stem = undouble(stem.substring(0, stem.length() - 3));
+        } else if (stem.endsWith("ed") && stem.length() >= 5) {
+            stem = undouble(stem.substring(0, stem.length() - 2));
+        }
+        return stem;
+    }
+
+    private static String undouble(String stem) {
+        int n = stem.length();
+        if (n >= 2 && stem.charAt(n - 1) == stem.charAt(n - 2) && "bdgmnprt".indexOf(stem.charAt(n - 1)) >= 0) {
+            return stem.substring(0, n - 1);
+        }
+        return stem;
+    }
+
+    private record IndexedEntry(Long id, String title, String slug, WikiEntry.Category category,
+                                String text, int length, Set<String> terms) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.deadlands.campaign.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * Plain-text helpers for wiki markdown (excerpts, search indexing, snippets).
+ */
+public final class WikiText {
+
+    private static final Pattern LINK = Pattern.compile("!?\\[([^\\]]*)\\]\\([^)]*\\)");
+    private static final Pattern BLOCK_MARKER = Pattern.compile("(?m)^\\s{0,3}(#{1,6}|>|[-*+]|\\d+\\.)\\s+");
+    private static final Pattern INLINE_MARKER = Pattern.compile("[*_`~]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private WikiText() {
+    }
+
+    /**
+     * Markdown to a single line of plain text: links keep their label, heading,
+     * list and quote markers and emphasis characters are removed.
+     */
+    public static String toPlainText(String markdown) {
+        if (markdown == null) {
+            return "";
+        }
+        String text = LINK.matcher(markdown).replaceAll("$1");
+        text = BLOCK_MARKER.matcher(text).replaceAll("");
+        text = INLINE_MARKER.matcher(text).replaceAll("");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+}
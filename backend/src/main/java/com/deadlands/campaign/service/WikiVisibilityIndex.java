@@ -0,0 +1,196 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.event.CharacterChangedEvent;
+import com.deadlands.campaign.event.WikiEntryChangedEvent;
+import com.deadlands.campaign.model.User;
+import com.deadlands.campaign.model.WikiEntry;
+import com.deadlands.campaign.repository.WikiAccessRepository;
+import com.deadlands.campaign.repository.WikiEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed set of wiki entry ids each player may read.
+ *
+ * A player sees an entry if it is public, if it is about one of their
+ * characters, or if the GM granted them access. Public ids are shared by
+ * everyone; owned and granted ids are kept per user. All are bitsets indexed
+ * by entry id, so a visibility check is a bit lookup instead of a grant query
+ * per entry.
+ *
+ * Each user's sets are loaded on first use (two id-only queries) and kept up
+ * to date by {@link #onGranted} / {@link #onRevoked}. Owned and granted ids are
+ * stored separately so revoking a grant never hides an entry the player owns.
+ *
+ * Any change to an entry (WikiEntryChangedEvent) can move it between public,
+ * character-specific and private, so it drops everything. Creating, deleting
+ * or handing over a character (CharacterChangedEvent) changes who owns its
+ * entries, so it drops the owner's sets and those of any user whose owned set
+ * holds one of the character's entries. Entries of soft-deleted characters
+ * are not owned by anyone.
+ * GMs see every entry and never touch the index.
+ */
+@Service
+public class WikiVisibilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(WikiVisibilityIndex.class);
+
+    @Autowired
+    private WikiEntryRepository wikiEntryRepository;
+
+    @Autowired
+    private WikiAccessRepository wikiAccessRepository;
+
+    private volatile BitSet publicIds;
+
+    /**
+     * Bumped on every clear() so a public-id load that raced a clear isn't kept.
+     */
+    private long generation;
+
+    /**
+     * Per-user sets. Bitsets are never mutated once published; updates swap in a copy.
+     */
+    private final ConcurrentHashMap<Long, UserVisibility> users = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of every entry the user can read. GMs can read everything and should
+     * not be checked against this set.
+     *
+     * @return A new bitset the caller may modify
+     */
+    public BitSet visibleTo(User user) {
+        BitSet visible = (BitSet) publicIds().clone();
+        UserVisibility own = forUser(user.getId());
+        visible.or(own.owned());
+        visible.or(own.granted());
+        return visible;
+    }
+
+    /**
+     * Check a single entry.
+     */
+    public boolean canAccess(User user, WikiEntry entry) {
+        if (user.getRole() == User.Role.GAME_MASTER) {
+            return true;
+        }
+        int bit = bit(entry.getId());
+        if (publicIds().get(bit)) {
+            return true;
+        }
+        UserVisibility own = forUser(user.getId());
+        return own.owned().get(bit) || own.granted().get(bit);
+    }
+
+    /**
+     * Record a grant after it has been saved.
+     */
+    public void onGranted(Long userId, Long entryId) {
+        users.computeIfPresent(userId, (id, current) -> current.withGrant(bit(entryId), true));
+    }
+
+    /**
+     * Record a revocation after the grant has been deleted.
+     */
+    public void onRevoked(Long userId, Long entryId) {
+        users.computeIfPresent(userId, (id, current) -> current.withGrant(bit(entryId), false));
+    }
+
+    /**
+     * Drop everything; sets are rebuilt on next use. Call after wiki entries change.
+     */
+    public void clear() {
+        synchronized (this) {
+            generation++;
+            publicIds = null;
+        }
+        users.clear();
+        logger.debug("[WikiVisibilityIndex] Cleared");
+    }
+
+    @EventListener
+    public void onWikiEntryChanged(WikiEntryChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * Drop the owned sets a character change can affect. Runs after commit so a
+     * reload cannot read the pre-change rows.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCharacterChanged(CharacterChangedEvent event) {
+        Set<Long> affected = new HashSet<>();
+        if (event.getPlayerId() != null) {
+            affected.add(event.getPlayerId());
+        }
+        // The previous owner of a handed-over character still has its entries cached
+        BitSet entries = toBits(wikiEntryRepository.findIdsByRelatedCharacterId(event.getCharacterId()));
+        users.forEach((userId, visibility) -> {
+            if (visibility.owned().intersects(entries)) {
+                affected.add(userId);
+            }
+        });
+        affected.forEach(users::remove);
+        logger.debug("[WikiVisibilityIndex] Character {} {}: dropped {} user(s)",
+                event.getCharacterId(), event.getChangeType(), affected.size());
+    }
+
+    private BitSet publicIds() {
+        BitSet ids = publicIds;
+        if (ids == null) {
+            long observedGeneration;
+            synchronized (this) {
+                observedGeneration = generation;
+            }
+            ids = toBits(wikiEntryRepository.findIdsByVisibility(WikiEntry.Visibility.PUBLIC));
+            synchronized (this) {
+                if (generation == observedGeneration) {
+                    publicIds = ids;
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Loading inside computeIfAbsent means a concurrent grant/revoke waits for the
+     * load to be published and is then applied on top of it, so none are lost.
+     */
+    private UserVisibility forUser(Long userId) {
+        return users.computeIfAbsent(userId, id -> new UserVisibility(
+                toBits(wikiEntryRepository.findIdsByVisibilityAndPlayerId(WikiEntry.Visibility.CHARACTER_SPECIFIC, id)),
+                toBits(wikiAccessRepository.findWikiEntryIdsByUserId(id))));
+    }
+
+    private static BitSet toBits(Collection<Long> ids) {
+        BitSet bits = new BitSet();
+        for (Long id : ids) {
+            bits.set(bit(id));
+        }
+        return bits;
+    }
+
+    private static int bit(Long entryId) {
+        return Math.toIntExact(entryId);
+    }
+
+    private record UserVisibility(BitSet owned, BitSet granted) {
+
+        UserVisibility withGrant(int bit, boolean value) {
+            BitSet updated = (BitSet) granted.clone();
+            updated.set(bit, value);
+            return new UserVisibility(owned, updated);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+-- Partial indexes for the soft-delete filter on characters
+-- Every CharacterRepository query adds "deleted_at IS NULL"; indexing only the
+-- live rows keeps these indexes small and lets the planner skip deleted sheets.
+--
+-- PostgreSQL only (H2 has no partial indexes). Portable indexes (child-table
+-- character_id, wiki_access by user, battle_maps by owner) are declared on the
+-- entities instead so Hibernate creates them in every environment.
+
+-- Roster by player: findByPlayerId, findByPlayerIdWithPlayer, findPageByPlayerIdAfter
+CREATE INDEX IF NOT EXISTS idx_characters_active_player
+    ON characters (player_id, id)
+    WHERE deleted_at IS NULL;
+
+-- NPC / PC filters: findByIsNpc, findPageByIsNpcAfter
+CREATE INDEX IF NOT EXISTS idx_characters_active_npc
+    ON characters (is_npc, id)
+    WHERE deleted_at IS NULL;
+
+-- Full roster, keyset pages and batch recompute: findAllWithPlayer, findPageAfter, findActiveIds
+CREATE INDEX IF NOT EXISTS idx_characters_active_id
+    ON characters (id)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,92 @@
+package com.deadlands.campaign.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SqlStatementReader.
+ *
+ * Tests:
+ * - Semicolons inside strings and quoted identifiers do not split statements
+ * - Line and block comments are dropped, including a comment before the first statement
+ * - reference-data.sql splits into its INSERT statements
+ */
+class SqlStatementReaderTest {
+
+    @Test
+    @DisplayName("next - Respects quotes and escaped quotes")
+    void next_respectsQuotes() throws IOException {
+        // Act
+        List<String> statements = readAll(
+                "INSERT INTO t (a) VALUES ('Draw; then fire'), ('Ailin''; it''s bad');\n" +
+                "SELECT \"odd;name\" FROM t;");
+
+        // Assert
+        assertThat(statements).containsExactly(
+                "INSERT INTO t (a) VALUES ('Draw; then fire'), ('Ailin''; it''s bad')",
+                "SELECT \"odd;name\" FROM t");
+    }
+
+    @Test
+    @DisplayName("next - Drops comments; comment markers inside strings are kept")
+    void next_dropsComments() throws IOException {
+        // Act
+        List<String> statements = readAll(
+                "-- Header; with a semicolon\n" +
+                "/* block; comment */ INSERT INTO t VALUES ('a -- b', 1 - 2, 4 / 2);\n" +
+                "-- trailing comment\n" +
+                ";;");
+
+        // Assert
+        assertThat(statements).containsExactly("INSERT INTO t VALUES ('a -- b', 1 - 2, 4 / 2)");
+    }
+
+    @Test
+    @DisplayName("next - Unterminated string is an error")
+    void next_unterminatedString() {
+        assertThatThrownBy(() -> readAll("INSERT INTO t VALUES ('oops);"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unterminated string literal");
+    }
+
+    @Test
+    @DisplayName("reference-data.sql - Every INSERT is read, including the first one after the header comment")
+    void referenceData_readsEveryInsert() throws IOException {
+        // Arrange
+        List<String> statements = new ArrayList<>();
+        try (SqlStatementReader reader = new SqlStatementReader(new BufferedReader(new InputStreamReader(
+                new ClassPathResource("reference-data.sql").getInputStream(), StandardCharsets.UTF_8)))) {
+            String statement;
+            while ((statement = reader.next()) != null) {
+                statements.add(statement);
+            }
+        }
+
+        // Assert
+        assertThat(statements).hasSize(6).allSatisfy(statement -> assertThat(statement).startsWith("INSERT INTO"));
+        assertThat(statements.get(0)).startsWith("INSERT INTO hindrance_references").contains("('Ailin''', ");
+    }
+
+    private static List<String> readAll(String sql) throws IOException {
+        List<String> statements = new ArrayList<>();
+        try (SqlStatementReader reader = new SqlStatementReader(new StringReader(sql))) {
+            String statement;
+            while ((statement = reader.next()) != null) {
+                statements.add(statement);
+            }
+        }
+        return statements;
+    }
+}
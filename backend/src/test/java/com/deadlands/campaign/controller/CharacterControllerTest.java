@@ -1,31 +1,45 @@
 package com.deadlands.campaign.controller;
 
+import com.deadlands.campaign.dto.CharacterDeltaEvent;
 import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.EquipmentReference;
+import com.deadlands.campaign.model.Skill;
 import com.deadlands.campaign.model.User;
 import com.deadlands.campaign.repository.CharacterRepository;
+import com.deadlands.campaign.repository.EquipmentReferenceRepository;
 import com.deadlands.campaign.repository.UserRepository;
+import com.deadlands.campaign.service.CharacterViewCache;
+import com.deadlands.campaign.service.ReferenceCatalog;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,10 +48,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  *
  * Tests all character management endpoints:
  * - GET /characters - List characters (filtered by role)
- * - GET /characters/{id} - Get specific character (with authorization)
+ * - GET /characters/{id} - Get specific character (with authorization, ETag / If-None-Match)
  * - POST /characters - Create character
- * - PUT /characters/{id} - Update character (with authorization)
+ * - PUT /characters/{id} - Update character (with authorization, optimistic locking)
+ * - PATCH /characters/{id} - Partial update (with authorization)
  * - DELETE /characters/{id} - Soft delete character (with authorization)
+ * - Roster and sheet view cache hits and invalidation
+ * - Character deltas pushed to /user/queue/characters (changed rows only for collections)
+ * - GET /characters/page and /characters/stream - Keyset pagination and streaming
  *
  * Uses @SpringBootTest with @AutoConfigureMockMvc for full integration testing.
  */
@@ -58,6 +76,18 @@ class CharacterControllerTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private CharacterViewCache characterViewCache;
+
+    @Autowired
+    private EquipmentReferenceRepository equipmentReferenceRepository;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
     private User testPlayer;
     private User testGM;
     private User otherPlayer;
@@ -67,6 +97,9 @@ class CharacterControllerTest {
 
     @BeforeEach
     void setUp() {
+        // View cache is a singleton shared across tests in this context
+        characterViewCache.clear();
+
         // Create test users
         testPlayer = User.builder()
                 .id(1L)
@@ -189,7 +222,7 @@ class CharacterControllerTest {
     void getAllCharacters_asGM_returnsAllCharacters() throws Exception {
         // Arrange
         when(userRepository.findByUsername("gamemaster")).thenReturn(Optional.of(testGM));
-        when(characterRepository.findAll()).thenReturn(List.of(playerCharacter, otherPlayerCharacter, npcCharacter));
+        when(characterRepository.findAllWithPlayer()).thenReturn(List.of(playerCharacter, otherPlayerCharacter, npcCharacter));
 
         // Act & Assert
         mockMvc.perform(get("/characters")
@@ -200,8 +233,8 @@ class CharacterControllerTest {
                 .andExpect(jsonPath("$[1].name", is("Other Character")))
                 .andExpect(jsonPath("$[2].name", is("Bandit Leader")));
 
-        verify(characterRepository, times(1)).findAll();
-        verify(characterRepository, never()).findByPlayerId(anyLong());
+        verify(characterRepository, times(1)).findAllWithPlayer();
+        verify(characterRepository, never()).findByPlayerIdWithPlayer(anyLong());
     }
 
     @Test
@@ -210,7 +243,7 @@ class CharacterControllerTest {
     void getAllCharacters_asPlayer_returnsOnlyOwnCharacters() throws Exception {
         // Arrange
         when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
-        when(characterRepository.findByPlayerId(1L)).thenReturn(List.of(playerCharacter));
+        when(characterRepository.findByPlayerIdWithPlayer(1L)).thenReturn(List.of(playerCharacter));
 
         // Act & Assert
         mockMvc.perform(get("/characters")
@@ -220,8 +253,8 @@ class CharacterControllerTest {
                 .andExpect(jsonPath("$[0].name", is("Test Gunslinger")))
                 .andExpect(jsonPath("$[0].playerId", is(1)));
 
-        verify(characterRepository, times(1)).findByPlayerId(1L);
-        verify(characterRepository, never()).findAll();
+        verify(characterRepository, times(1)).findByPlayerIdWithPlayer(1L);
+        verify(characterRepository, never()).findAllWithPlayer();
     }
 
     @Test
@@ -232,8 +265,119 @@ class CharacterControllerTest {
                         .with(csrf()))
                 .andExpect(status().isForbidden());
 
-        verify(characterRepository, never()).findAll();
-        verify(characterRepository, never()).findByPlayerId(anyLong());
+        verify(characterRepository, never()).findAllWithPlayer();
+        verify(characterRepository, never()).findByPlayerIdWithPlayer(anyLong());
+    }
+
+    @Test
+    @WithMockUser(username = "gamemaster", roles = {"GAME_MASTER"})
+    @DisplayName("GET /characters - Repeated roster reads are served from the cache")
+    void getAllCharacters_repeatedReads_servedFromCache() throws Exception {
+        // Arrange
+        when(userRepository.findByUsername("gamemaster")).thenReturn(Optional.of(testGM));
+        when(characterRepository.findAllWithPlayer()).thenReturn(List.of(playerCharacter, npcCharacter));
+
+        // Act & Assert
+        mockMvc.perform(get("/characters").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(get("/characters").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].name", is("Bandit Leader")));
+
+        verify(characterRepository, times(1)).findAllWithPlayer();
+        assertThat(characterViewCache.getStats().getHits()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(username = "gamemaster", roles = {"GAME_MASTER"})
+    @DisplayName("GET /characters - Deleting a character invalidates the cached roster")
+    void getAllCharacters_afterDelete_reloadsRoster() throws Exception {
+        // Arrange
+        when(userRepository.findByUsername("gamemaster")).thenReturn(Optional.of(testGM));
+        when(characterRepository.findAllWithPlayer())
+                .thenReturn(List.of(playerCharacter, npcCharacter))
+                .thenReturn(List.of(playerCharacter));
+        when(characterRepository.findByIdIncludingDeleted(3L)).thenReturn(Optional.of(npcCharacter));
+        when(characterRepository.save(any(Character.class))).thenReturn(npcCharacter);
+
+        // Act & Assert
+        mockMvc.perform(get("/characters").with(csrf()))
+                .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(delete("/characters/3").with(csrf()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/characters").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(characterRepository, times(2)).findAllWithPlayer();
+    }
+
+    // ==================== GET /characters/page AND /stream TESTS ====================
+
+    @Test
+    @WithMockUser(username = "gamemaster", roles = {"GAME_MASTER"})
+    @DisplayName("GET /characters/page - Returns a page and the cursor for the next one")
+    void getCharacterPage_asGM_returnsPageWithCursor() throws Exception {
+        // Arrange: limit 2 fetches 3 rows to detect that more remain
+        when(userRepository.findByUsername("gamemaster")).thenReturn(Optional.of(testGM));
+        when(characterRepository.findPageAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(playerCharacter, otherPlayerCharacter, npcCharacter));
+
+        // Act & Assert
+        mockMvc.perform(get("/characters/page")
+                        .param("limit", "2")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[1].name", is("Other Character")))
+                .andExpect(jsonPath("$.nextAfterId", is(2)))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+    }
+
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("GET /characters/page - Player is scoped to their own characters")
+    void getCharacterPage_asPlayer_ignoresRequestedPlayerId() throws Exception {
+        // Arrange
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+        when(characterRepository.findPageByPlayerIdAfter(eq(1L), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(playerCharacter));
+
+        // Act & Assert
+        mockMvc.perform(get("/characters/page")
+                        .param("playerId", "3")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].playerId", is(1)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+
+        verify(characterRepository, never()).findPageByPlayerIdAfter(eq(3L), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    @WithMockUser(username = "gamemaster", roles = {"GAME_MASTER"})
+    @DisplayName("GET /characters/stream - Streams every matching character as a JSON array")
+    void streamCharacters_asGM_writesAllCharacters() throws Exception {
+        // Arrange
+        when(userRepository.findByUsername("gamemaster")).thenReturn(Optional.of(testGM));
+        when(characterRepository.findPageByIsNpcAfter(eq(true), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(npcCharacter));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/characters/stream")
+                        .param("isNpc", "true")
+                        .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Bandit Leader")));
     }
 
     // ==================== GET /characters/{id} TESTS ====================
@@ -306,6 +450,133 @@ class CharacterControllerTest {
         verify(characterRepository, times(1)).findById(999L);
     }
 
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("GET /characters/{id} - Response carries the version as an ETag")
+    void getCharacterById_returnsVersionETag() throws Exception {
+        // Arrange
+        playerCharacter.setVersion(4L);
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+
+        // Act & Assert
+        mockMvc.perform(get("/characters/1")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(jsonPath("$.version", is(4)));
+    }
+
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("GET /characters/{id} - Matching If-None-Match returns 304 without loading collections")
+    void getCharacterById_unchanged_returnsNotModified() throws Exception {
+        // Arrange
+        Character character = spy(playerCharacter);
+        character.setVersion(4L);
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(character));
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+
+        // Act & Assert
+        mockMvc.perform(get("/characters/1")
+                        .header("If-None-Match", "\"4\"")
+                        .with(csrf()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(content().string(""));
+
+        verify(character, never()).getSkills();
+        verify(character, never()).getEquipment();
+    }
+
+    @Test
+    @WithMockUser(username = "otherplayer", roles = {"PLAYER"})
+    @DisplayName("GET /characters/{id} - If-None-Match does not bypass authorization")
+    void getCharacterById_notModifiedForOthers_returnsForbidden() throws Exception {
+        // Arrange
+        playerCharacter.setVersion(4L);
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("otherplayer")).thenReturn(Optional.of(otherPlayer));
+
+        // Act & Assert
+        mockMvc.perform(get("/characters/1")
+                        .header("If-None-Match", "\"4\"")
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("GET /characters/{id} - Repeated reads are served from the sheet cache")
+    void getCharacterById_repeatedReads_servedFromCache() throws Exception {
+        // Arrange
+        playerCharacter.setVersion(4L);
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+
+        // Act & Assert
+        mockMvc.perform(get("/characters/1").with(csrf()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/characters/1").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.name", is("Test Gunslinger")));
+
+        verify(characterRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @WithMockUser(username = "otherplayer", roles = {"PLAYER"})
+    @DisplayName("GET /characters/{id} - A cached sheet is still authorized per user")
+    void getCharacterById_cachedForOwner_forbiddenForOthers() throws Exception {
+        // Arrange: cached by an earlier read (as the owner would)
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("otherplayer")).thenReturn(Optional.of(otherPlayer));
+        when(userRepository.findByUsername("gamemaster")).thenReturn(Optional.of(testGM));
+        mockMvc.perform(get("/characters/1").with(user("gamemaster").roles("GAME_MASTER")).with(csrf()))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/characters/1").with(csrf()))
+                .andExpect(status().isForbidden());
+
+        verify(characterRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("GET /characters/{id} - Updating a character evicts its cached sheet")
+    void getCharacterById_afterUpdate_reloadsSheet() throws Exception {
+        // Arrange
+        Character updatedDetails = Character.builder()
+                .name("Updated Gunslinger")
+                .skills(new HashSet<>())
+                .edges(new HashSet<>())
+                .hindrances(new HashSet<>())
+                .equipment(new HashSet<>())
+                .arcanePowers(new HashSet<>())
+                .build();
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+        when(characterRepository.save(any(Character.class))).thenReturn(playerCharacter);
+
+        // Act & Assert
+        mockMvc.perform(get("/characters/1").with(csrf()))
+                .andExpect(jsonPath("$.name", is("Test Gunslinger")));
+        mockMvc.perform(put("/characters/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedDetails)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/characters/1").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Updated Gunslinger")));
+
+        verify(characterRepository, times(3)).findById(1L);
+    }
+
     // ==================== POST /characters TESTS ====================
 
     @Test
@@ -402,6 +673,43 @@ class CharacterControllerTest {
         verify(characterRepository, never()).save(any(Character.class));
     }
 
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("POST /characters - Worn armor sent by reference id counts; a nested reference is ignored")
+    void createCharacter_armorByReferenceId_countsTowardToughness() throws Exception {
+        // Arrange
+        EquipmentReference leather = equipmentReferenceRepository.save(EquipmentReference.builder()
+                .name("Leather Duster")
+                .type(EquipmentReference.EquipmentType.ARMOR)
+                .armorValue(1)
+                .build());
+        referenceCatalog.reload();
+
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+        when(characterRepository.save(any(Character.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        String body = """
+                {"name": "Armored", "vigorDie": "1d6", "toughness": 2,
+                 "equipment": [
+                   {"name": "Duster", "equipmentReferenceId": %d, "isEquipped": true, "quantity": 1},
+                   {"name": "Forged", "isEquipped": true, "quantity": 1, "equipmentReference": {"armorValue": 99}}
+                 ]}
+                """.formatted(leather.getId());
+
+        try {
+            // Act & Assert: 2 + half d6 + 1 armor
+            mockMvc.perform(post("/characters")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.toughness", is(6)));
+        } finally {
+            equipmentReferenceRepository.delete(leather);
+            referenceCatalog.reload();
+        }
+    }
+
     // ==================== PUT /characters/{id} TESTS ====================
 
     @Test
@@ -495,6 +803,250 @@ class CharacterControllerTest {
         verify(characterRepository, never()).save(any(Character.class));
     }
 
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("PUT /characters/{id} - Child rows are reconciled by id, not cleared and re-inserted")
+    void updateCharacter_reconcilesSkillsById() throws Exception {
+        // Arrange
+        Skill fighting = Skill.builder().id(10L).character(playerCharacter).name("Fighting").dieValue("d6").build();
+        Skill shooting = Skill.builder().id(11L).character(playerCharacter).name("Shooting").dieValue("d8").build();
+        playerCharacter.getSkills().add(fighting);
+        playerCharacter.getSkills().add(shooting);
+
+        Character updatedDetails = Character.builder()
+                .name("Test Gunslinger")
+                .skills(new HashSet<>(List.of(
+                        Skill.builder().id(10L).name("Fighting").dieValue("d10").build(),
+                        Skill.builder().name("Riding").dieValue("d6").build())))
+                .edges(new HashSet<>())
+                .hindrances(new HashSet<>())
+                .equipment(new HashSet<>())
+                .arcanePowers(new HashSet<>())
+                .build();
+
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+        when(characterRepository.save(any(Character.class))).thenReturn(playerCharacter);
+
+        // Act
+        mockMvc.perform(put("/characters/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedDetails)))
+                .andExpect(status().isOk());
+
+        // Assert: Fighting updated in place, Shooting removed, Riding added
+        ArgumentCaptor<Character> saved = ArgumentCaptor.forClass(Character.class);
+        verify(characterRepository).save(saved.capture());
+        assertThat(saved.getValue().getSkills()).hasSize(2);
+        assertThat(saved.getValue().getSkills()).anySatisfy(skill -> {
+            assertThat(skill).isSameAs(fighting);
+            assertThat(skill.getDieValue()).isEqualTo("d10");
+        });
+        assertThat(saved.getValue().getSkills()).noneMatch(skill -> skill == shooting);
+        assertThat(saved.getValue().getSkills()).anySatisfy(skill -> {
+            assertThat(skill.getName()).isEqualTo("Riding");
+            assertThat(skill.getId()).isNull();
+            assertThat(skill.getCharacter()).isSameAs(playerCharacter);
+        });
+    }
+
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("PUT /characters/{id} - Stale version is rejected with 409")
+    void updateCharacter_staleVersion_returnsConflict() throws Exception {
+        // Arrange: someone else saved version 5 after this client loaded version 4
+        playerCharacter.setVersion(5L);
+        Character staleDetails = Character.builder()
+                .name("Overwritten Gunslinger")
+                .version(4L)
+                .build();
+
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+
+        // Act & Assert
+        mockMvc.perform(put("/characters/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(staleDetails)))
+                .andExpect(status().isConflict());
+
+        assertThat(playerCharacter.getName()).isEqualTo("Test Gunslinger");
+        verify(characterRepository, never()).save(any(Character.class));
+    }
+
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("PUT /characters/{id} - Mismatched If-Match returns 412")
+    void updateCharacter_ifMatchMismatch_returnsPreconditionFailed() throws Exception {
+        // Arrange
+        playerCharacter.setVersion(5L);
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+
+        // Act & Assert
+        mockMvc.perform(put("/characters/1")
+                        .header("If-Match", "\"4\"")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Character.builder().name("Renamed").build())))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(characterRepository, never()).save(any(Character.class));
+    }
+
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("PUT /characters/{id} - Derived stats are recomputed server-side")
+    void updateCharacter_recomputesDerivedStats() throws Exception {
+        // Arrange: client claims Parry 9 with no Fighting skill
+        Character updatedDetails = Character.builder()
+                .name("Test Gunslinger")
+                .vigorDie("1d8")
+                .parry(9)
+                .toughness(12)
+                .skills(new HashSet<>())
+                .edges(new HashSet<>())
+                .hindrances(new HashSet<>())
+                .equipment(new HashSet<>())
+                .arcanePowers(new HashSet<>())
+                .build();
+
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+        when(characterRepository.save(any(Character.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act & Assert
+        mockMvc.perform(put("/characters/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedDetails)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parry", is(2)))
+                .andExpect(jsonPath("$.toughness", is(6)))
+                .andExpect(jsonPath("$.pace", is(6)));
+    }
+
+    // ==================== PATCH /characters/{id} TESTS ====================
+
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("PATCH /characters/{id} - Only fields in the body are changed")
+    void patchCharacter_asOwner_updatesOnlyPresentFields() throws Exception {
+        // Arrange
+        Skill fighting = Skill.builder().id(10L).character(playerCharacter).name("Fighting").dieValue("d6").build();
+        playerCharacter.getSkills().add(fighting);
+
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+        when(characterRepository.save(any(Character.class))).thenReturn(playerCharacter);
+
+        // Act
+        mockMvc.perform(patch("/characters/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"notes\": \"Owes the saloon keeper $5\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notes", is("Owes the saloon keeper $5")));
+
+        // Assert
+        assertThat(playerCharacter.getName()).isEqualTo("Test Gunslinger");
+        assertThat(playerCharacter.getAgilityDie()).isEqualTo("1d8");
+        assertThat(playerCharacter.getSkills()).containsExactly(fighting);
+        verify(characterRepository, times(1)).save(any(Character.class));
+    }
+
+    @Test
+    @WithMockUser(username = "gamemaster", roles = {"GAME_MASTER"})
+    @DisplayName("PATCH /characters/{id} - Changed fields are pushed to the owner and GMs")
+    void patchCharacter_asGM_pushesDeltaToOwnerAndGMs() throws Exception {
+        // Arrange: stored derived stats already match the dice
+        playerCharacter.setToughness(5);
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("gamemaster")).thenReturn(Optional.of(testGM));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testPlayer));
+        when(userRepository.findByRole(User.Role.GAME_MASTER)).thenReturn(List.of(testGM));
+        when(characterRepository.save(any(Character.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        mockMvc.perform(patch("/characters/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"totalXp\": 15, \"notes\": null}"))
+                .andExpect(status().isOk());
+
+        // Assert: only XP changed (notes were already null); deltas are sent asynchronously
+        ArgumentCaptor<CharacterDeltaEvent> delta = ArgumentCaptor.forClass(CharacterDeltaEvent.class);
+        verify(messagingTemplate, timeout(2000)).convertAndSendToUser(eq("testplayer"), eq("/queue/characters"), delta.capture());
+        verify(messagingTemplate, timeout(2000)).convertAndSendToUser(eq("gamemaster"), eq("/queue/characters"), any(CharacterDeltaEvent.class));
+
+        assertThat(delta.getValue().getCharacterId()).isEqualTo(1L);
+        assertThat(delta.getValue().getChangeType()).isEqualTo("UPDATED");
+        assertThat(delta.getValue().getChanges().size()).isEqualTo(1);
+        assertThat(delta.getValue().getChanges().get("totalXp").asInt()).isEqualTo(15);
+    }
+
+    @Test
+    @WithMockUser(username = "gamemaster", roles = {"GAME_MASTER"})
+    @DisplayName("PATCH /characters/{id} - A changed collection is pushed as edited/added rows and removed ids")
+    void patchCharacter_skillsChanged_pushesRowDelta() throws Exception {
+        // Arrange: stored derived stats already match the dice (Fighting d6 gives Parry 5)
+        Skill fighting = Skill.builder().id(10L).character(playerCharacter).name("Fighting").dieValue("d6").build();
+        Skill shooting = Skill.builder().id(11L).character(playerCharacter).name("Shooting").dieValue("d8").build();
+        Skill guts = Skill.builder().id(12L).character(playerCharacter).name("Guts").dieValue("d4").build();
+        playerCharacter.getSkills().addAll(List.of(fighting, shooting, guts));
+        playerCharacter.setParry(5);
+        playerCharacter.setToughness(5);
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(playerCharacter));
+        when(userRepository.findByUsername("gamemaster")).thenReturn(Optional.of(testGM));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testPlayer));
+        when(userRepository.findByRole(User.Role.GAME_MASTER)).thenReturn(List.of(testGM));
+        when(characterRepository.save(any(Character.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act: note Fighting, keep Guts as is, drop Shooting, add Riding
+        mockMvc.perform(patch("/characters/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("skills", List.of(
+                                Skill.builder().id(10L).name("Fighting").dieValue("d6").notes("Bowie knife").build(),
+                                Skill.builder().id(12L).name("Guts").dieValue("d4").build(),
+                                Skill.builder().name("Riding").dieValue("d6").build())))))
+                .andExpect(status().isOk());
+
+        // Assert
+        ArgumentCaptor<CharacterDeltaEvent> delta = ArgumentCaptor.forClass(CharacterDeltaEvent.class);
+        verify(messagingTemplate, timeout(2000)).convertAndSendToUser(eq("testplayer"), eq("/queue/characters"), delta.capture());
+
+        assertThat(delta.getValue().getChanges().size()).isEqualTo(1);
+        assertThat(delta.getValue().getChanges().get("skills").get("upserted"))
+                .extracting(row -> row.get("name").asText())
+                .containsExactlyInAnyOrder("Fighting", "Riding");
+        assertThat(delta.getValue().getChanges().get("skills").get("upserted").get(0).has("character")).isFalse();
+        assertThat(delta.getValue().getChanges().get("skills").get("removed"))
+                .extracting(id -> id.asLong())
+                .containsExactly(11L);
+    }
+
+    @Test
+    @WithMockUser(username = "testplayer", roles = {"PLAYER"})
+    @DisplayName("PATCH /characters/{id} - Forbidden (player editing other's character)")
+    void patchCharacter_asPlayerEditingOthers_returnsForbidden() throws Exception {
+        // Arrange
+        when(characterRepository.findById(2L)).thenReturn(Optional.of(otherPlayerCharacter));
+        when(userRepository.findByUsername("testplayer")).thenReturn(Optional.of(testPlayer));
+
+        // Act & Assert
+        mockMvc.perform(patch("/characters/2")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Hijacked\"}"))
+                .andExpect(status().isForbidden());
+
+        assertThat(otherPlayerCharacter.getName()).isEqualTo("Other Character");
+        verify(characterRepository, never()).save(any(Character.class));
+    }
+
     // ==================== DELETE /characters/{id} TESTS ====================
 
     @Test
@@ -1,12 +1,16 @@
 package com.deadlands.campaign.controller;
 
+import com.deadlands.campaign.dto.TokenMoveRejectedEvent;
 import com.deadlands.campaign.dto.TokenMoveRequest;
 import com.deadlands.campaign.dto.TokenMovedEvent;
+import com.deadlands.campaign.exception.StaleTokenMoveException;
 import com.deadlands.campaign.model.Character;
 import com.deadlands.campaign.model.User;
 import com.deadlands.campaign.repository.CharacterRepository;
 import com.deadlands.campaign.repository.UserRepository;
 import com.deadlands.campaign.service.GameStateService;
+import com.deadlands.campaign.service.TokenPositionRegistry;
+import com.deadlands.campaign.service.TokenPositionRegistry.GridPosition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,6 +35,7 @@ import static org.mockito.Mockito.*;
  * - Token movement validation (bounds, ownership)
  * - Player join/leave events
  * - Authorization checks (player vs GM)
+ * - Compare-and-set rejection of stale moves
  *
  * Uses @SpringBootTest with @AutoConfigureMockMvc for full integration testing.
  */
@@ -51,6 +56,9 @@ class GameControllerTest {
     @MockBean
     private GameStateService gameStateService;
 
+    @Autowired
+    private TokenPositionRegistry tokenPositionRegistry;
+
     private User playerUser;
     private User gmUser;
     private Character playerCharacter;
@@ -60,6 +68,9 @@ class GameControllerTest {
 
     @BeforeEach
     void setUp() {
+        // Registry is a singleton shared across tests in this context
+        tokenPositionRegistry.clear();
+
         // Create player user
         playerUser = User.builder()
                 .id(1L)
@@ -326,6 +337,74 @@ class GameControllerTest {
         verify(userRepository, never()).findByUsername(anyString());
     }
 
+    // ==================== COMPARE-AND-SET TESTS ====================
+
+    @Test
+    @DisplayName("handleTokenMove - Second move from the same stale position is rejected")
+    void handleTokenMove_staleFromPosition_throwsStaleTokenMove() {
+        // Arrange
+        TokenMoveRequest first = enemyMove("enemy_1", 10, 10, 12, 12);
+        TokenMoveRequest second = enemyMove("enemy_1", 10, 10, 20, 20);
+
+        // Act
+        gameController.handleTokenMove(first, gmPrincipal);
+
+        // Assert
+        assertThatThrownBy(() -> gameController.handleTokenMove(second, playerPrincipal))
+                .isInstanceOf(StaleTokenMoveException.class)
+                .satisfies(ex -> {
+                    GridPosition current = ((StaleTokenMoveException) ex).getCurrentPosition();
+                    assertThat(current.getX()).isEqualTo(12);
+                    assertThat(current.getY()).isEqualTo(12);
+                });
+
+        verify(gameStateService, times(1)).updateTokenPosition(eq("enemy_1"), anyString(), anyInt(), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName("handleTokenMove - Move from the current position succeeds")
+    void handleTokenMove_fromCurrentPosition_succeeds() {
+        // Arrange
+        gameController.handleTokenMove(enemyMove("enemy_1", 10, 10, 12, 12), gmPrincipal);
+
+        // Act
+        TokenMovedEvent event = gameController.handleTokenMove(enemyMove("enemy_1", 12, 12, 14, 14), playerPrincipal);
+
+        // Assert
+        assertThat(event.getGridX()).isEqualTo(14);
+        assertThat(event.getGridY()).isEqualTo(14);
+        assertThat(tokenPositionRegistry.get("enemy_1")).isEqualTo(new GridPosition(14, 14));
+    }
+
+    @Test
+    @DisplayName("handleTokenMove - Failed persistence rolls back the in-memory position")
+    void handleTokenMove_persistFails_rollsBackRegistry() {
+        // Arrange
+        gameController.handleTokenMove(enemyMove("enemy_1", 10, 10, 12, 12), gmPrincipal);
+        when(gameStateService.updateTokenPosition(eq("enemy_1"), anyString(), eq(14), eq(14), anyString()))
+                .thenThrow(new RuntimeException("DB down"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> gameController.handleTokenMove(enemyMove("enemy_1", 12, 12, 14, 14), gmPrincipal))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("DB down");
+        assertThat(tokenPositionRegistry.get("enemy_1")).isEqualTo(new GridPosition(12, 12));
+    }
+
+    @Test
+    @DisplayName("handleStaleMove - Returns authoritative position to the mover")
+    void handleStaleMove_returnsAuthoritativePosition() {
+        // Act
+        TokenMoveRejectedEvent event = gameController.handleStaleMove(
+                new StaleTokenMoveException("enemy_1", new GridPosition(7, 9)));
+
+        // Assert
+        assertThat(event.getTokenId()).isEqualTo("enemy_1");
+        assertThat(event.getGridX()).isEqualTo(7);
+        assertThat(event.getGridY()).isEqualTo(9);
+        assertThat(event.getReason()).isEqualTo("STALE_POSITION");
+    }
+
     // ==================== PLAYER JOIN TESTS ====================
 
     @Test
@@ -443,4 +522,15 @@ class GameControllerTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("User not found");
     }
+
+    private TokenMoveRequest enemyMove(String tokenId, int fromX, int fromY, int toX, int toY) {
+        TokenMoveRequest request = new TokenMoveRequest();
+        request.setTokenId(tokenId);
+        request.setTokenType("ENEMY");
+        request.setFromX(fromX);
+        request.setFromY(fromY);
+        request.setToX(toX);
+        request.setToY(toY);
+        return request;
+    }
 }
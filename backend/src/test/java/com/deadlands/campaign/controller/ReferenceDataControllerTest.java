@@ -0,0 +1,217 @@
+package com.deadlands.campaign.controller;
+
+import com.deadlands.campaign.model.ArcanePowerReference;
+import com.deadlands.campaign.model.EdgeReference;
+import com.deadlands.campaign.model.SkillReference;
+import com.deadlands.campaign.service.ReferenceCatalog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ReferenceDataController.
+ *
+ * Tests:
+ * - Lists are served from the catalog without touching the database
+ * - gzip body when accepted, plain JSON otherwise, each with its own ETag
+ * - If-None-Match answers 304
+ * - Grouped lists and lookups by id
+ * - Powers by arcane background, with power point and rank filters
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ReferenceDataControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    private Statistics statistics;
+    private SkillReference shooting;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        shooting = skill("Shooting", SkillReference.SkillAttribute.AGILITY);
+        skill("Faith", SkillReference.SkillAttribute.SPIRIT);
+        skill("Fighting", SkillReference.SkillAttribute.AGILITY);
+        entityManager.persist(EdgeReference.builder()
+                .name("Quick Draw")
+                .type(EdgeReference.EdgeType.COMBAT)
+                .build());
+        power("Healing", 3, "Blessed", null);
+        power("Soul Blast", 2, "Huckster, Mad Scientist", "Novice");
+        power("Bolt", 1, "Common", null);
+        power("Puppet", 3, "Huckster,Shaman", "Veteran");
+        entityManager.flush();
+        referenceCatalog.reload();
+    }
+
+    @Test
+    @DisplayName("GET /reference/skills - Served from memory, no SQL")
+    void getAllSkills_doesNotQueryDatabase() throws Exception {
+        // Arrange
+        statistics.clear();
+
+        // Act
+        mockMvc.perform(get("/reference/skills"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(jsonPath("$[*].name", contains("Shooting", "Faith", "Fighting")));
+        mockMvc.perform(get("/reference/skills/" + shooting.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Shooting"));
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /reference/edges - gzip when accepted, 304 on matching ETag")
+    void getAllEdges_gzipAndETag() throws Exception {
+        // Act
+        MvcResult gzipped = mockMvc.perform(get("/reference/edges").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andReturn();
+        MvcResult plain = mockMvc.perform(get("/reference/edges"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn();
+
+        // Assert
+        String gzipEtag = gzipped.getResponse().getHeader("ETag");
+        assertThat(gunzip(gzipped.getResponse().getContentAsByteArray()))
+                .isEqualTo(plain.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .contains("Quick Draw");
+        assertThat(gzipEtag).isNotEqualTo(plain.getResponse().getHeader("ETag"));
+
+        mockMvc.perform(get("/reference/edges").header("Accept-Encoding", "gzip").header("If-None-Match", gzipEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /reference/skills/by-attribute/{attribute} - Grouped lists, empty groups return []")
+    void getSkillsByAttribute_returnsGroup() throws Exception {
+        mockMvc.perform(get("/reference/skills/by-attribute/AGILITY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Shooting", "Fighting")));
+
+        mockMvc.perform(get("/reference/skills/by-attribute/VIGOR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/reference/skills/999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /reference/powers/by-background/{background} - Background labels, COMMON powers included")
+    void getPowersByBackground_includesCommonPowers() throws Exception {
+        // Arrange
+        statistics.clear();
+
+        // Act / Assert
+        mockMvc.perform(get("/reference/powers/by-background/Huckster"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[*].name", contains("Soul Blast", "Bolt", "Puppet")));
+        mockMvc.perform(get("/reference/powers/by-background/mad scientist"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Soul Blast", "Bolt")));
+        mockMvc.perform(get("/reference/powers/by-background/CHI_MASTERY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Bolt")));
+        mockMvc.perform(get("/reference/powers/by-background/Wizard"))
+                .andExpect(status().isBadRequest());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /reference/powers/by-background/{background} - maxPowerPoints and rank filters")
+    void getPowersByBackground_filters() throws Exception {
+        mockMvc.perform(get("/reference/powers/by-background/HUCKSTER").param("maxPowerPoints", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Soul Blast", "Bolt")));
+
+        mockMvc.perform(get("/reference/powers/by-background/HUCKSTER").param("rank", "Seasoned"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Soul Blast", "Bolt")));
+
+        mockMvc.perform(get("/reference/powers/by-background/HUCKSTER").param("rank", "veteran"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Soul Blast", "Bolt", "Puppet")));
+
+        mockMvc.perform(get("/reference/powers/by-background/HUCKSTER").param("rank", "Greenhorn"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("parseBackgrounds - Comma-separated labels become a PowerType bitmask")
+    void parseBackgrounds_buildsBitmask() {
+        assertThat(ArcanePowerReference.parseBackgrounds("Huckster, Mad Scientist, Unknown"))
+                .isEqualTo(ArcanePowerReference.PowerType.HUCKSTER.bit()
+                        | ArcanePowerReference.PowerType.MAD_SCIENCE.bit());
+        assertThat(ArcanePowerReference.parseBackgrounds(null)).isZero();
+    }
+
+    private void power(String name, int powerPoints, String backgrounds, String rankRequired) {
+        entityManager.persist(ArcanePowerReference.builder()
+                .name(name)
+                .powerPoints(powerPoints)
+                .arcaneBackgrounds(backgrounds)
+                .rankRequired(rankRequired)
+                .isTrapping(false)
+                .build());
+    }
+
+    private SkillReference skill(String name, SkillReference.SkillAttribute attribute) {
+        SkillReference skill = SkillReference.builder()
+                .name(name)
+                .attribute(attribute)
+                .defaultValue("d4-2")
+                .isCoreSkill(false)
+                .build();
+        entityManager.persist(skill);
+        return skill;
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
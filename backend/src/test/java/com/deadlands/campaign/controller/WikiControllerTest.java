@@ -0,0 +1,178 @@
+package com.deadlands.campaign.controller;
+
+import com.deadlands.campaign.model.User;
+import com.deadlands.campaign.model.WikiEntry;
+import com.deadlands.campaign.service.WikiHtmlRenderer;
+import com.deadlands.campaign.service.WikiVisibilityIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for WikiController.
+ *
+ * Tests:
+ * - GET /wiki - Summaries only (no content), filtered by visibility
+ * - GET /wiki/category/{category} - Summaries for one category
+ * - GET /wiki/slug/{slug} - Full content, with authorization
+ * - GET /wiki/slug/{slug}/html - Sanitized HTML, rendered once, ETag / If-None-Match
+ * - Excerpts are plain text cut at a word boundary
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class WikiControllerTest {
+
+    private static final String LONG_CONTENT = "# The Whateley Clan\n\n" +
+            "The **Whateleys** are a [sinister family](https://example.com) of hucksters. " +
+            "word ".repeat(100);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private WikiVisibilityIndex wikiVisibilityIndex;
+
+    @Autowired
+    private WikiHtmlRenderer wikiHtmlRenderer;
+
+    @BeforeEach
+    void setUp() {
+        wikiVisibilityIndex.clear();
+        wikiHtmlRenderer.clear();
+
+        entityManager.persist(User.builder()
+                .username("wiki_reader")
+                .email("wiki_reader@example.com")
+                .password("encoded-password")
+                .role(User.Role.PLAYER)
+                .active(true)
+                .build());
+
+        entry("whateley-clan", "The Whateley Clan", WikiEntry.Category.CAMPAIGN_LORE, WikiEntry.Visibility.PUBLIC);
+        entry("gomorra", "Gomorra", WikiEntry.Category.LOCATION, WikiEntry.Visibility.PUBLIC);
+        entry("gm-secret", "The Reckoners", WikiEntry.Category.CAMPAIGN_LORE, WikiEntry.Visibility.PRIVATE);
+        entry("dodgy-notes", "Dodgy Notes", WikiEntry.Category.OTHER, WikiEntry.Visibility.PUBLIC);
+        entityManager.flush();
+    }
+
+    @Test
+    @WithMockUser(username = "wiki_reader", roles = {"PLAYER"})
+    @DisplayName("GET /wiki - Returns visible summaries without content")
+    void getAllVisibleEntries_returnsSummariesOnly() throws Exception {
+        mockMvc.perform(get("/wiki"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].slug", containsInAnyOrder("whateley-clan", "gomorra", "dodgy-notes")))
+                .andExpect(jsonPath("$[0].content").doesNotExist())
+                .andExpect(jsonPath("$[?(@.slug == 'whateley-clan')].excerpt",
+                        contains(startsWith("The Whateley Clan The Whateleys are a sinister family of hucksters."))));
+    }
+
+    @Test
+    @WithMockUser(username = "wiki_reader", roles = {"PLAYER"})
+    @DisplayName("GET /wiki/category/{category} - Returns summaries for one category")
+    void getByCategory_returnsSummaries() throws Exception {
+        mockMvc.perform(get("/wiki/category/LOCATION"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Gomorra"))
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "wiki_reader", roles = {"PLAYER"})
+    @DisplayName("GET /wiki/slug/{slug} - Returns full content, 403 for hidden entries")
+    void getBySlug_returnsContent() throws Exception {
+        mockMvc.perform(get("/wiki/slug/whateley-clan"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value(LONG_CONTENT));
+
+        mockMvc.perform(get("/wiki/slug/gm-secret"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "wiki_reader", roles = {"PLAYER"})
+    @DisplayName("GET /wiki/slug/{slug}/html - Renders once and answers If-None-Match with 304")
+    void getHtmlBySlug_rendersOnceWithETag() throws Exception {
+        // Act
+        MvcResult first = mockMvc.perform(get("/wiki/slug/whateley-clan/html"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/html"))
+                .andExpect(content().string(containsString("<h1>The Whateley Clan</h1>")))
+                .andExpect(content().string(containsString("<strong>Whateleys</strong>")))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        long renders = wikiHtmlRenderer.getRenderCount();
+
+        // Assert
+        assertThat(etag).isNotBlank();
+        mockMvc.perform(get("/wiki/slug/whateley-clan/html").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/wiki/slug/whateley-clan/html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+        assertThat(wikiHtmlRenderer.getRenderCount()).isEqualTo(renders);
+
+        mockMvc.perform(get("/wiki/slug/gm-secret/html").header("If-None-Match", "*"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "wiki_reader", roles = {"PLAYER"})
+    @DisplayName("GET /wiki/slug/{slug}/html - Escapes raw HTML and drops javascript: links")
+    void getHtmlBySlug_sanitizesOutput() throws Exception {
+        mockMvc.perform(get("/wiki/slug/dodgy-notes/html"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("&lt;script&gt;")))
+                .andExpect(content().string(not(containsString("<script>"))))
+                .andExpect(content().string(not(containsString("javascript:"))));
+    }
+
+    @Test
+    @DisplayName("toExcerpt - Strips markdown and cuts at a word boundary")
+    void toExcerpt_stripsMarkdownAndCuts() {
+        // Act
+        String excerpt = WikiController.toExcerpt(LONG_CONTENT);
+
+        // Assert
+        assertThat(excerpt).startsWith("The Whateley Clan The Whateleys are a sinister family of hucksters. word");
+        assertThat(excerpt).endsWith("word...");
+        assertThat(excerpt.length()).isLessThanOrEqualTo(203);
+        assertThat(WikiController.toExcerpt(null)).isEmpty();
+    }
+
+    private void entry(String slug, String title, WikiEntry.Category category, WikiEntry.Visibility visibility) {
+        entityManager.persist(WikiEntry.builder()
+                .title(title)
+                .slug(slug)
+                .content(switch (slug) {
+                    case "whateley-clan" -> LONG_CONTENT;
+                    case "dodgy-notes" -> "Click <script>alert(1)</script> [here](javascript:alert(1))";
+                    default -> "Content of " + title;
+                })
+                .category(category)
+                .visibility(visibility)
+                .isPublic(visibility == WikiEntry.Visibility.PUBLIC)
+                .sortOrder(0)
+                .build());
+    }
+}
@@ -0,0 +1,303 @@
+package com.deadlands.campaign.repository;
+
+import com.deadlands.campaign.config.SchemaMigrationRunner;
+import com.deadlands.campaign.model.BattleMap;
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.GameState;
+import com.deadlands.campaign.model.MapType;
+import com.deadlands.campaign.model.MapVisibility;
+import com.deadlands.campaign.model.TokenPosition;
+import com.deadlands.campaign.model.User;
+import com.deadlands.campaign.model.WikiAccess;
+import com.deadlands.campaign.model.WikiEntry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan tests for the hot lookups and the indexes that serve them.
+ *
+ * Runs on PostgreSQL (Testcontainers, same major version as docker-compose) with
+ * SchemaMigrationRunner applied, so V5 builds the same partial indexes as
+ * production and Hibernate builds the entity-declared ones. Each test calls the
+ * real repository method, captures the SQL Hibernate sent, and asserts that
+ * EXPLAIN of that statement uses the expected index.
+ *
+ * The planner runs with its default settings: the seed is sized like a busy
+ * campaign (thousands of characters, wiki entries and grants) and ANALYZEd, so a
+ * sequential scan is only avoided when the index actually pays off. Rows are
+ * seeded per owner, the way players create them, which gives the owner columns
+ * the physical correlation a real table builds up. Skipped without Docker.
+ *
+ * Tests:
+ * - findByPlayerIdWithPlayer uses idx_characters_active_player
+ * - findByIsNpc uses idx_characters_active_npc
+ * - findActiveIds uses idx_characters_active_id
+ * - findByTokenId and findBySlug use their unique indexes
+ * - findWikiEntryIdsByUserId uses idx_wiki_access_user_entry
+ * - findByCreatedByOrderByCreatedAtDesc uses idx_battle_maps_created_by
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+class HotQueryPlanTest {
+
+    private static final int USERS = 40;
+    private static final int CHARACTERS_PER_USER = 100;
+    private static final int WIKI_ENTRIES = 4000;
+    private static final int MAPS_PER_USER = 25;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class CaptureSqlConfig {
+        @Bean
+        HibernatePropertiesCustomizer captureSql() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    (StatementInspector) sql -> {
+                        STATEMENTS.add(sql);
+                        return sql;
+                    });
+        }
+    }
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private TokenPositionRepository tokenPositionRepository;
+
+    @Autowired
+    private WikiEntryRepository wikiEntryRepository;
+
+    @Autowired
+    private WikiAccessRepository wikiAccessRepository;
+
+    @Autowired
+    private BattleMapRepository battleMapRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // The runner is skipped under the test profile; build it here so V5 runs against this schema
+        beanFactory.createBean(SchemaMigrationRunner.class).run();
+
+        for (int u = 0; u < USERS; u++) {
+            User user = User.builder()
+                    .username("plan_user_" + u)
+                    .email("plan" + u + "@example.com")
+                    .password("encoded-password")
+                    .role(u == 0 ? User.Role.GAME_MASTER : User.Role.PLAYER)
+                    .active(true)
+                    .build();
+            entityManager.persist(user);
+            users.add(user);
+        }
+
+        GameState gameState = entityManager.find(GameState.class, 1L);
+        if (gameState == null) {
+            gameState = new GameState();
+            entityManager.persist(gameState);
+        }
+
+        // The GM's characters are the NPCs; about one sheet in ten has been deleted
+        int row = 0;
+        for (User owner : users) {
+            for (int c = 0; c < CHARACTERS_PER_USER; c++, row++) {
+                Character character = Character.builder()
+                        .name("Plan Character " + row)
+                        .player(owner)
+                        .pace(6).size(0).wind(0).grit(1)
+                        .parry(2).toughness(5).charisma(0)
+                        .totalXp(0).spentXp(0)
+                        .isNpc(owner == users.get(0))
+                        .deletedAt(row % 10 == 3 ? LocalDateTime.now() : null)
+                        .build();
+                entityManager.persist(character);
+
+                if (c == 0) {
+                    entityManager.persist(TokenPosition.builder()
+                            .tokenId("token-" + row)
+                            .tokenType("PLAYER")
+                            .character(character)
+                            .gridX(row % 50).gridY(row / 50)
+                            .gameState(gameState)
+                            .lastMoved(LocalDateTime.now())
+                            .build());
+                }
+            }
+            for (int m = 0; m < MAPS_PER_USER; m++) {
+                entityManager.persist(BattleMap.builder()
+                        .name("Map " + owner.getUsername() + " " + m)
+                        .widthTiles(20).heightTiles(20)
+                        .createdBy(owner)
+                        .visibility(MapVisibility.PRIVATE)
+                        .type(MapType.TOWN_STREET)
+                        .build());
+            }
+            flushAndClear();
+        }
+
+        // Private lore handed out to one player at a time
+        for (int i = 0; i < WIKI_ENTRIES; i++) {
+            WikiEntry entry = WikiEntry.builder()
+                    .title("Entry " + i)
+                    .slug("entry-" + i)
+                    .content("Lore " + i)
+                    .category(WikiEntry.Category.CAMPAIGN_LORE)
+                    .visibility(WikiEntry.Visibility.PRIVATE)
+                    .isPublic(false)
+                    .sortOrder(i)
+                    .build();
+            entityManager.persist(entry);
+            entityManager.persist(WikiAccess.builder()
+                    .wikiEntry(entry)
+                    .user(users.get(i * USERS / WIKI_ENTRIES))
+                    .build());
+            if (i % 500 == 499) {
+                flushAndClear();
+            }
+        }
+        flushAndClear();
+
+        for (String table : List.of("users", "characters", "token_positions", "wiki_entries",
+                "wiki_access", "battle_maps")) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+        STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("findByPlayerIdWithPlayer - Uses idx_characters_active_player")
+    void findByPlayerIdWithPlayer_usesPartialIndex() {
+        // Act
+        Long playerId = users.get(3).getId();
+        characterRepository.findByPlayerIdWithPlayer(playerId);
+
+        // Assert
+        assertThat(explain("characters", playerId)).contains("idx_characters_active_player");
+    }
+
+    @Test
+    @DisplayName("findByIsNpc - Uses idx_characters_active_npc")
+    void findByIsNpc_usesPartialIndex() {
+        // Act
+        characterRepository.findByIsNpc(true);
+
+        // Assert
+        assertThat(explain("characters", true)).contains("idx_characters_active_npc");
+    }
+
+    @Test
+    @DisplayName("findActiveIds - Uses idx_characters_active_id")
+    void findActiveIds_usesPartialIndex() {
+        // Act
+        characterRepository.findActiveIds();
+
+        // Assert
+        assertThat(explain("characters")).contains("idx_characters_active_id");
+    }
+
+    @Test
+    @DisplayName("findByTokenId - Uses the token_id unique index")
+    void findByTokenId_usesUniqueIndex() {
+        // Act
+        tokenPositionRepository.findByTokenId("token-1200");
+
+        // Assert
+        assertThat(explain("token_positions", "token-1200"))
+                .containsPattern("Index (Only )?Scan using \\w+ on token_positions")
+                .doesNotContain("Seq Scan on token_positions");
+    }
+
+    @Test
+    @DisplayName("findBySlug - Uses the slug unique index")
+    void findBySlug_usesUniqueIndex() {
+        // Act
+        wikiEntryRepository.findBySlug("entry-42");
+
+        // Assert
+        assertThat(explain("wiki_entries", "entry-42"))
+                .containsPattern("Index (Only )?Scan using \\w+ on wiki_entries")
+                .doesNotContain("Seq Scan on wiki_entries");
+    }
+
+    @Test
+    @DisplayName("findWikiEntryIdsByUserId - Uses idx_wiki_access_user_entry")
+    void findWikiEntryIdsByUserId_usesUserIndex() {
+        // Act
+        Long userId = users.get(3).getId();
+        wikiAccessRepository.findWikiEntryIdsByUserId(userId);
+
+        // Assert
+        assertThat(explain("wiki_access", userId)).contains("idx_wiki_access_user_entry");
+    }
+
+    @Test
+    @DisplayName("findByCreatedByOrderByCreatedAtDesc - Uses idx_battle_maps_created_by")
+    void findByCreatedBy_usesOwnerIndex() {
+        // Act
+        User owner = users.get(3);
+        battleMapRepository.findByCreatedByOrderByCreatedAtDesc(owner);
+
+        // Assert
+        assertThat(explain("battle_maps", owner.getId())).contains("idx_battle_maps_created_by");
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * EXPLAIN of the first captured statement that reads from the table.
+     */
+    private String explain(String table, Object... parameters) {
+        String sql = STATEMENTS.stream()
+                .filter(statement -> statement.contains(" from " + table + " "))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No SQL captured against " + table + ": " + STATEMENTS));
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+}
@@ -0,0 +1,137 @@
+package com.deadlands.campaign.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.anthropic.AnthropicChatModel;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AIGameMasterService streaming and sourcebook rule lookups.
+ *
+ * Tests:
+ * - Chunks are forwarded in order and the full text is cached on completion
+ * - A cached answer is emitted without calling Claude
+ * - A cancelled stream caches nothing
+ * - A confident sourcebook match is answered without calling Claude
+ * - Otherwise the best sourcebook passages go into the prompt
+ */
+class AIGameMasterServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private AnthropicChatModel chatModel;
+    private AIResponseCache responseCache;
+    private AIGameMasterService service;
+
+    @BeforeEach
+    void setUp() {
+        chatModel = mock(AnthropicChatModel.class);
+        responseCache = new AIResponseCache(directory, 10, "test-model", Clock.systemUTC());
+        service = new AIGameMasterService(chatModel, responseCache,
+                new SourcebookIndex(directory.resolve("sourcebooks"), List.of("Rules_of_the_West.txt")));
+    }
+
+    @Test
+    @DisplayName("streamRuleLookup - Forwards chunks, then serves the cached answer")
+    void streamRuleLookup_forwardsChunksAndCaches() {
+        // Arrange
+        when(chatModel.stream(any(Prompt.class))).thenReturn(Flux.just(chunk("Roll "), chunk("a d6 "), chunk("too.")));
+
+        // Act
+        List<String> first = service.streamRuleLookup("Wild Die?", null).collectList().block();
+        List<String> second = service.streamRuleLookup("wild die", null).collectList().block();
+
+        // Assert
+        assertThat(first).containsExactly("Roll ", "a d6 ", "too.");
+        assertThat(second).containsExactly("Roll a d6 too.");
+        verify(chatModel, times(1)).stream(any(Prompt.class));
+    }
+
+    @Test
+    @DisplayName("streamRuleLookup - Cancelled stream is not cached")
+    void streamRuleLookup_cancelDoesNotCache() {
+        // Arrange
+        Sinks.Many<ChatResponse> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        when(chatModel.stream(any(Prompt.class)))
+                .thenReturn(upstream.asFlux())
+                .thenReturn(Flux.just(chunk("Full answer")));
+
+        // Act
+        var subscription = service.streamRuleLookup("Bennies", null).subscribe();
+        upstream.tryEmitNext(chunk("Partial"));
+        subscription.dispose();
+        List<String> retried = service.streamRuleLookup("Bennies", null).collectList().block();
+
+        // Assert
+        assertThat(upstream.currentSubscriberCount()).isZero();
+        assertThat(retried).containsExactly("Full answer");
+        verify(chatModel, times(2)).stream(any(Prompt.class));
+    }
+
+    @Test
+    @DisplayName("lookupRule - Answers a confident match from the sourcebooks")
+    void lookupRule_answersFromSourcebooks() throws IOException {
+        // Arrange
+        writeRulebook();
+
+        // Act
+        String answer = service.lookupRule("How do Soak rolls work?", null);
+        List<String> streamed = service.streamRuleLookup("How do Soak rolls work?", null).collectList().block();
+
+        // Assert
+        assertThat(answer)
+                .startsWith("From Rules of the West, p. 2:")
+                .contains("Soak Rolls After rolling damage");
+        assertThat(streamed).containsExactly(answer);
+        verifyNoInteractions(chatModel);
+    }
+
+    @Test
+    @DisplayName("lookupRule - Puts the best passages into the prompt when unsure")
+    void lookupRule_groundsPromptInPassages() throws IOException {
+        // Arrange
+        writeRulebook();
+        when(chatModel.call(any(Prompt.class))).thenReturn(chunk("Horses can't swim in Deadlands."));
+
+        // Act
+        String answer = service.lookupRule("Can a horse swim across a river?", null);
+
+        // Assert
+        ArgumentCaptor<Prompt> prompt = ArgumentCaptor.forClass(Prompt.class);
+        verify(chatModel).call(prompt.capture());
+        assertThat(answer).isEqualTo("Horses can't swim in Deadlands.");
+        assertThat(prompt.getValue().getContents())
+                .contains("[Rules of the West, p. 3]")
+                .contains("A riding horse has Pace 8");
+    }
+
+    private void writeRulebook() throws IOException {
+        Path sourcebooks = Files.createDirectories(directory.resolve("sourcebooks"));
+        Files.writeString(sourcebooks.resolve("Rules_of_the_West.txt"), SourcebookIndexTest.RULEBOOK,
+                StandardCharsets.ISO_8859_1);
+    }
+
+    private static ChatResponse chunk(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+}
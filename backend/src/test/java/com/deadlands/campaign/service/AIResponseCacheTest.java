@@ -0,0 +1,132 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.service.AIResponseCache.CallType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for AIResponseCache.
+ *
+ * Tests:
+ * - Rule lookups are cached under the normalized prompt; false bypasses and refreshes
+ * - Creative call types are only cached on opt-in
+ * - The disk tier survives a new instance and honours the TTL
+ * - Failed calls (null) are not cached
+ */
+class AIResponseCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    @DisplayName("getOrCall - Rule lookups hit the cache for the same normalized question")
+    void getOrCall_cachesRuleLookups() {
+        // Arrange
+        AIResponseCache cache = cache(NOW);
+
+        // Act
+        String first = cache.getOrCall(CallType.RULE_LOOKUP, "How does the Wild Die work?", null, answer("one"));
+        String second = cache.getOrCall(CallType.RULE_LOOKUP, "how does the  wild die work", null, answer("two"));
+
+        // Assert
+        assertThat(first).isEqualTo("one");
+        assertThat(second).isEqualTo("one");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("getOrCall - false bypasses the cache and replaces the cached answer")
+    void getOrCall_bypassRefreshes() {
+        // Arrange
+        AIResponseCache cache = cache(NOW);
+        cache.getOrCall(CallType.RULE_LOOKUP, "Wild Die", null, answer("old"));
+
+        // Act
+        String bypassed = cache.getOrCall(CallType.RULE_LOOKUP, "Wild Die", false, answer("new"));
+        String cached = cache.getOrCall(CallType.RULE_LOOKUP, "Wild Die", null, answer("unused"));
+
+        // Assert
+        assertThat(bypassed).isEqualTo("new");
+        assertThat(cached).isEqualTo("new");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("getOrCall - NPC dialogue is only cached on opt-in")
+    void getOrCall_creativeIsOptIn() {
+        // Arrange
+        AIResponseCache cache = cache(NOW);
+
+        // Act
+        cache.getOrCall(CallType.NPC_DIALOGUE, "Howdy", null, answer("a"));
+        String fresh = cache.getOrCall(CallType.NPC_DIALOGUE, "Howdy", true, answer("b"));
+        String reused = cache.getOrCall(CallType.NPC_DIALOGUE, "Howdy", true, answer("c"));
+        String uncached = cache.getOrCall(CallType.NPC_DIALOGUE, "Howdy", null, answer("d"));
+
+        // Assert
+        assertThat(fresh).isEqualTo("b");
+        assertThat(reused).isEqualTo("b");
+        assertThat(uncached).isEqualTo("d");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("getOrCall - Disk tier survives a restart until the TTL runs out")
+    void getOrCall_diskTierAndTtl() {
+        // Arrange
+        cache(NOW).getOrCall(CallType.RULE_LOOKUP, "Bennies", null, answer("stored"));
+
+        // Act
+        String afterRestart = cache(NOW.plus(Duration.ofDays(1)))
+                .getOrCall(CallType.RULE_LOOKUP, "Bennies", null, answer("unused"));
+        String afterTtl = cache(NOW.plus(CallType.RULE_LOOKUP.getTtl()).plusSeconds(1))
+                .getOrCall(CallType.RULE_LOOKUP, "Bennies", null, answer("refetched"));
+
+        // Assert
+        assertThat(afterRestart).isEqualTo("stored");
+        assertThat(afterTtl).isEqualTo("refetched");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("getOrCall - Failed calls are not cached")
+    void getOrCall_doesNotCacheFailures() {
+        // Arrange
+        AIResponseCache cache = cache(NOW);
+
+        // Act
+        String failed = cache.getOrCall(CallType.RULE_LOOKUP, "Edges", null, answer(null));
+        String retried = cache.getOrCall(CallType.RULE_LOOKUP, "Edges", null, answer("ok"));
+
+        // Assert
+        assertThat(failed).isNull();
+        assertThat(retried).isEqualTo("ok");
+        assertThat(calls).hasValue(2);
+    }
+
+    private AIResponseCache cache(Instant now) {
+        return new AIResponseCache(directory, 10, "test-model", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private Supplier<String> answer(String value) {
+        return () -> {
+            calls.incrementAndGet();
+            return value;
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.model.ArcanePower;
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.Edge;
+import com.deadlands.campaign.model.Equipment;
+import com.deadlands.campaign.model.Hindrance;
+import com.deadlands.campaign.model.Skill;
+import com.deadlands.campaign.model.Wound;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for CharacterBatchWriter.
+ *
+ * Tests:
+ * - Every INSERT writes to the entity's table and covers every mapped column,
+ *   except the generated id and the soft-delete columns an import never sets
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CharacterBatchWriterTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    static Stream<Arguments> inserts() {
+        return Stream.of(
+                Arguments.of(Character.class, CharacterBatchWriter.INSERT_CHARACTER, Set.of("deleted_at", "deleted_by")),
+                Arguments.of(Skill.class, CharacterBatchWriter.INSERT_SKILL, Set.of()),
+                Arguments.of(Edge.class, CharacterBatchWriter.INSERT_EDGE, Set.of()),
+                Arguments.of(Hindrance.class, CharacterBatchWriter.INSERT_HINDRANCE, Set.of()),
+                Arguments.of(Equipment.class, CharacterBatchWriter.INSERT_EQUIPMENT, Set.of()),
+                Arguments.of(ArcanePower.class, CharacterBatchWriter.INSERT_ARCANE_POWER, Set.of()),
+                Arguments.of(Wound.class, CharacterBatchWriter.INSERT_WOUND, Set.of()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("inserts")
+    @DisplayName("INSERT columns - Match the entity's mapped columns")
+    void insert_coversMappedColumns(Class<?> entity, String sql, Set<String> notWritten) {
+        // Arrange
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entity);
+        Set<String> mapped = Arrays.stream(persister.getPropertyNames())
+                .flatMap(property -> Arrays.stream(persister.getPropertyColumnNames(property)))
+                .filter(Objects::nonNull)
+                .map(String::toLowerCase)
+                .filter(column -> !notWritten.contains(column))
+                .collect(Collectors.toSet());
+
+        // Act
+        String table = sql.substring("INSERT INTO ".length(), sql.indexOf(" ("));
+        Set<String> written = Arrays.stream(sql.substring(sql.indexOf('(') + 1, sql.indexOf(')')).split(","))
+                .map(String::trim)
+                .collect(Collectors.toSet());
+
+        // Assert
+        assertThat(table).isEqualTo(persister.getTableName());
+        assertThat(written).containsExactlyInAnyOrderElementsOf(mapped);
+    }
+}
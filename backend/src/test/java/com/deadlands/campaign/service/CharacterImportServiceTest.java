@@ -0,0 +1,234 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.CharacterDTO;
+import com.deadlands.campaign.dto.CharacterImportReportDTO;
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.EdgeReference;
+import com.deadlands.campaign.model.HindranceReference;
+import com.deadlands.campaign.model.SkillReference;
+import com.deadlands.campaign.model.User;
+import com.deadlands.campaign.model.Wound;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Integration tests for CharacterImportService.
+ *
+ * Tests:
+ * - Valid documents are written with their child rows and derived stats
+ * - Unknown skills/edges/hindrances are reported per record without stopping the import
+ * - Re-importing the same documents is a no-op (content hash)
+ * - Explicit nulls for core stats and XP take the sheet defaults
+ * - A failed batch is retried per record so only the bad record is reported
+ * - Wounds are written with their character; a wound without location or severity is reported
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CharacterImportServiceTest {
+
+    private static final String SHEETS = """
+            [
+              {"name": "Doc Farraday", "occupation": "Doctor", "vigorDie": "d8",
+               "skills": [{"name": "Fightin'", "dieValue": "d8"}, {"name": "Healing", "dieValue": "d10"}],
+               "edges": [{"name": "Quick"}],
+               "equipment": [{"name": "Doctor's Bag", "quantity": 1}]},
+              {"name": "Mexicali Bob", "skills": [{"name": "Shootin'", "dieValue": "d12"}]},
+              {"name": "Jack Horner", "skills": [{"name": "Healing", "dieValue": "d6"}], "edges": [{"name": "Quick"}]}
+            ]
+            """;
+
+    @Autowired
+    private CharacterImportService characterImportService;
+
+    @Autowired
+    private CharacterReadModel characterReadModel;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    @SpyBean
+    private CharacterBatchWriter characterBatchWriter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = User.builder()
+                .username("import_gm")
+                .email("import@example.com")
+                .password("encoded-password")
+                .role(User.Role.GAME_MASTER)
+                .active(true)
+                .build();
+        entityManager.persist(owner);
+
+        entityManager.persist(SkillReference.builder().name("Fighting").attribute(SkillReference.SkillAttribute.AGILITY).build());
+        entityManager.persist(SkillReference.builder().name("Healing").attribute(SkillReference.SkillAttribute.SMARTS).build());
+        entityManager.persist(EdgeReference.builder().name("Quick").type(EdgeReference.EdgeType.BACKGROUND).build());
+        entityManager.persist(HindranceReference.builder().name("Ugly").severity(HindranceReference.Severity.MINOR).build());
+        entityManager.flush();
+        referenceCatalog.reload();
+    }
+
+    @AfterTransaction
+    void reloadCatalog() {
+        // The test references were rolled back; drop them from the shared catalog
+        referenceCatalog.reload();
+    }
+
+    @Test
+    @DisplayName("importStream - Writes valid characters and reports invalid ones")
+    void importStream_mixedDocuments_importsValidAndReportsInvalid() {
+        // Act
+        CharacterImportReportDTO report = characterImportService.importStream(stream(SHEETS), "sheets.json", owner);
+
+        // Assert
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors()).hasSize(1);
+        CharacterImportReportDTO.RecordError error = report.getErrors().get(0);
+        assertThat(error.getSource()).isEqualTo("sheets.json");
+        assertThat(error.getIndex()).isEqualTo(1);
+        assertThat(error.getName()).isEqualTo("Mexicali Bob");
+        assertThat(error.getMessages()).containsExactly("Unknown skill: Shootin'");
+
+        List<CharacterDTO> imported = characterReadModel.findByPlayerId(owner.getId());
+        assertThat(imported).extracting("name").containsExactly("Doc Farraday", "Jack Horner");
+        CharacterDTO doc = imported.get(0);
+        assertThat(doc.getSkills()).extracting("name").containsExactlyInAnyOrder("Fightin'", "Healing");
+        assertThat(doc.getEdges()).extracting("name").containsExactly("Quick");
+        assertThat(doc.getEquipment()).extracting("name").containsExactly("Doctor's Bag");
+        assertThat(doc.getParry()).isEqualTo(6);
+        assertThat(doc.getToughness()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("importStream - Re-importing the same documents is a no-op")
+    void importStream_sameDocumentsTwice_skipsSecondTime() {
+        // Arrange
+        characterImportService.importStream(stream(SHEETS), "sheets.json", owner);
+
+        // Act
+        CharacterImportReportDTO second = characterImportService.importStream(stream(SHEETS), "sheets.json", owner);
+
+        // Assert
+        assertThat(second.getImported()).isZero();
+        assertThat(second.getSkipped()).isEqualTo(2);
+        assertThat(characterReadModel.findByPlayerId(owner.getId())).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("importStream - Malformed JSON keeps earlier documents and reports the rest")
+    void importStream_malformedJson_keepsEarlierDocuments() {
+        // Arrange
+        String truncated = "[{\"name\": \"Jack Horner\"}, {\"name\": ";
+
+        // Act
+        CharacterImportReportDTO report = characterImportService.importStream(stream(truncated), "broken.json", owner);
+
+        // Assert
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getMessages().get(0)).startsWith("Invalid JSON");
+    }
+
+    @Test
+    @DisplayName("importStream - Explicit nulls for stats and XP take the sheet defaults")
+    void importStream_explicitNullStats_usesDefaults() {
+        // Arrange
+        String sheet = "{\"name\": \"Jack Horner\", \"size\": null, \"wind\": null, \"grit\": null, " +
+                "\"charisma\": null, \"totalXp\": null, \"spentXp\": null}";
+
+        // Act
+        CharacterImportReportDTO report = characterImportService.importStream(stream(sheet), "nulls.json", owner);
+
+        // Assert
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isZero();
+        CharacterDTO jack = characterReadModel.findByPlayerId(owner.getId()).get(0);
+        assertThat(jack.getWind()).isZero();
+        assertThat(jack.getGrit()).isEqualTo(1);
+        assertThat(jack.getTotalXp()).isZero();
+    }
+
+    @Test
+    @DisplayName("importStream - A record the database rejects fails alone, the rest of its batch is written")
+    void importStream_databaseRejectsOneRecord_writesTheRest() {
+        // Arrange: the database rejects any write that includes Doc Farraday
+        doAnswer(invocation -> {
+            List<Character> characters = invocation.getArgument(0);
+            if (characters.stream().anyMatch(c -> "Doc Farraday".equals(c.getName()))) {
+                throw new DataIntegrityViolationException("value too long for type character varying(255)");
+            }
+            return invocation.callRealMethod();
+        }).when(characterBatchWriter).write(anyList());
+        String sheets = "[{\"name\": \"Jack Horner\"}, {\"name\": \"Doc Farraday\"}, {\"name\": \"Mexicali Bob\"}]";
+
+        // Act
+        CharacterImportReportDTO report = characterImportService.importStream(stream(sheets), "batch.json", owner);
+
+        // Assert
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getIndex()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getMessages().get(0)).startsWith("Database write failed");
+        assertThat(characterReadModel.findByPlayerId(owner.getId()))
+                .extracting("name").containsExactly("Jack Horner", "Mexicali Bob");
+    }
+
+    @Test
+    @DisplayName("importStream - Writes wounds and reports a wound without a severity")
+    void importStream_wounds_writesValidAndReportsIncomplete() {
+        // Arrange
+        String sheets = "[{\"name\": \"Jack Horner\", \"wounds\": " +
+                "[{\"location\": \"LEFT_ARM\", \"severity\": \"HEAVY\", \"description\": \"Gunshot\"}]}, " +
+                "{\"name\": \"Mexicali Bob\", \"wounds\": [{\"location\": \"GUTS\"}]}]";
+
+        // Act
+        CharacterImportReportDTO report = characterImportService.importStream(stream(sheets), "wounds.json", owner);
+
+        // Assert
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getName()).isEqualTo("Mexicali Bob");
+        assertThat(report.getErrors().get(0).getMessages()).containsExactly("Wound needs a location and a severity");
+
+        List<Wound> wounds = entityManager
+                .createQuery("SELECT w FROM Wound w WHERE w.character.player.id = :ownerId", Wound.class)
+                .setParameter("ownerId", owner.getId())
+                .getResultList();
+        assertThat(wounds).hasSize(1);
+        Wound wound = wounds.get(0);
+        assertThat(wound.getCharacter().getName()).isEqualTo("Jack Horner");
+        assertThat(wound.getLocation()).isEqualTo(Wound.Location.LEFT_ARM);
+        assertThat(wound.getSeverity()).isEqualTo(Wound.Severity.HEAVY);
+        assertThat(wound.getDescription()).isEqualTo("Gunshot");
+        assertThat(wound.getIsHealed()).isFalse();
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
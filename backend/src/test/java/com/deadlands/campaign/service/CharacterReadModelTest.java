@@ -0,0 +1,192 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.CharacterDTO;
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.Edge;
+import com.deadlands.campaign.model.Equipment;
+import com.deadlands.campaign.model.EquipmentReference;
+import com.deadlands.campaign.model.Skill;
+import com.deadlands.campaign.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for CharacterReadModel.
+ *
+ * Tests:
+ * - Roster DTOs include skills, edges and equipment
+ * - Equipment reference data comes from the catalog, not the database
+ *   (roster DTOs and loaded Equipment entities)
+ * - Query count stays constant as the roster grows (no N+1)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CharacterReadModelTest {
+
+    @Autowired
+    private CharacterReadModel characterReadModel;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    private Statistics statistics;
+    private User player;
+    private EquipmentReference colt;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        player = User.builder()
+                .username("readmodel_player")
+                .email("readmodel@example.com")
+                .password("encoded-password")
+                .role(User.Role.PLAYER)
+                .active(true)
+                .build();
+        entityManager.persist(player);
+
+        colt = EquipmentReference.builder()
+                .name("Colt Peacemaker")
+                .type(EquipmentReference.EquipmentType.WEAPON_RANGED)
+                .damage("2d6+1")
+                .range("12/24/48")
+                .build();
+        entityManager.persist(colt);
+        entityManager.flush();
+        referenceCatalog.reload();
+    }
+
+    @Test
+    @DisplayName("findByPlayerId - Includes skills, edges and equipment")
+    void findByPlayerId_includesChildCollections() {
+        // Arrange
+        seedCharacters(1);
+
+        // Act
+        List<CharacterDTO> roster = characterReadModel.findByPlayerId(player.getId());
+
+        // Assert
+        assertThat(roster).hasSize(1);
+        CharacterDTO dto = roster.get(0);
+        assertThat(dto.getPlayerName()).isEqualTo("readmodel_player");
+        assertThat(dto.getSkills()).extracting("name").containsExactlyInAnyOrder("Fighting", "Shooting");
+        assertThat(dto.getEdges()).extracting("name").containsExactly("Quick");
+        assertThat(dto.getEquipment()).extracting("name").containsExactly("Colt Peacemaker");
+        assertThat(dto.getEquipment().get(0).getType()).isEqualTo("WEAPON_RANGED");
+        // Reference fields merged from the catalog, row values win
+        assertThat(dto.getEquipment().get(0).getDamage()).isEqualTo("2d6+1");
+        assertThat(dto.getEquipment().get(0).getRange()).isEqualTo("12/24/48");
+        assertThat(dto.getEquipment().get(0).getEquipmentReferenceId()).isEqualTo(colt.getId());
+    }
+
+    @Test
+    @DisplayName("findByPlayerId - Query count does not grow with roster size")
+    void findByPlayerId_queryCountIsConstant() {
+        // Arrange
+        seedCharacters(3);
+        long smallRosterQueries = countQueries();
+
+        seedCharacters(30);
+        long largeRosterQueries = countQueries();
+
+        // Assert: one query for characters + one each for skills, edges, equipment
+        assertThat(smallRosterQueries).isEqualTo(4);
+        assertThat(largeRosterQueries).isEqualTo(smallRosterQueries);
+    }
+
+    @Test
+    @DisplayName("findByPlayerId - Player with no characters issues a single query")
+    void findByPlayerId_emptyRoster_singleQuery() {
+        // Act
+        long queries = countQueries();
+
+        // Assert
+        assertThat(queries).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Equipment entity - Reference resolved from the catalog on load, without a join")
+    void equipmentEntity_resolvesReferenceFromCatalog() {
+        // Arrange
+        seedCharacters(1);
+        Long equipmentId = entityManager.createQuery("SELECT e.id FROM Equipment e WHERE e.equipmentReferenceId = :ref", Long.class)
+                .setParameter("ref", colt.getId())
+                .getSingleResult();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        Equipment item = entityManager.find(Equipment.class, equipmentId);
+
+        // Assert
+        assertThat(item.getEquipmentReference()).isNotNull();
+        assertThat(item.getEquipmentReference().getDamage()).isEqualTo("2d6+1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private long countQueries() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        characterReadModel.findByPlayerId(player.getId());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedCharacters(int count) {
+        for (int i = 0; i < count; i++) {
+            Character character = Character.builder()
+                    .name("Roster Character " + (sequence++))
+                    .player(player)
+                    .pace(6).size(0).wind(0).grit(1)
+                    .parry(2).toughness(2).charisma(0)
+                    .totalXp(0).spentXp(0)
+                    .isNpc(false)
+                    .skills(new HashSet<>())
+                    .edges(new HashSet<>())
+                    .hindrances(new HashSet<>())
+                    .equipment(new HashSet<>())
+                    .arcanePowers(new HashSet<>())
+                    .wounds(new HashSet<>())
+                    .build();
+
+            character.getSkills().add(Skill.builder().character(character).name("Fighting").dieValue("d8").build());
+            character.getSkills().add(Skill.builder().character(character).name("Shooting").dieValue("d10").build());
+            character.getEdges().add(Edge.builder().character(character).name("Quick").build());
+            character.getEquipment().add(Equipment.builder()
+                    .character(character)
+                    .equipmentReferenceId(colt.getId())
+                    .name("Colt Peacemaker")
+                    .type(Equipment.EquipmentType.WEAPON_RANGED)
+                    .quantity(1)
+                    .isEquipped(true)
+                    .build());
+
+            entityManager.persist(character);
+        }
+    }
+}
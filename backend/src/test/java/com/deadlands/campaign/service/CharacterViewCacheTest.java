@@ -0,0 +1,78 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.CharacterDTO;
+import com.deadlands.campaign.dto.CharacterSkillDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CharacterViewCache.
+ *
+ * Tests:
+ * - A cached roster is served without reloading
+ * - Changing a returned view (on a miss or a hit) does not change the cached one
+ */
+class CharacterViewCacheTest {
+
+    private CharacterReadModel characterReadModel;
+    private CharacterViewCache cache;
+
+    @BeforeEach
+    void setUp() {
+        characterReadModel = mock(CharacterReadModel.class);
+        cache = new CharacterViewCache(characterReadModel, 1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("getByPlayerId - Serves a cached roster without reloading")
+    void getByPlayerId_secondCall_hitsCache() {
+        // Arrange
+        when(characterReadModel.findByPlayerId(7L)).thenReturn(List.of(character(1L, "Jack Horner")));
+
+        // Act
+        cache.getByPlayerId(7L);
+        List<CharacterDTO> roster = cache.getByPlayerId(7L);
+
+        // Assert
+        assertThat(roster).extracting("name").containsExactly("Jack Horner");
+        verify(characterReadModel, times(1)).findByPlayerId(7L);
+        assertThat(cache.getStats().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getByPlayerId - Changing a returned view leaves the cached one intact")
+    void getByPlayerId_callerModifiesView_cacheUnchanged() {
+        // Arrange
+        when(characterReadModel.findByPlayerId(7L)).thenReturn(List.of(character(1L, "Jack Horner")));
+
+        // Act: modify the view from the miss and then the one from a hit
+        CharacterDTO loaded = cache.getByPlayerId(7L).get(0);
+        loaded.setName("Changed on miss");
+        loaded.getSkills().get(0).setDieValue("d12");
+        CharacterDTO cached = cache.getByPlayerId(7L).get(0);
+        cached.setName("Changed on hit");
+        cached.getSkills().clear();
+
+        // Assert
+        CharacterDTO served = cache.getByPlayerId(7L).get(0);
+        assertThat(served.getName()).isEqualTo("Jack Horner");
+        assertThat(served.getSkills()).extracting("dieValue").containsExactly("d8");
+        verify(characterReadModel, times(1)).findByPlayerId(7L);
+    }
+
+    private static CharacterDTO character(Long id, String name) {
+        CharacterDTO dto = new CharacterDTO();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setPlayerId(7L);
+        dto.setSkills(new ArrayList<>(List.of(new CharacterSkillDTO(id, 10L, "Shootin'", "d8"))));
+        return dto;
+    }
+}
@@ -0,0 +1,226 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.Edge;
+import com.deadlands.campaign.model.Equipment;
+import com.deadlands.campaign.model.EquipmentReference;
+import com.deadlands.campaign.model.Hindrance;
+import com.deadlands.campaign.model.Skill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DerivedStatEngine.
+ *
+ * Tests:
+ * - Die notation parsing ("d8", "1d8", "d12+2", garbage, missing)
+ * - Parry, Toughness (with Size), Pace and Charisma (Very Attractive replaces Attractive) rules
+ * - Armor comes from the reference catalog, not the client-sent nested reference
+ * - apply() only reports a change when stored values are wrong
+ * - apply() keeps NPC stat blocks, filling in only missing values
+ */
+class DerivedStatEngineTest {
+
+    private final ReferenceCatalog referenceCatalog = mock(ReferenceCatalog.class);
+    private final DerivedStatEngine engine = new DerivedStatEngine(referenceCatalog);
+
+    @BeforeEach
+    void setUp() {
+        when(referenceCatalog.get()).thenReturn(new ReferenceCatalog.Snapshot(List.of(), List.of(), List.of(),
+                List.of(armorReference(102L, 2), armorReference(104L, 4)), List.of(), value -> null));
+    }
+
+    @Test
+    @DisplayName("parseDie - Accepts all stored notations")
+    void parseDie_acceptsStoredNotations() {
+        assertThat(DerivedStatEngine.half(DerivedStatEngine.parseDie("d8"))).isEqualTo(4);
+        assertThat(DerivedStatEngine.half(DerivedStatEngine.parseDie("1d8"))).isEqualTo(4);
+        assertThat(DerivedStatEngine.half(DerivedStatEngine.parseDie("D10"))).isEqualTo(5);
+        assertThat(DerivedStatEngine.half(DerivedStatEngine.parseDie("d12+2"))).isEqualTo(7);
+        assertThat(DerivedStatEngine.half(DerivedStatEngine.parseDie("nonsense"))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("parseDie - Missing and unreadable dice share the d4 fallback")
+    void parseDie_missingAndUnreadable_sameFallback() {
+        assertThat(DerivedStatEngine.parseDie(null)).isEqualTo(DerivedStatEngine.parseDie("nonsense"));
+        assertThat(DerivedStatEngine.parseDie(null)).isEqualTo(DerivedStatEngine.parseDie("d4"));
+    }
+
+    @Test
+    @DisplayName("compute - Bare character gets base stats")
+    void compute_bareCharacter_baseStats() {
+        // Arrange
+        Character character = character("1d6");
+
+        // Act
+        DerivedStatEngine.DerivedStats stats = engine.compute(character);
+
+        // Assert
+        assertThat(stats.getPace()).isEqualTo(6);
+        assertThat(stats.getParry()).isEqualTo(2);
+        assertThat(stats.getToughness()).isEqualTo(5);
+        assertThat(stats.getCharisma()).isZero();
+    }
+
+    @Test
+    @DisplayName("compute - Fighting, armor, edges and hindrances all count")
+    void compute_fullCharacter_appliesAllRules() {
+        // Arrange
+        Character character = character("1d8");
+        character.getSkills().add(Skill.builder().name("Fightin'").dieValue("d10").build());
+        character.getEdges().add(Edge.builder().name("Block").build());
+        character.getEdges().add(Edge.builder().name("Brawny").build());
+        character.getHindrances().add(Hindrance.builder().name("Ugly").build());
+        character.getHindrances().add(Hindrance.builder().name("Lame").build());
+        character.getEquipment().add(armor(2, true));
+        character.getEquipment().add(armor(4, false)); // Not worn
+
+        // Act
+        DerivedStatEngine.DerivedStats stats = engine.compute(character);
+
+        // Assert
+        assertThat(stats.getParry()).isEqualTo(2 + 5 + 1);
+        assertThat(stats.getToughness()).isEqualTo(2 + 4 + 2 + 1);
+        assertThat(stats.getPace()).isEqualTo(4);
+        assertThat(stats.getCharisma()).isEqualTo(-2);
+    }
+
+    @Test
+    @DisplayName("compute - Very Attractive replaces Attractive instead of adding to it")
+    void compute_veryAttractive_replacesAttractive() {
+        // Arrange
+        Character character = character("1d6");
+        character.getEdges().add(Edge.builder().name("Attractive").build());
+        character.getEdges().add(Edge.builder().name("Very Attractive").build());
+
+        // Act
+        DerivedStatEngine.DerivedStats stats = engine.compute(character);
+
+        // Assert
+        assertThat(stats.getCharisma()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("compute - Size adds to Toughness")
+    void compute_size_addsToToughness() {
+        // Arrange
+        Character large = character("1d6");
+        large.setSize(2);
+        Character small = character("1d6");
+        small.setSize(-1);
+
+        // Act & Assert
+        assertThat(engine.compute(large).getToughness()).isEqualTo(2 + 3 + 2);
+        assertThat(engine.compute(small).getToughness()).isEqualTo(2 + 3 - 1);
+    }
+
+    @Test
+    @DisplayName("compute - Armor is resolved by reference id, ignoring the nested reference")
+    void compute_armorResolvedById() {
+        // Arrange: id-only worn armor, plus a forged nested reference on an unknown id
+        Character character = character("1d6");
+        character.getEquipment().add(Equipment.builder().name("Leather").equipmentReferenceId(102L).isEquipped(true).build());
+        character.getEquipment().add(Equipment.builder()
+                .name("Forged")
+                .equipmentReferenceId(999L)
+                .isEquipped(true)
+                .equipmentReference(EquipmentReference.builder().armorValue(99).build())
+                .build());
+
+        // Act
+        DerivedStatEngine.DerivedStats stats = engine.compute(character);
+
+        // Assert
+        assertThat(stats.getToughness()).isEqualTo(2 + 3 + 2);
+    }
+
+    @Test
+    @DisplayName("apply - Overwrites drifted values and reports no change when already correct")
+    void apply_overwritesDriftedValues() {
+        // Arrange: client sent stale values
+        Character character = character("1d10");
+        character.setParry(9);
+        character.setToughness(2);
+
+        // Act & Assert
+        assertThat(engine.apply(character)).isTrue();
+        assertThat(character.getParry()).isEqualTo(2);
+        assertThat(character.getToughness()).isEqualTo(7);
+        assertThat(engine.apply(character)).isFalse();
+    }
+
+    @Test
+    @DisplayName("apply - NPC stat blocks keep their stored values; missing ones are filled in")
+    void apply_npc_onlyFillsMissingValues() {
+        // Arrange: a book stat block with Toughness above the formula, and no Charisma
+        Character npc = character("1d6");
+        npc.setIsNpc(true);
+        npc.setPace(8);
+        npc.setParry(6);
+        npc.setToughness(11);
+
+        // Act & Assert
+        assertThat(engine.apply(npc)).isTrue();
+        assertThat(npc.getPace()).isEqualTo(8);
+        assertThat(npc.getParry()).isEqualTo(6);
+        assertThat(npc.getToughness()).isEqualTo(11);
+        assertThat(npc.getCharisma()).isZero();
+        assertThat(engine.apply(npc)).isFalse();
+    }
+
+    @Test
+    @DisplayName("compute - Batch inputs give the same result as a loaded character")
+    void compute_batchInputs_matchEntityPath() {
+        // Arrange
+        Character character = character("1d8");
+        character.getSkills().add(Skill.builder().name("Fighting").dieValue("d8").build());
+        character.getEdges().add(Edge.builder().name("Fleet-Footed").build());
+        character.setSize(1);
+
+        // Act
+        DerivedStatEngine.DerivedStats fromEntity = engine.compute(character);
+        DerivedStatEngine.DerivedStats fromInputs = engine.compute(
+                DerivedStatEngine.parseDie("d8"), 4, 0, 1, Set.of("fleet-footed"));
+
+        // Assert
+        assertThat(fromInputs).isEqualTo(fromEntity);
+    }
+
+    private Character character(String vigorDie) {
+        return Character.builder()
+                .name("Stat Block")
+                .vigorDie(vigorDie)
+                .skills(new HashSet<>())
+                .edges(new HashSet<>())
+                .hindrances(new HashSet<>())
+                .equipment(new HashSet<>())
+                .build();
+    }
+
+    private Equipment armor(int armorValue, boolean equipped) {
+        return Equipment.builder()
+                .name("Armor " + armorValue)
+                .isEquipped(equipped)
+                .equipmentReferenceId(100L + armorValue)
+                .build();
+    }
+
+    private static EquipmentReference armorReference(Long id, int armorValue) {
+        return EquipmentReference.builder()
+                .id(id)
+                .name("Armor " + armorValue)
+                .type(EquipmentReference.EquipmentType.ARMOR)
+                .armorValue(armorValue)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.MapGenerationJobDTO;
+import com.deadlands.campaign.dto.MapGenerationJobDTO.Status;
+import com.deadlands.campaign.dto.MapGenerationRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MapGenerationJobService.
+ *
+ * Tests:
+ * - A submitted job runs in the background, pushes progress and keeps its result
+ * - Jobs are private to the GM who submitted them
+ * - Per-GM limit on active jobs
+ * - Cancelling a running job interrupts it and keeps it CANCELLED
+ */
+class MapGenerationJobServiceTest {
+
+    private static final String MAP_JSON = """
+            ```json
+            {"name": "Dusty Gulch", "description": "A dry creek bed", "size": {"width": 15, "height": 10}}
+            ```""";
+
+    private AIGameMasterService aiGameMasterService;
+    private ImageGenerationService imageGenerationService;
+    private SimpMessagingTemplate messagingTemplate;
+    private MapGenerationJobService service;
+
+    @BeforeEach
+    void setUp() {
+        aiGameMasterService = mock(AIGameMasterService.class);
+        imageGenerationService = mock(ImageGenerationService.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        service = new MapGenerationJobService(aiGameMasterService, imageGenerationService, new ObjectMapper(),
+                messagingTemplate, 1, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("submit - Runs in the background and keeps the generated map")
+    void submit_runsJobAndStoresResult() {
+        // Arrange
+        when(aiGameMasterService.generateBattleMap(any(), any(), any(), any(), any(), any())).thenReturn(MAP_JSON);
+
+        // Act
+        MapGenerationJobDTO submitted = service.submit("gm", request());
+
+        // Assert
+        verify(messagingTemplate, timeout(2000)).convertAndSendToUser(eq("gm"),
+                eq(MapGenerationJobService.DESTINATION),
+                argThat((MapGenerationJobDTO dto) -> dto.getStatus() == Status.SUCCEEDED));
+        assertThat(submitted.getStatus()).isIn(Status.QUEUED, Status.RUNNING);
+        assertThat(service.getJob("gm", submitted.getJobId())).get()
+                .satisfies(job -> {
+                    assertThat(job.getProgress()).isEqualTo(100);
+                    assertThat(job.getMapName()).isEqualTo("Dusty Gulch");
+                });
+        assertThat(service.getResult("gm", submitted.getJobId())).get()
+                .extracting(map -> map.getSize().getWidth()).isEqualTo(15);
+        verify(imageGenerationService, never()).generateMapImage(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getJob - Other users cannot see a job")
+    void getJob_isPrivateToOwner() {
+        // Arrange
+        when(aiGameMasterService.generateBattleMap(any(), any(), any(), any(), any(), any())).thenReturn(MAP_JSON);
+        MapGenerationJobDTO submitted = service.submit("gm", request());
+
+        // Assert
+        assertThat(service.getJob("other-gm", submitted.getJobId())).isEmpty();
+        assertThat(service.getJobs("other-gm")).isEmpty();
+        assertThat(service.cancel("other-gm", submitted.getJobId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("submit - Rejects a GM with too many active jobs; cancel interrupts a running job")
+    void submit_limitsActiveJobsAndCancelInterrupts() throws InterruptedException {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(aiGameMasterService.generateBattleMap(any(), any(), any(), any(), any(), any())).thenAnswer(call -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return MAP_JSON;
+        });
+
+        MapGenerationJobDTO running = service.submit("gm", request());
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < MapGenerationJobService.MAX_ACTIVE_JOBS_PER_USER; i++) {
+            service.submit("gm", request());
+        }
+
+        // Act / Assert
+        assertThatThrownBy(() -> service.submit("gm", request())).isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(service.cancel("gm", running.getJobId())).isTrue();
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.getJob("gm", running.getJobId())).get()
+                .extracting(MapGenerationJobDTO::getStatus).isEqualTo(Status.CANCELLED);
+        assertThat(service.getResult("gm", running.getJobId())).isEmpty();
+        assertThat(service.cancel("gm", running.getJobId())).isFalse();
+    }
+
+    private static MapGenerationRequest request() {
+        MapGenerationRequest request = new MapGenerationRequest();
+        request.setLocationType("wilderness");
+        request.setSize("small");
+        return request;
+    }
+}
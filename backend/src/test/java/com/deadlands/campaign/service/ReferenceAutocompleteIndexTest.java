@@ -0,0 +1,114 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.ReferenceSuggestionDTO;
+import com.deadlands.campaign.model.EdgeReference;
+import com.deadlands.campaign.model.EquipmentReference;
+import com.deadlands.campaign.model.HindranceReference;
+import com.deadlands.campaign.model.SkillReference;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for ReferenceAutocompleteIndex.
+ *
+ * Tests:
+ * - Prefix matches across all kinds of reference data
+ * - Typos within the allowed edit distance still match
+ * - Every query word must match; kind filter
+ * - Rebuilds when the catalog reloads
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReferenceAutocompleteIndexTest {
+
+    @Autowired
+    private ReferenceAutocompleteIndex referenceAutocompleteIndex;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(SkillReference.builder().name("Shooting")
+                .attribute(SkillReference.SkillAttribute.AGILITY).isCoreSkill(true).build());
+        entityManager.persist(SkillReference.builder().name("Knowledge (Science)")
+                .attribute(SkillReference.SkillAttribute.SMARTS).isCoreSkill(false).build());
+        entityManager.persist(EdgeReference.builder().name("Quick Draw")
+                .type(EdgeReference.EdgeType.COMBAT).build());
+        entityManager.persist(EdgeReference.builder().name("Quick")
+                .type(EdgeReference.EdgeType.BACKGROUND).build());
+        entityManager.persist(HindranceReference.builder().name("Grim Servant o' Death")
+                .severity(HindranceReference.Severity.MAJOR).build());
+        entityManager.persist(EquipmentReference.builder().name("Shotgun (Double-Barrel)")
+                .type(EquipmentReference.EquipmentType.WEAPON_RANGED).build());
+        entityManager.flush();
+        referenceCatalog.reload();
+    }
+
+    @Test
+    @DisplayName("suggest - Prefix matches across kinds, whole words rank first")
+    void suggest_prefixAcrossKinds() {
+        assertThat(referenceAutocompleteIndex.suggest("sho", null, 10))
+                .extracting("name")
+                .containsExactly("Shooting", "Shotgun (Double-Barrel)");
+
+        assertThat(referenceAutocompleteIndex.suggest("quick", null, 10))
+                .extracting("name")
+                .containsExactly("Quick", "Quick Draw");
+    }
+
+    @Test
+    @DisplayName("suggest - Tolerates typos by word length")
+    void suggest_toleratesTypos() {
+        assertThat(referenceAutocompleteIndex.suggest("shoting", null, 10)).extracting("name").first()
+                .isEqualTo("Shooting");
+        assertThat(referenceAutocompleteIndex.suggest("knowlegde", null, 10)).extracting("name")
+                .containsExactly("Knowledge (Science)");
+        // Three letters must match exactly
+        assertThat(referenceAutocompleteIndex.suggest("qic", null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("suggest - Every word must match; kind filter and detail")
+    void suggest_allWordsAndKind() {
+        // Act
+        var hits = referenceAutocompleteIndex.suggest("grim death", null, 10);
+
+        // Assert
+        assertThat(hits).singleElement().satisfies(hit -> {
+            assertThat(hit.getKind()).isEqualTo(ReferenceSuggestionDTO.Kind.HINDRANCE);
+            assertThat(hit.getDetail()).isEqualTo("MAJOR");
+        });
+        assertThat(referenceAutocompleteIndex.suggest("quick draw gun", null, 10)).isEmpty();
+        assertThat(referenceAutocompleteIndex.suggest("sho", ReferenceSuggestionDTO.Kind.EQUIPMENT, 10))
+                .extracting("name").containsExactly("Shotgun (Double-Barrel)");
+    }
+
+    @Test
+    @DisplayName("suggest - New reference data is found after the catalog reloads")
+    void suggest_rebuildsOnReload() {
+        // Arrange
+        assertThat(referenceAutocompleteIndex.suggest("fighting", null, 10)).isEmpty();
+        entityManager.persist(SkillReference.builder().name("Fighting")
+                .attribute(SkillReference.SkillAttribute.AGILITY).isCoreSkill(true).build());
+        entityManager.flush();
+
+        // Act
+        referenceCatalog.reload();
+
+        // Assert
+        assertThat(referenceAutocompleteIndex.suggest("figh", null, 10)).extracting("name").containsExactly("Fighting");
+    }
+}
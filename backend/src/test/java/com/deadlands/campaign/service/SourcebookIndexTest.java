@@ -0,0 +1,131 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.SourcebookPassageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SourcebookIndex.
+ *
+ * Tests:
+ * - Passages never cross a form feed and carry their page number
+ * - A question matching a heading is answered confidently, starting at the heading
+ * - Question words are ignored, but unknown terms keep a lookup unconfident
+ * - Missing files leave the index empty
+ */
+class SourcebookIndexTest {
+
+    static final String RULEBOOK = "Introduction\n"
+            + "Welcome to the Weird West, partner. Grab your six-gun and your horse, and ride out to find "
+            + "adventure in the territories.\n"
+            + "\f"
+            + "Combat\n"
+            + "When lead flies, everyone draws cards for initiative.\n"
+            + "Soak Rolls\n"
+            + "After rolling damage, a character may spend a Benny to make a Soak roll. Each success and raise "
+            + "on the Soak roll removes one Wound, so 12\u00AD15 points of damage can be shrugged off.\n"
+            + "\f"
+            + "Horses\n"
+            + "A riding horse has Pace 8 and carries its rider across the plains. Horses can be bought in most "
+            + "towns.\n";
+
+    @TempDir
+    Path directory;
+
+    private SourcebookIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(directory.resolve("Rules_of_the_West.txt"), RULEBOOK, StandardCharsets.ISO_8859_1);
+        index = new SourcebookIndex(directory, List.of("Rules_of_the_West.txt", "Missing.txt"));
+    }
+
+    @Test
+    @DisplayName("passageRanges - Splits on form feeds and at line boundaries")
+    void passageRanges_splitsPagesAndLines() {
+        // Arrange
+        String longPage = ("word ".repeat(60) + "\n").repeat(4);
+
+        // Act
+        List<int[]> ranges = SourcebookIndex.passageRanges("first page\n\f" + longPage);
+
+        // Assert
+        assertThat(ranges).hasSize(3);
+        assertThat(ranges.get(0)).containsExactly(1, 0, 11);
+        assertThat(ranges.get(1)[0]).isEqualTo(2);
+        assertThat(ranges.get(2)[0]).isEqualTo(2);
+        assertThat(ranges.get(1)[2]).isEqualTo(ranges.get(2)[1]);
+        assertThat(ranges.get(1)[2] - ranges.get(1)[1]).isGreaterThanOrEqualTo(SourcebookIndex.PASSAGE_LENGTH);
+    }
+
+    @Test
+    @DisplayName("lookup - Confident when a heading holds every query term")
+    void lookup_headingMatchIsConfident() {
+        // Act
+        SourcebookIndex.Lookup lookup = index.lookup("How do Soak rolls work?", 3);
+
+        // Assert
+        assertThat(lookup.confident()).isTrue();
+        SourcebookPassageDTO best = lookup.passages().get(0);
+        assertThat(best.getBook()).isEqualTo("Rules of the West");
+        assertThat(best.getPage()).isEqualTo(2);
+        assertThat(best.getText())
+                .startsWith("Soak Rolls After rolling damage")
+                .contains("12-15 points");
+    }
+
+    @Test
+    @DisplayName("lookup - Unknown terms keep a lookup unconfident but still return passages")
+    void lookup_unknownTermsAreNotConfident() {
+        // Act
+        SourcebookIndex.Lookup lookup = index.lookup("Can a horse swim across a river?", 3);
+
+        // Assert
+        assertThat(lookup.confident()).isFalse();
+        assertThat(lookup.passages()).extracting(SourcebookPassageDTO::getPage).containsExactly(3, 1);
+    }
+
+    @Test
+    @DisplayName("lookup - A question of only question words matches nothing")
+    void lookup_questionWordsOnly() {
+        // Act
+        SourcebookIndex.Lookup lookup = index.lookup("How does it work?", 3);
+
+        // Assert
+        assertThat(lookup.confident()).isFalse();
+        assertThat(lookup.passages()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("lookup - Missing directory gives an empty index")
+    void lookup_missingDirectory() {
+        // Arrange
+        SourcebookIndex empty = new SourcebookIndex(directory.resolve("nowhere"), List.of("Rules_of_the_West.txt"));
+
+        // Act
+        SourcebookIndex.Lookup lookup = empty.lookup("Soak rolls", 3);
+
+        // Assert
+        assertThat(empty.size()).isZero();
+        assertThat(lookup.confident()).isFalse();
+        assertThat(lookup.passages()).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("title - Book title from the file name")
+    void title_fromFileName() {
+        assertThat(SourcebookIndex.title("Deadlands_Reloaded_Player_s_Guide_Explorer_s_Edition.txt"))
+                .isEqualTo("Deadlands Reloaded Player's Guide Explorer's Edition");
+    }
+}
@@ -0,0 +1,190 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.WikiDiffDTO;
+import com.deadlands.campaign.dto.WikiImportReportDTO;
+import com.deadlands.campaign.model.WikiAsset;
+import com.deadlands.campaign.model.WikiEntry;
+import com.deadlands.campaign.repository.WikiAssetBlobRepository;
+import com.deadlands.campaign.repository.WikiAssetRepository;
+import com.deadlands.campaign.repository.WikiEntryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for WikiImportService.
+ *
+ * Tests:
+ * - First sync creates entries from manifest metadata and file defaults
+ * - Re-sync of an unchanged directory writes nothing
+ * - Editing one file updates only that entry
+ * - Overwriting an entry that predates revision history keeps its old content as revision 1
+ * - Assets are stored once per content hash
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class WikiImportServiceTest {
+
+    @Autowired
+    private WikiImportService wikiImportService;
+
+    @Autowired
+    private WikiEntryRepository wikiEntryRepository;
+
+    @Autowired
+    private WikiRevisionService wikiRevisionService;
+
+    @Autowired
+    private WikiAssetRepository wikiAssetRepository;
+
+    @Autowired
+    private WikiAssetBlobRepository wikiAssetBlobRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @TempDir
+    Path wikiDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(wikiDir.resolve(WikiImportService.MANIFEST_FILE), """
+                [
+                  { "file": "civil-war.md", "title": "The Great Civil War", "slug": "civil-war",
+                    "category": "CAMPAIGN_LORE", "visibility": "PUBLIC", "sortOrder": 1 },
+                  { "file": "ghost-town.md", "title": "Ghost Town", "slug": "ghost-town",
+                    "category": "LOCATION", "visibility": "PUBLIC", "sortOrder": 2,
+                    "relatedCharacter": "Nobody In Particular" }
+                ]
+                """);
+        Files.writeString(wikiDir.resolve("civil-war.md"), "# The Great Civil War\n\nThe war drags on.");
+        Files.writeString(wikiDir.resolve("ghost-town.md"), "# Ghost Town\n\nTumbleweeds.");
+        Files.writeString(wikiDir.resolve("GM Notes.md"), "# Secret Notes\n\nThe Reckoners are coming.");
+        Files.write(wikiDir.resolve("Train.png"), new byte[] {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3});
+    }
+
+    @Test
+    @DisplayName("importDirectory - Creates entries from the manifest; unlisted files are GM-only")
+    void importDirectory_createsEntries() {
+        // Act
+        WikiImportReportDTO report = wikiImportService.importDirectory(wikiDir);
+
+        // Assert
+        assertThat(report.getScanned()).isEqualTo(3);
+        assertThat(report.getCreated()).isEqualTo(3);
+        assertThat(report.getErrors()).singleElement().asString().contains("Nobody In Particular");
+
+        WikiEntry civilWar = wikiEntryRepository.findBySlug("civil-war").orElseThrow();
+        assertThat(civilWar.getTitle()).isEqualTo("The Great Civil War");
+        assertThat(civilWar.getCategory()).isEqualTo(WikiEntry.Category.CAMPAIGN_LORE);
+        assertThat(civilWar.getIsPublic()).isTrue();
+        assertThat(civilWar.getSourceHash()).hasSize(64);
+
+        WikiEntry notes = wikiEntryRepository.findBySlug("gm-notes").orElseThrow();
+        assertThat(notes.getTitle()).isEqualTo("Secret Notes");
+        assertThat(notes.getVisibility()).isEqualTo(WikiEntry.Visibility.PRIVATE);
+        assertThat(notes.getIsPublic()).isFalse();
+    }
+
+    @Test
+    @DisplayName("importDirectory - Unchanged files are skipped, an edited file updates only its entry")
+    void importDirectory_onlyWritesChanges() throws IOException {
+        // Arrange
+        wikiImportService.importDirectory(wikiDir);
+
+        // Act: nothing changed
+        WikiImportReportDTO unchanged = wikiImportService.importDirectory(wikiDir);
+
+        // Assert
+        assertThat(unchanged.getCreated()).isZero();
+        assertThat(unchanged.getUpdated()).isZero();
+        assertThat(unchanged.getUnchanged()).isEqualTo(3);
+        assertThat(unchanged.getAssetsUnchanged()).isEqualTo(1);
+
+        // Act: one file edited
+        Files.writeString(wikiDir.resolve("ghost-town.md"), "# Ghost Town\n\nSomething moved in the saloon.");
+        WikiImportReportDTO edited = wikiImportService.importDirectory(wikiDir);
+        entityManager.clear();
+
+        // Assert
+        assertThat(edited.getUpdated()).isEqualTo(1);
+        assertThat(edited.getUnchanged()).isEqualTo(2);
+        assertThat(wikiEntryRepository.findBySlug("ghost-town").orElseThrow().getContent())
+                .contains("saloon");
+    }
+
+    @Test
+    @DisplayName("importDirectory - Overwriting an entry without revisions records its old content first")
+    void importDirectory_recordsBaselineForExistingEntry() {
+        // Arrange: an entry written before revision history existed
+        WikiEntry existing = WikiEntry.builder()
+                .title("The Great Civil War")
+                .slug("civil-war")
+                .content("# The Great Civil War\n\nThe war is over.")
+                .category(WikiEntry.Category.CAMPAIGN_LORE)
+                .visibility(WikiEntry.Visibility.PUBLIC)
+                .isPublic(true)
+                .sortOrder(1)
+                .build();
+        entityManager.persist(existing);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        WikiImportReportDTO report = wikiImportService.importDirectory(wikiDir);
+        entityManager.clear();
+
+        // Assert
+        assertThat(report.getUpdated()).isEqualTo(1);
+        assertThat(wikiRevisionService.listRevisions(existing.getId())).hasSize(2);
+        assertThat(wikiRevisionService.getContent(existing.getId(), 1))
+                .contains("# The Great Civil War\n\nThe war is over.");
+        assertThat(wikiRevisionService.getContent(existing.getId(), 2))
+                .contains("# The Great Civil War\n\nThe war drags on.");
+        WikiDiffDTO diff = wikiRevisionService.diff(existing.getId(), 1, 2).orElseThrow();
+        assertThat(diff.getLinesRemoved()).isEqualTo(1);
+        assertThat(diff.getLinesAdded()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("importDirectory - Identical assets share one blob; a changed asset is repointed")
+    void importDirectory_storesAssetsByHash() throws IOException {
+        // Arrange
+        Files.copy(wikiDir.resolve("Train.png"), wikiDir.resolve("Train-copy.png"));
+
+        // Act
+        WikiImportReportDTO report = wikiImportService.importDirectory(wikiDir);
+
+        // Assert
+        assertThat(report.getAssetsStored()).isEqualTo(2);
+        assertThat(wikiAssetBlobRepository.count()).isEqualTo(1);
+        WikiAsset train = wikiAssetRepository.findByFileName("Train.png").orElseThrow();
+        assertThat(wikiAssetBlobRepository.findById(train.getContentHash()).orElseThrow().getContentType())
+                .isEqualTo("image/png");
+
+        // Act: replace one copy
+        Files.write(wikiDir.resolve("Train-copy.png"), new byte[] {9, 9, 9});
+        WikiImportReportDTO second = wikiImportService.importDirectory(wikiDir);
+        entityManager.clear();
+
+        // Assert
+        assertThat(second.getAssetsStored()).isEqualTo(1);
+        assertThat(second.getAssetsUnchanged()).isEqualTo(1);
+        assertThat(wikiAssetBlobRepository.count()).isEqualTo(2);
+        assertThat(wikiAssetRepository.findByFileName("Train-copy.png").orElseThrow().getContentHash())
+                .isNotEqualTo(train.getContentHash());
+    }
+}
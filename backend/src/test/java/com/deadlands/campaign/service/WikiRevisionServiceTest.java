@@ -0,0 +1,159 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.WikiDiffDTO;
+import com.deadlands.campaign.dto.WikiRevisionDTO;
+import com.deadlands.campaign.event.WikiEntryChangedEvent;
+import com.deadlands.campaign.model.WikiEntry;
+import com.deadlands.campaign.model.WikiRevision;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for WikiRevisionService.
+ *
+ * Tests:
+ * - Every revision reconstructs exactly from snapshot + deltas
+ * - Deltas stay small for small edits to a large page
+ * - Snapshots are written every SNAPSHOT_INTERVAL revisions
+ * - Unchanged content does not add a revision
+ * - Diff between revisions
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class WikiRevisionServiceTest {
+
+    @Autowired
+    private WikiRevisionService wikiRevisionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private WikiEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        entry = WikiEntry.builder()
+                .title("Deadwood")
+                .slug("deadwood")
+                .content(page(0))
+                .category(WikiEntry.Category.LOCATION)
+                .visibility(WikiEntry.Visibility.PUBLIC)
+                .isPublic(true)
+                .sortOrder(0)
+                .build();
+        entityManager.persist(entry);
+        entityManager.flush();
+        eventPublisher.publishEvent(new WikiEntryChangedEvent(entry.getId(), WikiEntryChangedEvent.ChangeType.CREATED));
+    }
+
+    @Test
+    @DisplayName("record - Every revision reconstructs exactly; small edits store small deltas")
+    void record_reconstructsEveryRevision() {
+        // Arrange
+        List<String> versions = new ArrayList<>();
+        versions.add(page(0));
+
+        // Act
+        for (int edit = 1; edit <= 25; edit++) {
+            String content = page(edit);
+            versions.add(content);
+            entry.setContent(content);
+            wikiRevisionService.record(entry);
+        }
+
+        // Assert
+        for (int revision = 1; revision <= versions.size(); revision++) {
+            assertThat(wikiRevisionService.getContent(entry.getId(), revision)).contains(versions.get(revision - 1));
+        }
+
+        List<WikiRevisionDTO> revisions = wikiRevisionService.listRevisions(entry.getId());
+        assertThat(revisions).hasSize(26);
+        assertThat(revisions.get(0).getRevisionNumber()).isEqualTo(26);
+        assertThat(revisions).filteredOn(r -> r.getKind() == WikiRevision.Kind.SNAPSHOT)
+                .extracting(WikiRevisionDTO::getRevisionNumber)
+                .containsExactly(21, 11, 1);
+        assertThat(revisions).filteredOn(r -> r.getKind() == WikiRevision.Kind.DELTA)
+                .allSatisfy(r -> assertThat(r.getStoredBytes()).isLessThan(200));
+        assertThat(page(0).length()).isGreaterThan(20_000);
+    }
+
+    @Test
+    @DisplayName("onWikiEntryChanged - Unchanged content adds no revision")
+    void onWikiEntryChanged_skipsUnchangedContent() {
+        // Act
+        eventPublisher.publishEvent(new WikiEntryChangedEvent(entry.getId(), WikiEntryChangedEvent.ChangeType.UPDATED));
+
+        // Assert
+        assertThat(wikiRevisionService.listRevisions(entry.getId())).hasSize(1);
+        assertThat(wikiRevisionService.getContent(entry.getId(), 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("diff - Returns changed lines with context")
+    void diff_returnsHunks() {
+        // Arrange
+        entry.setContent(page(0).replace("Line 250 of the town record.", "Line 250 was burned by the mayor."));
+        wikiRevisionService.record(entry);
+
+        // Act
+        WikiDiffDTO diff = wikiRevisionService.diff(entry.getId(), 1, 2).orElseThrow();
+
+        // Assert
+        assertThat(diff.getLinesAdded()).isEqualTo(1);
+        assertThat(diff.getLinesRemoved()).isEqualTo(1);
+        assertThat(diff.getLines()).containsExactly(
+                "@@ -249,7 +249,7 @@",
+                "  Line 247 of the town record.",
+                "  Line 248 of the town record.",
+                "  Line 249 of the town record.",
+                "- Line 250 of the town record.",
+                "+ Line 250 was burned by the mayor.",
+                "  Line 251 of the town record.",
+                "  Line 252 of the town record.",
+                "  Line 253 of the town record.");
+        assertThat(wikiRevisionService.diff(entry.getId(), 1, 99)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("WikiDelta - Round trips inserts, deletes and trailing newlines")
+    void wikiDelta_roundTrips() {
+        String before = "a\nb\nc\nd\n";
+        String after = "a\nx\nc\nd\ne\n\n";
+
+        assertThat(WikiDelta.applyDelta(before, WikiDelta.encodeDelta(before, after))).isEqualTo(after);
+        assertThat(WikiDelta.applyDelta("", WikiDelta.encodeDelta("", after))).isEqualTo(after);
+        assertThat(WikiDelta.decompress(WikiDelta.compress(after))).isEqualTo(after);
+    }
+
+    /**
+     * A ~25 KB page; each edit number changes one line and appends another
+     */
+    private static String page(int edits) {
+        List<String> lines = IntStream.rangeClosed(1, 800)
+                .mapToObj(i -> "Line " + i + " of the town record.")
+                .collect(Collectors.toCollection(ArrayList::new));
+        for (int edit = 1; edit <= edits; edit++) {
+            lines.set(edit * 30, "Line " + (edit * 30 + 1) + " amended in edit " + edit + ".");
+            lines.add("Addendum " + edit + ": the sheriff is still missing.");
+        }
+        return "# Deadwood\n\n" + String.join("\n", lines);
+    }
+}
@@ -0,0 +1,135 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.dto.WikiSearchHitDTO;
+import com.deadlands.campaign.event.WikiEntryChangedEvent;
+import com.deadlands.campaign.model.WikiEntry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for WikiSearchIndex.
+ *
+ * Tests:
+ * - BM25 ranking (title hits outrank body hits), stemming
+ * - Visibility filtering
+ * - Incremental updates from WikiEntryChangedEvent
+ * - Snippets are escaped and highlight matches
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class WikiSearchIndexTest {
+
+    @Autowired
+    private WikiSearchIndex wikiSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private WikiEntry gunslingers;
+    private WikiEntry sessionLog;
+    private WikiEntry secret;
+
+    @BeforeEach
+    void setUp() {
+        wikiSearchIndex.clear();
+
+        gunslingers = entry("gunslingers", "Gunslingers of Gomorra",
+                "Fast hands and faster tempers. Most never see thirty.");
+        sessionLog = entry("session-5", "Session 5",
+                "The posse was ambushed outside Gomorra. Bob hired a gunslinger & paid in ghost rock.");
+        secret = entry("reckoners", "The Reckoners", "The Reckoners feed on fear.");
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("search - Title matches rank above body matches, plurals match singulars")
+    void search_ranksTitleAboveBody() {
+        // Act
+        List<WikiSearchHitDTO> hits = wikiSearchIndex.search("gunslinger", null, 10);
+
+        // Assert
+        assertThat(hits).extracting("slug").containsExactly("gunslingers", "session-5");
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("search - Entries outside the visible set are never returned")
+    void search_filtersByVisibility() {
+        // Arrange
+        BitSet visible = new BitSet();
+        visible.set(Math.toIntExact(gunslingers.getId()));
+        visible.set(Math.toIntExact(sessionLog.getId()));
+
+        // Act & Assert
+        assertThat(wikiSearchIndex.search("reckoners fear", visible, 10)).isEmpty();
+        assertThat(wikiSearchIndex.search("reckoners fear", null, 10)).extracting("slug").containsExactly("reckoners");
+    }
+
+    @Test
+    @DisplayName("onWikiEntryChanged - Updated content is searchable without a rebuild")
+    void onWikiEntryChanged_reindexesEntry() {
+        // Arrange: build the index
+        assertThat(wikiSearchIndex.search("wendigo", null, 10)).isEmpty();
+
+        // Act
+        secret.setContent("The Reckoners sent a wendigo north.");
+        entityManager.flush();
+        eventPublisher.publishEvent(new WikiEntryChangedEvent(secret.getId(), WikiEntryChangedEvent.ChangeType.UPDATED));
+
+        // Assert
+        assertThat(wikiSearchIndex.search("wendigo", null, 10)).extracting("slug").containsExactly("reckoners");
+        assertThat(wikiSearchIndex.search("fear", null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search - Snippet is HTML-escaped and marks every matched word")
+    void search_snippetHighlightsMatches() {
+        // Act
+        WikiSearchHitDTO hit = wikiSearchIndex.search("ambush gunslinger", null, 10).get(0);
+
+        // Assert
+        assertThat(hit.getSlug()).isEqualTo("session-5");
+        assertThat(hit.getSnippet())
+                .contains("<mark>ambushed</mark>")
+                .contains("<mark>gunslinger</mark> &amp; paid");
+    }
+
+    @Test
+    @DisplayName("terms - Stop words removed, suffixes stripped")
+    void terms_stemsAndDropsStopWords() {
+        assertThat(WikiSearchIndex.terms("The Gunslingers were running")).containsExactly("gunslinger", "run");
+        assertThat(WikiSearchIndex.stem("stories")).isEqualTo("story");
+        assertThat(WikiSearchIndex.snippet("no match here", Set.of("zzz"))).isEqualTo("no match here");
+    }
+
+    private WikiEntry entry(String slug, String title, String content) {
+        WikiEntry entry = WikiEntry.builder()
+                .title(title)
+                .slug(slug)
+                .content(content)
+                .category(WikiEntry.Category.CAMPAIGN_LORE)
+                .visibility(WikiEntry.Visibility.PUBLIC)
+                .isPublic(true)
+                .sortOrder(0)
+                .build();
+        entityManager.persist(entry);
+        return entry;
+    }
+}
@@ -0,0 +1,212 @@
+package com.deadlands.campaign.service;
+
+import com.deadlands.campaign.event.CharacterChangedEvent;
+import com.deadlands.campaign.model.Character;
+import com.deadlands.campaign.model.User;
+import com.deadlands.campaign.model.WikiAccess;
+import com.deadlands.campaign.model.WikiEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for WikiVisibilityIndex.
+ *
+ * Tests:
+ * - Public, owned and granted entries are visible; other private entries are not
+ * - Grants and revocations update the index without reloading it
+ * - Revoking a grant keeps entries visible for another reason
+ * - Deleting or handing over a character drops its entries from the former owner
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class WikiVisibilityIndexTest {
+
+    @Autowired
+    private WikiVisibilityIndex wikiVisibilityIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Character character;
+    private User player;
+    private User gm;
+    private WikiEntry publicEntry;
+    private WikiEntry ownedEntry;
+    private WikiEntry grantedEntry;
+    private WikiEntry secretEntry;
+
+    @BeforeEach
+    void setUp() {
+        wikiVisibilityIndex.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        player = user("wiki_player", User.Role.PLAYER);
+        gm = user("wiki_gm", User.Role.GAME_MASTER);
+
+        character = Character.builder()
+                .name("Wiki Character")
+                .player(player)
+                .pace(6).size(0).wind(0).grit(1)
+                .parry(2).toughness(5).charisma(0)
+                .totalXp(0).spentXp(0)
+                .isNpc(false)
+                .build();
+        entityManager.persist(character);
+
+        publicEntry = entry("public-lore", WikiEntry.Visibility.PUBLIC, null);
+        ownedEntry = entry("character-bio", WikiEntry.Visibility.CHARACTER_SPECIFIC, character);
+        grantedEntry = entry("granted-secret", WikiEntry.Visibility.PRIVATE, null);
+        secretEntry = entry("gm-secret", WikiEntry.Visibility.PRIVATE, null);
+
+        entityManager.persist(WikiAccess.builder().wikiEntry(grantedEntry).user(player).build());
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("visibleTo - Combines public, owned and granted entries")
+    void visibleTo_combinesAllSources() {
+        // Act
+        BitSet visible = wikiVisibilityIndex.visibleTo(player);
+
+        // Assert
+        assertThat(visible.get(bit(publicEntry))).isTrue();
+        assertThat(visible.get(bit(ownedEntry))).isTrue();
+        assertThat(visible.get(bit(grantedEntry))).isTrue();
+        assertThat(visible.get(bit(secretEntry))).isFalse();
+        assertThat(wikiVisibilityIndex.canAccess(gm, secretEntry)).isTrue();
+    }
+
+    @Test
+    @DisplayName("visibleTo - Second lookup issues no queries")
+    void visibleTo_warmIndex_noQueries() {
+        // Arrange
+        wikiVisibilityIndex.visibleTo(player);
+        statistics.clear();
+
+        // Act
+        wikiVisibilityIndex.visibleTo(player);
+        wikiVisibilityIndex.canAccess(player, secretEntry);
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("onGranted / onRevoked - Update the loaded index in place")
+    void grantAndRevoke_updateIndex() {
+        // Arrange
+        wikiVisibilityIndex.visibleTo(player);
+        statistics.clear();
+
+        // Act & Assert
+        wikiVisibilityIndex.onGranted(player.getId(), secretEntry.getId());
+        assertThat(wikiVisibilityIndex.canAccess(player, secretEntry)).isTrue();
+
+        wikiVisibilityIndex.onRevoked(player.getId(), secretEntry.getId());
+        assertThat(wikiVisibilityIndex.canAccess(player, secretEntry)).isFalse();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("onRevoked - Owned and public entries stay visible")
+    void onRevoked_entryVisibleForAnotherReason_staysVisible() {
+        // Arrange
+        wikiVisibilityIndex.onGranted(player.getId(), ownedEntry.getId());
+        wikiVisibilityIndex.onGranted(player.getId(), publicEntry.getId());
+
+        // Act
+        wikiVisibilityIndex.onRevoked(player.getId(), ownedEntry.getId());
+        wikiVisibilityIndex.onRevoked(player.getId(), publicEntry.getId());
+
+        // Assert
+        assertThat(wikiVisibilityIndex.canAccess(player, ownedEntry)).isTrue();
+        assertThat(wikiVisibilityIndex.canAccess(player, publicEntry)).isTrue();
+    }
+
+    @Test
+    @DisplayName("onCharacterChanged - A deleted character's entries are hidden from its owner")
+    void onCharacterChanged_deleted_hidesOwnedEntries() {
+        // Arrange
+        assertThat(wikiVisibilityIndex.canAccess(player, ownedEntry)).isTrue();
+        character.setDeletedAt(LocalDateTime.now());
+        entityManager.flush();
+
+        // Act
+        wikiVisibilityIndex.onCharacterChanged(new CharacterChangedEvent(
+                character.getId(), player.getId(), CharacterChangedEvent.ChangeType.DELETED));
+
+        // Assert
+        assertThat(wikiVisibilityIndex.canAccess(player, ownedEntry)).isFalse();
+        assertThat(wikiVisibilityIndex.canAccess(player, grantedEntry)).isTrue();
+    }
+
+    @Test
+    @DisplayName("onCharacterChanged - Handing a character over moves its entries to the new owner")
+    void onCharacterChanged_newOwner_movesOwnedEntries() {
+        // Arrange
+        User newOwner = user("wiki_new_owner", User.Role.PLAYER);
+        assertThat(wikiVisibilityIndex.canAccess(player, ownedEntry)).isTrue();
+        assertThat(wikiVisibilityIndex.canAccess(newOwner, ownedEntry)).isFalse();
+        character.setPlayer(newOwner);
+        entityManager.flush();
+
+        // Act: the event only names the new owner
+        wikiVisibilityIndex.onCharacterChanged(new CharacterChangedEvent(
+                character.getId(), newOwner.getId(), CharacterChangedEvent.ChangeType.UPDATED));
+
+        // Assert
+        assertThat(wikiVisibilityIndex.canAccess(player, ownedEntry)).isFalse();
+        assertThat(wikiVisibilityIndex.canAccess(newOwner, ownedEntry)).isTrue();
+    }
+
+    private User user(String username, User.Role role) {
+        User user = User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("encoded-password")
+                .role(role)
+                .active(true)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private WikiEntry entry(String slug, WikiEntry.Visibility visibility, Character character) {
+        WikiEntry entry = WikiEntry.builder()
+                .title(slug)
+                .slug(slug)
+                .content("Content of " + slug)
+                .category(WikiEntry.Category.CAMPAIGN_LORE)
+                .visibility(visibility)
+                .isPublic(visibility == WikiEntry.Visibility.PUBLIC)
+                .relatedCharacter(character)
+                .sortOrder(0)
+                .build();
+        entityManager.persist(entry);
+        return entry;
+    }
+
+    private static int bit(WikiEntry entry) {
+        return Math.toIntExact(entry.getId());
+    }
+}
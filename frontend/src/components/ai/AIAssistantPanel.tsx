@@ -63,6 +63,15 @@ export default function AIAssistantPanel({ onClose }: AIAssistantPanelProps = {}
     setMessages((prev) => [...prev, message]);
   };
 
+  // Streaming responses grow the last message as tokens arrive
+  const appendToLastMessage = (text: string) => {
+    setMessages((prev) =>
+      prev.length === 0
+        ? prev
+        : [...prev.slice(0, -1), { ...prev[prev.length - 1], content: prev[prev.length - 1].content + text }]
+    );
+  };
+
   const clearMessages = () => {
     setMessages([]);
   };
@@ -124,6 +133,7 @@ export default function AIAssistantPanel({ onClose }: AIAssistantPanelProps = {}
           <NPCDialogueTab
             messages={messages}
             onAddMessage={addMessage}
+            onAppendToLastMessage={appendToLastMessage}
             onClear={clearMessages}
             isLoading={isLoading}
             setIsLoading={setIsLoading}
@@ -1,4 +1,4 @@
-import { useState } from 'react';
+import { useEffect, useRef, useState } from 'react';
 import {
   Box,
   Button,
@@ -24,7 +24,9 @@ import {
 } from '@mui/icons-material';
 import aiService from '../../services/aiService';
 import mapService from '../../services/mapService';
-import { GeneratedMap } from '../../types/map';
+import { GeneratedMap, MapGenerationJob } from '../../types/map';
+
+const JOB_POLL_INTERVAL_MS = 1500;
 
 interface MapGeneratorTabProps {
   isLoading: boolean;
@@ -41,6 +43,15 @@ export default function MapGeneratorTab({ isLoading, setIsLoading, onMapLoaded }
   const [generatedMap, setGeneratedMap] = useState<GeneratedMap | null>(null);
   const [error, setError] = useState<string | null>(null);
   const [saveSuccess, setSaveSuccess] = useState<string | null>(null);
+  const [job, setJob] = useState<MapGenerationJob | null>(null);
+  const activeJobId = useRef<string | null>(null);
+
+  // Leaving the tab cancels a generation nobody will see
+  useEffect(() => () => {
+    if (activeJobId.current) {
+      aiService.cancelMapJob(activeJobId.current).catch(() => undefined);
+    }
+  }, []);
 
   const handleGenerate = async () => {
     setIsLoading(true);
@@ -48,7 +59,7 @@ export default function MapGeneratorTab({ isLoading, setIsLoading, onMapLoaded }
     setGeneratedMap(null);
 
     try {
-      const mapData = await aiService.generateMap({
+      let current = await aiService.submitMapJob({
         locationType,
         size,
         theme,
@@ -56,16 +67,44 @@ export default function MapGeneratorTab({ isLoading, setIsLoading, onMapLoaded }
         description,
         generateImage,
       });
-
-      setGeneratedMap(mapData);
+      activeJobId.current = current.jobId;
+      setJob(current);
+
+      while (current.status === 'QUEUED' || current.status === 'RUNNING') {
+        await new Promise((resolve) => setTimeout(resolve, JOB_POLL_INTERVAL_MS));
+        if (activeJobId.current !== current.jobId) {
+          return; // Cancelled or unmounted
+        }
+        current = await aiService.getMapJob(current.jobId);
+        setJob(current);
+      }
+
+      if (current.status === 'SUCCEEDED') {
+        setGeneratedMap(await aiService.getMapJobResult(current.jobId));
+      } else if (current.status === 'FAILED') {
+        setError(current.error || 'Failed to generate map. Please try again.');
+      }
     } catch (err: any) {
       console.error('Map generation error:', err);
-      setError(err.response?.data?.message || 'Failed to generate map. Please try again.');
+      setError(
+        err.response?.status === 429
+          ? 'Too many maps are being generated right now. Please try again shortly.'
+          : err.response?.data?.message || 'Failed to generate map. Please try again.'
+      );
     } finally {
+      activeJobId.current = null;
+      setJob(null);
       setIsLoading(false);
     }
   };
 
+  const handleCancel = async () => {
+    const jobId = activeJobId.current;
+    if (!jobId) return;
+    activeJobId.current = null;
+    await aiService.cancelMapJob(jobId).catch(() => undefined);
+  };
+
   const handleDownloadJSON = () => {
     if (!generatedMap) return;
 
@@ -268,11 +307,17 @@ export default function MapGeneratorTab({ isLoading, setIsLoading, onMapLoaded }
         </Button>
 
         {isLoading && (
-          <Typography variant="caption" sx={{ color: '#f5deb3', mt: 1, display: 'block', textAlign: 'center' }}>
-            {generateImage
-              ? 'This may take 20-40 seconds (generating AI artwork)...'
-              : 'Generating map data...'}
-          </Typography>
+          <Box sx={{ mt: 1, textAlign: 'center' }}>
+            <Typography variant="caption" sx={{ color: '#f5deb3', display: 'block' }}>
+              {job ? `${job.stage} (${job.progress}%)` : 'Submitting...'}
+              {generateImage && ' - AI artwork may take 20-40 seconds'}
+            </Typography>
+            {job && (
+              <Button size="small" onClick={handleCancel} sx={{ color: '#f5deb3', mt: 0.5 }}>
+                Cancel
+              </Button>
+            )}
+          </Box>
         )}
       </Box>
 
@@ -1,4 +1,4 @@
-import { useState } from 'react';
+import { useEffect, useRef, useState } from 'react';
 import {
   Box,
   TextField,
@@ -15,6 +15,7 @@ import ChatArea from './ChatArea';
 interface NPCDialogueTabProps {
   messages: ChatMessage[];
   onAddMessage: (content: string, role: 'user' | 'assistant') => void;
+  onAppendToLastMessage: (text: string) => void;
   onClear: () => void;
   isLoading: boolean;
   setIsLoading: (loading: boolean) => void;
@@ -23,6 +24,7 @@ interface NPCDialogueTabProps {
 export default function NPCDialogueTab({
   messages,
   onAddMessage,
+  onAppendToLastMessage,
   onClear,
   isLoading,
   setIsLoading,
@@ -31,6 +33,10 @@ export default function NPCDialogueTab({
   const [npcPersonality, setNpcPersonality] = useState('');
   const [context, setContext] = useState('');
   const [playerQuestion, setPlayerQuestion] = useState('');
+  const streamRef = useRef<AbortController | null>(null);
+
+  // Stop generating if the tab closes mid-reply
+  useEffect(() => () => streamRef.current?.abort(), []);
 
   const handleSubmit = async () => {
     if (!npcName || !playerQuestion) {
@@ -41,22 +47,27 @@ export default function NPCDialogueTab({
     onAddMessage(userMessage, 'user');
 
     setIsLoading(true);
+    const controller = new AbortController();
+    streamRef.current = controller;
     try {
-      const response = await aiService.generateNPCDialogue({
-        npcName,
-        npcPersonality: npcPersonality || undefined,
-        context: context || undefined,
-        playerQuestion,
-      });
-
-      onAddMessage(`${npcName}: ${response.content}`, 'assistant');
+      onAddMessage(`${npcName}: `, 'assistant');
+      await aiService.streamNPCDialogue(
+        {
+          npcName,
+          npcPersonality: npcPersonality || undefined,
+          context: context || undefined,
+          playerQuestion,
+        },
+        onAppendToLastMessage,
+        controller.signal
+      );
       setPlayerQuestion(''); // Clear question after submission
     } catch (error: any) {
-      onAddMessage(
-        `Error: ${error.response?.data?.message || 'Failed to generate dialogue'}`,
-        'assistant'
-      );
+      if (error.name !== 'AbortError') {
+        onAddMessage(`Error: ${error.message || 'Failed to generate dialogue'}`, 'assistant');
+      }
     } finally {
+      streamRef.current = null;
       setIsLoading(false);
     }
   };
@@ -461,6 +461,14 @@ Parry: ${this.character.parry} | Toughness: ${this.character.toughness}`;
       this.handleRemoteTokenMoved(event);
     });
 
+    // MULTIPLAYER: Our move was stale on the server - snap back to its position (TYPE-SAFE)
+    this.gameEvents.on('tokenMoveRejected', (event) => {
+      if (this.character && String(this.character.id) === event.tokenId) {
+        console.warn('[ArenaScene] Move rejected:', event.reason, '- snapping to', event.gridX, event.gridY);
+        this.snapPlayerTo(event.gridX, event.gridY, 'Move rejected - token returned to its last known position');
+      }
+    });
+
     // Set up camera zoom controls
     this.setupZoomControls();
   }
@@ -1381,12 +1389,59 @@ Parry: ${this.character.parry} | Toughness: ${this.character.toughness}`;
    * MULTIPLAYER: Handle remote player token movement
    * Creates or updates sprites for other players in the session
    */
+  /**
+   * Move the local player token to the server's position without sending a move,
+   * so the next local move carries the right fromX/fromY.
+   */
+  private snapPlayerTo(gridX: number, gridY: number, message: string) {
+    if (!this.player || (this.playerGridX === gridX && this.playerGridY === gridY)) return;
+
+    this.playerGridX = gridX;
+    this.playerGridY = gridY;
+
+    const pixelX = gridX * this.TILE_SIZE + this.TILE_SIZE / 2;
+    const pixelY = gridY * this.TILE_SIZE + this.TILE_SIZE / 2;
+    this.tweens.add({
+      targets: this.player,
+      x: pixelX,
+      y: pixelY,
+      duration: 200,
+      ease: 'Power2',
+    });
+    const nameText = this.player.getData('nameText') as Phaser.GameObjects.Text;
+    if (nameText) {
+      this.tweens.add({
+        targets: nameText,
+        x: pixelX,
+        y: pixelY - this.TILE_SIZE / 2 - 10,
+        duration: 200,
+        ease: 'Power2',
+      });
+    }
+
+    if (this.combatManager) {
+      const currentLog = this.combatManager.getCombatLog();
+      currentLog.push({
+        id: `${Date.now()}-${Math.random()}`,
+        timestamp: Date.now(),
+        message,
+        type: 'info' as const,
+      });
+      this.game.events.emit('combatLogUpdate', [...currentLog]);
+    }
+
+    this.time.delayedCall(250, () => {
+      this.updateMovementRange();
+    });
+  }
+
   private handleRemoteTokenMoved(event: { tokenId: string; tokenType: string; gridX: number; gridY: number; movedBy: string }) {
     // Only handle player tokens (not enemies)
     if (event.tokenType !== 'PLAYER') return;
 
-    // Don't render our own character (it's already rendered as this.player)
+    // Our own character is this.player; another user (GM) moved it
     if (this.character && String(this.character.id) === event.tokenId) {
+      this.snapPlayerTo(event.gridX, event.gridY, `${event.movedBy} moved your token`);
       return;
     }
 
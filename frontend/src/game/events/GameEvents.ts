@@ -71,6 +71,13 @@ export interface RemoteTokenMovedEvent {
   movedBy: string;
 }
 
+export interface TokenMoveRejectedEvent {
+  tokenId: string;
+  gridX: number;
+  gridY: number;
+  reason: string;
+}
+
 // =============================================================================
 // Phaser → React Events (Game state updates)
 // =============================================================================
@@ -122,6 +129,7 @@ export interface GameEventMap {
   'illuminationChange': IlluminationChangeEvent;
   'loadGeneratedMap': LoadGeneratedMapEvent;
   'remoteTokenMoved': RemoteTokenMovedEvent;
+  'tokenMoveRejected': TokenMoveRejectedEvent;
 
   // Phaser → React
   'combatLogUpdate': CombatLogUpdateEvent;
@@ -12,12 +12,13 @@ import { TypedGameEvents } from '../game/events/GameEvents';
  * - Subscribing to game events (token moves, player join/leave)
  * - Sending local token moves to server
  * - Receiving remote token moves and forwarding to Phaser
+ * - Forwarding move rejections so Phaser snaps our token back to the server position
  * - Cleanup on unmount
  *
  * @param gameEvents Type-safe Phaser game events wrapper
  */
 export const useGameWebSocket = (gameEvents: TypedGameEvents | null) => {
-  const { token } = useAuthStore();
+  const { token, user } = useAuthStore();
   const { selectedCharacter } = useGameStore();
 
   useEffect(() => {
@@ -57,13 +58,21 @@ export const useGameWebSocket = (gameEvents: TypedGameEvents | null) => {
           const customEvent = event as CustomEvent;
           const moveData = customEvent.detail;
 
-          // Don't echo back our own movements
-          if (moveData.tokenId !== String(selectedCharacter.id)) {
+          // Don't echo back our own movements, but do apply a GM moving our token
+          const ownToken = moveData.tokenId === String(selectedCharacter.id);
+          if (!ownToken || moveData.movedBy !== user?.username) {
             console.log('[useGameWebSocket] Received remote token move:', moveData);
             gameEvents.emit('remoteTokenMoved', moveData);
           }
         };
 
+        // Handler for our own moves the server rejected as stale
+        const handleMoveRejected = (event: Event) => {
+          const customEvent = event as CustomEvent;
+          console.warn('[useGameWebSocket] Move rejected:', customEvent.detail);
+          gameEvents.emit('tokenMoveRejected', customEvent.detail);
+        };
+
         // Handler for player join events
         const handlePlayerJoin = (event: Event) => {
           const customEvent = event as CustomEvent;
@@ -83,6 +92,7 @@ export const useGameWebSocket = (gameEvents: TypedGameEvents | null) => {
 
         // Subscribe to window events from WebSocket service
         window.addEventListener('remoteTokenMoved', handleRemoteTokenMove);
+        window.addEventListener('tokenMoveRejected', handleMoveRejected);
         window.addEventListener('playerJoined', handlePlayerJoin);
         window.addEventListener('playerLeft', handlePlayerLeave);
 
@@ -91,6 +101,7 @@ export const useGameWebSocket = (gameEvents: TypedGameEvents | null) => {
           console.log('[useGameWebSocket] Cleaning up...');
           gameEvents.off('localTokenMoved', handleLocalTokenMove);
           window.removeEventListener('remoteTokenMoved', handleRemoteTokenMove);
+          window.removeEventListener('tokenMoveRejected', handleMoveRejected);
           window.removeEventListener('playerJoined', handlePlayerJoin);
           window.removeEventListener('playerLeft', handlePlayerLeave);
           wsService.disconnect();
@@ -108,5 +119,5 @@ export const useGameWebSocket = (gameEvents: TypedGameEvents | null) => {
         wsService.disconnect();
       }
     };
-  }, [token, selectedCharacter, gameEvents]);
+  }, [token, user, selectedCharacter, gameEvents]);
 };
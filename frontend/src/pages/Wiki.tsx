@@ -23,8 +23,7 @@ import {
   Public as PublicIcon,
   Person as PersonIcon,
 } from '@mui/icons-material'
-import wikiService, { WikiCategory, WikiEntry, WikiVisibility } from '../services/wikiService'
-import ReactMarkdown from 'react-markdown'
+import wikiService, { WikiCategory, WikiEntrySummary, WikiVisibility } from '../services/wikiService'
 
 const CATEGORY_LABELS: Record<WikiCategory, string> = {
   [WikiCategory.CHARACTER_BIO]: 'Character Bios',
@@ -37,19 +36,39 @@ const CATEGORY_LABELS: Record<WikiCategory, string> = {
 const Wiki = () => {
   const [searchQuery, setSearchQuery] = useState('')
   const [selectedCategory, setSelectedCategory] = useState<WikiCategory | 'ALL'>('ALL')
-  const [selectedEntry, setSelectedEntry] = useState<WikiEntry | null>(null)
+  const [selectedSlug, setSelectedSlug] = useState<string | null>(null)
 
   const { data: wikiEntries = [], isLoading } = useQuery({
     queryKey: ['wikiEntries'],
     queryFn: wikiService.getAll,
   })
 
+  // Title, visibility etc. come from the list; only the body is fetched when an entry is opened
+  const selectedEntry = wikiEntries.find((entry) => entry.slug === selectedSlug)
+
+  // Pre-rendered, sanitized HTML of the body (server caches it per content version)
+  const { data: selectedEntryHtml = '', isLoading: isEntryHtmlLoading } = useQuery({
+    queryKey: ['wikiEntryHtml', selectedSlug],
+    queryFn: () => wikiService.getHtmlBySlug(selectedSlug!),
+    enabled: selectedSlug !== null,
+  })
+
+  // Server-side full-text search (titles and full content)
+  const trimmedQuery = searchQuery.trim()
+  const { data: searchHits } = useQuery({
+    queryKey: ['wikiSearch', trimmedQuery],
+    queryFn: () => wikiService.search(trimmedQuery, 50),
+    enabled: trimmedQuery !== '',
+  })
+  const hitIds = searchHits ? new Set(searchHits.map((hit) => hit.id)) : null
+
   // Filter entries by search and category
   const filteredEntries = wikiEntries.filter((entry) => {
     const matchesSearch =
-      searchQuery === '' ||
-      entry.title.toLowerCase().includes(searchQuery.toLowerCase()) ||
-      entry.content.toLowerCase().includes(searchQuery.toLowerCase())
+      trimmedQuery === '' ||
+      (hitIds
+        ? hitIds.has(entry.id)
+        : entry.title.toLowerCase().includes(trimmedQuery.toLowerCase()))
 
     const matchesCategory = selectedCategory === 'ALL' || entry.category === selectedCategory
 
@@ -63,7 +82,7 @@ const Wiki = () => {
     }
     acc[entry.category].push(entry)
     return acc
-  }, {} as Record<WikiCategory, WikiEntry[]>)
+  }, {} as Record<WikiCategory, WikiEntrySummary[]>)
 
   const getVisibilityIcon = (visibility: WikiVisibility) => {
     switch (visibility) {
@@ -87,7 +106,7 @@ const Wiki = () => {
     }
   }
 
-  if (isLoading) {
+  if (isLoading || (selectedSlug !== null && isEntryHtmlLoading)) {
     return (
       <Box sx={{ display: 'flex', justifyContent: 'center', mt: 4 }}>
         <CircularProgress />
@@ -96,10 +115,10 @@ const Wiki = () => {
   }
 
   // If viewing a specific entry
-  if (selectedEntry) {
+  if (selectedSlug !== null && selectedEntry) {
     return (
       <Box>
-        <Button variant="outlined" onClick={() => setSelectedEntry(null)} sx={{ mb: 2 }}>
+        <Button variant="outlined" onClick={() => setSelectedSlug(null)} sx={{ mb: 2 }}>
           ← Back to Wiki
         </Button>
 
@@ -131,9 +150,8 @@ const Wiki = () => {
                 color: 'text.secondary',
               },
             }}
-          >
-            <ReactMarkdown>{selectedEntry.content}</ReactMarkdown>
-          </Box>
+            dangerouslySetInnerHTML={{ __html: selectedEntryHtml }}
+          />
         </Paper>
       </Box>
     )
@@ -205,9 +223,14 @@ const Wiki = () => {
                             About: {entry.relatedCharacterName}
                           </Typography>
                         )}
+                        {entry.excerpt && (
+                          <Typography variant="body2" color="text.secondary" sx={{ mt: 1 }}>
+                            {entry.excerpt}
+                          </Typography>
+                        )}
                       </CardContent>
                       <CardActions>
-                        <Button size="small" onClick={() => setSelectedEntry(entry)}>
+                        <Button size="small" onClick={() => setSelectedSlug(entry.slug)}>
                           Read
                         </Button>
                       </CardActions>
@@ -235,9 +258,14 @@ const Wiki = () => {
                           About: {entry.relatedCharacterName}
                         </Typography>
                       )}
+                      {entry.excerpt && (
+                        <Typography variant="body2" color="text.secondary" sx={{ mt: 1 }}>
+                          {entry.excerpt}
+                        </Typography>
+                      )}
                     </CardContent>
                     <CardActions>
-                      <Button size="small" onClick={() => setSelectedEntry(entry)}>
+                      <Button size="small" onClick={() => setSelectedSlug(entry.slug)}>
                         Read
                       </Button>
                     </CardActions>
@@ -1,4 +1,5 @@
 import api from './api';
+import { useAuthStore } from '../store/authStore';
 import {
   NPCDialogueRequest,
   EncounterRequest,
@@ -6,7 +7,66 @@ import {
   LocationRequest,
   AIResponse,
 } from '../types/ai';
-import { MapGenerationRequest, GeneratedMap } from '../types/map';
+import { MapGenerationRequest, GeneratedMap, MapGenerationJob } from '../types/map';
+
+/**
+ * POST to a /ai-gm/stream/* endpoint and call onToken for each chunk of text
+ * as it arrives. Resolves when the server sends "done"; abort the signal to
+ * stop generation.
+ */
+const streamText = async (
+  path: string,
+  body: unknown,
+  onToken: (text: string) => void,
+  signal?: AbortSignal
+): Promise<void> => {
+  const token = useAuthStore.getState().token;
+  const response = await fetch(`${api.defaults.baseURL}${path}`, {
+    method: 'POST',
+    headers: {
+      'Content-Type': typeof body === 'string' ? 'text/plain' : 'application/json',
+      Accept: 'text/event-stream',
+      ...(token ? { Authorization: `Bearer ${token}` } : {}),
+    },
+    body: typeof body === 'string' ? body : JSON.stringify(body),
+    signal,
+  });
+  if (!response.ok || !response.body) {
+    throw new Error(`AI stream failed with status ${response.status}`);
+  }
+
+  const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = '';
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) {
+      return;
+    }
+    buffer += value;
+    let boundary;
+    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+      const rawEvent = buffer.slice(0, boundary);
+      buffer = buffer.slice(boundary + 2);
+
+      let event = 'message';
+      const data: string[] = [];
+      for (const line of rawEvent.split('\n')) {
+        if (line.startsWith('event:')) {
+          event = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+          data.push(line.slice(5));
+        }
+      }
+      if (event === 'token') {
+        onToken(JSON.parse(data.join('\n')).text);
+      } else if (event === 'error') {
+        throw new Error(JSON.parse(data.join('\n')).message);
+      } else if (event === 'done') {
+        return;
+      }
+    }
+  }
+};
 
 /**
  * Service for AI Game Master Assistant API
@@ -20,6 +80,15 @@ const aiService = {
     return response.data;
   },
 
+  /**
+   * Stream NPC dialogue token by token
+   */
+  streamNPCDialogue: (
+    request: NPCDialogueRequest,
+    onToken: (text: string) => void,
+    signal?: AbortSignal
+  ): Promise<void> => streamText('/ai-gm/stream/npc-dialogue', request, onToken, signal),
+
   /**
    * Generate random encounter (GM only)
    */
@@ -36,6 +105,15 @@ const aiService = {
     return response.data;
   },
 
+  /**
+   * Stream rule lookup token by token (cached answers arrive in one chunk)
+   */
+  streamRuleLookup: (
+    request: RuleLookupRequest,
+    onToken: (text: string) => void,
+    signal?: AbortSignal
+  ): Promise<void> => streamText('/ai-gm/stream/rule-lookup', request, onToken, signal),
+
   /**
    * Generate location (GM only)
    */
@@ -64,6 +142,37 @@ const aiService = {
     return mapData;
   },
 
+  /**
+   * Queue a battle map generation job (GM only)
+   */
+  submitMapJob: async (request: MapGenerationRequest): Promise<MapGenerationJob> => {
+    const response = await api.post('/ai-gm/map-jobs', request);
+    return response.data;
+  },
+
+  /**
+   * Get map generation job status
+   */
+  getMapJob: async (jobId: string): Promise<MapGenerationJob> => {
+    const response = await api.get(`/ai-gm/map-jobs/${jobId}`);
+    return response.data;
+  },
+
+  /**
+   * Get the map of a finished job
+   */
+  getMapJobResult: async (jobId: string): Promise<GeneratedMap> => {
+    const response = await api.get(`/ai-gm/map-jobs/${jobId}/result`);
+    return response.data;
+  },
+
+  /**
+   * Cancel a queued or running map generation job
+   */
+  cancelMapJob: async (jobId: string): Promise<void> => {
+    await api.delete(`/ai-gm/map-jobs/${jobId}`);
+  },
+
   /**
    * Health check
    */
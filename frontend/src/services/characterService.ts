@@ -38,6 +38,10 @@ export interface Character {
   arcanePowers?: ArcanePower[]
 }
 
+// Last sheet and ETag per character. getById revalidates with If-None-Match and
+// reuses the stored sheet when the server answers 304 Not Modified.
+const sheets = new Map<number, { etag: string; character: Character }>()
+
 const characterService = {
   getAll: async (): Promise<Character[]> => {
     const response = await api.get('/characters')
@@ -45,7 +49,20 @@ const characterService = {
   },
 
   getById: async (id: number): Promise<Character> => {
-    const response = await api.get(`/characters/${id}`)
+    const stored = sheets.get(id)
+    const response = await api.get(`/characters/${id}`, {
+      headers: stored ? { 'If-None-Match': stored.etag } : undefined,
+      validateStatus: (status) => (status >= 200 && status < 300) || status === 304,
+    })
+    if (response.status === 304 && stored) {
+      return stored.character
+    }
+    const etag = response.headers['etag']
+    if (etag) {
+      sheets.set(id, { etag, character: response.data })
+    } else {
+      sheets.delete(id)
+    }
     return response.data
   },
 
@@ -56,11 +73,13 @@ const characterService = {
 
   update: async (id: number, character: Partial<Character>): Promise<Character> => {
     const response = await api.put(`/characters/${id}`, character)
+    sheets.delete(id)
     return response.data
   },
 
   delete: async (id: number): Promise<void> => {
     await api.delete(`/characters/${id}`)
+    sheets.delete(id)
   },
 }
 
@@ -51,6 +51,7 @@ export interface ArcanePowerReference {
   range: string
   duration: string
   trapping: string
+  rankRequired?: string
 }
 
 export interface Skill {
@@ -99,7 +100,23 @@ export interface ArcanePower {
   notes?: string
 }
 
+export type ReferenceKind = 'SKILL' | 'EDGE' | 'HINDRANCE' | 'EQUIPMENT' | 'POWER'
+
+export interface ReferenceSuggestion {
+  kind: ReferenceKind
+  id: number
+  name: string
+  detail?: string
+  score: number
+}
+
 const referenceService = {
+  // Typo-tolerant name search across all reference data
+  autocomplete: async (query: string, kind?: ReferenceKind, limit = 10): Promise<ReferenceSuggestion[]> => {
+    const response = await api.get('/reference/autocomplete', { params: { q: query, kind, limit } })
+    return response.data
+  },
+
   // Skill References
   getSkills: async (): Promise<SkillReference[]> => {
     const response = await api.get('/reference/skills')
@@ -149,6 +166,16 @@ const referenceService = {
     const response = await api.get('/reference/powers')
     return response.data
   },
+
+  getArcanePowersByBackground: async (
+    background: string,
+    filters: { maxPowerPoints?: number; rank?: string } = {}
+  ): Promise<ArcanePowerReference[]> => {
+    const response = await api.get(`/reference/powers/by-background/${encodeURIComponent(background)}`, {
+      params: filters,
+    })
+    return response.data
+  },
 }
 
 export default referenceService
@@ -107,6 +107,20 @@ export class WebSocketService {
       }
     });
 
+    // Subscribe to personal move rejections (stale fromX/fromY); carries the server's position
+    this.client.subscribe('/user/queue/game/move-rejected', (message: IMessage) => {
+      try {
+        const event = JSON.parse(message.body);
+        console.warn('[WebSocket] Token move rejected:', event);
+
+        window.dispatchEvent(
+          new CustomEvent('tokenMoveRejected', { detail: event })
+        );
+      } catch (error) {
+        console.error('[WebSocket] Failed to parse move rejection:', error);
+      }
+    });
+
     // Subscribe to player join/leave events
     this.client.subscribe('/topic/game/players', (message: IMessage) => {
       try {
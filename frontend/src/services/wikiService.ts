@@ -28,6 +28,29 @@ export interface WikiEntry {
   updatedAt: string
 }
 
+// List item returned by /wiki and /wiki/category/{category}; no article body
+export interface WikiEntrySummary {
+  id: number
+  title: string
+  slug: string
+  category: WikiCategory
+  visibility: WikiVisibility
+  sortOrder: number
+  relatedCharacterId?: number
+  relatedCharacterName?: string
+  excerpt: string
+}
+
+// Ranked hit from /wiki/search; snippet is escaped HTML with <mark> around matches
+export interface WikiSearchHit {
+  id: number
+  title: string
+  slug: string
+  category: WikiCategory
+  score: number
+  snippet: string
+}
+
 export interface WikiAccess {
   id: number
   wikiEntryId: number
@@ -42,8 +65,8 @@ export interface GrantAccessRequest {
 }
 
 const wikiService = {
-  // Get all wiki entries visible to current user
-  getAll: async (): Promise<WikiEntry[]> => {
+  // Get summaries of all wiki entries visible to current user
+  getAll: async (): Promise<WikiEntrySummary[]> => {
     const response = await api.get('/wiki')
     return response.data
   },
@@ -54,12 +77,18 @@ const wikiService = {
     return response.data
   },
 
-  // Get wiki entries by category
-  getByCategory: async (category: WikiCategory): Promise<WikiEntry[]> => {
+  // Get summaries of wiki entries by category
+  getByCategory: async (category: WikiCategory): Promise<WikiEntrySummary[]> => {
     const response = await api.get(`/wiki/category/${category}`)
     return response.data
   },
 
+  // Full-text search, ranked, limited to entries the user can see
+  search: async (query: string, limit = 20): Promise<WikiSearchHit[]> => {
+    const response = await api.get('/wiki/search', { params: { q: query, limit } })
+    return response.data
+  },
+
   // GM only: Grant access to a wiki entry
   grantAccess: async (
     entryId: number,
@@ -5,21 +5,25 @@ export interface NPCDialogueRequest {
   npcPersonality?: string;
   context?: string;
   playerQuestion: string;
+  cache?: boolean; // opt in to reusing a cached reply
 }
 
 export interface EncounterRequest {
   location: string;
   partySize: number;
   averageLevel: 'Novice' | 'Seasoned' | 'Veteran' | 'Heroic' | 'Legendary';
+  cache?: boolean; // opt in to reusing a cached encounter
 }
 
 export interface RuleLookupRequest {
   ruleQuestion: string;
+  cache?: boolean; // answers are cached by default; false forces a fresh one
 }
 
 export interface LocationRequest {
   locationType: string;
   size: 'Small' | 'Medium' | 'Large';
+  cache?: boolean; // opt in to reusing a cached location
 }
 
 export interface AIResponse {
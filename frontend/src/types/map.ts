@@ -9,6 +9,20 @@ export interface MapGenerationRequest {
   features?: string[]; // ["water", "buildings", "cover", "elevation"]
   description?: string; // Additional GM requirements
   generateImage?: boolean; // Whether to generate background artwork (default: true)
+  cache?: boolean; // Reuse a cached layout for identical settings
+}
+
+export type MapGenerationJobStatus = 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED' | 'CANCELLED';
+
+export interface MapGenerationJob {
+  jobId: string;
+  status: MapGenerationJobStatus;
+  progress: number; // 0-100
+  stage: string;
+  error?: string;
+  mapName?: string;
+  createdAt: number;
+  updatedAt: number;
 }
 
 export interface GeneratedMap {